@@ -0,0 +1,122 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import us.coffeecode.advent_of_code.component.DynamicTestFactory;
+import us.coffeecode.advent_of_code.component.InjectionConfiguration;
+import us.coffeecode.advent_of_code.component.TestContext;
+import us.coffeecode.advent_of_code.y2019.IntCodeBenchmark;
+
+/**
+ * Entry point for running solver benchmarks. Positional arguments filter the puzzles to benchmark exactly like they do
+ * for the command line test runner:
+ *
+ * <pre>
+ * BenchmarkMain &lt;year&gt; &lt;day&gt; &lt;part&gt; &lt;input ID&gt;
+ * </pre>
+ *
+ * Every matching combination of solver and input becomes one parameter value of {@link SolverBenchmark}. Options that
+ * start with two dashes control JMH:
+ * <ul>
+ * <li><code>--result=FILE</code>: where to write JSON results. Defaults to <code>target/jmh-result.json</code>.</li>
+ * <li><code>--forks=N</code>, <code>--warmups=N</code>, <code>--iterations=N</code>: override the defaults declared on
+ * the benchmark.</li>
+ * <li><code>--parsing</code>: run {@link NumberTokenizerBenchmark} on synthetic input instead of benchmarking solvers.
+ * Positional arguments are ignored.</li>
+ * <li><code>--size=MB[,MB...]</code>: input sizes for <code>--parsing</code>, overriding the defaults declared on the
+ * benchmark.</li>
+ * <li><code>--intcode</code>: run {@link IntCodeBenchmark} to measure how many instructions per second the 2019 IntCode
+ * interpreter executes. Positional arguments are ignored.</li>
+ * <li><code>--program=NAME[,NAME...]</code>: programs for <code>--intcode</code>, overriding the defaults declared on the
+ * benchmark.</li>
+ * </ul>
+ */
+public final class BenchmarkMain {
+
+  public static void main(final String[] args) throws Exception {
+    final List<String> positional = new ArrayList<>(args.length);
+    final ChainedOptionsBuilder options = new OptionsBuilder().resultFormat(ResultFormatType.JSON)
+                                                              .result("target/jmh-result.json");
+    String include = null;
+    for (final String arg : args) {
+      if (!arg.startsWith("--")) {
+        positional.add(arg);
+      }
+      else if (arg.startsWith("--result=")) {
+        options.result(value(arg));
+      }
+      else if (arg.startsWith("--forks=")) {
+        options.forks(Integer.parseInt(value(arg)));
+      }
+      else if (arg.startsWith("--warmups=")) {
+        options.warmupIterations(Integer.parseInt(value(arg)));
+      }
+      else if (arg.startsWith("--iterations=")) {
+        options.measurementIterations(Integer.parseInt(value(arg)));
+      }
+      else if (arg.equals("--parsing")) {
+        include = NumberTokenizerBenchmark.class.getName();
+      }
+      else if (arg.equals("--intcode")) {
+        include = IntCodeBenchmark.class.getName();
+      }
+      else if (arg.startsWith("--size=")) {
+        options.param("size", value(arg).split(","));
+      }
+      else if (arg.startsWith("--program=")) {
+        options.param("program", value(arg).split(","));
+      }
+      else {
+        throw new IllegalArgumentException("Unknown option [" + arg + "]");
+      }
+    }
+    if (include != null) {
+      new Runner(options.include(include)
+                        .build()).run();
+      return;
+    }
+    final String[] puzzles;
+    try (ConfigurableApplicationContext context = new AnnotationConfigApplicationContext(InjectionConfiguration.class)) {
+      puzzles = context.getBean(DynamicTestFactory.class)
+                       .getSolverExecutables(new TestContext(positional.toArray(String[]::new)))
+                       .stream()
+                       .map(e -> SolverBenchmark.key(e.getPuzzleContext()))
+                       .toArray(String[]::new);
+    }
+    if (puzzles.length == 0) {
+      System.out.println("No puzzles match " + positional);
+      return;
+    }
+    new Runner(options.include(SolverBenchmark.class.getName())
+                      .param("puzzle", puzzles)
+                      .build()).run();
+  }
+
+  private static String value(final String arg) {
+    return arg.substring(arg.indexOf('=') + 1);
+  }
+}
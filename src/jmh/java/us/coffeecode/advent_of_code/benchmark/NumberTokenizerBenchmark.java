@@ -0,0 +1,156 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.coffeecode.advent_of_code.component.InputLoader;
+import us.coffeecode.advent_of_code.util.NumberTokenizer;
+
+/**
+ * Compares {@link NumberTokenizer} with the regular expression parsing it replaced in {@link InputLoader}, on large
+ * synthetic inputs. Each benchmark method has a <code>regex</code> variant that does exactly what the loader used to do
+ * and a <code>tokenizer</code> variant that does what it does now, so the two can be compared directly. The input is
+ * generated once per fork from a fixed seed and contains a mix of positive and negative numbers of varying lengths.
+ * <p>
+ * Run it with <code>--parsing</code>, optionally with <code>--size=MB</code> to choose the input sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NumberTokenizerBenchmark {
+
+  private static final Pattern COMMA = Pattern.compile(",");
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /** Approximate size of the generated input in megabytes. */
+  @Param({ "10", "100" })
+  public int size;
+
+  /** Whole input as comma separated numbers, like an IntCode program. */
+  private String csv;
+
+  /** Input as lines of whitespace separated numbers, like a grid of numbers. */
+  private List<String> lines;
+
+  /** Input as free-form text with numbers embedded in it, like a sensor report. */
+  private String text;
+
+  @Setup
+  public void setup() {
+    final SplittableRandom random = new SplittableRandom(2019);
+    final int target = size << 20;
+    final StringBuilder csvBuilder = new StringBuilder(target + 32);
+    while (csvBuilder.length() < target) {
+      csvBuilder.append(random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L))
+                .append(',');
+    }
+    csvBuilder.append(0);
+    csv = csvBuilder.toString();
+
+    lines = new ArrayList<>(target / 64);
+    int length = 0;
+    while (length < target) {
+      final StringBuilder line = new StringBuilder(80);
+      for (int i = 0; i < 10; ++i) {
+        line.append(random.nextInt(-100_000, 100_000))
+            .append(random.nextBoolean() ? " " : "   ");
+      }
+      lines.add(line.toString());
+      length += line.length() + 1;
+    }
+
+    final StringBuilder textBuilder = new StringBuilder(target + 64);
+    while (textBuilder.length() < target) {
+      textBuilder.append("Sensor at x=")
+                 .append(random.nextInt(-4_000_000, 4_000_000))
+                 .append(", y=")
+                 .append(random.nextInt(-4_000_000, 4_000_000))
+                 .append(": closest beacon is at x=")
+                 .append(random.nextInt(-4_000_000, 4_000_000))
+                 .append(", y=")
+                 .append(random.nextInt(-4_000_000, 4_000_000))
+                 .append('\n');
+    }
+    text = textBuilder.toString();
+  }
+
+  @Benchmark
+  public long[] fileAsLongsFromSplit_regex() {
+    return Arrays.stream(COMMA.split(csv.trim()))
+                 .mapToLong(Long::parseLong)
+                 .toArray();
+  }
+
+  @Benchmark
+  public long[] fileAsLongsFromSplit_tokenizer() {
+    return NumberTokenizer.of(COMMA)
+                          .longs(csv);
+  }
+
+  @Benchmark
+  public int[][] linesAs2dIntArrayFromSplit_regex() {
+    return lines.stream()
+                .map(s -> Arrays.stream(WHITESPACE.split(s.trim()))
+                                .mapToInt(Integer::parseInt)
+                                .toArray())
+                .toArray(int[][]::new);
+  }
+
+  @Benchmark
+  public int[][] linesAs2dIntArrayFromSplit_tokenizer() {
+    final NumberTokenizer tokenizer = NumberTokenizer.of(WHITESPACE);
+    return lines.stream()
+                .map(tokenizer::ints)
+                .toArray(int[][]::new);
+  }
+
+  @Benchmark
+  public int[] fileAsIntsFromDigitGroups_regex() {
+    return InputLoader.DIGITS.matcher(text)
+                             .results()
+                             .map(r -> r.group())
+                             .mapToInt(Integer::parseInt)
+                             .toArray();
+  }
+
+  @Benchmark
+  public int[] fileAsIntsFromDigitGroups_tokenizer() {
+    return NumberTokenizer.digitGroups(text);
+  }
+}
@@ -0,0 +1,95 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import us.coffeecode.advent_of_code.component.DynamicTestFactory;
+import us.coffeecode.advent_of_code.component.InjectionConfiguration;
+import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.component.SolverExecutable;
+import us.coffeecode.advent_of_code.component.TestContext;
+
+/**
+ * JMH benchmark that runs a single solver against a single input. The puzzle to run is identified by a parameter in
+ * the form <code>year/day/part/inputId</code>, which {@link BenchmarkMain} fills in using the same discovery logic as
+ * the JUnit tests. Each fork starts its own Spring context and locates the solver the same way a test would. The
+ * answer is checked once during setup so a broken solver fails the benchmark instead of producing meaningless numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+  /** Create a puzzle key for the given puzzle context. */
+  static String key(final PuzzleContext pc) {
+    return pc.getYear() + "/" + pc.getDay() + "/" + pc.getPart() + "/" + pc.getInputId();
+  }
+
+  @Param("")
+  public String puzzle;
+
+  private ConfigurableApplicationContext context;
+
+  private SolverExecutable executable;
+
+  @Setup
+  public void setup() throws Throwable {
+    context = new AnnotationConfigApplicationContext(InjectionConfiguration.class);
+    final String[] tokens = puzzle.split("/", 4);
+    if (tokens.length != 4) {
+      throw new IllegalArgumentException("Invalid puzzle key [" + puzzle + "]");
+    }
+    final Collection<SolverExecutable> executables = context.getBean(DynamicTestFactory.class)
+                                                            .getSolverExecutables(new TestContext(tokens));
+    if (executables.size() != 1) {
+      throw new IllegalArgumentException("Puzzle key [" + puzzle + "] matched " + executables.size() + " solvers");
+    }
+    executable = executables.iterator()
+                            .next();
+    executable.execute();
+  }
+
+  @TearDown
+  public void teardown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Object solve() throws ReflectiveOperationException {
+    return executable.invoke();
+  }
+}
@@ -0,0 +1,152 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import us.coffeecode.advent_of_code.benchmark.BenchmarkMain;
+import us.coffeecode.advent_of_code.component.InjectionConfiguration;
+import us.coffeecode.advent_of_code.component.InputLoader;
+import us.coffeecode.advent_of_code.component.PuzzleContext;
+
+/**
+ * Measures how many IntCode instructions per second the interpreter executes. The <code>day9</code> program is the
+ * BOOST program from the real 2019 day 9 input run in sensor boost mode, which is the longest running IntCode program
+ * that takes no interactive input. The <code>synthetic</code> program is a tight loop of arithmetic, comparisons, and
+ * jumps in relative mode that needs no input files. Each program is run once during setup, one instruction at a time,
+ * to count its instructions; the <code>instructions</code> counter then reports instructions per second. The
+ * <code>backend</code> parameter compares the interpreter with {@link ExecutionOption#COMPILE_TO_BYTECODE}.
+ * <p>
+ * This lives in the IntCode package because the interpreter is package-private. Run it through {@link BenchmarkMain}
+ * with <code>--intcode</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntCodeBenchmark {
+
+  /** Number of iterations of the synthetic loop. */
+  private static final long SYNTHETIC_ITERATIONS = 1_000_000;
+
+  /**
+   * Count from one to {@link #SYNTHETIC_ITERATIONS}, squaring the counter each time, then output the last square. All
+   * variables live in relative mode above the program.
+   */
+  private static final long[] SYNTHETIC = new long[] { 109, 1_000, // ARB 1000
+    21_101, 0, 0, 0, // rb[0] = 0
+    21_201, 0, 1, 0, // loop: rb[0] = rb[0] + 1
+    22_202, 0, 0, 1, // rb[1] = rb[0] * rb[0]
+    21_207, 0, SYNTHETIC_ITERATIONS, 2, // rb[2] = rb[0] < iterations
+    1_205, 2, 6, // if rb[2] goto loop
+    204, 1, // output rb[1]
+    99 };
+
+  /** Instructions executed per invocation, which JMH reports as a rate. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+
+    public long instructions;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      instructions = 0;
+    }
+  }
+
+  @Param({ "day9", "synthetic" })
+  public String program;
+
+  @Param({ "interpreted", "compiled" })
+  public String backend;
+
+  private ExecutionOption[] options;
+
+  private long[] code;
+
+  private long input;
+
+  private long instructionCount;
+
+  @Setup
+  public void setup() {
+    if ("day9".equals(program)) {
+      try (ConfigurableApplicationContext context = new AnnotationConfigApplicationContext(InjectionConfiguration.class)) {
+        code = context.getBean(InputLoader.class)
+                      .fileAsLongsFromSplit(new PuzzleContext(2019, 9, 2, "input01", null, Map.of()), IntCode.SPLIT);
+      }
+      input = 2;
+    }
+    else if ("synthetic".equals(program)) {
+      code = SYNTHETIC;
+      input = 0;
+    }
+    else {
+      throw new IllegalArgumentException("Unknown program [" + program + "]");
+    }
+    if ("interpreted".equals(backend)) {
+      options = new ExecutionOption[0];
+    }
+    else if ("compiled".equals(backend)) {
+      options = new ExecutionOption[] { ExecutionOption.COMPILE_TO_BYTECODE };
+    }
+    else {
+      throw new IllegalArgumentException("Unknown backend [" + backend + "]");
+    }
+    final IntCode state = new IntCode(code, new LongQueue(), ExecutionOption.ONE_INSTRUCTION_PER_EXEC);
+    state.getInput()
+         .add(input);
+    for (ExecutionResult result = ExecutionResult.COMPLETE; (result != null) && !result.isHalt(); result = state.exec()) {
+      ++instructionCount;
+    }
+    if (state.getOutput()
+             .isEmpty()) {
+      throw new IllegalStateException("Program [" + program + "] produced no output");
+    }
+  }
+
+  @Benchmark
+  public long run(final Counters counters) {
+    final IntCode state = new IntCode(code, new LongQueue(), options);
+    state.getInput()
+         .add(input);
+    state.exec();
+    counters.instructions += instructionCount;
+    return state.getOutput()
+                .remove();
+  }
+}
@@ -0,0 +1,152 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.annotation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes an index of every {@link Solver} method in every {@link AdventOfCodeSolution} class
+ * at compile time. Each line of the index has the year, day, part, whether it is a visualization, the binary name of
+ * the class, and the name of the method, separated by tabs. This lets the test factory find the solvers for a single
+ * puzzle without instantiating and reflecting over every solution class.
+ * <p>
+ * The Maven build compiles this class on its own first, then uses it when compiling everything else. The index is only
+ * written when the compilation contains solution classes. An incremental build that only recompiles some of them
+ * writes an index of just those, so the index is checked against the declared solvers before it is used. Builds that
+ * do not run the processor, such as some IDEs, simply have no index and fall back to scanning.
+ * <p>
+ * This deliberately refers to the annotations by name so it can be compiled without them.
+ */
+@SupportedAnnotationTypes(SolverIndexProcessor.SOLUTION)
+public final class SolverIndexProcessor
+extends AbstractProcessor {
+
+  /** Location of the index on the class path. */
+  public static final String INDEX = "META-INF/advent-of-code/solvers.index";
+
+  static final String SOLUTION = "us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution";
+
+  private static final String SOLVER = "us.coffeecode.advent_of_code.annotation.Solver";
+
+  private final List<String[]> entries = new ArrayList<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    for (final TypeElement annotation : annotations) {
+      for (final Element type : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (type.getKind() == ElementKind.CLASS) {
+          index((TypeElement) type);
+        }
+      }
+    }
+    if (roundEnv.processingOver() && !entries.isEmpty()) {
+      write();
+    }
+    return false;
+  }
+
+  /** Add index entries for every solver method on a solution class. */
+  private void index(final TypeElement type) {
+    final AnnotationMirror solution = find(type, SOLUTION);
+    final String year = value(solution, "year", null);
+    final String day = value(solution, "day", null);
+    final String className = processingEnv.getElementUtils()
+                                          .getBinaryName(type)
+                                          .toString();
+    for (final Element member : type.getEnclosedElements()) {
+      if (member instanceof final ExecutableElement method) {
+        final AnnotationMirror solver = find(method, SOLVER);
+        if (solver != null) {
+          entries.add(new String[] { year, day, value(solver, "part", null), value(solver, "visual", "false"), className,
+            method.getSimpleName()
+                  .toString() });
+        }
+      }
+    }
+  }
+
+  /** Write the index, sorted so builds are reproducible. */
+  private void write() {
+    entries.sort(Comparator.comparingInt((final String[] e) -> Integer.parseInt(e[0]))
+                           .thenComparingInt(e -> Integer.parseInt(e[1]))
+                           .thenComparingInt(e -> Integer.parseInt(e[2]))
+                           .thenComparing(e -> e[3])
+                           .thenComparing(e -> e[4])
+                           .thenComparing(e -> e[5]));
+    try (final Writer out = processingEnv.getFiler()
+                                         .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX)
+                                         .openWriter()) {
+      for (final String[] entry : entries) {
+        out.write(String.join("\t", entry));
+        out.write('\n');
+      }
+    }
+    catch (final IOException ex) {
+      processingEnv.getMessager()
+                   .printMessage(Diagnostic.Kind.ERROR, "Unable to write " + INDEX + ": " + ex);
+    }
+  }
+
+  private static AnnotationMirror find(final Element element, final String annotation) {
+    for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      if (((TypeElement) mirror.getAnnotationType()
+                               .asElement()).getQualifiedName()
+                                            .contentEquals(annotation)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  /** Get the value of an annotation element as a string, or the default if it was not specified. */
+  private static String value(final AnnotationMirror mirror, final String name, final String defaultValue) {
+    for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues()
+                                                                                              .entrySet()) {
+      if (entry.getKey()
+               .getSimpleName()
+               .contentEquals(name)) {
+        return String.valueOf(entry.getValue()
+                                   .getValue());
+      }
+    }
+    return defaultValue;
+  }
+}
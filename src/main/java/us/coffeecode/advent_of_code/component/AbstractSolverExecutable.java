@@ -42,10 +42,22 @@ public class AbstractSolverExecutable {
       + " (" + solution.getInputId() + ")";
   }
 
+  /**
+   * Invoke the solver method and return its result without checking it. Exceptions thrown by the solver itself are
+   * wrapped in an {@link java.lang.reflect.InvocationTargetException}.
+   */
+  public Object invoke() throws ReflectiveOperationException {
+    return method.invoke(impl, solution);
+  }
+
   public String getDescription() {
     return description;
   }
 
+  public PuzzleContext getPuzzleContext() {
+    return solution;
+  }
+
   @Override
   public String toString() {
     return description;
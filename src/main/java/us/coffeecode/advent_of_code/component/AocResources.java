@@ -30,7 +30,8 @@ import org.springframework.stereotype.Component;
 import us.coffeecode.advent_of_code.util.MyCollections;
 
 /**
- * Class responsible for loading files from the resource directory. This class uses caching and lazy loading.
+ * Class responsible for loading files from the resource directory. Everything is loaded when this bean is created and
+ * never changes afterward, so it is safe to use from multiple threads.
  */
 @Component
 public class AocResources {
@@ -40,28 +41,27 @@ public class AocResources {
   private static final String DAY_TITLE_PROPERTIES = "DayTitles.properties";
 
   /** Directory containing resources on the file system. */
-  @Value("${resources}")
-  private Path resources;
+  private final Path resources;
 
   /** Titles used to describe each year's test in the output. */
-  private Map<Integer, String> yearTitles;
+  private final Map<Integer, String> yearTitles;
+
+  /** Titles used to describe each day's test in the output. */
+  private final Map<YearDay, String> dayTitles;
+
+  public AocResources(@Value("${resources}") final Path _resources) {
+    resources = _resources;
+    yearTitles = loadMap(YEAR_TITLE_PROPERTIES, Integer::valueOf, s -> s);
+    dayTitles = loadMap(DAY_TITLE_PROPERTIES, YearDay::valueOf, s -> s);
+  }
 
   /** Get the title for a specific year. */
   public String getYearTitle(final Integer year) {
-    if (yearTitles == null) {
-      yearTitles = loadMap(YEAR_TITLE_PROPERTIES, Integer::valueOf, s -> s);
-    }
     return yearTitles.get(year);
   }
 
-  /** Titles used to describe each year's test in the output. */
-  private Map<YearDay, String> dayTitles;
-
   /** Get the title for a specific year and day. */
   public String getDayTitle(final int year, final int day) {
-    if (dayTitles == null) {
-      dayTitles = loadMap(DAY_TITLE_PROPERTIES, YearDay::valueOf, s -> s);
-    }
     return dayTitles.get(new YearDay(year, day));
   }
 
@@ -71,10 +71,10 @@ public class AocResources {
                                              .toFile())) {
       Properties p = new Properties();
       p.load(in);
-      return MyCollections.mapFromProperties(p)
-                          .entrySet()
-                          .stream()
-                          .collect(Collectors.toMap(e -> km.apply(e.getKey()), e -> vm.apply(e.getValue())));
+      return Map.copyOf(MyCollections.mapFromProperties(p)
+                                     .entrySet()
+                                     .stream()
+                                     .collect(Collectors.toMap(e -> km.apply(e.getKey()), e -> vm.apply(e.getValue()))));
     }
     catch (RuntimeException ex) {
       throw ex;
@@ -16,21 +16,54 @@
  */
 package us.coffeecode.advent_of_code.component;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.json.JSONArray;
 import org.junit.platform.engine.TestDescriptor.Type;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.TestExecutionResult.Status;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
 
 /**
  * Test listener customized for AOC. This listens for events from JUnit indicating that a test finished running. It then
  * outputs to standard output the way I want it to look. This filters on type of TEST because container events also come
  * through here. Tests are encapsulated in containers representing enclosing classes or collections of dynamic tests.
  * Ignore those container level events.
+ * <p>
+ * When constructed with a way to look up the puzzle context for a test, the resources used by each solver are appended
+ * to its result line. If a report path is also provided, those metrics are written to that file after all tests finish.
+ * The report is JSON if the file name ends in <code>.json</code>, otherwise it is CSV.
  */
 public class AocTestExecutionListener
 implements TestExecutionListener {
 
+  private final Function<String, PuzzleContext> contexts;
+
+  private final Path report;
+
+  private final List<Row> rows = new ArrayList<>(512);
+
+  public AocTestExecutionListener() {
+    this(s -> null, null);
+  }
+
+  /**
+   * @param _contexts function that returns the puzzle context for a test's display name, or null if there is none.
+   * @param _report path to the metrics report to write, or null to skip writing a report.
+   */
+  public AocTestExecutionListener(final Function<String, PuzzleContext> _contexts, final Path _report) {
+    contexts = _contexts;
+    report = _report;
+  }
+
   @Override
   public void executionFinished(final TestIdentifier testIdentifier, final TestExecutionResult testExecutionResult) {
     if (testIdentifier.getType() == Type.TEST) {
@@ -38,6 +71,12 @@ implements TestExecutionListener {
       result.append(testIdentifier.getDisplayName())
             .append(" ");
       result.append(testExecutionResult.getStatus());
+      final PuzzleContext pc = contexts.apply(testIdentifier.getDisplayName());
+      if ((pc != null) && (pc.getMetrics() != null)) {
+        result.append(" ")
+              .append(pc.getMetrics());
+        rows.add(new Row(pc, pc.getMetrics(), testExecutionResult.getStatus()));
+      }
       if (testExecutionResult.getStatus() != Status.SUCCESSFUL) {
         result.append(" ")
               .append(testExecutionResult.getThrowable());
@@ -46,4 +85,37 @@ implements TestExecutionListener {
     }
   }
 
+  @Override
+  public void testPlanExecutionFinished(final TestPlan testPlan) {
+    if (report == null) {
+      return;
+    }
+    try (final PrintWriter out = new PrintWriter(Files.newBufferedWriter(report))) {
+      if (report.getFileName()
+                .toString()
+                .endsWith(".json")) {
+        final JSONArray array = new JSONArray();
+        rows.forEach(r -> array.put(r.metrics.toJson()
+                                             .put("year", r.pc.getYear())
+                                             .put("day", r.pc.getDay())
+                                             .put("part", r.pc.getPart())
+                                             .put("inputId", r.pc.getInputId())
+                                             .put("status", r.status.toString())));
+        out.println(array.toString(2));
+      }
+      else {
+        out.println("year,day,part,inputId,status," + SolverMetrics.CSV_HEADER);
+        for (final Row r : rows) {
+          out.println(r.pc.getYear() + "," + r.pc.getDay() + "," + r.pc.getPart() + "," + r.pc.getInputId() + ","
+            + r.status + "," + r.metrics.toCsv());
+        }
+      }
+    }
+    catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private record Row(PuzzleContext pc, SolverMetrics metrics, Status status) {}
+
 }
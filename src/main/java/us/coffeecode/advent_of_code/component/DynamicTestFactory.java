@@ -48,78 +48,116 @@ public final class DynamicTestFactory {
   @Autowired
   private AocResources resources;
 
+  @Autowired
+  private SolverIndex index;
+
   /**
    * Get tests that match the provided {@link TestContext}. This will discover all classes in the project annotated with
-   * {@link AdventOfCodeSolution} using Spring's bean discovery, then filter them as appropriate using the "matches"
-   * methods in {@link TestContext}.
+   * {@link AdventOfCodeSolution}, then filter them as appropriate using the "matches" methods in {@link TestContext}.
    */
   public Collection<DynamicTest> getTests(final TestContext tc) {
-    final Collection<SolverExecutable> tests = new ArrayList<>(500);
-    for (final Object impl : ac.getBeansWithAnnotation(AdventOfCodeSolution.class)
-                               .values()) {
-      final AdventOfCodeSolution aoc = impl.getClass()
-                                           .getAnnotation(AdventOfCodeSolution.class);
-      if (tc.matches(aoc)) {
-        tests.addAll(getTests(tc, impl, SolverExecutable.class));
+    return getSolverExecutables(tc).stream()
+                                   .map(t -> DynamicTest.dynamicTest(t.getDescription(), t))
+                                   .toList();
+  }
+
+  /**
+   * Get the solver executables that match the provided {@link TestContext} without wrapping them in dynamic tests. This
+   * allows callers to control how and when the executables run, such as dispatching them to a thread pool.
+   */
+  public Collection<SolverExecutable> getSolverExecutables(final TestContext tc) {
+    return getExecutables(tc, SolverExecutable.class);
+  }
+
+  /**
+   * Get the visualizer test executable for the given test context. These run the tests except they return visualization
+   * results instead of validating the answers.
+   */
+  public Collection<VisualizerExecutable> getTestsForVisualization(final TestContext tc) {
+    return getExecutables(tc, VisualizerExecutable.class);
+  }
+
+  /**
+   * Get all matching executables of the given type. If the compile-time {@link SolverIndex} is available, it is used to
+   * find matching solvers so only their classes are loaded and their beans created. Otherwise, this falls back to
+   * Spring's bean discovery, which creates every solution bean.
+   */
+  private <T extends AbstractSolverExecutable> Collection<T> getExecutables(final TestContext tc, final Class<T> execClazz) {
+    final Collection<T> tests = new ArrayList<>(500);
+    if (index.isAvailable()) {
+      for (final SolverIndex.Entry entry : index.getEntries()) {
+        if (tc.matchesPuzzle(entry.year(), entry.day()) && tc.matchesSolver(entry.part(), entry.visual())) {
+          final Object impl = ac.getBean(loadClass(entry.className()));
+          for (final Method m : impl.getClass()
+                                    .getDeclaredMethods()) {
+            final Solver solver = m.getAnnotation(Solver.class);
+            if (m.getName()
+                 .equals(entry.methodName())
+              && (solver != null) && (solver.part() == entry.part()) && (solver.visual() == entry.visual())) {
+              addTests(tests, tc, impl, m, execClazz);
+            }
+          }
+        }
       }
     }
-    return tests.stream()
-                .map(t -> DynamicTest.dynamicTest(t.getDescription(), t))
-                .toList();
+    else {
+      for (final Object impl : ac.getBeansWithAnnotation(AdventOfCodeSolution.class)
+                                 .values()) {
+        final AdventOfCodeSolution aoc = impl.getClass()
+                                             .getAnnotation(AdventOfCodeSolution.class);
+        if (tc.matches(aoc)) {
+          for (final Method m : impl.getClass()
+                                    .getDeclaredMethods()) {
+            addTests(tests, tc, impl, m, execClazz);
+          }
+        }
+      }
+    }
+    return tests;
   }
 
   /**
-   * Get all matching tests on the annotated class. Helper to the above method.
+   * Add tests for each matching input of a method, if the method is a solver that matches the test context. Helper to
+   * the above method.
    */
-  private <T extends AbstractSolverExecutable> Collection<T> getTests(final TestContext tc, final Object impl, final Class<T> execClazz) {
-    final Collection<T> tests = new ArrayList<>();
+  private <T extends AbstractSolverExecutable> void addTests(final Collection<T> tests, final TestContext tc, final Object impl, final Method m, final Class<T> execClazz) {
+    final Solver solver = m.getAnnotation(Solver.class);
+    if (!tc.matches(solver)) {
+      return;
+    }
+    m.setAccessible(true);
     final AdventOfCodeSolution aoc = impl.getClass()
                                          .getAnnotation(AdventOfCodeSolution.class);
     final int year = aoc.year();
     final int day = aoc.day();
     final String title = resources.getDayTitle(year, day);
-    for (final Method m : impl.getClass()
-                              .getDeclaredMethods()) {
-      m.setAccessible(true);
-      final Solver solver = m.getAnnotation(Solver.class);
-      if (tc.matches(solver)) {
-        for (final String inputId : il.getInputIds(year, day, solver.part())) {
-          if (tc.matches(inputId)) {
-            final String answer = il.getAnswer(year, day, solver.part(), inputId);
-            final Map<String, String> parameters = il.getParameters(year, day);
-            final PuzzleContext pc = new PuzzleContext(year, day, solver.part(), inputId, answer, parameters);
-            try {
-              final Constructor<T> c = execClazz.getConstructor(Object.class, Method.class, PuzzleContext.class, String.class);
-              tests.add(c.newInstance(impl, m, pc, title));
-            }
-            catch (final RuntimeException ex) {
-              throw ex;
-            }
-            catch (final Exception ex) {
-              throw new RuntimeException(ex);
-            }
-          }
+    for (final String inputId : il.getInputIds(year, day, solver.part())) {
+      if (tc.matches(inputId)) {
+        final String answer = il.getAnswer(year, day, solver.part(), inputId);
+        final Map<String, String> parameters = il.getParameters(year, day);
+        final PuzzleContext pc = new PuzzleContext(year, day, solver.part(), inputId, answer, parameters);
+        try {
+          final Constructor<T> c = execClazz.getConstructor(Object.class, Method.class, PuzzleContext.class, String.class);
+          tests.add(c.newInstance(impl, m, pc, title));
+        }
+        catch (final RuntimeException ex) {
+          throw ex;
+        }
+        catch (final Exception ex) {
+          throw new RuntimeException(ex);
         }
       }
     }
-    return tests;
   }
 
-  /**
-   * Get the visualizer test executable for the given test context. These run the tests except they return visualization
-   * results instead of validating the answers.
-   */
-  public Collection<VisualizerExecutable> getTestsForVisualization(final TestContext tc) {
-    final Collection<VisualizerExecutable> tests = new ArrayList<>(500);
-    for (final Object impl : ac.getBeansWithAnnotation(AdventOfCodeSolution.class)
-                               .values()) {
-      final AdventOfCodeSolution aoc = impl.getClass()
-                                           .getAnnotation(AdventOfCodeSolution.class);
-      if (tc.matches(aoc)) {
-        tests.addAll(getTests(tc, impl, VisualizerExecutable.class));
-      }
+  /** Load a solution class named in the index. */
+  private Class<?> loadClass(final String className) {
+    try {
+      return Class.forName(className, false, getClass().getClassLoader());
+    }
+    catch (final ClassNotFoundException ex) {
+      throw new RuntimeException("Solver index refers to missing class " + className + ": rebuild the project", ex);
     }
-    return tests;
   }
 
 }
@@ -23,9 +23,12 @@ import org.springframework.context.annotation.PropertySource;
 /**
  * This class does not do anything itself: its purpose is to carry annotations that make the rest of the project work.
  * In other words: any required global Spring annotations should be dumped here.
+ * <p>
+ * Beans are created lazily. There are hundreds of solution classes, and a run for a single puzzle should only pay to
+ * load and wire the ones it uses.
  */
 @Configuration
-@ComponentScan(basePackages = "us.coffeecode.advent_of_code")
+@ComponentScan(basePackages = "us.coffeecode.advent_of_code", lazyInit = true)
 @PropertySource("classpath:application.properties")
 public class InjectionConfiguration {
   // Deliberately empty.
@@ -0,0 +1,147 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of parsed input used by {@link InputLoader}. Both parts of a puzzle usually read the same input the same way, and
+ * some solutions parse the same input many times, so this saves repeating that work. Entries are keyed by the input
+ * file's path, modification time and size, and a description of how it was parsed. Editing a file therefore makes its
+ * old entries unreachable, and they fall out of the cache as it evicts the least recently used entries to stay within
+ * its configured size.
+ * <p>
+ * The cache is off unless <code>inputCacheSize</code> is set to a positive number. Every entry holds a whole parsed input
+ * on the heap, and a cached parse does not show up in timings or benchmarks, so it is only worth turning on for
+ * exploratory runs that load the same input many times. When it is off, every lookup parses the file and nothing is
+ * kept.
+ * <p>
+ * The cache never hands out the instance it stores. Every lookup passes the cached value through a copy function, so
+ * callers are free to modify what they get back. This class is safe to use from multiple threads.
+ */
+@Component
+public class InputCache {
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final Map<CacheKey, Object> entries;
+
+  private final boolean enabled;
+
+  public InputCache(@Value("${inputCacheSize:0}") final int maxSize) {
+    enabled = maxSize > 0;
+    entries = new LinkedHashMap<>(maxSize + 1, 1.0f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<CacheKey, Object> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Get the parsed contents of a file, parsing it only if it is not already cached.
+   *
+   * @param <T> type of the parsed contents.
+   * @param path path to the file.
+   * @param operation description of how the file is parsed. Different parsing of the same file must use different
+   * descriptions.
+   * @param copy function that makes a copy of the parsed contents that is safe to give to the caller. For immutable
+   * values, this can return its argument.
+   * @param parser function that parses the file.
+   * @return a copy of the parsed contents.
+   */
+  public <T> T get(final Path path, final String operation, final UnaryOperator<T> copy, final Supplier<T> parser) {
+    if (!enabled) {
+      return parser.get();
+    }
+    final CacheKey key = key(path, operation);
+    Object value;
+    synchronized (entries) {
+      value = entries.get(key);
+    }
+    if (value == null) {
+      misses.incrementAndGet();
+      value = parser.get();
+      synchronized (entries) {
+        entries.put(key, value);
+      }
+    }
+    else {
+      hits.incrementAndGet();
+    }
+    @SuppressWarnings("unchecked")
+    final T result = copy.apply((T) value);
+    return result;
+  }
+
+  /** Get whether this cache keeps anything. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Get the number of lookups that found a cached value. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Get the number of lookups that had to parse the file. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** Remove all entries from the cache. This does not reset the hit and miss counters. */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Input cache: " + hits.get() + " hits, " + misses.get() + " misses";
+  }
+
+  private CacheKey key(final Path path, final String operation) {
+    try {
+      final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+      return new CacheKey(path, attrs.lastModifiedTime()
+                                     .toMillis(),
+        attrs.size(), operation);
+    }
+    catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private record CacheKey(Path path, long modified, long size, String operation) {}
+}
@@ -16,26 +16,40 @@
  */
 package us.coffeecode.advent_of_code.component;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.SequencedCollection;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import us.coffeecode.advent_of_code.util.BitGrid;
+import us.coffeecode.advent_of_code.util.IntGrid;
+import us.coffeecode.advent_of_code.util.MyArrays;
+import us.coffeecode.advent_of_code.util.NumberTokenizer;
+
 /**
  * Component that retrieves input data for a solution. Its methods accept a {@link PuzzleContext} which contains
  * metadata necessary to find the specific input file required. These methods then load the raw data and pre-process it
@@ -61,6 +75,17 @@ import org.springframework.stereotype.Component;
  * <li>As above, but parse the tokens as integers, returning the entire file as {@code int[][]} where the outer array
  * represents the lines and the inner arrays represent each line after splitting using a regular expression.</li>
  * </ul>
+ * Some of the most common numeric parsing methods read the file through {@link MappedInput} rather than reading it
+ * into strings first, falling back to the string-based implementation if the file is not plain ASCII. Methods that
+ * split numbers on a pattern use {@link NumberTokenizer}, which parses tokens in place instead of going through a
+ * regular expression for simple delimiters. Methods whose parsing does not depend on caller-supplied functions go
+ * through the {@link InputCache}. It is off by default, but when turned on, parsing the same file the same way again
+ * only costs a copy.
+ * <p>
+ * All of the above read the entire file before processing any of it. For inputs too large to hold in memory, the
+ * streaming methods such as {@link #streamLines(PuzzleContext)} and {@link #forEachGroup(PuzzleContext, Consumer)}
+ * read the file incrementally so only the current line or group is held in memory. Their results are not cached.
+ * <p>
  * There are other capabilities and each year brings the potential for more to be added. This is not an exhaustive list,
  * but shows what this class does. The ultimate goal is to move as much parsing logic into this class from the solution
  * classes so they can focus on the algorithms instead of boring text parsing.
@@ -71,8 +96,14 @@ public class InputLoader {
   @Autowired
   private InputLocator il;
 
+  @Autowired
+  private InputCache cache;
+
   public static final Pattern DIGITS = Pattern.compile("\\-?\\d+");
 
+  /** Size of the buffers used when streaming a file, in bytes for the channel and characters for the reader. */
+  private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
   /**
    * Get the contents of the file as a boolean array. The provided truth value will be used to determine which code
    * points evaluate to true: all other code points evaluate to false.
@@ -82,13 +113,15 @@ public class InputLoader {
    * @return an array of primitive booleans.
    */
   public boolean[] fileAsBooleanArray(final PuzzleContext pc, final int truth) {
-    final String line = fileAsString(pc);
-    // Too bad Java doesn't have boolean streams.
-    final boolean[] array = new boolean[line.length()];
-    for (int i = 0; i < array.length; ++i) {
-      array[i] = (line.codePointAt(i) == truth);
-    }
-    return array;
+    return cached(pc, "fileAsBooleanArray " + truth, boolean[]::clone, () -> {
+      final String line = fileAsString(pc);
+      // Too bad Java doesn't have boolean streams.
+      final boolean[] array = new boolean[line.length()];
+      for (int i = 0; i < array.length; ++i) {
+        array[i] = (line.codePointAt(i) == truth);
+      }
+      return array;
+    });
   }
 
   /**
@@ -98,8 +131,10 @@ public class InputLoader {
    * @return an array of code points.
    */
   public int[] fileAsCodePoints(final PuzzleContext pc) {
-    return fileAsString(pc).codePoints()
-                           .toArray();
+    return cached(pc, "fileAsCodePoints", int[]::clone, () -> {
+      return fileAsString(pc).codePoints()
+                             .toArray();
+    });
   }
 
   /**
@@ -113,18 +148,22 @@ public class InputLoader {
   }
 
   /**
-   * Get the contents of the file as an integer array. An internal regular expression is used to extract each group of
-   * digits, which is then parsed into a primitive integer that becomes an element in the array.
+   * Get the contents of the file as an integer array. Each group of digits, optionally preceded by a minus sign, is
+   * parsed into a primitive integer that becomes an element in the array. These are the same groups that
+   * {@link #DIGITS} matches.
    *
    * @param pc Puzzle context containing metadata necessary to find the relevant input file.
    * @return an integer array containing each number in the file.
    */
   public int[] fileAsIntsFromDigitGroups(final PuzzleContext pc) {
-    return DIGITS.matcher(fileAsString(pc))
-                 .results()
-                 .map(r -> r.group())
-                 .mapToInt(Integer::parseInt)
-                 .toArray();
+    return cached(pc, "fileAsIntsFromDigitGroups", int[]::clone, () -> {
+      try (final MappedInput in = mapped(pc)) {
+        if (in.isAscii()) {
+          return in.intsFromDigitGroups();
+        }
+      }
+      return NumberTokenizer.digitGroups(fileAsString(pc));
+    });
   }
 
   /**
@@ -135,9 +174,11 @@ public class InputLoader {
    * @return an array of integers.
    */
   public int[] fileAsIntsFromDigits(final PuzzleContext pc) {
-    return fileAsString(pc).codePoints()
-                           .map(i -> i - '0')
-                           .toArray();
+    return cached(pc, "fileAsIntsFromDigits", int[]::clone, () -> {
+      return fileAsString(pc).codePoints()
+                             .map(i -> i - '0')
+                             .toArray();
+    });
   }
 
   /**
@@ -148,9 +189,11 @@ public class InputLoader {
    * @return an integer array containing each number in the file.
    */
   public int[] fileAsIntsFromHexDigits(final PuzzleContext pc) {
-    return fileAsString(pc).codePoints()
-                           .map(i -> (('0' <= i) && (i <= '9')) ? (i - '0') : (i - 'A' + 10))
-                           .toArray();
+    return cached(pc, "fileAsIntsFromHexDigits", int[]::clone, () -> {
+      return fileAsString(pc).codePoints()
+                             .map(i -> (('0' <= i) && (i <= '9')) ? (i - '0') : (i - 'A' + 10))
+                             .toArray();
+    });
   }
 
   /**
@@ -162,9 +205,10 @@ public class InputLoader {
    * @return an integer array containing each number in the file.
    */
   public int[] fileAsIntsFromSplit(final PuzzleContext pc, final Pattern split) {
-    return Arrays.stream(split.split(fileAsString(pc).trim()))
-                 .mapToInt(Integer::parseInt)
-                 .toArray();
+    return cached(pc, "fileAsIntsFromSplit " + key(split), int[]::clone, () -> {
+      return NumberTokenizer.of(split)
+                            .ints(fileAsString(pc));
+    });
   }
 
   /**
@@ -186,9 +230,10 @@ public class InputLoader {
    * @return a long array containing each number in the file.
    */
   public long[] fileAsLongsFromSplit(final PuzzleContext pc, final Pattern split) {
-    return Arrays.stream(split.split(fileAsString(pc).trim()))
-                 .mapToLong(Long::parseLong)
-                 .toArray();
+    return cached(pc, "fileAsLongsFromSplit " + key(split), long[]::clone, () -> {
+      return NumberTokenizer.of(split)
+                            .longs(fileAsString(pc));
+    });
   }
 
   /**
@@ -243,10 +288,12 @@ public class InputLoader {
    * @return an integer array containing each number in the file, sorted in natural order.
    */
   public int[] fileAsSortedIntsFromSplit(final PuzzleContext pc, final Pattern split) {
-    return Arrays.stream(split.split(fileAsString(pc).trim()))
-                 .mapToInt(Integer::parseInt)
-                 .sorted()
-                 .toArray();
+    return cached(pc, "fileAsSortedIntsFromSplit " + key(split), int[]::clone, () -> {
+      final int[] result = NumberTokenizer.of(split)
+                                          .ints(fileAsString(pc));
+      Arrays.sort(result);
+      return result;
+    });
   }
 
   /**
@@ -256,12 +303,40 @@ public class InputLoader {
    * @return a string containing all of the text in the file, minus any leading or trailing whitespace.
    */
   public String fileAsString(final PuzzleContext pc) {
-    try {
-      return Files.readString(path(pc))
-                  .trim();
+    return cached(pc, "fileAsString", UnaryOperator.identity(), () -> {
+      try {
+        return Files.readString(path(pc))
+                    .trim();
+      }
+      catch (final IOException ex) {
+        throw new RuntimeException(ex);
+      }
+    });
+  }
+
+  /**
+   * Read the file one group of lines at a time, where blank lines separate the groups, passing each group to the given
+   * action as it is read. Only one group is held in memory at a time.
+   *
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @param action the action to perform on each group.
+   */
+  public void forEachGroup(final PuzzleContext pc, final Consumer<List<String>> action) {
+    try (final Stream<List<String>> groups = streamGroups(pc)) {
+      groups.forEachOrdered(action);
     }
-    catch (final IOException ex) {
-      throw new RuntimeException(ex);
+  }
+
+  /**
+   * Read the file one line at a time, passing each line to the given action as it is read. Only one line is held in
+   * memory at a time.
+   *
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @param action the action to perform on each line.
+   */
+  public void forEachLine(final PuzzleContext pc, final Consumer<String> action) {
+    try (final Stream<String> lines = streamLines(pc)) {
+      lines.forEachOrdered(action);
     }
   }
 
@@ -293,7 +368,7 @@ public class InputLoader {
       }
     }
     // See if there is dangling data: if so, add it
-    if (start > 0) {
+    if (start >= 0) {
       lineGroups.add(lines.subList(start, lines.size()));
     }
 
@@ -349,12 +424,14 @@ public class InputLoader {
    * @return a list of strings.
    */
   public List<String> lines(final PuzzleContext pc) {
-    try {
-      return Files.readAllLines(path(pc));
-    }
-    catch (final IOException ex) {
-      throw new RuntimeException(ex);
-    }
+    return cached(pc, "lines", ArrayList::new, () -> {
+      try {
+        return Files.readAllLines(path(pc));
+      }
+      catch (final IOException ex) {
+        throw new RuntimeException(ex);
+      }
+    });
   }
 
   /**
@@ -365,15 +442,29 @@ public class InputLoader {
    * @return a two-dimensional boolean array representing the file.
    */
   public boolean[][] linesAs2dBooleanArray(final PuzzleContext pc, final int truth) {
-    return lines(pc).stream()
-                    .map(s -> {
-                      boolean[] b = new boolean[s.length()];
-                      for (int i = 0; i < b.length; ++i) {
-                        b[i] = s.codePointAt(i) == truth;
-                      }
-                      return b;
-                    })
-                    .toArray(boolean[][]::new);
+    return cached(pc, "linesAs2dBooleanArray " + truth, MyArrays::deepCopyOf, () -> {
+      return lines(pc).stream()
+                      .map(s -> {
+                        boolean[] b = new boolean[s.length()];
+                        for (int i = 0; i < b.length; ++i) {
+                          b[i] = s.codePointAt(i) == truth;
+                        }
+                        return b;
+                      })
+                      .toArray(boolean[][]::new);
+    });
+  }
+
+  /**
+   * Get the contents of the file as a grid, where each code point is a cell. This is the same as
+   * {@link #linesAs2dBooleanArray(PuzzleContext, int)} stored in a flat grid. The border is false.
+   *
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @param truth code point that indicates true.
+   * @return a grid representing the file.
+   */
+  public BitGrid linesAsBitGrid(final PuzzleContext pc, final int truth) {
+    return cached(pc, "linesAsBitGrid " + truth, BitGrid::copy, () -> new BitGrid(linesAs2dBooleanArray(pc, truth)));
   }
 
   /**
@@ -397,11 +488,29 @@ public class InputLoader {
    * @return a two-dimensional integer array representing the file.
    */
   public int[][] linesAs2dIntArrayFromDigits(final PuzzleContext pc) {
-    return lines(pc).stream()
-                    .map(s -> s.codePoints()
-                               .map(i -> i - '0')
-                               .toArray())
-                    .toArray(int[][]::new);
+    return cached(pc, "linesAs2dIntArrayFromDigits", MyArrays::deepCopyOf, () -> {
+      try (final MappedInput in = mapped(pc)) {
+        if (in.isAscii()) {
+          return in.linesOfDigits();
+        }
+      }
+      return lines(pc).stream()
+                      .map(s -> s.codePoints()
+                                 .map(i -> i - '0')
+                                 .toArray())
+                      .toArray(int[][]::new);
+    });
+  }
+
+  /**
+   * Get the contents of the file as a grid, where each code point is a cell holding the value of its textual digit. This
+   * is the same as {@link #linesAs2dIntArrayFromDigits(PuzzleContext)} stored in a flat grid. The border is zero.
+   *
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @return a grid representing the file.
+   */
+  public IntGrid linesAsIntGridFromDigits(final PuzzleContext pc) {
+    return cached(pc, "linesAsIntGridFromDigits", IntGrid::copy, () -> new IntGrid(linesAs2dIntArrayFromDigits(pc)));
   }
 
   /**
@@ -412,11 +521,12 @@ public class InputLoader {
    * @return a two-dimensional integer array representing the file.
    */
   public int[][] linesAs2dIntArrayFromSplit(final PuzzleContext pc, final Pattern split) {
-    return lines(pc).stream()
-                    .map(s -> Arrays.stream(split.split(s.trim()))
-                                    .mapToInt(Integer::parseInt)
-                                    .toArray())
-                    .toArray(int[][]::new);
+    return cached(pc, "linesAs2dIntArrayFromSplit " + key(split), MyArrays::deepCopyOf, () -> {
+      final NumberTokenizer tokenizer = NumberTokenizer.of(split);
+      return lines(pc).stream()
+                      .map(tokenizer::ints)
+                      .toArray(int[][]::new);
+    });
   }
 
   /**
@@ -440,11 +550,12 @@ public class InputLoader {
    * @return a two-dimensional long array representing the file.
    */
   public long[][] linesAs2dLongArrayFromSplit(final PuzzleContext pc, final Pattern split) {
-    return lines(pc).stream()
-                    .map(s -> Arrays.stream(split.split(s.trim()))
-                                    .mapToLong(Long::parseLong)
-                                    .toArray())
-                    .toArray(long[][]::new);
+    return cached(pc, "linesAs2dLongArrayFromSplit " + key(split), MyArrays::deepCopyOf, () -> {
+      final NumberTokenizer tokenizer = NumberTokenizer.of(split);
+      return lines(pc).stream()
+                      .map(tokenizer::longs)
+                      .toArray(long[][]::new);
+    });
   }
 
   /**
@@ -454,10 +565,12 @@ public class InputLoader {
    * @return a two-dimensional array of code points representing the file.
    */
   public int[][] linesAsCodePoints(final PuzzleContext pc) {
-    return lines(pc).stream()
-                    .map(s -> s.codePoints()
-                               .toArray())
-                    .toArray(int[][]::new);
+    return cached(pc, "linesAsCodePoints", MyArrays::deepCopyOf, () -> {
+      return lines(pc).stream()
+                      .map(s -> s.codePoints()
+                                 .toArray())
+                      .toArray(int[][]::new);
+    });
   }
 
   /**
@@ -467,7 +580,9 @@ public class InputLoader {
    * @return an array of integers where each integer represents one line.
    */
   public int[] linesAsInts(final PuzzleContext pc) {
-    return linesAsInts(pc, Integer::parseInt);
+    return cached(pc, "linesAsInts", int[]::clone, () -> {
+      return linesAsInts(pc, Integer::parseInt);
+    });
   }
 
   /**
@@ -506,10 +621,12 @@ public class InputLoader {
    * @return an array of integers where each integer represents one line. This array is sorted.
    */
   public int[] linesAsIntsSorted(final PuzzleContext pc) {
-    return lines(pc).stream()
-                    .mapToInt(Integer::parseInt)
-                    .sorted()
-                    .toArray();
+    return cached(pc, "linesAsIntsSorted", int[]::clone, () -> {
+      return lines(pc).stream()
+                      .mapToInt(Integer::parseInt)
+                      .sorted()
+                      .toArray();
+    });
   }
 
   /**
@@ -519,9 +636,16 @@ public class InputLoader {
    * @return an array of longs where each integer represents one line.
    */
   public long[] linesAsLongs(final PuzzleContext pc) {
-    return lines(pc).stream()
-                    .mapToLong(Long::parseLong)
-                    .toArray();
+    return cached(pc, "linesAsLongs", long[]::clone, () -> {
+      try (final MappedInput in = mapped(pc)) {
+        if (in.isAscii()) {
+          return in.linesAsLongs();
+        }
+      }
+      return lines(pc).stream()
+                      .mapToLong(Long::parseLong)
+                      .toArray();
+    });
   }
 
   /**
@@ -545,10 +669,12 @@ public class InputLoader {
    * @return an array of longs where each long represents one line. This array is sorted.
    */
   public long[] linesAsLongsSorted(final PuzzleContext pc) {
-    return lines(pc).stream()
-                    .mapToLong(Long::parseLong)
-                    .sorted()
-                    .toArray();
+    return cached(pc, "linesAsLongsSorted", long[]::clone, () -> {
+      return lines(pc).stream()
+                      .mapToLong(Long::parseLong)
+                      .sorted()
+                      .toArray();
+    });
   }
 
   /**
@@ -709,6 +835,95 @@ public class InputLoader {
                     .toList();
   }
 
+  /**
+   * Get the input file mapped into memory, for parsing large inputs without copying them into strings first. Callers
+   * must close the returned object when finished with it.
+   *
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @return a memory-mapped view of the input file.
+   */
+  public MappedInput mapped(final PuzzleContext pc) {
+    try {
+      return MappedInput.open(path(pc));
+    }
+    catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Get a stream of groups of lines from the file, where blank lines separate the groups. The file is read as the stream
+   * is consumed, so only the current group is held in memory. Callers must close the stream when finished with it,
+   * preferably with try-with-resources.
+   *
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @return a stream of line groups, which are themselves lists of strings.
+   */
+  public Stream<List<String>> streamGroups(final PuzzleContext pc) {
+    final BufferedReader reader = reader(pc);
+    return StreamSupport.stream(new LineGroupSpliterator(reader), false)
+                        .onClose(() -> close(reader));
+  }
+
+  /**
+   * Get a stream of lines from the file. The file is read as the stream is consumed, so only the current line is held
+   * in memory. Callers must close the stream when finished with it, preferably with try-with-resources.
+   *
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @return a stream of lines.
+   */
+  public Stream<String> streamLines(final PuzzleContext pc) {
+    final BufferedReader reader = reader(pc);
+    return reader.lines()
+                 .onClose(() -> close(reader));
+  }
+
+  /**
+   * Open a buffered reader over a channel for the input file, for the streaming methods. Decoding is strict UTF-8, the
+   * same as reading the whole file at once.
+   */
+  private BufferedReader reader(final PuzzleContext pc) {
+    try {
+      final FileChannel channel = FileChannel.open(path(pc), StandardOpenOption.READ);
+      return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), STREAM_BUFFER_SIZE),
+        STREAM_BUFFER_SIZE);
+    }
+    catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private static void close(final BufferedReader reader) {
+    try {
+      reader.close();
+    }
+    catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Get the result of parsing the input file from the cache, parsing it if needed. Only parsing that is fully determined
+   * by the operation description can be cached: methods that accept caller-supplied functions cannot be.
+   *
+   * @param <T> the type of the parsed contents.
+   * @param pc Puzzle context containing metadata necessary to find the relevant input file.
+   * @param operation description of how the file is parsed, including any parameters that affect the result.
+   * @param copy function that copies the parsed contents so callers cannot modify the cached instance.
+   * @param parser function that parses the file.
+   * @return a copy of the parsed contents.
+   */
+  private <T> T cached(final PuzzleContext pc, final String operation, final UnaryOperator<T> copy, final Supplier<T> parser) {
+    return cache.get(path(pc), operation, copy, parser);
+  }
+
+  /**
+   * Get a description of a pattern for use in a cache operation description.
+   */
+  private static String key(final Pattern pattern) {
+    return pattern.flags() + "/" + pattern.pattern();
+  }
+
   /**
    * Get the full path to the input file to load including all path elements (directories) and the regular file itself
    * (file name).
@@ -16,15 +16,18 @@
  */
 package us.coffeecode.advent_of_code.component;
 
-import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -33,16 +36,28 @@ import org.springframework.stereotype.Component;
  * Locates input files. This is used prior to {@link PuzzleContext} being constructed, since its output is used by the
  * context itself. This class can return the input files present, which can then be used to split an execution of a
  * solution part into several, one for each input. This is where that ability starts.
+ * <p>
+ * Answers and parameters for every puzzle are read in a single walk of the input directory the first time any of them
+ * are needed, or earlier by calling {@link #warm()}. After that, lookups read an immutable index without locking or
+ * touching the file system, so this class is safe to use from solvers running in parallel.
  */
 @Component
 public class InputLocator {
 
+  private static final String ANSWERS = "answers.properties";
+
+  private static final String PARAMETERS = "parameters.properties";
+
+  private static final Pattern YEAR = Pattern.compile("year(\\d+)");
+
+  private static final Pattern DAY = Pattern.compile("day(\\d+)");
+
+  private static final Pattern PART = Pattern.compile("part(\\d+)\\." + Pattern.quote(ANSWERS));
+
   @Value("${inputRoot}")
   private Path inputRoot;
 
-  private final Map<AnswerKey, Map<String, String>> answers = new HashMap<>();
-
-  private final Map<ParameterKey, Map<String, String>> parameters = new HashMap<>();
+  private volatile Index index;
 
   /**
    * Get the path to the input for the given year, day, and input ID.
@@ -53,11 +68,10 @@ public class InputLocator {
   }
 
   public int getParts(final int year, final int day) {
+    final Index idx = index();
     int parts = 0;
     for (int i = 1; i < 3; ++i) {
-      final AnswerKey key = new AnswerKey(year, day, i);
-      ensureLoaded(key);
-      if (answers.containsKey(key)) {
+      if (idx.answers.containsKey(new AnswerKey(year, day, i))) {
         parts = i;
       }
     }
@@ -69,69 +83,95 @@ public class InputLocator {
    * different example inputs for parts one and two.
    */
   public String[] getInputIds(final int year, final int day, final int part) {
-    final AnswerKey key = new AnswerKey(year, day, part);
-    ensureLoaded(key);
-    if (answers.containsKey(key)) {
-      return answers.get(key)
-                    .keySet()
-                    .stream()
-                    .filter(s -> s.endsWith(".txt"))
-                    .toArray(String[]::new);
-    }
-    return new String[0];
+    return getAnswers(year, day, part).keySet()
+                                      .stream()
+                                      .filter(s -> s.endsWith(".txt"))
+                                      .toArray(String[]::new);
   }
 
   public String getAnswer(final int year, final int day, final int part, final String inputId) {
-    final AnswerKey key = new AnswerKey(year, day, part);
-    ensureLoaded(key);
-    if (answers.containsKey(key)) {
-      final Map<String, String> value = answers.get(key);
-      if (value.containsKey(inputId)) {
-        return value.get(inputId);
-      }
-    }
-    return null;
+    return getAnswers(year, day, part).get(inputId);
+  }
+
+  public Map<String, String> getParameters(final int year, final int day) {
+    return index().parameters.getOrDefault(new ParameterKey(year, day), Collections.emptyMap());
   }
 
   /**
-   * If data for the given answer cache key is not loaded, load it if possible.
+   * Build the index of answers and parameters now instead of on first use. Calling this more than once has no effect.
    */
-  private void ensureLoaded(final AnswerKey key) {
-    if (!answers.containsKey(key)) {
-      final File file = getInputBase(key.year, key.day).resolve("part" + key.part + ".answers.properties")
-                                                       .toFile();
-      final Map<String, String> value = loadMap(file);
-      answers.put(key, value);
-    }
+  public void warm() {
+    index();
   }
 
-  public Map<String, String> getParameters(final int year, final int day) {
-    final ParameterKey key = new ParameterKey(year, day);
-    ensureLoaded(key);
-    return parameters.getOrDefault(key, Collections.emptyMap());
+  private Map<String, String> getAnswers(final int year, final int day, final int part) {
+    return index().answers.getOrDefault(new AnswerKey(year, day, part), Collections.emptyMap());
   }
 
   /**
-   * If data for the given parameter cache key is not loaded, load it if possible.
+   * Get the index, building it if this is the first time it is needed.
    */
-  private void ensureLoaded(final ParameterKey key) {
-    if (!parameters.containsKey(key)) {
-      final File file = getInputBase(key.year, key.day).resolve("parameters.properties")
-                                                       .toFile();
-      final Map<String, String> value = loadMap(file);
-      parameters.put(key, value);
+  private Index index() {
+    Index result = index;
+    if (result == null) {
+      synchronized (this) {
+        result = index;
+        if (result == null) {
+          result = scan();
+          index = result;
+        }
+      }
     }
+    return result;
   }
 
-  private Map<String, String> loadMap(final File file) {
+  /**
+   * Walk the input directory once, loading every answer and parameter file into an immutable index.
+   */
+  private Index scan() {
+    final Map<AnswerKey, Map<String, String>> answers = new HashMap<>();
+    final Map<ParameterKey, Map<String, String>> parameters = new HashMap<>();
+    if (Files.isDirectory(inputRoot)) {
+      try (final Stream<Path> files = Files.walk(inputRoot, 3, FileVisitOption.FOLLOW_LINKS)) {
+        files.filter(f -> inputRoot.relativize(f)
+                                   .getNameCount() == 3)
+             .forEach(f -> {
+               final Matcher year = YEAR.matcher(f.getParent()
+                                                  .getParent()
+                                                  .getFileName()
+                                                  .toString());
+               final Matcher day = DAY.matcher(f.getParent()
+                                                .getFileName()
+                                                .toString());
+               if (year.matches() && day.matches()) {
+                 final int y = Integer.parseInt(year.group(1));
+                 final int d = Integer.parseInt(day.group(1));
+                 final String name = f.getFileName()
+                                      .toString();
+                 final Matcher part = PART.matcher(name);
+                 if (part.matches()) {
+                   answers.put(new AnswerKey(y, d, Integer.parseInt(part.group(1))), loadMap(f));
+                 }
+                 else if (PARAMETERS.equals(name)) {
+                   parameters.put(new ParameterKey(y, d), loadMap(f));
+                 }
+               }
+             });
+      }
+      catch (final IOException ex) {
+        throw new RuntimeException(ex);
+      }
+    }
+    return new Index(Collections.unmodifiableMap(answers), Collections.unmodifiableMap(parameters));
+  }
+
+  private Map<String, String> loadMap(final Path file) {
     final Map<String, String> map = new HashMap<>();
-    if (file.exists() && file.canRead()) {
+    if (Files.isRegularFile(file) && Files.isReadable(file)) {
       final Properties props = new Properties();
-      try (final Reader in = new FileReader(file)) {
-        if (in.ready()) {
-          props.load(in);
-          props.forEach((k, v) -> map.put(k.toString(), v.toString()));
-        }
+      try (final Reader in = Files.newBufferedReader(file)) {
+        props.load(in);
+        props.forEach((k, v) -> map.put(k.toString(), v.toString()));
       }
       catch (IOException ex) {
         throw new RuntimeException(ex);
@@ -155,6 +195,8 @@ public class InputLocator {
     return Integer.toString(day);
   }
 
+  private record Index(Map<AnswerKey, Map<String, String>> answers, Map<ParameterKey, Map<String, String>> parameters) {}
+
   private record AnswerKey(int year, int day, int part) {}
 
   private record ParameterKey(int year, int day) {}
@@ -0,0 +1,67 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Reads groups of lines separated by blank lines from a reader, one group at a time. This is the streaming equivalent
+ * of {@link InputLoader#groups(PuzzleContext)}: runs of blank lines separate groups, and leading and trailing blank
+ * lines do not produce empty groups. Only the group currently being read is held in memory.
+ */
+final class LineGroupSpliterator
+extends Spliterators.AbstractSpliterator<List<String>> {
+
+  private final BufferedReader reader;
+
+  LineGroupSpliterator(final BufferedReader _reader) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    reader = _reader;
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super List<String>> action) {
+    try {
+      List<String> group = null;
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        if (!line.isBlank()) {
+          if (group == null) {
+            group = new ArrayList<>();
+          }
+          group.add(line);
+        }
+        else if (group != null) {
+          break;
+        }
+      }
+      if (group == null) {
+        return false;
+      }
+      action.accept(group);
+      return true;
+    }
+    catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+}
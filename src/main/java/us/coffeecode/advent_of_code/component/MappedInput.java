@@ -0,0 +1,281 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only, memory-mapped view of an input file that parses directly from the mapped bytes. This avoids reading the
+ * file into a string, splitting it into lines, and splitting those lines again, which for large inputs means several
+ * full copies of the file on the heap before any parsing happens. Positions are byte offsets into the file.
+ * <p>
+ * Parsing treats each byte as a character, which is only correct for ASCII input. Callers that need to behave exactly
+ * like the string-based parsing should check {@link #isAscii()} first and fall back if it returns false. Lines are
+ * terminated the same way as {@link java.io.BufferedReader#readLine()}: by a line feed, a carriage return, or both.
+ * <p>
+ * The mapping is released when this object is closed, after which it must not be used.
+ */
+public final class MappedInput
+implements AutoCloseable {
+
+  /** Receives the bounds of each line in the file. */
+  @FunctionalInterface
+  public static interface LineVisitor {
+
+    /**
+     * @param start offset of the first byte in the line.
+     * @param end offset one past the last byte in the line, not including the line terminator.
+     */
+    void visit(long start, long end);
+  }
+
+  /**
+   * Map the file at the given path into memory.
+   */
+  public static MappedInput open(final Path path) throws IOException {
+    final Arena arena = Arena.ofConfined();
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new MappedInput(arena, channel.map(MapMode.READ_ONLY, 0, channel.size(), arena));
+    }
+    catch (final IOException | RuntimeException ex) {
+      arena.close();
+      throw ex;
+    }
+  }
+
+  private final Arena arena;
+
+  private final MemorySegment segment;
+
+  private final long size;
+
+  private MappedInput(final Arena _arena, final MemorySegment _segment) {
+    arena = _arena;
+    segment = _segment;
+    size = segment.byteSize();
+  }
+
+  /** Get the size of the file in bytes. */
+  public long size() {
+    return size;
+  }
+
+  /** Get the byte at the given offset. */
+  public byte get(final long offset) {
+    return segment.get(ValueLayout.JAVA_BYTE, offset);
+  }
+
+  /** Check whether every byte in the file is seven-bit ASCII. */
+  public boolean isAscii() {
+    for (long i = 0; i < size; ++i) {
+      if (get(i) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Visit every line in the file. A line terminator at the very end of the file does not start another line, but blank
+   * lines anywhere else are visited.
+   *
+   * @return the number of lines visited.
+   */
+  public int forEachLine(final LineVisitor visitor) {
+    int lines = 0;
+    long start = 0;
+    long i = 0;
+    while (i < size) {
+      final byte b = get(i);
+      if ((b == '\n') || (b == '\r')) {
+        visitor.visit(start, i);
+        ++lines;
+        ++i;
+        if ((b == '\r') && (i < size) && (get(i) == '\n')) {
+          ++i;
+        }
+        start = i;
+      }
+      else {
+        ++i;
+      }
+    }
+    if (start < size) {
+      visitor.visit(start, size);
+      ++lines;
+    }
+    return lines;
+  }
+
+  /** Count the lines in the file, using the same rules as {@link #forEachLine(LineVisitor)}. */
+  public int countLines() {
+    return forEachLine((s, e) -> {});
+  }
+
+  /**
+   * Get every integer in the file, where an integer is a run of ASCII digits optionally preceded by a minus sign. This
+   * finds the same numbers as {@link InputLoader#DIGITS}.
+   */
+  public int[] intsFromDigitGroups() {
+    final int[] result = new int[countDigitGroups()];
+    int n = 0;
+    long i = 0;
+    while (i < size) {
+      final long start = i;
+      if (isDigitGroupStart(i)) {
+        i = (get(i) == '-') ? i + 2 : i + 1;
+        while ((i < size) && isDigit(get(i))) {
+          ++i;
+        }
+        result[n++] = parseInt(start, i);
+      }
+      else {
+        ++i;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get each line of the file as an array of digits, where each byte is converted by subtracting the code point for
+   * zero.
+   */
+  public int[][] linesOfDigits() {
+    final int[][] result = new int[countLines()][];
+    final int[] n = new int[1];
+    forEachLine((start, end) -> {
+      final int[] row = new int[Math.toIntExact(end - start)];
+      for (int i = 0; i < row.length; ++i) {
+        row[i] = get(start + i) - '0';
+      }
+      result[n[0]++] = row;
+    });
+    return result;
+  }
+
+  /** Get each line of the file parsed as a long, with the same rules as {@link Long#parseLong(String)}. */
+  public long[] linesAsLongs() {
+    final long[] result = new long[countLines()];
+    final int[] n = new int[1];
+    forEachLine((start, end) -> result[n[0]++] = parseLong(start, end));
+    return result;
+  }
+
+  /**
+   * Parse the bytes between the given offsets as a decimal long with an optional leading sign, following the same rules
+   * as {@link Long#parseLong(String)} for ASCII input.
+   *
+   * @throws NumberFormatException if the bytes are not a valid long.
+   */
+  public long parseLong(final long start, final long end) {
+    if (start >= end) {
+      throw invalid(start, end);
+    }
+    long i = start;
+    boolean negative = false;
+    final byte first = get(i);
+    if ((first == '-') || (first == '+')) {
+      negative = (first == '-');
+      ++i;
+      if (i == end) {
+        throw invalid(start, end);
+      }
+    }
+    // Accumulate negatively since the magnitude of the minimum value is one larger than the maximum.
+    final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    final long multmin = limit / 10;
+    long result = 0;
+    for (; i < end; ++i) {
+      final byte b = get(i);
+      if (!isDigit(b) || (result < multmin)) {
+        throw invalid(start, end);
+      }
+      result *= 10;
+      final int digit = b - '0';
+      if (result < limit + digit) {
+        throw invalid(start, end);
+      }
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Parse the bytes between the given offsets as a decimal integer, following the same rules as
+   * {@link Integer#parseInt(String)} for ASCII input.
+   *
+   * @throws NumberFormatException if the bytes are not a valid integer.
+   */
+  public int parseInt(final long start, final long end) {
+    final long value = parseLong(start, end);
+    if ((value < Integer.MIN_VALUE) || (Integer.MAX_VALUE < value)) {
+      throw invalid(start, end);
+    }
+    return (int) value;
+  }
+
+  /** Get the bytes between the given offsets as a string. Useful for error messages and debugging. */
+  public String toString(final long start, final long end) {
+    return new String(segment.asSlice(start, end - start)
+                             .toArray(ValueLayout.JAVA_BYTE),
+      StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() {
+    arena.close();
+  }
+
+  private int countDigitGroups() {
+    int count = 0;
+    long i = 0;
+    while (i < size) {
+      if (isDigitGroupStart(i)) {
+        ++count;
+        i = (get(i) == '-') ? i + 2 : i + 1;
+        while ((i < size) && isDigit(get(i))) {
+          ++i;
+        }
+      }
+      else {
+        ++i;
+      }
+    }
+    return count;
+  }
+
+  private boolean isDigitGroupStart(final long i) {
+    final byte b = get(i);
+    return isDigit(b) || ((b == '-') && (i + 1 < size) && isDigit(get(i + 1)));
+  }
+
+  private static boolean isDigit(final byte b) {
+    return ('0' <= b) && (b <= '9');
+  }
+
+  private NumberFormatException invalid(final long start, final long end) {
+    return new NumberFormatException("For input string: \"" + toString(start, end) + "\"");
+  }
+}
@@ -47,6 +47,9 @@ public final class PuzzleContext {
 
   private final int hashCode;
 
+  /** Resources used by the most recent execution against this context, or null if it has not run yet. */
+  private volatile SolverMetrics metrics;
+
   public PuzzleContext(final int _year, final int _day, final int _part, final String _inputId, final String _answer, final Map<String, String> _parameters) {
     year = _year;
     day = _day;
@@ -93,6 +96,14 @@ public final class PuzzleContext {
     return answer;
   }
 
+  public SolverMetrics getMetrics() {
+    return metrics;
+  }
+
+  void setMetrics(final SolverMetrics _metrics) {
+    metrics = _metrics;
+  }
+
   public boolean getBoolean(final String name) {
     return Boolean.parseBoolean(getString(name));
   }
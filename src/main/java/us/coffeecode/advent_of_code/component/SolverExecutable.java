@@ -34,9 +34,20 @@ implements Executable {
     super(_impl, _method, _solution, _title);
   }
 
+  /**
+   * Run the solver and check its answer. Resource usage of the solver itself, excluding the answer check, is recorded
+   * in the puzzle context whether or not the solver succeeds.
+   */
   @Override
   public void execute() throws Throwable {
-    final Object result = method.invoke(impl, solution);
+    final SolverMetrics.Recorder recorder = SolverMetrics.start();
+    final Object result;
+    try {
+      result = invoke();
+    }
+    finally {
+      solution.setMetrics(recorder.stop());
+    }
     final String actual;
     if (result instanceof String s) {
       actual = s;
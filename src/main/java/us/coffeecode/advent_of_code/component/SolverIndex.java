@@ -0,0 +1,146 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
+import us.coffeecode.advent_of_code.annotation.Solver;
+import us.coffeecode.advent_of_code.annotation.SolverIndexProcessor;
+
+/**
+ * Index of solver methods generated at compile time by {@link SolverIndexProcessor}. Reading it tells the test factory
+ * which classes and methods solve which puzzles without loading any of those classes, so a run for a single puzzle only
+ * has to load and wire the one solution class it needs.
+ * <p>
+ * If the index is missing, such as when the code was compiled by a tool that does not run the processor, or it is
+ * disabled with the <code>solverIndex</code> property, this reports itself as unavailable and callers should fall back
+ * to scanning the Spring context.
+ * <p>
+ * An index can also be stale or partial, such as after an incremental build where the processor only saw some of the
+ * sources. Before the index is first used, it is compared to the solvers declared on the solution beans Spring found
+ * while scanning the class path. Spring reads that metadata from the class files without loading the classes, so the
+ * check keeps the index's advantage. If the two differ, the index reports itself as unavailable.
+ */
+@Component
+public class SolverIndex {
+
+  /** One solver method in the index. */
+  public static record Entry(int year, int day, int part, boolean visual, String className, String methodName) {}
+
+  @Autowired
+  private ConfigurableListableBeanFactory beanFactory;
+
+  private final List<Entry> entries;
+
+  /** Whether the index matches the declared solvers, or null if that was not checked yet. */
+  private volatile Boolean current;
+
+  public SolverIndex(@Value("${solverIndex:true}") final boolean enabled) {
+    entries = enabled ? load() : null;
+  }
+
+  /** Get whether an index was found, matches the declared solvers, and can be used instead of scanning. */
+  public boolean isAvailable() {
+    if (entries == null) {
+      return false;
+    }
+    Boolean result = current;
+    if (result == null) {
+      result = Boolean.valueOf(new HashSet<>(entries).equals(declared()));
+      if (!result.booleanValue()) {
+        System.err.println("Solver index " + SolverIndexProcessor.INDEX + " is out of date, scanning for solvers instead:"
+          + " rebuild the project to update it");
+      }
+      current = result;
+    }
+    return result.booleanValue();
+  }
+
+  /** Get all entries in the index, ordered by year, day, and part. */
+  public List<Entry> getEntries() {
+    return (entries == null) ? List.of() : entries;
+  }
+
+  /** Get the solvers declared on solution beans, from the metadata Spring read while scanning. */
+  private Set<Entry> declared() {
+    final Set<Entry> result = new HashSet<>(entries.size() << 1);
+    final String solutionName = AdventOfCodeSolution.class.getName();
+    final String solverName = Solver.class.getName();
+    for (final String name : beanFactory.getBeanDefinitionNames()) {
+      if (beanFactory.getBeanDefinition(name) instanceof final AnnotatedBeanDefinition definition) {
+        final AnnotationMetadata metadata = definition.getMetadata();
+        final Map<String, Object> solution = metadata.getAnnotationAttributes(solutionName);
+        if (solution != null) {
+          for (final MethodMetadata method : metadata.getAnnotatedMethods(solverName)) {
+            final Map<String, Object> solver = method.getAnnotationAttributes(solverName);
+            result.add(new Entry(((Integer) solution.get("year")).intValue(), ((Integer) solution.get("day")).intValue(),
+              ((Integer) solver.get("part")).intValue(), ((Boolean) solver.get("visual")).booleanValue(),
+              metadata.getClassName(), method.getMethodName()));
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Load every index on the class path, or return null if there are none. */
+  private static List<Entry> load() {
+    final List<Entry> result = new ArrayList<>(1_000);
+    try {
+      final Enumeration<URL> urls = SolverIndex.class.getClassLoader()
+                                                     .getResources(SolverIndexProcessor.INDEX);
+      if (!urls.hasMoreElements()) {
+        return null;
+      }
+      for (final URL url : Collections.list(urls)) {
+        try (final BufferedReader in = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+          for (String line = in.readLine(); line != null; line = in.readLine()) {
+            if (!line.isBlank()) {
+              final String[] tokens = line.split("\t");
+              result.add(new Entry(Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]),
+                Boolean.parseBoolean(tokens[3]), tokens[4], tokens[5]));
+            }
+          }
+        }
+      }
+    }
+    catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+    return Collections.unmodifiableList(result);
+  }
+}
@@ -0,0 +1,126 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import org.json.JSONObject;
+
+/**
+ * Resource usage of a single solver execution. CPU time and allocated bytes are measured for the thread that ran the
+ * solver, so work a solver hands off to other threads (such as a parallel stream) is not included. Garbage collection
+ * counts and times are JVM-wide: when solvers run in parallel, collections triggered by one solver are also counted
+ * against any other solver running at the same time.
+ *
+ * @param wallNanos elapsed wall clock time in nanoseconds.
+ * @param cpuNanos CPU time used by the solver's thread in nanoseconds, or -1 if the JVM does not support measuring it.
+ * @param allocatedBytes bytes allocated by the solver's thread, or -1 if the JVM does not support measuring it.
+ * @param gcCount number of garbage collections that ran while the solver ran.
+ * @param gcNanos approximate time spent in those garbage collections in nanoseconds.
+ */
+public record SolverMetrics(long wallNanos, long cpuNanos, long allocatedBytes, long gcCount, long gcNanos) {
+
+  /** Header line matching the output of {@link #toCsv()}. */
+  public static final String CSV_HEADER = "wallNanos,cpuNanos,allocatedBytes,gcCount,gcNanos";
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private static final List<GarbageCollectorMXBean> GCS = ManagementFactory.getGarbageCollectorMXBeans();
+
+  /**
+   * Start measuring the current thread. The returned recorder must be stopped on the same thread.
+   */
+  public static Recorder start() {
+    return new Recorder();
+  }
+
+  public String toCsv() {
+    return wallNanos + "," + cpuNanos + "," + allocatedBytes + "," + gcCount + "," + gcNanos;
+  }
+
+  public JSONObject toJson() {
+    return new JSONObject().put("wallNanos", wallNanos)
+                           .put("cpuNanos", cpuNanos)
+                           .put("allocatedBytes", allocatedBytes)
+                           .put("gcCount", gcCount)
+                           .put("gcNanos", gcNanos);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[wall %.3f ms, cpu %.3f ms, alloc %.1f KiB, gc %d (%.3f ms)]", Double.valueOf(wallNanos / 1e6),
+      Double.valueOf(cpuNanos / 1e6), Double.valueOf(allocatedBytes / 1024.0), Long.valueOf(gcCount),
+      Double.valueOf(gcNanos / 1e6));
+  }
+
+  /** Captures resource counters at the start of a measurement, and computes the deltas when stopped. */
+  public static final class Recorder {
+
+    private final long wall;
+
+    private final long cpu;
+
+    private final long allocated;
+
+    private final long gcCount;
+
+    private final long gcMillis;
+
+    private Recorder() {
+      gcCount = gcCount();
+      gcMillis = gcMillis();
+      allocated = allocatedBytes();
+      cpu = cpuNanos();
+      wall = System.nanoTime();
+    }
+
+    /** Stop measuring and return the resources used since this recorder was started. */
+    public SolverMetrics stop() {
+      final long wallEnd = System.nanoTime();
+      final long cpuEnd = cpuNanos();
+      final long allocatedEnd = allocatedBytes();
+      return new SolverMetrics(wallEnd - wall, (cpu < 0) ? -1 : cpuEnd - cpu,
+        (allocated < 0) ? -1 : allocatedEnd - allocated, gcCount() - gcCount, (gcMillis() - gcMillis) * 1_000_000);
+    }
+
+    private static long cpuNanos() {
+      return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+      if (THREADS instanceof com.sun.management.ThreadMXBean t && t.isThreadAllocatedMemorySupported()) {
+        return t.getCurrentThreadAllocatedBytes();
+      }
+      return -1;
+    }
+
+    private static long gcCount() {
+      return GCS.stream()
+                .mapToLong(gc -> Math.max(0, gc.getCollectionCount()))
+                .sum();
+    }
+
+    private static long gcMillis() {
+      return GCS.stream()
+                .mapToLong(gc -> Math.max(0, gc.getCollectionTime()))
+                .sum();
+    }
+  }
+}
@@ -74,17 +74,25 @@ public class TestContext {
     if (aoc == null) {
       return false;
     }
-    if ((year != null) && (year.intValue() != aoc.year())) {
-      return false;
-    }
-    return (day == null) || (day.intValue() == aoc.day());
+    return matchesPuzzle(aoc.year(), aoc.day());
   }
 
   public boolean matches(final Solver solver) {
     if (solver == null) {
       return false;
     }
-    return ((part == null) || (part.intValue() == solver.part())) && (visual == solver.visual());
+    return matchesSolver(solver.part(), solver.visual());
+  }
+
+  public boolean matchesPuzzle(final int _year, final int _day) {
+    if ((year != null) && (year.intValue() != _year)) {
+      return false;
+    }
+    return (day == null) || (day.intValue() == _day);
+  }
+
+  public boolean matchesSolver(final int _part, final boolean _visual) {
+    return ((part == null) || (part.intValue() == _part)) && (visual == _visual);
   }
 
   public boolean matches(final String _inputId) {
@@ -1,5 +1,5 @@
 /* Advent of Code answers written by John Gaughan
- * Copyright (C) 2020  John Gaughan
+ * Copyright (C) 2025  John Gaughan
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,9 +14,19 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
-package us.coffeecode.advent_of_code.y2018;
+package us.coffeecode.advent_of_code.component;
+
+import org.springframework.stereotype.Component;
 
 /**
- * Models one instruction in an elf assembly program.
+ * Reference run times for solvers, in <code>partX.baseline.properties</code>. Unlike {@link TimingHistory} these only
+ * change when explicitly updated, and the command line runner's regression gate compares new runs against them.
  */
-record Instruction(OpCode opcode, int a, int b, int c) {}
+@Component
+public class TimingBaselines
+extends TimingStore {
+
+  public TimingBaselines() {
+    super("baseline");
+  }
+}
@@ -0,0 +1,48 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers how long each solver took to run the last time it was executed, in <code>partX.timings.properties</code>.
+ * The command line runner uses this to schedule the longest running puzzles first when running in parallel, which keeps
+ * a single slow puzzle from being the last thing running on an otherwise idle machine. Puzzles that were never timed
+ * return {@link #UNKNOWN}, so they are assumed to be slow and get scheduled early.<br>
+ * <br>
+ * These files are scratch data for this machine, so they live under <code>timingsDirectory</code> in the build output
+ * rather than in the input project.
+ */
+@Component
+public class TimingHistory
+extends TimingStore {
+
+  @Value("${timingsDirectory:target/timings}")
+  private Path directory;
+
+  public TimingHistory() {
+    super("timings");
+  }
+
+  @Override
+  protected Path getLocation(final int year, final int day, final String fileName) {
+    return directory.resolve(Path.of("year" + year, "day" + ((day < 10) ? "0" : "") + day, fileName));
+  }
+}
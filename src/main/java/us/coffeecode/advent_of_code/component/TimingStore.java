@@ -0,0 +1,130 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Base for components that store a run time in nanoseconds for each puzzle input. By default, times are stored in the
+ * input project next to the answers in a file named <code>partX.&lt;type&gt;.properties</code> where the key is the input
+ * ID and the value is the run time. Subclasses may store them elsewhere. Recording times is safe from multiple threads.
+ */
+public abstract class TimingStore {
+
+  /** Value returned for puzzles that have no time recorded. */
+  public static final long UNKNOWN = Long.MAX_VALUE;
+
+  @Autowired
+  private InputLocator il;
+
+  private final String type;
+
+  private final Map<TimingKey, Map<String, Long>> timings = new ConcurrentHashMap<>();
+
+  private final Set<TimingKey> modified = ConcurrentHashMap.newKeySet();
+
+  protected TimingStore(final String _type) {
+    type = _type;
+  }
+
+  /**
+   * Get the recorded run time in nanoseconds for the given puzzle context, or {@link #UNKNOWN} if there is none.
+   */
+  public long getNanos(final PuzzleContext pc) {
+    final Long nanos = getTimings(new TimingKey(pc.getYear(), pc.getDay(), pc.getPart())).get(pc.getInputId());
+    return nanos == null ? UNKNOWN : nanos.longValue();
+  }
+
+  /**
+   * Record the run time for the given puzzle context. This is safe to call from multiple threads. The new time is not
+   * written to the file system until {@link #save()} is called.
+   */
+  public void record(final PuzzleContext pc, final long nanos) {
+    final TimingKey key = new TimingKey(pc.getYear(), pc.getDay(), pc.getPart());
+    getTimings(key).put(pc.getInputId(), Long.valueOf(nanos));
+    modified.add(key);
+  }
+
+  /**
+   * Write all timings that were recorded since the last save back to their properties files.
+   */
+  public void save() {
+    for (final TimingKey key : modified) {
+      final Properties props = new Properties();
+      getTimings(key).forEach((k, v) -> props.setProperty(k, v.toString()));
+      final File file = getFile(key);
+      try {
+        Files.createDirectories(file.toPath()
+                                    .getParent());
+      }
+      catch (IOException ex) {
+        throw new RuntimeException(ex);
+      }
+      try (final Writer out = new FileWriter(file)) {
+        props.store(out, null);
+      }
+      catch (IOException ex) {
+        throw new RuntimeException(ex);
+      }
+    }
+    modified.clear();
+  }
+
+  private Map<String, Long> getTimings(final TimingKey key) {
+    return timings.computeIfAbsent(key, this::load);
+  }
+
+  private Map<String, Long> load(final TimingKey key) {
+    final File file = getFile(key);
+    final Map<String, Long> map = new ConcurrentHashMap<>();
+    if (file.exists() && file.canRead()) {
+      final Properties props = new Properties();
+      try (final Reader in = new FileReader(file)) {
+        props.load(in);
+      }
+      catch (IOException ex) {
+        throw new RuntimeException(ex);
+      }
+      props.forEach((k, v) -> map.put(k.toString(), Long.valueOf(v.toString())));
+    }
+    return map;
+  }
+
+  private File getFile(final TimingKey key) {
+    return getLocation(key.year, key.day, "part" + key.part + "." + type + ".properties").toFile();
+  }
+
+  /** Get the path to the file that stores times for a puzzle. */
+  protected Path getLocation(final int year, final int day, final String fileName) {
+    return il.getInputLocation(year, day, fileName);
+  }
+
+  private record TimingKey(int year, int day, int part) {}
+}
@@ -0,0 +1,193 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.exec;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import us.coffeecode.advent_of_code.component.TestContext;
+
+/**
+ * Parses the arguments passed to {@link Main}. Positional arguments filter which tests to run and are passed through to
+ * {@link TestContext} unchanged. Arguments that start with two dashes are options that control how tests run, and may
+ * appear anywhere in the argument list:
+ * <ul>
+ * <li><code>--parallel</code>: run solvers on a fork-join pool. Equivalent to <code>--parallel=fork-join</code>.</li>
+ * <li><code>--parallel=virtual</code>: run each solver on its own virtual thread.</li>
+ * <li><code>--threads=N</code>: number of threads in the fork-join pool. Defaults to the number of processors.</li>
+ * <li><code>--report=FILE</code>: write per-solver metrics to a CSV file, or JSON if the file name ends in
+ * <code>.json</code>.</li>
+ * <li><code>--gate</code>: run each solver repeatedly and fail if it is slower than its stored baseline.</li>
+ * <li><code>--update-baselines</code>: run each solver repeatedly and store the results as the new baselines.</li>
+ * <li><code>--runs=N</code>: measured runs per solver for the gate. Defaults to five.</li>
+ * <li><code>--warmups=N</code>: unmeasured runs per solver before measuring for the gate. Defaults to one.</li>
+ * <li><code>--margin=PERCENT</code>: how much slower than its baseline a solver may be. Defaults to 20 percent.</li>
+ * </ul>
+ */
+public final class CommandLineArguments {
+
+  private static final String PARALLEL = "--parallel";
+
+  private static final String THREADS = "--threads=";
+
+  private static final String REPORT = "--report=";
+
+  private static final String GATE = "--gate";
+
+  private static final String UPDATE_BASELINES = "--update-baselines";
+
+  private static final String RUNS = "--runs=";
+
+  private static final String WARMUPS = "--warmups=";
+
+  private static final String MARGIN = "--margin=";
+
+  private final TestContext testContext;
+
+  private final ExecutionMode executionMode;
+
+  private final int threads;
+
+  private final Path report;
+
+  private final GateMode gateMode;
+
+  private final int runs;
+
+  private final int warmups;
+
+  private final double margin;
+
+  public CommandLineArguments(final String[] args) {
+    final List<String> positional = new ArrayList<>(args.length);
+    ExecutionMode mode = ExecutionMode.SEQUENTIAL;
+    int numThreads = Runtime.getRuntime()
+                            .availableProcessors();
+    Path reportPath = null;
+    GateMode gate = GateMode.OFF;
+    int numRuns = 5;
+    int numWarmups = 1;
+    double pct = 20;
+    for (final String arg : args) {
+      if (!arg.startsWith("--")) {
+        positional.add(arg);
+      }
+      else if (PARALLEL.equals(arg)) {
+        mode = ExecutionMode.FORK_JOIN;
+      }
+      else if (arg.startsWith(PARALLEL + "=")) {
+        mode = ExecutionMode.valueOfOption(arg.substring(PARALLEL.length() + 1));
+      }
+      else if (arg.startsWith(THREADS)) {
+        numThreads = parsePositive(arg, THREADS);
+      }
+      else if (arg.startsWith(REPORT)) {
+        reportPath = Path.of(arg.substring(REPORT.length()));
+      }
+      else if (GATE.equals(arg)) {
+        gate = GateMode.CHECK;
+      }
+      else if (UPDATE_BASELINES.equals(arg)) {
+        gate = GateMode.UPDATE;
+      }
+      else if (arg.startsWith(RUNS)) {
+        numRuns = parsePositive(arg, RUNS);
+      }
+      else if (arg.startsWith(WARMUPS)) {
+        numWarmups = Integer.parseInt(arg.substring(WARMUPS.length()));
+        if (numWarmups < 0) {
+          throw new IllegalArgumentException("Warm-up count must not be negative [" + arg + "]");
+        }
+      }
+      else if (arg.startsWith(MARGIN)) {
+        pct = Double.parseDouble(arg.substring(MARGIN.length()));
+        if (pct < 0) {
+          throw new IllegalArgumentException("Margin must not be negative [" + arg + "]");
+        }
+      }
+      else {
+        throw new IllegalArgumentException("Unknown option [" + arg + "]");
+      }
+    }
+    testContext = new TestContext(positional.toArray(String[]::new));
+    executionMode = mode;
+    threads = numThreads;
+    report = reportPath;
+    if ((gate != GateMode.OFF) && (mode != ExecutionMode.SEQUENTIAL)) {
+      throw new IllegalArgumentException("Regression gate cannot run in parallel");
+    }
+    gateMode = gate;
+    runs = numRuns;
+    warmups = numWarmups;
+    margin = pct / 100;
+  }
+
+  private static int parsePositive(final String arg, final String prefix) {
+    final int value = Integer.parseInt(arg.substring(prefix.length()));
+    if (value < 1) {
+      throw new IllegalArgumentException("Value must be positive [" + arg + "]");
+    }
+    return value;
+  }
+
+  public TestContext getTestContext() {
+    return testContext;
+  }
+
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  /** Get the path to the metrics report to write, or null if no report was requested. */
+  public Path getReport() {
+    return report;
+  }
+
+  public GateMode getGateMode() {
+    return gateMode;
+  }
+
+  public int getRuns() {
+    return runs;
+  }
+
+  public int getWarmups() {
+    return warmups;
+  }
+
+  /** Get the allowed slowdown relative to the baseline as a fraction, such as 0.2 for 20 percent. */
+  public double getMargin() {
+    return margin;
+  }
+
+  /** Whether and how the performance regression gate runs. */
+  public static enum GateMode {
+    OFF,
+    CHECK,
+    UPDATE
+  }
+
+  @Override
+  public String toString() {
+    return testContext + " " + executionMode.getOption() + " (" + threads + " threads)";
+  }
+}
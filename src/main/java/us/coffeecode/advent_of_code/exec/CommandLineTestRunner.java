@@ -17,6 +17,7 @@
 package us.coffeecode.advent_of_code.exec;
 
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestFactory;
@@ -37,11 +38,16 @@ import org.springframework.stereotype.Component;
 
 import us.coffeecode.advent_of_code.component.AocTestExecutionListener;
 import us.coffeecode.advent_of_code.component.DynamicTestFactory;
+import us.coffeecode.advent_of_code.component.InputLocator;
 import us.coffeecode.advent_of_code.component.TestContext;
+import us.coffeecode.advent_of_code.component.TimingBaselines;
+import us.coffeecode.advent_of_code.component.TimingHistory;
 
 /**
  * This class is used by Main to run tests from the command line. Main handles the program logic such as initializing
- * state and managing the program life cycle, while this class handles the test logic.
+ * state and managing the program life cycle, while this class handles the test logic. Depending on the arguments,
+ * solvers either run one at a time or are dispatched to a thread pool by {@link SolverScheduler}, or are checked for
+ * performance regressions by {@link RegressionGate}.
  */
 @Component
 public class CommandLineTestRunner {
@@ -49,17 +55,50 @@ public class CommandLineTestRunner {
   @Autowired
   private DynamicTestFactory dst;
 
+  @Autowired
+  private TimingHistory history;
+
+  @Autowired
+  private TimingBaselines baselines;
+
+  @Autowired
+  private InputLocator locator;
+
   private static TestContext TC;
 
-  public void exec(final TestContext tc) throws Exception {
-    TC = tc;
+  private static SolverScheduler SCHEDULER;
+
+  public void exec(final CommandLineArguments args) throws Exception {
+    TC = args.getTestContext();
+    // Read every answer and parameter file in one pass before anything runs in parallel.
+    locator.warm();
+    final ExecutorService executor = args.getExecutionMode()
+                                         .createExecutor(args.getThreads());
+    final RegressionGate gate = switch (args.getGateMode()) {
+      case OFF -> null;
+      case CHECK -> new RegressionGate(baselines, args.getWarmups(), args.getRuns(), args.getMargin(), false);
+      case UPDATE -> new RegressionGate(baselines, args.getWarmups(), args.getRuns(), args.getMargin(), true);
+    };
+    SCHEDULER = new SolverScheduler(executor, history, gate);
+    try {
+      exec(new AocTestExecutionListener(SCHEDULER::getPuzzleContext, args.getReport()));
+    }
+    finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+      history.save();
+      baselines.save();
+    }
+  }
+
+  private void exec(final TestExecutionListener sgl) {
     final MethodSelector ms =
       DiscoverySelectors.selectMethod(CommandLineTestRunner.class, "getTests", TestContext.class.getName());
     final LauncherDiscoveryRequest ldr = LauncherDiscoveryRequestBuilder.request()
                                                                         .selectors(ms)
                                                                         .build();
     final Launcher launcher = LauncherFactory.create();
-    final TestExecutionListener sgl = new AocTestExecutionListener();
     launcher.registerTestExecutionListeners(sgl);
     launcher.discover(ldr);
     launcher.execute(ldr);
@@ -72,8 +111,7 @@ public class CommandLineTestRunner {
     if (dst == null) {
       dst = Main.context.getBean(DynamicTestFactory.class);
     }
-    Collection<DynamicTest> tests = dst.getTests(tc);
-    return tests;
+    return SCHEDULER.schedule(dst.getSolverExecutables(tc));
   }
 
   public static class TestContextParameterResolver
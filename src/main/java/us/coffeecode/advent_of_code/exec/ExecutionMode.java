@@ -0,0 +1,71 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.exec;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Determines how the command line runner executes solvers. Sequential execution runs each solver inline on the JUnit
+ * thread one after another, which is the historic behavior. The other modes dispatch solvers to a thread pool and have
+ * JUnit wait on each result in turn, so results are still reported in a consistent order.
+ */
+public enum ExecutionMode {
+
+  /** Run each solver on the JUnit thread, one at a time. */
+  SEQUENTIAL("sequential"),
+
+  /** Run solvers on a work-stealing fork-join pool with a configurable number of threads. */
+  FORK_JOIN("fork-join"),
+
+  /** Run each solver on its own virtual thread. Parallelism is limited by the JVM's carrier thread pool. */
+  VIRTUAL_THREADS("virtual");
+
+  public static ExecutionMode valueOfOption(final String option) {
+    for (final ExecutionMode mode : values()) {
+      if (mode.option.equals(option)) {
+        return mode;
+      }
+    }
+    throw new IllegalArgumentException("Unknown execution mode [" + option + "]");
+  }
+
+  private final String option;
+
+  private ExecutionMode(final String _option) {
+    option = _option;
+  }
+
+  /**
+   * Create an executor service appropriate for this execution mode, or null if solvers should run inline.
+   *
+   * @param threads the number of threads to use, if this mode supports configuring it.
+   * @return a new executor service that the caller must shut down, or null for sequential execution.
+   */
+  public ExecutorService createExecutor(final int threads) {
+    return switch (this) {
+      case SEQUENTIAL -> null;
+      case FORK_JOIN -> new ForkJoinPool(threads);
+      case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+    };
+  }
+
+  public String getOption() {
+    return option;
+  }
+}
@@ -21,7 +21,6 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.stereotype.Component;
 
 import us.coffeecode.advent_of_code.component.InjectionConfiguration;
-import us.coffeecode.advent_of_code.component.TestContext;
 
 /**
  * Program entry point for running JUnit tests from the command line as opposed to the Eclipse JUnit plugin. Maven can
@@ -38,7 +37,7 @@ public class Main {
     context = new AnnotationConfigApplicationContext(InjectionConfiguration.class);
     try {
       final CommandLineTestRunner runner = context.getBean(CommandLineTestRunner.class);
-      runner.exec(new TestContext(args));
+      runner.exec(new CommandLineArguments(args));
     }
     catch (Exception ex) {
       ex.printStackTrace();
@@ -0,0 +1,85 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.exec;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicTest;
+
+import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.component.SolverExecutable;
+import us.coffeecode.advent_of_code.component.TimingBaselines;
+
+/**
+ * Turns solver executables into dynamic tests that check for performance regressions. Each test runs its solver several
+ * times after some warm-up runs, checking the answer every time, then compares the median run time against the stored
+ * {@link TimingBaselines}. A test fails if the median exceeds the baseline by more than the allowed margin, and aborts
+ * if there is no baseline to compare against. When updating baselines, the median is recorded as the new baseline
+ * instead. Solvers always run one at a time so they do not compete with each other for processors.
+ */
+final class RegressionGate {
+
+  private final TimingBaselines baselines;
+
+  private final int warmups;
+
+  private final int runs;
+
+  private final double margin;
+
+  private final boolean update;
+
+  RegressionGate(final TimingBaselines _baselines, final int _warmups, final int _runs, final double _margin, final boolean _update) {
+    baselines = _baselines;
+    warmups = _warmups;
+    runs = _runs;
+    margin = _margin;
+    update = _update;
+  }
+
+  Collection<DynamicTest> tests(final Collection<SolverExecutable> executables) {
+    return executables.stream()
+                      .map(e -> DynamicTest.dynamicTest(e.getDescription(), () -> check(e)))
+                      .toList();
+  }
+
+  private void check(final SolverExecutable executable) throws Throwable {
+    final PuzzleContext pc = executable.getPuzzleContext();
+    for (int i = 0; i < warmups; ++i) {
+      executable.execute();
+    }
+    final long[] nanos = new long[runs];
+    for (int i = 0; i < runs; ++i) {
+      executable.execute();
+      nanos[i] = pc.getMetrics()
+                   .wallNanos();
+    }
+    final RunStatistics stats = RunStatistics.of(nanos);
+    if (update) {
+      baselines.record(pc, stats.median());
+      return;
+    }
+    final long baseline = baselines.getNanos(pc);
+    Assumptions.assumeTrue(baseline != TimingBaselines.UNKNOWN, () -> "No baseline for " + pc + " " + stats);
+    final long limit = (long) (baseline * (1.0 + margin));
+    Assertions.assertTrue(stats.median() <= limit,
+      () -> String.format("Slower than baseline %.3f ms by more than %.0f%%: %s", Double.valueOf(baseline / 1e6),
+        Double.valueOf(margin * 100), stats));
+  }
+}
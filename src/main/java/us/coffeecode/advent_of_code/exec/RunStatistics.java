@@ -0,0 +1,62 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.exec;
+
+import java.util.Arrays;
+
+/**
+ * Summary of repeated run times of a single solver. The median and median absolute deviation are used instead of the
+ * mean and standard deviation because a single run disturbed by a garbage collection or another process should not
+ * move the result much.
+ *
+ * @param runs number of runs measured.
+ * @param min fastest run in nanoseconds.
+ * @param median median run time in nanoseconds.
+ * @param mad median absolute deviation from the median in nanoseconds.
+ * @param max slowest run in nanoseconds.
+ */
+record RunStatistics(int runs, long min, long median, long mad, long max) {
+
+  static RunStatistics of(final long[] nanos) {
+    if (nanos.length == 0) {
+      throw new IllegalArgumentException("No runs to summarize");
+    }
+    final long[] sorted = nanos.clone();
+    Arrays.sort(sorted);
+    final long median = median(sorted);
+    final long[] deviations = new long[sorted.length];
+    for (int i = 0; i < sorted.length; ++i) {
+      deviations[i] = Math.abs(sorted[i] - median);
+    }
+    Arrays.sort(deviations);
+    return new RunStatistics(sorted.length, sorted[0], median, median(deviations), sorted[sorted.length - 1]);
+  }
+
+  private static long median(final long[] sorted) {
+    final int mid = sorted.length >> 1;
+    if ((sorted.length & 1) == 1) {
+      return sorted[mid];
+    }
+    return (sorted[mid - 1] + sorted[mid]) >> 1;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[%d runs, median %.3f ms, mad %.3f ms, min %.3f ms, max %.3f ms]", Integer.valueOf(runs),
+      Double.valueOf(median / 1e6), Double.valueOf(mad / 1e6), Double.valueOf(min / 1e6), Double.valueOf(max / 1e6));
+  }
+}
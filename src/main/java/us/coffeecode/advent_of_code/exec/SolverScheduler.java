@@ -0,0 +1,112 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.exec;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DynamicTest;
+
+import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.component.SolverExecutable;
+import us.coffeecode.advent_of_code.component.TimingHistory;
+
+/**
+ * Turns solver executables into dynamic tests for the command line runner. When given an executor, every solver is
+ * submitted up front with the longest historically running solvers first. The dynamic tests handed to JUnit then simply
+ * wait for their own solver to finish and report its outcome. JUnit runs those dynamic tests one at a time in their
+ * original order, so output is identical regardless of which thread finished first. Without an executor, each dynamic
+ * test runs its solver inline. Run times are only recorded in the {@link TimingHistory} when scheduling with an
+ * executor, since that is the only thing that reads them. When given a
+ * {@link RegressionGate}, the gate creates the tests instead. In all cases the scheduler can map a test's description
+ * back to its puzzle context so listeners can report its metrics.
+ */
+final class SolverScheduler {
+
+  private final ExecutorService executor;
+
+  private final TimingHistory history;
+
+  private final Map<String, PuzzleContext> contexts = new ConcurrentHashMap<>();
+
+  private final RegressionGate gate;
+
+  SolverScheduler(final ExecutorService _executor, final TimingHistory _history, final RegressionGate _gate) {
+    executor = _executor;
+    history = _history;
+    gate = _gate;
+  }
+
+  /**
+   * Schedule the given executables and return dynamic tests that report their results, in the same order as the
+   * executables were provided.
+   */
+  Collection<DynamicTest> schedule(final Collection<SolverExecutable> executables) {
+    executables.forEach(e -> contexts.put(e.getDescription(), e.getPuzzleContext()));
+    if (gate != null) {
+      return gate.tests(executables);
+    }
+    if (executor == null) {
+      return executables.stream()
+                        .map(e -> DynamicTest.dynamicTest(e.getDescription(), () -> rethrow(run(e))))
+                        .toList();
+    }
+    final Map<SolverExecutable, Future<Throwable>> futures = new IdentityHashMap<>();
+    executables.stream()
+               .sorted(Comparator.comparingLong((final SolverExecutable e) -> history.getNanos(e.getPuzzleContext()))
+                                 .reversed())
+               .forEach(e -> futures.put(e, executor.submit(() -> run(e))));
+    return executables.stream()
+                      .map(e -> DynamicTest.dynamicTest(e.getDescription(), () -> rethrow(futures.get(e)
+                                                                                                 .get())))
+                      .toList();
+  }
+
+  /** Get the puzzle context of a scheduled executable given its description, or null if there is no such executable. */
+  PuzzleContext getPuzzleContext(final String description) {
+    return contexts.get(description);
+  }
+
+  /** Run a single executable, recording its run time and returning whatever it threw, if anything. */
+  private Throwable run(final SolverExecutable executable) {
+    try {
+      executable.execute();
+      return null;
+    }
+    catch (final Throwable t) {
+      return t;
+    }
+    finally {
+      final PuzzleContext pc = executable.getPuzzleContext();
+      if ((executor != null) && (pc.getMetrics() != null)) {
+        history.record(pc, pc.getMetrics()
+                             .wallNanos());
+      }
+    }
+  }
+
+  private static void rethrow(final Throwable t) throws Throwable {
+    if (t != null) {
+      throw t;
+    }
+  }
+}
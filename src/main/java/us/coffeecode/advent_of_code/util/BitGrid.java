@@ -0,0 +1,207 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+/**
+ * A {@link Grid} of boolean values, packed one bit per cell into an array of longs. All cells, including the border,
+ * start false.
+ */
+public final class BitGrid
+extends Grid {
+
+  private final long[] words;
+
+  /** Create a grid where every cell is false. */
+  public BitGrid(final int _width, final int _height) {
+    super(_width, _height);
+    words = new long[(length + 63) >>> 6];
+  }
+
+  /**
+   * Create a grid from a jagged array, indexed by Y then X. The grid is as wide as the first row. The border is false.
+   */
+  public BitGrid(final boolean[][] rows) {
+    this((rows.length == 0) ? 0 : rows[0].length, rows.length);
+    for (int y = 0; y < height; ++y) {
+      final int w = Math.min(width, rows[y].length);
+      for (int x = 0; x < w; ++x) {
+        if (rows[y][x]) {
+          set(index(x, y));
+        }
+      }
+    }
+  }
+
+  private BitGrid(final BitGrid other) {
+    super(other.width, other.height);
+    words = other.words.clone();
+  }
+
+  /** Get a copy of this grid, including its border. */
+  public BitGrid copy() {
+    return new BitGrid(this);
+  }
+
+  /** Get the value of the cell at the given coordinates. */
+  public boolean get(final int x, final int y) {
+    return get(index(x, y));
+  }
+
+  /** Get the value of the cell at the given index. */
+  public boolean get(final int index) {
+    return (words[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /** Set the value of the cell at the given coordinates. */
+  public void set(final int x, final int y, final boolean value) {
+    set(index(x, y), value);
+  }
+
+  /** Set the value of the cell at the given index. */
+  public void set(final int index, final boolean value) {
+    if (value) {
+      set(index);
+    }
+    else {
+      clear(index);
+    }
+  }
+
+  /** Set the cell at the given index to true. */
+  public void set(final int index) {
+    words[index >>> 6] |= 1L << index;
+  }
+
+  /** Set the cell at the given index to false. */
+  public void clear(final int index) {
+    words[index >>> 6] &= ~(1L << index);
+  }
+
+  /** Set every cell in the grid to a value. This does not change the border. */
+  public void fill(final boolean value) {
+    for (int y = 0; y < height; ++y) {
+      final int end = index(width, y);
+      for (int i = index(0, y); i < end; ++i) {
+        set(i, value);
+      }
+    }
+  }
+
+  /** Set every cell in the border to a value. */
+  public void fillBorder(final boolean value) {
+    for (int i = 0; i < stride; ++i) {
+      set(i, value);
+      set(length - stride + i, value);
+    }
+    for (int i = stride - 1; i < length - stride; i += stride) {
+      set(i, value);
+      set(i + 1, value);
+    }
+  }
+
+  /** Copy all cells from another grid of the same size, including its border. */
+  public void copyFrom(final BitGrid other) {
+    checkSize(other);
+    System.arraycopy(other.words, 0, words, 0, words.length);
+  }
+
+  /** Count the cells in the grid that are true. This does not count the border. */
+  public int count() {
+    int count = 0;
+    for (final long word : words) {
+      count += Long.bitCount(word);
+    }
+    // Subtract the border, which is usually all false. This is cheaper than masking it out of every word.
+    for (int i = 0; i < stride; ++i) {
+      if (get(i)) {
+        --count;
+      }
+      if (get(length - stride + i)) {
+        --count;
+      }
+    }
+    for (int i = stride + stride - 1; i < length - stride; i += stride) {
+      if (get(i)) {
+        --count;
+      }
+      if (get(i + 1 - stride)) {
+        --count;
+      }
+    }
+    return count;
+  }
+
+  /** Get the grid as a jagged array, indexed by Y then X, without the border. */
+  public boolean[][] toArray() {
+    final boolean[][] rows = new boolean[height][width];
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        rows[y][x] = get(x, y);
+      }
+    }
+    return rows;
+  }
+
+  /** Grids are equal if they are the same size and have the same values. The border does not matter. */
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || (getClass() != obj.getClass())) {
+      return false;
+    }
+    final BitGrid o = (BitGrid) obj;
+    if ((width != o.width) || (height != o.height)) {
+      return false;
+    }
+    for (int y = 0; y < height; ++y) {
+      final int end = index(width, y);
+      for (int i = index(0, y); i < end; ++i) {
+        if (get(i) != o.get(i)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = width;
+    for (int y = 0; y < height; ++y) {
+      final int end = index(width, y);
+      for (int i = index(0, y); i < end; ++i) {
+        hash = 31 * hash + (get(i) ? 1 : 0);
+      }
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder str = new StringBuilder(length + (height << 1));
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        str.append(get(x, y) ? '#' : '.');
+      }
+      str.append(System.lineSeparator());
+    }
+    return str.toString();
+  }
+
+}
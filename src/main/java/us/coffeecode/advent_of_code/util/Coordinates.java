@@ -0,0 +1,159 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+/**
+ * Packs coordinates into a single long, so they can be stored in primitive collections such as {@link LongHashSet}
+ * instead of as {@link Point2D} or {@link Point3D} objects. A packed point is just a number: creating one, comparing it,
+ * and hashing it never allocates.<br>
+ * <br>
+ * Two dimensional points keep the full range of an int in each coordinate: X is in the high 32 bits and Y in the low 32
+ * bits. Three dimensional points have 21 bits per coordinate, which holds values from {@value #MIN_3D} to
+ * {@value #MAX_3D}. Packing does not check the range, since that would cost more than the packing itself.<br>
+ * <br>
+ * Neighbor methods write into an array the caller provides, so searches can reuse one array for every point they visit.
+ * They return neighbors in the same order as the corresponding methods in {@link Point2D} and {@link Point3D}.
+ */
+public final class Coordinates {
+
+  /** Smallest coordinate that fits in a packed 3D point. */
+  public static final int MIN_3D = -(1 << 20);
+
+  /** Largest coordinate that fits in a packed 3D point. */
+  public static final int MAX_3D = (1 << 20) - 1;
+
+  private static final long MASK_32 = 0xFFFF_FFFFL;
+
+  private static final long MASK_21 = (1L << 21) - 1;
+
+  /** Pack a 2D point. */
+  public static long pack(final int x, final int y) {
+    return ((long) x << 32) | (y & MASK_32);
+  }
+
+  /** Pack a 2D point. */
+  public static long pack(final Point2D p) {
+    return pack(p.getX(), p.getY());
+  }
+
+  /** Get the X coordinate of a packed 2D point. */
+  public static int getX(final long packed) {
+    return (int) (packed >> 32);
+  }
+
+  /** Get the Y coordinate of a packed 2D point. */
+  public static int getY(final long packed) {
+    return (int) packed;
+  }
+
+  /** Unpack a 2D point. */
+  public static Point2D toPoint2D(final long packed) {
+    return new Point2D(getX(packed), getY(packed));
+  }
+
+  /** Pack a 3D point. */
+  public static long pack(final int x, final int y, final int z) {
+    return ((x & MASK_21) << 42) | ((y & MASK_21) << 21) | (z & MASK_21);
+  }
+
+  /** Pack a 3D point. */
+  public static long pack(final Point3D p) {
+    return pack(p.getX(), p.getY(), p.getZ());
+  }
+
+  /** Get the X coordinate of a packed 3D point. */
+  public static int getX3D(final long packed) {
+    // Shifting left then right extends the sign of each coordinate.
+    return (int) ((packed << 1) >> 43);
+  }
+
+  /** Get the Y coordinate of a packed 3D point. */
+  public static int getY3D(final long packed) {
+    return (int) ((packed << 22) >> 43);
+  }
+
+  /** Get the Z coordinate of a packed 3D point. */
+  public static int getZ3D(final long packed) {
+    return (int) ((packed << 43) >> 43);
+  }
+
+  /** Unpack a 3D point. */
+  public static Point3D toPoint3D(final long packed) {
+    return new Point3D(getX3D(packed), getY3D(packed), getZ3D(packed));
+  }
+
+  /**
+   * Get the four non-diagonal neighbors of a packed 2D point.
+   *
+   * @param neighbors array of at least four elements to hold the neighbors.
+   * @return the number of neighbors, which is four.
+   */
+  public static int getCardinalNeighbors(final long packed, final long[] neighbors) {
+    final int x = getX(packed);
+    final int y = getY(packed);
+    neighbors[0] = pack(x + 1, y);
+    neighbors[1] = pack(x - 1, y);
+    neighbors[2] = pack(x, y + 1);
+    neighbors[3] = pack(x, y - 1);
+    return 4;
+  }
+
+  /**
+   * Get all eight neighbors of a packed 2D point, both cardinal and diagonal.
+   *
+   * @param neighbors array of at least eight elements to hold the neighbors.
+   * @return the number of neighbors, which is eight.
+   */
+  public static int getAllNeighbors(final long packed, final long[] neighbors) {
+    final int x = getX(packed);
+    final int y = getY(packed);
+    int i = 0;
+    for (int dy = -1; dy <= 1; ++dy) {
+      for (int dx = -1; dx <= 1; ++dx) {
+        if ((dx != 0) || (dy != 0)) {
+          neighbors[i++] = pack(x + dx, y + dy);
+        }
+      }
+    }
+    return i;
+  }
+
+  /**
+   * Get the six non-diagonal neighbors of a packed 3D point.
+   *
+   * @param neighbors array of at least six elements to hold the neighbors.
+   * @return the number of neighbors, which is six.
+   */
+  public static int getNeighbors3D(final long packed, final long[] neighbors) {
+    final int x = getX3D(packed);
+    final int y = getY3D(packed);
+    final int z = getZ3D(packed);
+    neighbors[0] = pack(x + 1, y, z);
+    neighbors[1] = pack(x - 1, y, z);
+    neighbors[2] = pack(x, y + 1, z);
+    neighbors[3] = pack(x, y - 1, z);
+    neighbors[4] = pack(x, y, z + 1);
+    neighbors[5] = pack(x, y, z - 1);
+    return 6;
+  }
+
+  /** Get the string representation of a packed 2D point, in the same form as {@link Point2D#toString()}. */
+  public static String toString(final long packed) {
+    return toPoint2D(packed).toString();
+  }
+
+}
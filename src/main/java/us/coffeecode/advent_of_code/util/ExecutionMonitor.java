@@ -0,0 +1,153 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Detects when a {@link RegisterMachine} repeats itself, so puzzles that ask about a program's long-term behavior can
+ * stop as soon as they have proof instead of running for a fixed budget. There are two ways to use it.<br>
+ * <br>
+ * An instance watches one run of a machine. The caller {@linkplain #observe(RegisterMachine, long) observes} the machine
+ * at points of its choosing, such as each time it outputs a value. Each observation hashes the registers and
+ * instruction pointer into a fingerprint, which goes into a primitive set. When a fingerprint repeats, the machine is in
+ * a state it was in before, so everything it does from there repeats forever. Fingerprints are 64 bits, so two
+ * different states are vanishingly unlikely to collide. This assumes the program does not modify itself between
+ * observations.<br>
+ * <br>
+ * {@link #findCycle(Supplier)} uses Brent's algorithm instead, which finds where a sequence starts to repeat and how long
+ * the cycle is without storing the sequence. The sequence must be deterministic: each value depends only on the one
+ * before it. This is true of the full state of a machine, and often of a single register the puzzle cares about.
+ */
+public final class ExecutionMonitor {
+
+  /**
+   * Where a sequence starts repeating, and how often.
+   *
+   * @param start index of the first value that is part of the cycle.
+   * @param length number of values in the cycle.
+   */
+  public record Cycle(long start, long length) {
+
+    /** Get the index of the last value before the sequence first repeats a value, which is the end of the cycle. */
+    public long last() {
+      return start + length - 1;
+    }
+  }
+
+  /**
+   * Find the cycle in a sequence of values using Brent's algorithm. This reads the sequence three times, but only stores
+   * a few values, so it suits long sequences that are cheap to generate again.
+   *
+   * @param sequences supplies a new iterator over the sequence from its first value each time it is called. The
+   *        sequence must eventually repeat, otherwise this does not return.
+   */
+  public static Cycle findCycle(final Supplier<LongSupplier> sequences) {
+    // Find the length: the tortoise waits at powers of two while the hare moves ahead, until the hare catches it.
+    final LongSupplier hare = sequences.get();
+    long tortoise = hare.getAsLong();
+    long value = hare.getAsLong();
+    long power = 1;
+    long length = 1;
+    while (tortoise != value) {
+      if (power == length) {
+        tortoise = value;
+        power <<= 1;
+        length = 0;
+      }
+      value = hare.getAsLong();
+      ++length;
+    }
+
+    // Find the start: two iterators one cycle apart meet at the first value in the cycle.
+    final LongSupplier behind = sequences.get();
+    final LongSupplier ahead = sequences.get();
+    long first = behind.getAsLong();
+    long second = ahead.getAsLong();
+    for (long i = 0; i < length; ++i) {
+      second = ahead.getAsLong();
+    }
+    long start = 0;
+    while (first != second) {
+      first = behind.getAsLong();
+      second = ahead.getAsLong();
+      ++start;
+    }
+    return new Cycle(start, length);
+  }
+
+  /**
+   * Get the value at an index in a new iteration of a sequence.
+   *
+   * @param sequences supplies a new iterator over the sequence from its first value.
+   * @param index index of the value to get.
+   */
+  public static long get(final Supplier<LongSupplier> sequences, final long index) {
+    final LongSupplier sequence = sequences.get();
+    long value = sequence.getAsLong();
+    for (long i = 0; i < index; ++i) {
+      value = sequence.getAsLong();
+    }
+    return value;
+  }
+
+  /**
+   * Get a fingerprint of a machine's state: its registers and instruction pointer, along with a tag for any state the
+   * caller tracks outside of the machine.
+   */
+  public static long fingerprint(final RegisterMachine machine, final long tag) {
+    long hash = LongHashTable.mix(tag) + machine.getIp();
+    final int registers = machine.getProgram()
+                                 .getRegisterCount();
+    for (int i = 0; i < registers; ++i) {
+      hash = LongHashTable.mix(hash) + machine.getRegister(i);
+    }
+    return LongHashTable.mix(hash);
+  }
+
+  private final LongHashSet seen = new LongHashSet();
+
+  /**
+   * Observe the current state of a machine.
+   *
+   * @param machine the machine to observe.
+   * @param tag any state the caller tracks outside the machine that affects what happens next. If the same machine state
+   *        means something different to the caller at different times, such as which output it expects next, the tag
+   *        distinguishes them.
+   * @return true if the machine was already observed in this state, meaning it is in a cycle.
+   */
+  public boolean observe(final RegisterMachine machine, final long tag) {
+    return !seen.add(fingerprint(machine, tag));
+  }
+
+  /** Get the number of distinct states observed. */
+  public int getObservations() {
+    return seen.size();
+  }
+
+  /** Forget all observed states, so the monitor can watch another run. */
+  public void clear() {
+    seen.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "ExecutionMonitor[observations=" + seen.size() + "]";
+  }
+
+}
@@ -0,0 +1,137 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+/**
+ * Base class for two dimensional grids stored in a single flat array, row by row. Compared to a jagged array such as
+ * <code>int[][]</code>, each access is one array lookup instead of two, and neighboring rows are next to each other in
+ * memory.<br>
+ * <br>
+ * The grid is surrounded by a border one cell wide, which is not part of the grid but has storage. Searches and cellular
+ * automata can look at the neighbors of any cell without checking whether it is on the edge: set the border to a value
+ * that means "nothing here", such as a wall, and it will never match.<br>
+ * <br>
+ * Cells have an index into the flat array. Moving to a neighbor is adding an offset to the index: see
+ * {@link #getCardinalOffsets()} and {@link #getAllOffsets()}. Coordinates start at zero in the top left corner of the
+ * grid itself, not its border, the same as for a jagged array.
+ */
+public abstract class Grid {
+
+  /** Width of the grid, not counting the border. */
+  protected final int width;
+
+  /** Height of the grid, not counting the border. */
+  protected final int height;
+
+  /** Distance between vertically adjacent cells in the flat array. */
+  protected final int stride;
+
+  /** Number of cells in the flat array, including the border. */
+  protected final int length;
+
+  protected Grid(final int _width, final int _height) {
+    if ((_width < 0) || (_height < 0)) {
+      throw new IllegalArgumentException("Invalid size " + _width + "x" + _height);
+    }
+    width = _width;
+    height = _height;
+    stride = _width + 2;
+    length = Math.multiplyExact(stride, _height + 2);
+  }
+
+  /** Get the width of the grid, not counting the border. */
+  public final int getWidth() {
+    return width;
+  }
+
+  /** Get the height of the grid, not counting the border. */
+  public final int getHeight() {
+    return height;
+  }
+
+  /** Get the distance between vertically adjacent cells in the flat array, which is the offset to move down one row. */
+  public final int getStride() {
+    return stride;
+  }
+
+  /** Get the number of cells in the flat array, including the border. Every index is less than this. */
+  public final int length() {
+    return length;
+  }
+
+  /** Get the index of a cell. Coordinates may be -1 or one past the edge, which are in the border. */
+  public final int index(final int x, final int y) {
+    return (y + 1) * stride + x + 1;
+  }
+
+  /** Get the X coordinate of the cell at an index. */
+  public final int getX(final int index) {
+    return index % stride - 1;
+  }
+
+  /** Get the Y coordinate of the cell at an index. */
+  public final int getY(final int index) {
+    return index / stride - 1;
+  }
+
+  /** Get whether coordinates are in the grid, not counting the border. */
+  public final boolean isIn(final int x, final int y) {
+    return (0 <= x) && (x < width) && (0 <= y) && (y < height);
+  }
+
+  /** Get whether coordinates are in the grid, not counting the border. */
+  public final boolean isIn(final Point2D p) {
+    return isIn(p.getX(), p.getY());
+  }
+
+  /** Get whether an index is in the border rather than the grid. */
+  public final boolean isBorder(final int index) {
+    final int x = index % stride;
+    return (index < stride) || (index >= length - stride) || (x == 0) || (x == stride - 1);
+  }
+
+  /**
+   * Get the offsets to the four non-diagonal neighbors of a cell, in the same order as
+   * {@link Point2D#getCardinalNeighbors()}.
+   */
+  public final int[] getCardinalOffsets() {
+    return new int[] { 1, -1, stride, -stride };
+  }
+
+  /** Get the offsets to all eight neighbors of a cell, in the same order as {@link Point2D#getAllNeighbors()}. */
+  public final int[] getAllOffsets() {
+    final int[] offsets = new int[8];
+    int i = 0;
+    for (int dy = -1; dy <= 1; ++dy) {
+      for (int dx = -1; dx <= 1; ++dx) {
+        if ((dx != 0) || (dy != 0)) {
+          offsets[i++] = dy * stride + dx;
+        }
+      }
+    }
+    return offsets;
+  }
+
+  /** Throw an exception if another grid is not the same size as this one. */
+  protected final void checkSize(final Grid other) {
+    if ((width != other.width) || (height != other.height)) {
+      throw new IllegalArgumentException("Grid sizes differ: " + width + "x" + height + " and " + other.width + "x"
+        + other.height);
+    }
+  }
+
+}
@@ -0,0 +1,177 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Grid} of <code>int</code> values. All cells, including the border, start at zero.
+ */
+public final class IntGrid
+extends Grid {
+
+  private final int[] cells;
+
+  /** Create a grid of zeros. */
+  public IntGrid(final int _width, final int _height) {
+    super(_width, _height);
+    cells = new int[length];
+  }
+
+  /**
+   * Create a grid from a jagged array, indexed by Y then X. The grid is as wide as the first row. The border is zero.
+   */
+  public IntGrid(final int[][] rows) {
+    this((rows.length == 0) ? 0 : rows[0].length, rows.length);
+    for (int y = 0; y < height; ++y) {
+      System.arraycopy(rows[y], 0, cells, index(0, y), Math.min(width, rows[y].length));
+    }
+  }
+
+  private IntGrid(final IntGrid other) {
+    super(other.width, other.height);
+    cells = other.cells.clone();
+  }
+
+  /** Get a copy of this grid, including its border. */
+  public IntGrid copy() {
+    return new IntGrid(this);
+  }
+
+  /** Get the value of the cell at the given coordinates. */
+  public int get(final int x, final int y) {
+    return cells[index(x, y)];
+  }
+
+  /** Get the value of the cell at the given index. */
+  public int get(final int index) {
+    return cells[index];
+  }
+
+  /** Set the value of the cell at the given coordinates. */
+  public void set(final int x, final int y, final int value) {
+    cells[index(x, y)] = value;
+  }
+
+  /** Set the value of the cell at the given index. */
+  public void set(final int index, final int value) {
+    cells[index] = value;
+  }
+
+  /** Add to the value of the cell at the given index, and return the new value. */
+  public int add(final int index, final int delta) {
+    return cells[index] += delta;
+  }
+
+  /** Set every cell in the grid to a value. This does not change the border. */
+  public void fill(final int value) {
+    for (int y = 0; y < height; ++y) {
+      final int start = index(0, y);
+      Arrays.fill(cells, start, start + width, value);
+    }
+  }
+
+  /** Set every cell in the border to a value. */
+  public void fillBorder(final int value) {
+    Arrays.fill(cells, 0, stride, value);
+    Arrays.fill(cells, length - stride, length, value);
+    for (int i = stride - 1; i < length - stride; i += stride) {
+      cells[i] = value;
+      cells[i + 1] = value;
+    }
+  }
+
+  /** Copy all cells from another grid of the same size, including its border. */
+  public void copyFrom(final IntGrid other) {
+    checkSize(other);
+    System.arraycopy(other.cells, 0, cells, 0, length);
+  }
+
+  /** Count the cells in the grid that have a value. This does not count the border. */
+  public int count(final int value) {
+    int count = 0;
+    for (int y = 0; y < height; ++y) {
+      final int end = index(width, y);
+      for (int i = index(0, y); i < end; ++i) {
+        if (cells[i] == value) {
+          ++count;
+        }
+      }
+    }
+    return count;
+  }
+
+  /** Get the grid as a jagged array, indexed by Y then X, without the border. */
+  public int[][] toArray() {
+    final int[][] rows = new int[height][];
+    for (int y = 0; y < height; ++y) {
+      final int start = index(0, y);
+      rows[y] = Arrays.copyOfRange(cells, start, start + width);
+    }
+    return rows;
+  }
+
+  /** Grids are equal if they are the same size and have the same values. The border does not matter. */
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || (getClass() != obj.getClass())) {
+      return false;
+    }
+    final IntGrid o = (IntGrid) obj;
+    if ((width != o.width) || (height != o.height)) {
+      return false;
+    }
+    for (int y = 0; y < height; ++y) {
+      final int start = index(0, y);
+      if (!Arrays.equals(cells, start, start + width, o.cells, start, start + width)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = width;
+    for (int y = 0; y < height; ++y) {
+      for (int i = index(0, y), end = i + width; i < end; ++i) {
+        hash = 31 * hash + cells[i];
+      }
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder str = new StringBuilder(length << 2);
+    for (int y = 0; y < height; ++y) {
+      final int start = index(0, y);
+      for (int i = start; i < start + width; ++i) {
+        if (i > start) {
+          str.append(' ');
+        }
+        str.append(cells[i]);
+      }
+      str.append(System.lineSeparator());
+    }
+    return str.toString();
+  }
+
+}
@@ -0,0 +1,231 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of int values, stored as sorted, disjoint closed intervals. This is a view of a {@link LongIntervalSet} that only
+ * ever holds int values, so it shares all of its logic: see that class for how the intervals are stored and what each
+ * operation costs. This class only converts between ints and longs at its boundary.
+ */
+public final class IntervalSet {
+
+  /** Receives intervals, by their inclusive bounds. */
+  @FunctionalInterface
+  public static interface IntervalConsumer {
+
+    void accept(final int low, final int high);
+  }
+
+  private final LongIntervalSet set;
+
+  /** Create an empty set. */
+  public IntervalSet() {
+    this(new LongIntervalSet());
+  }
+
+  /** Create a copy of another set. */
+  public IntervalSet(final IntervalSet other) {
+    this(new LongIntervalSet(other.set));
+  }
+
+  private IntervalSet(final LongIntervalSet _set) {
+    set = _set;
+  }
+
+  /**
+   * Get the set of values in a collection of ranges, which are closed intervals. This sorts the ranges then adds them in
+   * order, so it takes <code>O(n log n)</code> time. Null elements are ignored.
+   */
+  public static IntervalSet of(final Collection<Range> ranges) {
+    final IntervalSet result = new IntervalSet();
+    ranges.stream()
+          .filter(r -> r != null)
+          .sorted()
+          .forEach(result::add);
+    return result;
+  }
+
+  /**
+   * Add all values in a closed interval.
+   *
+   * @return whether the set changed.
+   */
+  public boolean add(final int low, final int high) {
+    return set.add(low, high);
+  }
+
+  /** Add one value. */
+  public boolean add(final int value) {
+    return set.add(value);
+  }
+
+  /** Add all values in a range, which is a closed interval. */
+  public boolean add(final Range range) {
+    return set.add(range.getX1(), range.getX2());
+  }
+
+  /** Add all values in another set. This takes time linear in the number of intervals in both sets. */
+  public void addAll(final IntervalSet other) {
+    set.addAll(other.set);
+  }
+
+  /**
+   * Remove all values in a closed interval.
+   *
+   * @return whether the set changed.
+   */
+  public boolean remove(final int low, final int high) {
+    return set.remove(low, high);
+  }
+
+  /** Remove one value. */
+  public boolean remove(final int value) {
+    return set.remove(value);
+  }
+
+  /** Remove all values in another set. */
+  public void removeAll(final IntervalSet other) {
+    set.removeAll(other.set);
+  }
+
+  /** Get whether a value is in the set. */
+  public boolean contains(final int value) {
+    return set.contains(value);
+  }
+
+  /** Get whether every value in a closed interval is in the set. */
+  public boolean containsAll(final int low, final int high) {
+    return set.containsAll(low, high);
+  }
+
+  /** Get whether any value in a closed interval is in the set. */
+  public boolean containsAny(final int low, final int high) {
+    return set.containsAny(low, high);
+  }
+
+  /**
+   * Get the smallest value that is at least the given value and is not in the set.
+   *
+   * @throws NoSuchElementException if every value from the given value up is in the set.
+   */
+  public int nextAbsent(final int value) {
+    final long next = set.nextAbsent(value);
+    if (next > Integer.MAX_VALUE) {
+      throw new NoSuchElementException();
+    }
+    return (int) next;
+  }
+
+  /** Get the values in a closed interval that are not in this set. */
+  public IntervalSet complement(final int low, final int high) {
+    return new IntervalSet(set.complement(low, high));
+  }
+
+  /** Get the values in a closed interval that are also in this set. */
+  public IntervalSet intersection(final int low, final int high) {
+    return new IntervalSet(set.intersection(low, high));
+  }
+
+  /** Get the values in both this set and another. This takes time linear in the number of intervals in both sets. */
+  public IntervalSet intersection(final IntervalSet other) {
+    return new IntervalSet(set.intersection(other.set));
+  }
+
+  /** Pass each interval in the set to a consumer, in order. */
+  public void forEach(final IntervalConsumer action) {
+    set.forEach((low, high) -> action.accept((int) low, (int) high));
+  }
+
+  /** Pass each gap between intervals that is inside a closed interval to a consumer, in order. */
+  public void forEachGap(final int low, final int high, final IntervalConsumer action) {
+    set.forEachGap(low, high, (gapLow, gapHigh) -> action.accept((int) gapLow, (int) gapHigh));
+  }
+
+  /** Get the number of intervals in the set. */
+  public int size() {
+    return set.size();
+  }
+
+  /** Get whether the set is empty. */
+  public boolean isEmpty() {
+    return set.isEmpty();
+  }
+
+  /** Get the number of values in the set. This is a long, because a set can hold more values than fit in an int. */
+  public long count() {
+    return set.count();
+  }
+
+  /** Get the lower bound of an interval, by its index in order. */
+  public int getLow(final int index) {
+    return (int) set.getLow(index);
+  }
+
+  /** Get the upper bound of an interval, by its index in order. */
+  public int getHigh(final int index) {
+    return (int) set.getHigh(index);
+  }
+
+  /** Get the smallest value in the set. */
+  public int getMin() {
+    return (int) set.getMin();
+  }
+
+  /** Get the largest value in the set. */
+  public int getMax() {
+    return (int) set.getMax();
+  }
+
+  /** Remove everything from the set. */
+  public void clear() {
+    set.clear();
+  }
+
+  /** Get the intervals in the set as ranges, in order. */
+  public List<Range> toRanges() {
+    final List<Range> ranges = new ArrayList<>(set.size());
+    forEach((low, high) -> ranges.add(new Range(low, high)));
+    return ranges;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    else if (obj instanceof IntervalSet o) {
+      return set.equals(o.set);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return set.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return set.toString();
+  }
+
+}
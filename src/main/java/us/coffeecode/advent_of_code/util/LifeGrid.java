@@ -0,0 +1,510 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Grid for cellular automata like Conway's Game of Life, where each cell is alive or dead and the next generation of a
+ * cell depends only on whether it is alive and how many of its neighbors are. Cells are packed one bit per cell, each
+ * row in its own array of longs. A generation counts neighbors for 64 cells at once: the neighboring rows are shifted so
+ * each neighbor lines up with the cell, then added together with bitwise adders into four bits per cell. The
+ * {@linkplain Rule rule} then picks the cells that are alive in the next generation with a few more bitwise operations.
+ * <br>
+ * <br>
+ * What lies past the edges depends on the {@link Boundary}. A grid can also have a mask: cells outside the mask are
+ * always dead, which models things like floor tiles that can never hold anything.
+ */
+public final class LifeGrid {
+
+  /** What lies past the edges of the grid. */
+  public static enum Boundary {
+
+    /** Cells past the edges are always dead. */
+    DEAD,
+
+    /** The grid wraps around, so the left edge is next to the right edge and the top is next to the bottom. */
+    TOROIDAL,
+
+    /**
+     * The grid has no edges. Cells may have negative coordinates, and the grid grows when life approaches its edge. The
+     * width, height, and minimum coordinates are those of the storage, which always has at least one dead cell around
+     * everything that is alive.
+     */
+    INFINITE;
+  }
+
+  /** Which cells are neighbors. */
+  public static enum Neighborhood {
+
+    /** The eight cells around a cell, including diagonals. */
+    MOORE,
+
+    /** The four cells above, below, left, and right of a cell. */
+    VON_NEUMANN;
+  }
+
+  /**
+   * Rule for which cells live in the next generation, in the usual <code>B3/S23</code> form. Each mask has one bit per
+   * number of live neighbors: bit <code>n</code> of <code>birth</code> means a dead cell with <code>n</code> live
+   * neighbors comes alive, and bit <code>n</code> of <code>survival</code> means a live cell with <code>n</code> live
+   * neighbors stays alive. All other cells are dead.
+   */
+  public static record Rule(int birth, int survival, Neighborhood neighborhood) {
+
+    private static final Pattern FORMAT = Pattern.compile("B(\\d*)/S(\\d*)");
+
+    /** Conway's Game of Life. */
+    public static final Rule LIFE = of("B3/S23");
+
+    public Rule {
+      if (((birth | survival) >>> 9) != 0) {
+        throw new IllegalArgumentException("No cell has more than eight neighbors");
+      }
+    }
+
+    /** Get a rule in <code>B3/S23</code> form that looks at all eight neighbors. */
+    public static Rule of(final String rule) {
+      return of(rule, Neighborhood.MOORE);
+    }
+
+    /** Get a rule in <code>B3/S23</code> form. */
+    public static Rule of(final String rule, final Neighborhood neighborhood) {
+      final Matcher matcher = FORMAT.matcher(rule);
+      if (!matcher.matches()) {
+        throw new IllegalArgumentException(rule);
+      }
+      return new Rule(mask(matcher.group(1)), mask(matcher.group(2)), neighborhood);
+    }
+
+    private static int mask(final String counts) {
+      return counts.chars()
+                   .map(ch -> 1 << (ch - '0'))
+                   .reduce(0, (a, b) -> a | b);
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder str = new StringBuilder(24).append('B');
+      appendCounts(str, birth);
+      str.append("/S");
+      appendCounts(str, survival);
+      return str.toString();
+    }
+
+    private static void appendCounts(final StringBuilder str, final int mask) {
+      for (int i = 0; i < 9; ++i) {
+        if ((mask & (1 << i)) != 0) {
+          str.append(i);
+        }
+      }
+    }
+  }
+
+  /**
+   * How far an infinite grid grows at a time on each side that needs room. Columns grow by whole words, so rows are
+   * copied word for word.
+   */
+  private static final int GROWTH = 64;
+
+  private final Rule rule;
+
+  private final Boundary boundary;
+
+  /** Neighbor counts that make a cell alive, sorted, for the current state of the cell. */
+  private final int[] birthCounts;
+
+  private final int[] survivalCounts;
+
+  private int width;
+
+  private int height;
+
+  private int minX;
+
+  private int minY;
+
+  private long[][] rows;
+
+  private long[][] next;
+
+  /** Cells that may be alive, or null if there is no mask. */
+  private long[][] mask;
+
+  /** Mask of the bits in the last word of each row that are cells. */
+  private long tail;
+
+  /** Row of dead cells past the top and bottom edges, when they are not toroidal. */
+  private long[] empty;
+
+  /** Create a grid where every cell is dead. */
+  public LifeGrid(final int _width, final int _height, final Rule _rule, final Boundary _boundary) {
+    if ((_width < 1) || (_height < 1)) {
+      throw new IllegalArgumentException("Invalid size " + _width + "x" + _height);
+    }
+    rule = _rule;
+    boundary = _boundary;
+    birthCounts = counts(_rule.birth());
+    survivalCounts = counts(_rule.survival());
+    allocate(_width, _height);
+  }
+
+  /** Create a grid from a jagged array of cells, indexed by Y then X. The grid is as wide as the first row. */
+  public LifeGrid(final boolean[][] cells, final Rule _rule, final Boundary _boundary) {
+    this(cells[0].length, cells.length, _rule, _boundary);
+    for (int y = 0; y < cells.length; ++y) {
+      for (int x = 0; x < cells[y].length; ++x) {
+        if (cells[y][x]) {
+          set(x, y, true);
+        }
+      }
+    }
+  }
+
+  private static int[] counts(final int mask) {
+    final int[] counts = new int[Integer.bitCount(mask)];
+    for (int i = 0, j = 0; i < 9; ++i) {
+      if ((mask & (1 << i)) != 0) {
+        counts[j++] = i;
+      }
+    }
+    return counts;
+  }
+
+  private void allocate(final int _width, final int _height) {
+    width = _width;
+    height = _height;
+    final int words = (width + 63) >>> 6;
+    rows = new long[height][words];
+    next = new long[height][words];
+    empty = new long[words];
+    tail = ((width & 63) == 0) ? -1L : (1L << width) - 1;
+  }
+
+  /** Get the rule. */
+  public Rule getRule() {
+    return rule;
+  }
+
+  /** Get the boundary. */
+  public Boundary getBoundary() {
+    return boundary;
+  }
+
+  /** Get the width of the grid. */
+  public int getWidth() {
+    return width;
+  }
+
+  /** Get the height of the grid. */
+  public int getHeight() {
+    return height;
+  }
+
+  /** Get the smallest X coordinate in the grid, which is only ever nonzero if the grid is infinite. */
+  public int getMinX() {
+    return minX;
+  }
+
+  /** Get the smallest Y coordinate in the grid, which is only ever nonzero if the grid is infinite. */
+  public int getMinY() {
+    return minY;
+  }
+
+  /**
+   * Set the cells that may be alive: cells where the mask is false are dead now, and stay dead. Infinite grids cannot
+   * have a mask.
+   */
+  public void setMask(final boolean[][] cells) {
+    if (boundary == Boundary.INFINITE) {
+      throw new IllegalStateException("Infinite grids cannot have a mask");
+    }
+    if ((cells.length != height) || (cells[0].length != width)) {
+      throw new IllegalArgumentException("Mask is " + cells[0].length + "x" + cells.length + ", grid is " + width + "x"
+        + height);
+    }
+    mask = new long[height][rows[0].length];
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        if (cells[y][x]) {
+          mask[y][x >>> 6] |= 1L << x;
+        }
+      }
+      for (int w = 0; w < mask[y].length; ++w) {
+        rows[y][w] &= mask[y][w];
+      }
+    }
+  }
+
+  /** Get whether a cell is alive. Cells outside the grid are dead. */
+  public boolean get(final int x, final int y) {
+    final int gx = x - minX;
+    final int gy = y - minY;
+    if ((gx < 0) || (gx >= width) || (gy < 0) || (gy >= height)) {
+      return false;
+    }
+    return (rows[gy][gx >>> 6] & (1L << gx)) != 0;
+  }
+
+  /**
+   * Set whether a cell is alive. An infinite grid grows to hold the cell. Otherwise, the cell must be in the grid. Cells
+   * outside the mask, if there is one, stay dead.
+   */
+  public void set(final int x, final int y, final boolean alive) {
+    if (boundary == Boundary.INFINITE) {
+      // Keep a dead cell between the new cell and the edge, growing only the sides that need it.
+      grow(Math.max(0, minX + 1 - x), Math.max(0, x + 2 - minX - width), Math.max(0, minY + 1 - y),
+        Math.max(0, y + 2 - minY - height));
+    }
+    else if (!isIn(x, y, 0)) {
+      throw new IndexOutOfBoundsException("(" + x + "," + y + ") is outside the grid");
+    }
+    final int gx = x - minX;
+    final int gy = y - minY;
+    if (alive && ((mask == null) || ((mask[gy][gx >>> 6] & (1L << gx)) != 0))) {
+      rows[gy][gx >>> 6] |= 1L << gx;
+    }
+    else {
+      rows[gy][gx >>> 6] &= ~(1L << gx);
+    }
+  }
+
+  private boolean isIn(final int x, final int y, final int margin) {
+    return (minX + margin <= x) && (x < minX + width - margin) && (minY + margin <= y) && (y < minY + height - margin);
+  }
+
+  /** Count the live cells. */
+  public int count() {
+    int count = 0;
+    for (final long[] row : rows) {
+      for (final long word : row) {
+        count += Long.bitCount(word);
+      }
+    }
+    return count;
+  }
+
+  /** Advance a number of generations. */
+  public void step(final int generations) {
+    for (int i = 0; i < generations; ++i) {
+      step();
+    }
+  }
+
+  /**
+   * Advance one generation.
+   *
+   * @return whether any cell changed.
+   */
+  public boolean step() {
+    if (boundary == Boundary.INFINITE) {
+      growPastEdges();
+    }
+    final boolean moore = rule.neighborhood() == Neighborhood.MOORE;
+    boolean changed = false;
+    for (int y = 0; y < height; ++y) {
+      final long[] above = (y > 0) ? rows[y - 1] : (boundary == Boundary.TOROIDAL) ? rows[height - 1] : empty;
+      final long[] row = rows[y];
+      final long[] below = (y < height - 1) ? rows[y + 1] : (boundary == Boundary.TOROIDAL) ? rows[0] : empty;
+      final long[] out = next[y];
+      for (int w = 0; w < row.length; ++w) {
+        // Bit-sliced count of live neighbors: bit i of s0 through s3 holds the count for cell i of this word. Add up
+        // the neighbors in each row first, then add the three row sums together.
+        final long s0;
+        final long s1;
+        final long s2;
+        final long s3;
+        final long mw = west(row, w);
+        final long me = east(row, w);
+        final long m0 = mw ^ me;
+        final long m1 = mw & me;
+        if (moore) {
+          final long aw = west(above, w);
+          final long ae = east(above, w);
+          final long a0 = aw ^ above[w] ^ ae;
+          final long a1 = (aw & above[w]) | (ae & (aw ^ above[w]));
+          final long bw = west(below, w);
+          final long be = east(below, w);
+          final long b0 = bw ^ below[w] ^ be;
+          final long b1 = (bw & below[w]) | (be & (bw ^ below[w]));
+          // Ones, carrying into the twos.
+          s0 = a0 ^ b0 ^ m0;
+          final long c0 = (a0 & b0) | (m0 & (a0 ^ b0));
+          // Twos, carrying into the fours twice at most.
+          final long t = a1 ^ b1 ^ m1;
+          final long c1 = (a1 & b1) | (m1 & (a1 ^ b1));
+          s1 = t ^ c0;
+          final long c2 = t & c0;
+          // Fours and eights.
+          s2 = c1 ^ c2;
+          s3 = c1 & c2;
+        }
+        else {
+          final long v0 = above[w] ^ below[w];
+          final long v1 = above[w] & below[w];
+          s0 = v0 ^ m0;
+          final long c0 = v0 & m0;
+          s1 = v1 ^ m1 ^ c0;
+          s2 = (v1 & m1) | (c0 & (v1 ^ m1));
+          s3 = 0;
+        }
+        final long alive = row[w];
+        long born = 0;
+        for (final int count : birthCounts) {
+          born |= equal(count, s0, s1, s2, s3);
+        }
+        long survive = 0;
+        for (final int count : survivalCounts) {
+          survive |= equal(count, s0, s1, s2, s3);
+        }
+        long result = (born & ~alive) | (survive & alive);
+        if (w == row.length - 1) {
+          result &= tail;
+        }
+        if (mask != null) {
+          result &= mask[y][w];
+        }
+        out[w] = result;
+        changed |= result != alive;
+      }
+    }
+    final long[][] temp = rows;
+    rows = next;
+    next = temp;
+    return changed;
+  }
+
+  /** Get the cells whose count of neighbors is exactly a value. */
+  private static long equal(final int count, final long s0, final long s1, final long s2, final long s3) {
+    return (((count & 1) == 0) ? ~s0 : s0) & (((count & 2) == 0) ? ~s1 : s1) & (((count & 4) == 0) ? ~s2 : s2)
+      & (((count & 8) == 0) ? ~s3 : s3);
+  }
+
+  /** Get the cells to the west of each cell in a word: the row shifted one cell east. */
+  private long west(final long[] row, final int w) {
+    final long carry;
+    if (w > 0) {
+      carry = row[w - 1] >>> 63;
+    }
+    else if (boundary == Boundary.TOROIDAL) {
+      carry = (row[(width - 1) >>> 6] >>> (width - 1)) & 1;
+    }
+    else {
+      carry = 0;
+    }
+    return (row[w] << 1) | carry;
+  }
+
+  /** Get the cells to the east of each cell in a word: the row shifted one cell west. */
+  private long east(final long[] row, final int w) {
+    if (w < row.length - 1) {
+      return (row[w] >>> 1) | (row[w + 1] << 63);
+    }
+    if (boundary == Boundary.TOROIDAL) {
+      return (row[w] >>> 1) | ((row[0] & 1) << (width - 1));
+    }
+    return row[w] >>> 1;
+  }
+
+  /** Grow an infinite grid on each side where a live cell is on the edge, so the next generation fits. */
+  private void growPastEdges() {
+    final int last = (width - 1) >>> 6;
+    final long lastBit = 1L << (width - 1);
+    boolean top = false;
+    boolean bottom = false;
+    for (int w = 0; w < rows[0].length; ++w) {
+      top |= rows[0][w] != 0;
+      bottom |= rows[height - 1][w] != 0;
+    }
+    boolean left = false;
+    boolean right = false;
+    for (final long[] row : rows) {
+      left |= (row[0] & 1) != 0;
+      right |= (row[last] & lastBit) != 0;
+    }
+    grow(left ? 1 : 0, right ? 1 : 0, top ? 1 : 0, bottom ? 1 : 0);
+  }
+
+  /**
+   * Grow an infinite grid by at least the given number of cells on each side, in one reallocation. Each side that grows
+   * does so by a multiple of {@link #GROWTH}.
+   */
+  private void grow(final int left, final int right, final int top, final int bottom) {
+    if ((left | right | top | bottom) == 0) {
+      return;
+    }
+    final int l = roundUp(left);
+    final int t = roundUp(top);
+    final long[][] old = rows;
+    final int oldWords = old[0].length;
+    allocate(width + l + roundUp(right), height + t + roundUp(bottom));
+    for (int y = 0; y < old.length; ++y) {
+      System.arraycopy(old[y], 0, rows[y + t], l >>> 6, oldWords);
+    }
+    minX -= l;
+    minY -= t;
+  }
+
+  private static int roundUp(final int cells) {
+    return (cells + GROWTH - 1) / GROWTH * GROWTH;
+  }
+
+  /** Get the live cells as a jagged array, indexed by Y then X. */
+  public boolean[][] toArray() {
+    final boolean[][] cells = new boolean[height][width];
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        cells[y][x] = (rows[y][x >>> 6] & (1L << x)) != 0;
+      }
+    }
+    return cells;
+  }
+
+  /** Grids are equal if they have the same bounds and the same live cells. */
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || (getClass() != obj.getClass())) {
+      return false;
+    }
+    final LifeGrid o = (LifeGrid) obj;
+    return (width == o.width) && (height == o.height) && (minX == o.minX) && (minY == o.minY)
+      && Arrays.deepEquals(rows, o.rows);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.deepHashCode(rows);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder str = new StringBuilder((width + 2) * height);
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        str.append(((rows[y][x >>> 6] & (1L << x)) != 0) ? '#' : '.');
+      }
+      str.append(System.lineSeparator());
+    }
+    return str.toString();
+  }
+
+}
@@ -0,0 +1,100 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of primitive longs using open addressing, so adding a value never allocates a node or boxes the value. See
+ * {@link LongHashTable} for how values are stored.
+ */
+public final class LongHashSet
+extends LongHashTable {
+
+  /** Create an empty set. */
+  public LongHashSet() {
+    this(0);
+  }
+
+  /**
+   * Create an empty set with room for a number of values before it needs to grow.
+   *
+   * @param _expected expected number of values.
+   */
+  public LongHashSet(final int _expected) {
+    super(_expected);
+  }
+
+  /** Create a set containing the same values as another. */
+  public LongHashSet(final LongHashSet other) {
+    super(other);
+  }
+
+  /**
+   * Add a value to the set.
+   *
+   * @return true if the set did not already contain the value.
+   */
+  public boolean add(final long value) {
+    return insert(value) < 0;
+  }
+
+  /** Add all values in another set to this set. */
+  public void addAll(final LongHashSet other) {
+    other.forEach(this::add);
+  }
+
+  /**
+   * Remove a value from the set.
+   *
+   * @return true if the set contained the value.
+   */
+  public boolean remove(final long value) {
+    return delete(value);
+  }
+
+  /** Get whether the set contains a value. */
+  public boolean contains(final long value) {
+    return find(value) >= 0;
+  }
+
+  /** Perform an action for each value in the set, in no particular order. The set must not change meanwhile. */
+  public void forEach(final LongConsumer action) {
+    if (containsZero) {
+      action.accept(0);
+    }
+    for (final long value : keys) {
+      if (value != 0) {
+        action.accept(value);
+      }
+    }
+  }
+
+  /** Get the values in the set, in no particular order. */
+  public long[] toArray() {
+    return copyKeys();
+  }
+
+  @Override
+  public String toString() {
+    final long[] values = toArray();
+    Arrays.sort(values);
+    return Arrays.toString(values);
+  }
+
+}
@@ -0,0 +1,242 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing table of primitive long keys, shared by {@link LongHashSet} and the maps keyed by longs. Keys are
+ * stored directly in a power of two sized table, and collisions probe linearly to the next slot. The table grows when
+ * it is half full, which keeps probe sequences short. Removing a key shifts later keys in its probe sequence back, so
+ * there are no tombstones.<br>
+ * <br>
+ * Zero marks an empty slot, so key zero is tracked separately rather than in the table. Maps store values in an array
+ * with one slot more than the table, and the value for key zero lives in that last slot. This class tells subclasses
+ * when values need to move, so they can keep their value arrays in step with the keys.
+ */
+abstract class LongHashTable {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  long[] keys;
+
+  int mask;
+
+  boolean containsZero;
+
+  int size;
+
+  /** Create an empty table with room for a number of keys before it needs to grow. */
+  LongHashTable(final int _expected) {
+    if (_expected < 0) {
+      throw new IllegalArgumentException("Expected size " + _expected + " < 0");
+    }
+    final int capacity = Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, _expected)) << 2);
+    keys = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  /** Create a table containing the same keys as another. */
+  LongHashTable(final LongHashTable other) {
+    keys = other.keys.clone();
+    mask = other.mask;
+    containsZero = other.containsZero;
+    size = other.size;
+  }
+
+  /** Get the number of keys. */
+  public int size() {
+    return size;
+  }
+
+  /** Get whether there are no keys. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Remove all keys, keeping the table at its current size. */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    containsZero = false;
+    size = 0;
+    clearValues();
+  }
+
+  /** Get the slot holding a key, or -1 if the table does not contain it. Key zero is in the slot past the table. */
+  final int find(final long key) {
+    if (key == 0) {
+      return containsZero ? keys.length : -1;
+    }
+    for (int i = index(key); keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get the slot holding a key, adding the key if it is not already there.
+   *
+   * @return the slot if the key was already there, or the complement of the slot if it was added.
+   */
+  final int insert(final long key) {
+    if (key == 0) {
+      if (containsZero) {
+        return keys.length;
+      }
+      containsZero = true;
+      ++size;
+      return ~keys.length;
+    }
+    int i = index(key);
+    while (keys[i] != 0) {
+      if (keys[i] == key) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    if (((size + 1) << 1) > keys.length) {
+      grow();
+      i = index(key);
+      while (keys[i] != 0) {
+        i = (i + 1) & mask;
+      }
+    }
+    keys[i] = key;
+    ++size;
+    return ~i;
+  }
+
+  /**
+   * Remove a key.
+   *
+   * @return true if the table contained the key.
+   */
+  final boolean delete(final long key) {
+    final int slot = find(key);
+    if (slot < 0) {
+      return false;
+    }
+    clearValue(slot);
+    --size;
+    if (key == 0) {
+      containsZero = false;
+    }
+    else {
+      keys[slot] = 0;
+      closeGap(slot);
+    }
+    return true;
+  }
+
+  /** Get the keys, in no particular order. */
+  final long[] copyKeys() {
+    final long[] result = new long[size];
+    int j = 0;
+    if (containsZero) {
+      result[j++] = 0;
+    }
+    for (final long key : keys) {
+      if (key != 0) {
+        result[j++] = key;
+      }
+    }
+    return result;
+  }
+
+  /** Move a value from one slot to another, when a removal shifts keys back. The source slot becomes empty. */
+  void moveValue(final int from, final int to) {
+    // Sets have no values.
+  }
+
+  /** Forget the value in a slot whose key is being removed. */
+  void clearValue(final int slot) {
+    // Sets have no values.
+  }
+
+  /** Forget all values. */
+  void clearValues() {
+    // Sets have no values.
+  }
+
+  /**
+   * Move values into a new array after the table grows.
+   *
+   * @param moved new slot of the value in each old slot, or -1 for empty slots. This includes the slot for key zero.
+   * @param length length of the new value array.
+   */
+  void rehash(final int[] moved, final int length) {
+    // Sets have no values.
+  }
+
+  private int index(final long key) {
+    return (int) mix(key) & mask;
+  }
+
+  /**
+   * After emptying a slot, move later keys in the same probe sequence back into it. Otherwise a search would stop at the
+   * empty slot and miss them.
+   */
+  private void closeGap(final int emptied) {
+    int gap = emptied;
+    for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+      final int home = index(keys[i]);
+      // Move the key if its home slot is not between the gap and its current slot, cyclically.
+      if (((i - home) & mask) >= ((i - gap) & mask)) {
+        keys[gap] = keys[i];
+        keys[i] = 0;
+        moveValue(i, gap);
+        gap = i;
+      }
+    }
+  }
+
+  private void grow() {
+    final long[] old = keys;
+    keys = new long[old.length << 1];
+    mask = keys.length - 1;
+    final int[] moved = new int[old.length + 1];
+    for (int j = 0; j < old.length; ++j) {
+      if (old[j] == 0) {
+        moved[j] = -1;
+      }
+      else {
+        int i = index(old[j]);
+        while (keys[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = old[j];
+        moved[j] = i;
+      }
+    }
+    moved[old.length] = keys.length;
+    rehash(moved, keys.length + 1);
+  }
+
+  /**
+   * Scramble the bits of a value so that values differing in only a few bits, such as consecutive numbers or packed
+   * coordinates, spread across the whole table. This is the finalizer from the SplitMix64 generator.
+   */
+  static long mix(final long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+}
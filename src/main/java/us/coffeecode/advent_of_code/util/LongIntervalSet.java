@@ -0,0 +1,458 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of long values, stored as sorted, disjoint closed intervals. Intervals that overlap or touch are always merged, so
+ * each interval is separated from the next by at least one value that is not in the set. Bounds are stored in two
+ * primitive arrays, so finding the interval that holds a value is a binary search and enumerating them is a walk over
+ * arrays without any objects.<br>
+ * <br>
+ * Adding or removing an interval finds where it goes with a binary search, then moves the intervals after it with
+ * {@link System#arraycopy(Object, int, Object, int, int)}. Operations that combine two sets walk both of them in order,
+ * so they take linear time.
+ */
+public final class LongIntervalSet {
+
+  /** Receives intervals, by their inclusive bounds. */
+  @FunctionalInterface
+  public static interface IntervalConsumer {
+
+    void accept(final long low, final long high);
+  }
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] lows;
+
+  private long[] highs;
+
+  private int size;
+
+  /** Create an empty set. */
+  public LongIntervalSet() {
+    lows = new long[DEFAULT_CAPACITY];
+    highs = new long[DEFAULT_CAPACITY];
+  }
+
+  /** Create a copy of another set. */
+  public LongIntervalSet(final LongIntervalSet other) {
+    lows = Arrays.copyOf(other.lows, Math.max(other.size, DEFAULT_CAPACITY));
+    highs = Arrays.copyOf(other.highs, lows.length);
+    size = other.size;
+  }
+
+  /**
+   * Get the set of values in a collection of ranges, which are closed intervals. This sorts the ranges then merges them
+   * in one pass, so it takes <code>O(n log n)</code> time. Null elements are ignored.
+   */
+  public static LongIntervalSet of(final Collection<LongRange> ranges) {
+    final LongIntervalSet set = new LongIntervalSet();
+    ranges.stream()
+          .filter(r -> r != null)
+          .sorted()
+          .forEach(r -> set.append(r.getX1(), r.getX2()));
+    return set;
+  }
+
+  /** Add an interval that starts at or after the start of the last interval. */
+  private void append(final long low, final long high) {
+    if ((size > 0) && touches(highs[size - 1], low)) {
+      highs[size - 1] = Math.max(highs[size - 1], high);
+    }
+    else {
+      ensureCapacity(size + 1);
+      lows[size] = low;
+      highs[size] = high;
+      ++size;
+    }
+  }
+
+  /** Get whether an interval that ends at one value touches or overlaps an interval that starts at the other. */
+  private static boolean touches(final long high, final long low) {
+    return (low <= high) || (low - 1 == high);
+  }
+
+  /**
+   * Add all values in a closed interval.
+   *
+   * @return whether the set changed.
+   */
+  public boolean add(final long low, final long high) {
+    check(low, high);
+    // Find the intervals that overlap or touch the new one: they all merge into one.
+    final int first = firstHighAtLeast((low == Long.MIN_VALUE) ? low : low - 1);
+    final int end = firstLowAbove((high == Long.MAX_VALUE) ? high : high + 1);
+    if ((first < end) && (lows[first] <= low) && (high <= highs[first])) {
+      return false;
+    }
+    final long newLow = (first < end) ? Math.min(low, lows[first]) : low;
+    final long newHigh = (first < end) ? Math.max(high, highs[end - 1]) : high;
+    replace(first, end, 1);
+    lows[first] = newLow;
+    highs[first] = newHigh;
+    return true;
+  }
+
+  /** Add one value. */
+  public boolean add(final long value) {
+    return add(value, value);
+  }
+
+  /** Add all values in a range, which is a closed interval. */
+  public boolean add(final LongRange range) {
+    return add(range.getX1(), range.getX2());
+  }
+
+  /** Add all values in another set. This takes time linear in the number of intervals in both sets. */
+  public void addAll(final LongIntervalSet other) {
+    if (other == this) {
+      return;
+    }
+    final long[] oldLows = lows;
+    final long[] oldHighs = highs;
+    final int oldSize = size;
+    lows = new long[Math.max(oldSize + other.size, DEFAULT_CAPACITY)];
+    highs = new long[lows.length];
+    size = 0;
+    int i = 0;
+    int j = 0;
+    while ((i < oldSize) || (j < other.size)) {
+      if ((j == other.size) || ((i < oldSize) && (oldLows[i] <= other.lows[j]))) {
+        append(oldLows[i], oldHighs[i]);
+        ++i;
+      }
+      else {
+        append(other.lows[j], other.highs[j]);
+        ++j;
+      }
+    }
+  }
+
+  /**
+   * Remove all values in a closed interval.
+   *
+   * @return whether the set changed.
+   */
+  public boolean remove(final long low, final long high) {
+    check(low, high);
+    final int first = firstHighAtLeast(low);
+    final int end = firstLowAbove(high);
+    if (first == end) {
+      return false;
+    }
+    // The first and last intervals may stick out past the removed interval: keep those parts.
+    final boolean keepLeft = lows[first] < low;
+    final boolean keepRight = high < highs[end - 1];
+    final long leftLow = lows[first];
+    final long rightHigh = highs[end - 1];
+    final int keep = (keepLeft ? 1 : 0) + (keepRight ? 1 : 0);
+    replace(first, end, keep);
+    int i = first;
+    if (keepLeft) {
+      lows[i] = leftLow;
+      highs[i] = low - 1;
+      ++i;
+    }
+    if (keepRight) {
+      lows[i] = high + 1;
+      highs[i] = rightHigh;
+    }
+    return true;
+  }
+
+  /** Remove one value. */
+  public boolean remove(final long value) {
+    return remove(value, value);
+  }
+
+  /** Remove all values in another set. */
+  public void removeAll(final LongIntervalSet other) {
+    if (other == this) {
+      clear();
+      return;
+    }
+    for (int i = 0; i < other.size; ++i) {
+      remove(other.lows[i], other.highs[i]);
+    }
+  }
+
+  /** Get whether a value is in the set. */
+  public boolean contains(final long value) {
+    final int i = firstHighAtLeast(value);
+    return (i < size) && (lows[i] <= value);
+  }
+
+  /** Get whether every value in a closed interval is in the set. */
+  public boolean containsAll(final long low, final long high) {
+    check(low, high);
+    final int i = firstHighAtLeast(high);
+    return (i < size) && (lows[i] <= low);
+  }
+
+  /** Get whether any value in a closed interval is in the set. */
+  public boolean containsAny(final long low, final long high) {
+    check(low, high);
+    final int i = firstHighAtLeast(low);
+    return (i < size) && (lows[i] <= high);
+  }
+
+  /**
+   * Get the smallest value that is at least the given value and is not in the set.
+   *
+   * @throws NoSuchElementException if every value from the given value up is in the set.
+   */
+  public long nextAbsent(final long value) {
+    final int i = firstHighAtLeast(value);
+    if ((i == size) || (value < lows[i])) {
+      return value;
+    }
+    if (highs[i] == Long.MAX_VALUE) {
+      throw new NoSuchElementException();
+    }
+    return highs[i] + 1;
+  }
+
+  /** Get the values in a closed interval that are not in this set. */
+  public LongIntervalSet complement(final long low, final long high) {
+    final LongIntervalSet result = new LongIntervalSet();
+    forEachGap(low, high, result::append);
+    return result;
+  }
+
+  /** Get the values in a closed interval that are also in this set. */
+  public LongIntervalSet intersection(final long low, final long high) {
+    check(low, high);
+    final LongIntervalSet result = new LongIntervalSet();
+    for (int i = firstHighAtLeast(low); (i < size) && (lows[i] <= high); ++i) {
+      result.append(Math.max(low, lows[i]), Math.min(high, highs[i]));
+    }
+    return result;
+  }
+
+  /** Get the values in both this set and another. This takes time linear in the number of intervals in both sets. */
+  public LongIntervalSet intersection(final LongIntervalSet other) {
+    final LongIntervalSet result = new LongIntervalSet();
+    int i = 0;
+    int j = 0;
+    while ((i < size) && (j < other.size)) {
+      final long low = Math.max(lows[i], other.lows[j]);
+      final long high = Math.min(highs[i], other.highs[j]);
+      if (low <= high) {
+        result.append(low, high);
+      }
+      // Move past whichever interval ends first: it cannot overlap anything else in the other set.
+      if (highs[i] < other.highs[j]) {
+        ++i;
+      }
+      else {
+        ++j;
+      }
+    }
+    return result;
+  }
+
+  /** Pass each interval in the set to a consumer, in order. */
+  public void forEach(final IntervalConsumer action) {
+    for (int i = 0; i < size; ++i) {
+      action.accept(lows[i], highs[i]);
+    }
+  }
+
+  /** Pass each gap between intervals that is inside a closed interval to a consumer, in order. */
+  public void forEachGap(final long low, final long high, final IntervalConsumer action) {
+    check(low, high);
+    long next = low;
+    for (int i = firstHighAtLeast(low); (i < size) && (lows[i] <= high); ++i) {
+      if (next < lows[i]) {
+        action.accept(next, lows[i] - 1);
+      }
+      if (highs[i] >= high) {
+        return;
+      }
+      next = highs[i] + 1;
+    }
+    action.accept(next, high);
+  }
+
+  /** Get the number of intervals in the set. */
+  public int size() {
+    return size;
+  }
+
+  /** Get whether the set is empty. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Get the number of values in the set.
+   *
+   * @throws ArithmeticException if the count does not fit in a long.
+   */
+  public long count() {
+    long count = 0;
+    for (int i = 0; i < size; ++i) {
+      count = Math.addExact(count, Math.addExact(Math.subtractExact(highs[i], lows[i]), 1));
+    }
+    return count;
+  }
+
+  /** Get the lower bound of an interval, by its index in order. */
+  public long getLow(final int index) {
+    checkIndex(index);
+    return lows[index];
+  }
+
+  /** Get the upper bound of an interval, by its index in order. */
+  public long getHigh(final int index) {
+    checkIndex(index);
+    return highs[index];
+  }
+
+  /** Get the smallest value in the set. */
+  public long getMin() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return lows[0];
+  }
+
+  /** Get the largest value in the set. */
+  public long getMax() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return highs[size - 1];
+  }
+
+  /** Remove everything from the set. */
+  public void clear() {
+    size = 0;
+  }
+
+  /** Get the intervals in the set as ranges, in order. */
+  public List<LongRange> toRanges() {
+    final List<LongRange> ranges = new ArrayList<>(size);
+    forEach((low, high) -> ranges.add(new LongRange(low, high)));
+    return ranges;
+  }
+
+  /** Get the index of the first interval whose upper bound is at least a value, or the size if there is none. */
+  private int firstHighAtLeast(final long value) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (highs[mid] < value) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Get the index of the first interval whose lower bound is greater than a value, or the size if there is none. */
+  private int firstLowAbove(final long value) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (lows[mid] <= value) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Replace the intervals from one index, inclusive, to another, exclusive, with room for a number of new intervals. */
+  private void replace(final int from, final int to, final int count) {
+    final int newSize = size - (to - from) + count;
+    ensureCapacity(newSize);
+    System.arraycopy(lows, to, lows, from + count, size - to);
+    System.arraycopy(highs, to, highs, from + count, size - to);
+    size = newSize;
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > lows.length) {
+      final int length = Math.max(capacity, lows.length << 1);
+      lows = Arrays.copyOf(lows, length);
+      highs = Arrays.copyOf(highs, length);
+    }
+  }
+
+  private static void check(final long low, final long high) {
+    if (low > high) {
+      throw new IllegalArgumentException("low (" + low + ") > high (" + high + ")");
+    }
+  }
+
+  private void checkIndex(final int index) {
+    if ((index < 0) || (size <= index)) {
+      throw new IndexOutOfBoundsException(index);
+    }
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    else if (obj instanceof LongIntervalSet o) {
+      return Arrays.equals(lows, 0, size, o.lows, 0, o.size) && Arrays.equals(highs, 0, size, o.highs, 0, o.size);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = size;
+    for (int i = 0; i < size; ++i) {
+      hash = 31 * hash + Long.hashCode(lows[i]);
+      hash = 31 * hash + Long.hashCode(highs[i]);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder str = new StringBuilder(size << 4).append('[');
+    for (int i = 0; i < size; ++i) {
+      if (i > 0) {
+        str.append(", ");
+      }
+      str.append(lows[i])
+         .append("..")
+         .append(highs[i]);
+    }
+    return str.append(']')
+              .toString();
+  }
+
+}
@@ -0,0 +1,161 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+
+/**
+ * Map from primitive longs to objects, using open addressing like {@link LongHashSet}. Keys are often coordinates packed
+ * with {@link Coordinates}, which avoids allocating a point and an entry for each cell in a grid search. Removing an
+ * entry clears its reference to the value, so the map does not keep removed values alive. See {@link LongHashTable} for
+ * how entries are stored.
+ */
+public final class LongObjectHashMap<V>
+extends LongHashTable {
+
+  /** Action to perform on each entry in the map. */
+  @FunctionalInterface
+  public interface EntryConsumer<V> {
+
+    void accept(long key, V value);
+  }
+
+  private V[] values;
+
+  /** Create an empty map. */
+  public LongObjectHashMap() {
+    this(0);
+  }
+
+  /**
+   * Create an empty map with room for a number of entries before it needs to grow.
+   *
+   * @param _expected expected number of entries.
+   */
+  public LongObjectHashMap(final int _expected) {
+    super(_expected);
+    values = newArray(keys.length + 1);
+  }
+
+  /** Get the value associated with a key, or null if there is none. */
+  public V get(final long key) {
+    return getOrDefault(key, null);
+  }
+
+  /** Get the value associated with a key, or a default value if there is none. */
+  public V getOrDefault(final long key, final V defaultValue) {
+    final int i = find(key);
+    return (i < 0) ? defaultValue : values[i];
+  }
+
+  /**
+   * Associate a value with a key, replacing any existing value.
+   *
+   * @return true if the map did not already contain the key.
+   */
+  public boolean put(final long key, final V value) {
+    final int i = insert(key);
+    if (i < 0) {
+      values[~i] = value;
+      return true;
+    }
+    values[i] = value;
+    return false;
+  }
+
+  /**
+   * Remove a key and its value from the map.
+   *
+   * @return true if the map contained the key.
+   */
+  public boolean remove(final long key) {
+    return delete(key);
+  }
+
+  /** Get whether the map contains a key. */
+  public boolean containsKey(final long key) {
+    return find(key) >= 0;
+  }
+
+  /** Perform an action for each entry in the map, in no particular order. The map must not change meanwhile. */
+  public void forEach(final EntryConsumer<V> action) {
+    if (containsZero) {
+      action.accept(0, values[keys.length]);
+    }
+    for (int i = 0; i < keys.length; ++i) {
+      if (keys[i] != 0) {
+        action.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  /** Get the keys in the map, in no particular order. */
+  public long[] keys() {
+    return copyKeys();
+  }
+
+  @Override
+  void moveValue(final int from, final int to) {
+    values[to] = values[from];
+    values[from] = null;
+  }
+
+  @Override
+  void clearValue(final int slot) {
+    values[slot] = null;
+  }
+
+  @Override
+  void clearValues() {
+    Arrays.fill(values, null);
+  }
+
+  @Override
+  void rehash(final int[] moved, final int length) {
+    final V[] old = values;
+    values = newArray(length);
+    for (int j = 0; j < moved.length; ++j) {
+      if (moved[j] >= 0) {
+        values[moved[j]] = old[j];
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V[] newArray(final int length) {
+    return (V[]) new Object[length];
+  }
+
+  @Override
+  public String toString() {
+    final long[] sorted = keys();
+    Arrays.sort(sorted);
+    final StringBuilder str = new StringBuilder(size << 4);
+    str.append('{');
+    for (int i = 0; i < sorted.length; ++i) {
+      if (i > 0) {
+        str.append(", ");
+      }
+      str.append(sorted[i])
+         .append('=')
+         .append(get(sorted[i]));
+    }
+    return str.append('}')
+              .toString();
+  }
+
+}
@@ -16,9 +16,7 @@
  */
 package us.coffeecode.advent_of_code.util;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.LongStream;
@@ -33,35 +31,15 @@ implements Comparable<LongRange> {
   /**
    * Merge the ranges together such that they are all disjoint from each other. This method creates a new list and will
    * not modify its parameter. The resultant list will be sorted per Range's natural ordering. Merging ignores any null
-   * elements in the list.
+   * elements in the list. This sorts the ranges once and merges them in a single pass using {@link LongIntervalSet}.
    *
    * @param the ranges to merge. This list will not be modified.
    * @return a new list of disjoint ranges representing the same overall ranges as the passed-in list. This will be a
    * new list.
    */
   public static List<LongRange> merge(final Collection<LongRange> ranges) {
-    final List<LongRange> result = new ArrayList<>(ranges.size());
-    ranges.stream()
-          .filter(r -> r != null)
-          .forEach(result::add);
-    Collections.sort(result);
-    boolean merged = true;
-    while (merged) {
-      merged = false;
-      for (int i = 0; i < result.size() - 1; ++i) {
-        final LongRange r1 = result.get(i);
-        final LongRange r2 = result.get(i + 1);
-        final LongRange r3 = r1.union(r2);
-        if (r3 != null) {
-          result.remove(i);
-          result.remove(i);
-          result.add(i, r3);
-          merged = true;
-          break;
-        }
-      }
-    }
-    return result;
+    return LongIntervalSet.of(ranges)
+                          .toRanges();
   }
 
   private final long _x1;
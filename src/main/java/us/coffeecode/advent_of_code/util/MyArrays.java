@@ -113,6 +113,20 @@ public final class MyArrays {
     return result;
   }
 
+  /**
+   * Make a deep copy of the provided two-dimensional array.
+   *
+   * @param array the 2D array to copy.
+   * @return a new deep copy of the array.
+   */
+  public static boolean[][] deepCopyOf(final boolean[][] array) {
+    final boolean[][] result = new boolean[array.length][];
+    for (int i = 0; i < result.length; ++i) {
+      result[i] = Arrays.copyOf(array[i], array[i].length);
+    }
+    return result;
+  }
+
   /**
    * Make a copy of an array, omitting a specific index.
    *
@@ -0,0 +1,311 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a string into numbers without using regular expressions for the delimiters that nearly every input uses. The
+ * result is always the same as trimming the string, splitting it with {@link Pattern#split(CharSequence)}, and parsing
+ * each token with {@link Integer#parseInt(String)} or {@link Long#parseLong(String)}, including throwing
+ * {@link NumberFormatException} for the same inputs. The difference is that tokens are parsed in place, so the only
+ * allocation is the resulting array.
+ * <p>
+ * Delimiters that are a literal string, a single whitespace or non-digit character (<code>\s</code> or
+ * <code>\D</code>), or a run of them (<code>\s+</code> or <code>\D+</code>) are handled directly. Anything else falls
+ * back to the regular expression, which is always correct but allocates a string for each token.
+ */
+public final class NumberTokenizer {
+
+  /** Characters that have special meaning in a regular expression when not escaped. */
+  private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+  private static enum Kind {
+    LITERAL,
+    WHITESPACE,
+    NON_DIGIT,
+    REGEX;
+  }
+
+  /**
+   * Get a tokenizer that splits strings on the given pattern.
+   */
+  public static NumberTokenizer of(final Pattern split) {
+    final String pattern = split.pattern();
+    if (split.flags() == Pattern.LITERAL) {
+      return pattern.isEmpty() ? new NumberTokenizer(split, Kind.REGEX, null, false)
+                               : new NumberTokenizer(split, Kind.LITERAL, pattern, false);
+    }
+    else if (split.flags() != 0) {
+      return new NumberTokenizer(split, Kind.REGEX, null, false);
+    }
+    return switch (pattern) {
+      case "\\s" -> new NumberTokenizer(split, Kind.WHITESPACE, null, false);
+      case "\\s+" -> new NumberTokenizer(split, Kind.WHITESPACE, null, true);
+      case "\\D" -> new NumberTokenizer(split, Kind.NON_DIGIT, null, false);
+      case "\\D+" -> new NumberTokenizer(split, Kind.NON_DIGIT, null, true);
+      default -> {
+        final String literal = unescape(pattern);
+        yield (literal == null) ? new NumberTokenizer(split, Kind.REGEX, null, false)
+                                : new NumberTokenizer(split, Kind.LITERAL, literal, false);
+      }
+    };
+  }
+
+  /**
+   * Get every integer in a string, where an integer is a run of ASCII digits optionally preceded by a minus sign. This
+   * finds the same numbers as the regular expression <code>-?\d+</code>, and everything else in the string is ignored.
+   *
+   * @throws NumberFormatException if a number does not fit in an integer.
+   */
+  public static int[] digitGroups(final String str) {
+    final int[] result = new int[countDigitGroups(str)];
+    final int end = str.length();
+    int n = 0;
+    int i = 0;
+    while (i < end) {
+      if (isDigitGroupStart(str, i)) {
+        final int start = i;
+        i = digitGroupEnd(str, i);
+        result[n++] = Integer.parseInt(str, start, i, 10);
+      }
+      else {
+        ++i;
+      }
+    }
+    return result;
+  }
+
+  private final Pattern pattern;
+
+  private final Kind kind;
+
+  private final String literal;
+
+  private final boolean run;
+
+  private NumberTokenizer(final Pattern _pattern, final Kind _kind, final String _literal, final boolean _run) {
+    pattern = _pattern;
+    kind = _kind;
+    literal = _literal;
+    run = _run;
+  }
+
+  /**
+   * Get whether this tokenizer has to fall back to the regular expression because the pattern is too complex to handle
+   * directly.
+   */
+  public boolean isRegex() {
+    return kind == Kind.REGEX;
+  }
+
+  /**
+   * Split the trimmed string and parse each token as an integer.
+   *
+   * @throws NumberFormatException if a token is not a valid integer.
+   */
+  public int[] ints(final String str) {
+    if (kind == Kind.REGEX) {
+      return Arrays.stream(pattern.split(str.trim()))
+                   .mapToInt(Integer::parseInt)
+                   .toArray();
+    }
+    final int begin = trimStart(str);
+    final int end = trimEnd(str, begin);
+    final int[] result = new int[count(str, begin, end)];
+    int start = begin;
+    for (int i = 0; i < result.length; ++i) {
+      final int delimiter = delimiterStart(str, start, end);
+      result[i] = Integer.parseInt(str, start, delimiter, 10);
+      start = delimiterEnd(str, delimiter, end);
+    }
+    return result;
+  }
+
+  /**
+   * Split the trimmed string and parse each token as a long.
+   *
+   * @throws NumberFormatException if a token is not a valid long.
+   */
+  public long[] longs(final String str) {
+    if (kind == Kind.REGEX) {
+      return Arrays.stream(pattern.split(str.trim()))
+                   .mapToLong(Long::parseLong)
+                   .toArray();
+    }
+    final int begin = trimStart(str);
+    final int end = trimEnd(str, begin);
+    final long[] result = new long[count(str, begin, end)];
+    int start = begin;
+    for (int i = 0; i < result.length; ++i) {
+      final int delimiter = delimiterStart(str, start, end);
+      result[i] = Long.parseLong(str, start, delimiter, 10);
+      start = delimiterEnd(str, delimiter, end);
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return kind + (run ? "+" : "") + " " + pattern;
+  }
+
+  /**
+   * Count the tokens that {@link Pattern#split(CharSequence)} would return: if there is no delimiter, the whole string
+   * is one token even if it is empty. Otherwise, trailing empty tokens are dropped.
+   */
+  private int count(final String str, final int begin, final int end) {
+    int start = begin;
+    int delimiter = delimiterStart(str, start, end);
+    if (delimiter == end) {
+      return 1;
+    }
+    int segments = 0;
+    int count = 0;
+    while (true) {
+      ++segments;
+      if (start < delimiter) {
+        count = segments;
+      }
+      if (delimiter == end) {
+        return count;
+      }
+      start = delimiterEnd(str, delimiter, end);
+      delimiter = delimiterStart(str, start, end);
+    }
+  }
+
+  /** Get the position of the next delimiter at or after the given position, or the end if there is none. */
+  private int delimiterStart(final String str, final int from, final int end) {
+    if (kind == Kind.LITERAL) {
+      final int i = str.indexOf(literal, from);
+      return ((i < 0) || (i + literal.length() > end)) ? end : i;
+    }
+    for (int i = from; i < end; ++i) {
+      if (isDelimiter(str.charAt(i))) {
+        return i;
+      }
+    }
+    return end;
+  }
+
+  /** Get the position just after the delimiter that starts at the given position. */
+  private int delimiterEnd(final String str, final int start, final int end) {
+    if (start == end) {
+      return end;
+    }
+    if (kind == Kind.LITERAL) {
+      return start + literal.length();
+    }
+    int i = start + 1;
+    if (run) {
+      while ((i < end) && isDelimiter(str.charAt(i))) {
+        ++i;
+      }
+    }
+    return i;
+  }
+
+  private boolean isDelimiter(final char ch) {
+    if (kind == Kind.WHITESPACE) {
+      // Same as \s without UNICODE_CHARACTER_CLASS: [ \t\n\x0B\f\r]
+      return (ch == ' ') || (('\t' <= ch) && (ch <= '\r'));
+    }
+    return !isDigit(ch);
+  }
+
+  /** Get the position of the first character that {@link String#trim()} would keep. */
+  private static int trimStart(final String str) {
+    int i = 0;
+    while ((i < str.length()) && (str.charAt(i) <= ' ')) {
+      ++i;
+    }
+    return i;
+  }
+
+  /** Get the position just after the last character that {@link String#trim()} would keep. */
+  private static int trimEnd(final String str, final int start) {
+    int i = str.length();
+    while ((start < i) && (str.charAt(i - 1) <= ' ')) {
+      --i;
+    }
+    return i;
+  }
+
+  /**
+   * Get the literal string matched by a pattern, or null if the pattern uses any regular expression features. Escaped
+   * punctuation such as <code>\-</code> is literal, but escaped letters and digits are character classes or other
+   * constructs.
+   */
+  private static String unescape(final String pattern) {
+    if (pattern.isEmpty()) {
+      return null;
+    }
+    final StringBuilder str = new StringBuilder(pattern.length());
+    for (int i = 0; i < pattern.length(); ++i) {
+      final char ch = pattern.charAt(i);
+      if (ch == '\\') {
+        ++i;
+        if ((i == pattern.length()) || Character.isLetterOrDigit(pattern.charAt(i))) {
+          return null;
+        }
+        str.append(pattern.charAt(i));
+      }
+      else if (METACHARACTERS.indexOf(ch) >= 0) {
+        return null;
+      }
+      else {
+        str.append(ch);
+      }
+    }
+    return str.toString();
+  }
+
+  private static int countDigitGroups(final String str) {
+    final int end = str.length();
+    int count = 0;
+    int i = 0;
+    while (i < end) {
+      if (isDigitGroupStart(str, i)) {
+        ++count;
+        i = digitGroupEnd(str, i);
+      }
+      else {
+        ++i;
+      }
+    }
+    return count;
+  }
+
+  private static boolean isDigitGroupStart(final String str, final int i) {
+    final char ch = str.charAt(i);
+    return isDigit(ch) || ((ch == '-') && (i + 1 < str.length()) && isDigit(str.charAt(i + 1)));
+  }
+
+  private static int digitGroupEnd(final String str, final int start) {
+    int i = start + 1;
+    while ((i < str.length()) && isDigit(str.charAt(i))) {
+      ++i;
+    }
+    return i;
+  }
+
+  private static boolean isDigit(final char ch) {
+    return ('0' <= ch) && (ch <= '9');
+  }
+}
@@ -16,9 +16,7 @@
  */
 package us.coffeecode.advent_of_code.util;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -31,34 +29,15 @@ implements Comparable<Range> {
   /**
    * Merge the ranges together such that they are all disjoint from each other. This method creates a new list and will
    * not modify its parameter. The resultant list will be sorted per Range's natural ordering. Merging ignores any null
-   * elements in the list.
+   * elements in the list. This sorts the ranges once and merges them in a single pass using {@link IntervalSet}.
    *
    * @param the ranges to merge. This list will not be modified.
    * @return a new list of disjoint ranges representing the same overall ranges as the passed-in list. This will be a
    * new list.
    */
   public static List<Range> merge(final Collection<Range> ranges) {
-    final List<Range> result = new ArrayList<>(ranges.size());
-    ranges.stream()
-          .filter(r -> r != null)
-          .forEach(result::add);
-    Collections.sort(result);
-    boolean merged = true;
-    while (merged) {
-      merged = false;
-      for (int i = 0; i < result.size() - 1; ++i) {
-        final Range r1 = result.get(i);
-        final Range r2 = result.get(i + 1);
-        final Range r3 = r1.union(r2);
-        if (r3 != null) {
-          result.remove(i);
-          result.set(i, r3);
-          merged = true;
-          break;
-        }
-      }
-    }
-    return result;
+    return IntervalSet.of(ranges)
+                      .toRanges();
   }
 
   private final int _x1;
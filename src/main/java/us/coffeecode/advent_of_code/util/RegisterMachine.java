@@ -0,0 +1,429 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+
+/**
+ * Register machine shared by the puzzles that define a small assembly language: assembunny, elfcode, and the like. Each
+ * puzzle decodes its instructions into a {@link RegisterProgram}, then this class executes them in a single loop that
+ * switches on primitive operation codes. Registers and constants are both slots in one array of longs, so operands are
+ * plain array reads with no boxing and no checks.<br>
+ * <br>
+ * Operations, where <code>[n]</code> is the value in slot n:
+ * <ul>
+ * <li>{@link #NOP}: nothing.</li>
+ * <li>{@link #SET}: <code>[x] = [y]</code></li>
+ * <li>{@link #ADD}, {@link #SUB}, {@link #MUL}, {@link #MOD}, {@link #SHR}, {@link #AND}, {@link #OR}, {@link #XOR}:
+ * <code>[x] = [y] op [z]</code></li>
+ * <li>{@link #GT}, {@link #EQ}: <code>[x] = [y] op [z] ? 1 : 0</code></li>
+ * <li>{@link #JMP}: jump <code>[z]</code> instructions, relative to this one.</li>
+ * <li>{@link #JNZ}, {@link #JGZ}, {@link #JEVEN}, {@link #JONE}: jump <code>[z]</code> instructions if <code>[y]</code>
+ * is not zero, greater than zero, even, or one.</li>
+ * <li>{@link #OUT}: stop with {@link Status#OUTPUT} after writing <code>[y]</code> to the output.</li>
+ * <li>{@link #IN}: stop with {@link Status#INPUT}. The caller provides a value with {@link #input(long)}, which writes
+ * it to <code>[x]</code>.</li>
+ * <li>{@link #TRAP}: stop with {@link Status#TRAP}, for instructions that only make sense to the puzzle such as those
+ * that modify the program. The caller handles the instruction, then continues with {@link #resume()}.</li>
+ * </ul>
+ * When the machine stops for input or a trap, the instruction pointer is still on that instruction.<br>
+ * <br>
+ * Optimized programs also contain fused instructions that each replace an entire loop: see {@link RegisterOptimizer}.
+ */
+public final class RegisterMachine {
+
+  public static final int NOP = 0;
+
+  public static final int SET = 1;
+
+  public static final int ADD = 2;
+
+  public static final int SUB = 3;
+
+  public static final int MUL = 4;
+
+  public static final int MOD = 5;
+
+  public static final int SHR = 6;
+
+  public static final int AND = 7;
+
+  public static final int OR = 8;
+
+  public static final int XOR = 9;
+
+  public static final int GT = 10;
+
+  public static final int EQ = 11;
+
+  public static final int JMP = 12;
+
+  public static final int JNZ = 13;
+
+  public static final int JGZ = 14;
+
+  public static final int JEVEN = 15;
+
+  public static final int JONE = 16;
+
+  public static final int OUT = 17;
+
+  public static final int IN = 18;
+
+  public static final int TRAP = 19;
+
+  // Fused loops written by the optimizer. Programs cannot contain these directly.
+
+  static final int ADD_LOOP = 20;
+
+  static final int MUL_LOOP = 21;
+
+  static final int DIVISOR_LOOP = 22;
+
+  static final int DIVISOR_SUM = 23;
+
+  static final int DIVIDE_LOOP = 24;
+
+  static final int FACTOR_LOOP = 25;
+
+  static final int COMPOSITE_TEST = 26;
+
+  /** Largest value fused loops accept where they multiply, so they never overflow where the original loop does not. */
+  private static final long MAX_FUSED_VALUE = Integer.MAX_VALUE;
+
+  /** Why the machine stopped running. */
+  public static enum Status {
+
+    /** The instruction pointer left the program. */
+    HALTED,
+
+    /** The program wrote output, available from {@link RegisterMachine#getOutput()}. */
+    OUTPUT,
+
+    /** The program needs input. */
+    INPUT,
+
+    /** The program executed a trap. */
+    TRAP,
+
+    /** The machine executed the maximum number of steps it was given. */
+    LIMIT;
+  }
+
+  /** Get whether an operation writes to its first operand. */
+  static boolean writes(final int op) {
+    return ((SET <= op) && (op <= EQ)) || (op == IN);
+  }
+
+  private final RegisterProgram program;
+
+  /** Registers, followed by the program's constants. */
+  private long[] slots;
+
+  /** Number of program constants loaded into the slots. */
+  private int constantsLoaded;
+
+  private int ip;
+
+  private long output;
+
+  public RegisterMachine(final RegisterProgram _program) {
+    program = _program;
+    slots = new long[program.getRegisterCount() + program.constantCount];
+  }
+
+  /** Get the program this machine runs. */
+  public RegisterProgram getProgram() {
+    return program;
+  }
+
+  /** Get the value in a slot, which is either a register or a constant. */
+  public long getRegister(final int slot) {
+    loadConstants();
+    return slots[slot];
+  }
+
+  /** Set the value of a register. */
+  public void setRegister(final int register, final long value) {
+    if (!program.isRegister(register)) {
+      throw new IllegalArgumentException("Slot " + register + " is not a register");
+    }
+    slots[register] = value;
+  }
+
+  /** Get the instruction pointer. */
+  public int getIp() {
+    return ip;
+  }
+
+  /** Set the instruction pointer. */
+  public void setIp(final int _ip) {
+    ip = _ip;
+  }
+
+  /** Get the most recent output. */
+  public long getOutput() {
+    return output;
+  }
+
+  /** Provide input to the program after it stopped with {@link Status#INPUT}, and move past the instruction. */
+  public void input(final long value) {
+    if (program.ops[ip] != IN) {
+      throw new IllegalStateException("Instruction " + ip + " does not read input");
+    }
+    slots[program.xs[ip]] = value;
+    ++ip;
+  }
+
+  /** Move past the current instruction, after handling a trap. */
+  public void resume() {
+    ++ip;
+  }
+
+  /** Clear all registers and return to the first instruction. */
+  public void reset() {
+    Arrays.fill(slots, 0, program.getRegisterCount(), 0);
+    ip = 0;
+  }
+
+  /** Run until the program halts or stops for input, output, or a trap. */
+  public Status run() {
+    return run(Long.MAX_VALUE);
+  }
+
+  /**
+   * Run until the program halts, stops for input, output, or a trap, or executes the given number of instructions.
+   *
+   * @param maxSteps maximum number of instructions to execute.
+   * @return why the machine stopped.
+   */
+  public Status run(final long maxSteps) {
+    loadConstants();
+    final long[] r = slots;
+    final int[] ops = program.ops;
+    final int[] code = program.code;
+    final int[][] fused = program.fused;
+    final int[] xs = program.xs;
+    final int[] ys = program.ys;
+    final int[] zs = program.zs;
+    final int length = program.size;
+    final int ipRegister = program.getIpRegister();
+    int i = ip;
+    for (long step = 0; (0 <= i) && (i < length); ++step) {
+      if (step == maxSteps) {
+        return stop(i, Status.LIMIT);
+      }
+      if (ipRegister >= 0) {
+        r[ipRegister] = i;
+      }
+      int op = code[i];
+      if (op > TRAP) {
+        final int target = fused(op, fused[i], r);
+        if (target >= 0) {
+          if (ipRegister >= 0) {
+            r[ipRegister] = target - 1;
+          }
+          i = target;
+          continue;
+        }
+        // The loop's registers are out of the range the fused instruction handles, so execute the loop as written.
+        op = ops[i];
+      }
+      final int x = xs[i];
+      final int y = ys[i];
+      final int z = zs[i];
+      int next = i + 1;
+      switch (op) {
+        case NOP -> {}
+        case SET -> r[x] = r[y];
+        case ADD -> r[x] = r[y] + r[z];
+        case SUB -> r[x] = r[y] - r[z];
+        case MUL -> r[x] = r[y] * r[z];
+        case MOD -> r[x] = r[y] % r[z];
+        case SHR -> r[x] = r[y] >> r[z];
+        case AND -> r[x] = r[y] & r[z];
+        case OR -> r[x] = r[y] | r[z];
+        case XOR -> r[x] = r[y] ^ r[z];
+        case GT -> r[x] = (r[y] > r[z]) ? 1 : 0;
+        case EQ -> r[x] = (r[y] == r[z]) ? 1 : 0;
+        case JMP -> next = i + (int) r[z];
+        case JNZ -> next = (r[y] != 0) ? i + (int) r[z] : next;
+        case JGZ -> next = (r[y] > 0) ? i + (int) r[z] : next;
+        case JEVEN -> next = ((r[y] & 1) == 0) ? i + (int) r[z] : next;
+        case JONE -> next = (r[y] == 1) ? i + (int) r[z] : next;
+        case OUT -> {
+          output = r[y];
+          return stop(next, Status.OUTPUT);
+        }
+        case IN -> {
+          return stop(i, Status.INPUT);
+        }
+        case TRAP -> {
+          return stop(i, Status.TRAP);
+        }
+        default -> throw new IllegalStateException("Unknown operation " + op + " at " + i);
+      }
+      if (ipRegister >= 0) {
+        next = (int) r[ipRegister] + 1;
+      }
+      i = next;
+    }
+    return stop(i, Status.HALTED);
+  }
+
+  /**
+   * Execute a fused loop.
+   *
+   * @param op the fused operation.
+   * @param f operands of the fused operation, as the optimizer documents them for each loop.
+   * @param r registers.
+   * @return the instruction after the loop, or -1 if the registers are out of the range this can handle.
+   */
+  private static int fused(final int op, final int[] f, final long[] r) {
+    switch (op) {
+      case ADD_LOOP -> {
+        r[f[0]] += f[2] * r[f[1]];
+        r[f[1]] = 0;
+        return f[3];
+      }
+      case MUL_LOOP -> {
+        r[f[0]] += f[4] * r[f[1]] * r[f[3]];
+        r[f[2]] = 0;
+        r[f[3]] = 0;
+        return f[5];
+      }
+      case DIVISOR_LOOP -> {
+        final long i = r[f[1]];
+        final long j = r[f[2]];
+        final long n = r[f[3]];
+        if (!inRange(i, 1) || !inRange(j, 1) || !inRange(n, 0)) {
+          return -1;
+        }
+        final long last = Math.max(j, n);
+        if ((n % i == 0) && (j <= n / i) && (n / i <= last)) {
+          r[f[0]] += i;
+        }
+        r[f[2]] = last + 1;
+        r[f[4]] = 1;
+        return f[5];
+      }
+      case DIVISOR_SUM -> {
+        final long i = r[f[1]];
+        final long n = r[f[3]];
+        if (!inRange(i, 1) || !inRange(n, 1)) {
+          return -1;
+        }
+        long sum = 0;
+        for (long k = 1; k * k <= n; ++k) {
+          if (n % k == 0) {
+            final long cofactor = n / k;
+            sum += (k >= i) ? k : 0;
+            sum += ((cofactor != k) && (cofactor >= i)) ? cofactor : 0;
+          }
+        }
+        r[f[0]] += sum;
+        r[f[1]] = Math.max(i, n) + 1;
+        r[f[2]] = n + 1;
+        r[f[4]] = 1;
+        return f[5];
+      }
+      case DIVIDE_LOOP -> {
+        final long q = r[f[0]];
+        final long v = r[f[2]];
+        final long divisor = r[f[3]];
+        if (!inRange(q, 0) || !inRange(v, 0) || !inRange(divisor, 1)) {
+          return -1;
+        }
+        r[f[0]] = Math.max(q, v / divisor);
+        r[f[1]] = 1;
+        return f[4];
+      }
+      case FACTOR_LOOP -> {
+        final long d = r[f[0]];
+        final long e = r[f[1]];
+        final long b = r[f[2]];
+        if (!inRange(d, 0) || !inRange(e, 0) || !inRange(b, e + 1)) {
+          return -1;
+        }
+        if ((d != 0) && (b % d == 0) && (e <= b / d) && (b / d < b)) {
+          r[f[3]] = r[f[4]];
+        }
+        r[f[1]] = b;
+        r[f[5]] = 0;
+        return f[6];
+      }
+      case COMPOSITE_TEST -> {
+        final long d = r[f[0]];
+        final long e = r[f[2]];
+        final long b = r[f[3]];
+        if (!inRange(d, 1) || !inRange(e, 1) || !inRange(b, Math.max(d, e) + 1)) {
+          return -1;
+        }
+        for (long k = 1; k * k <= b; ++k) {
+          if ((b % k == 0) && (isFactorPair(k, b / k, d, e, b) || isFactorPair(b / k, k, d, e, b))) {
+            r[f[4]] = r[f[5]];
+            break;
+          }
+        }
+        r[f[0]] = b;
+        r[f[1]] = b;
+        r[f[6]] = 0;
+        return f[7];
+      }
+      default -> throw new IllegalStateException("Unknown fused operation " + op);
+    }
+  }
+
+  private static boolean inRange(final long value, final long min) {
+    return (min <= value) && (value <= MAX_FUSED_VALUE);
+  }
+
+  /** Get whether factors of b are both in the ranges the composite test loops over, which end at b - 1. */
+  private static boolean isFactorPair(final long first, final long second, final long firstMin, final long secondMin,
+    final long b) {
+    return (firstMin <= first) && (first < b) && (secondMin <= second) && (second < b);
+  }
+
+  /** Save the instruction pointer when the machine stops, including to its register if it has one. */
+  private Status stop(final int _ip, final Status status) {
+    ip = _ip;
+    if (program.getIpRegister() >= 0) {
+      slots[program.getIpRegister()] = _ip;
+    }
+    return status;
+  }
+
+  /** Copy any constants the program added since the last run into their slots. */
+  private void loadConstants() {
+    final int count = program.constantCount;
+    if (constantsLoaded < count) {
+      final int registerCount = program.getRegisterCount();
+      if (slots.length < registerCount + count) {
+        slots = Arrays.copyOf(slots, registerCount + count);
+      }
+      System.arraycopy(program.constants, constantsLoaded, slots, registerCount + constantsLoaded,
+        count - constantsLoaded);
+      constantsLoaded = count;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IP=" + ip + ",Registers=" + Arrays.toString(Arrays.copyOf(slots, program.getRegisterCount()));
+  }
+
+}
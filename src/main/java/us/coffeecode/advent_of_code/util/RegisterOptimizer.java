@@ -0,0 +1,416 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import static us.coffeecode.advent_of_code.util.RegisterMachine.ADD;
+import static us.coffeecode.advent_of_code.util.RegisterMachine.EQ;
+import static us.coffeecode.advent_of_code.util.RegisterMachine.GT;
+import static us.coffeecode.advent_of_code.util.RegisterMachine.JNZ;
+import static us.coffeecode.advent_of_code.util.RegisterMachine.MUL;
+import static us.coffeecode.advent_of_code.util.RegisterMachine.SET;
+import static us.coffeecode.advent_of_code.util.RegisterMachine.SUB;
+
+/**
+ * Finds loops in a {@link RegisterProgram} that compute something simple very slowly, and replaces each one with a fused
+ * instruction that computes the same result directly. These are the loops that puzzles use to make a program too slow
+ * to run as written:
+ * <ul>
+ * <li>Addition by repeated increment, and multiplication by repeated addition, as in assembunny.</li>
+ * <li>Summing the divisors of a number by testing every pair of factors, and integer division by repeated
+ * multiplication, as in elfcode.</li>
+ * <li>Testing whether a number is composite by testing every pair of factors, as in the 2017 coprocessor.</li>
+ * </ul>
+ * Loops are matched by the shape of their instructions and how their registers relate, not by which registers they
+ * use, so any puzzle input with the same loop is optimized. The fused instruction replaces the loop's first instruction
+ * and jumps past the end of the loop. The loop's other instructions stay in place, so jumping into the middle of a loop
+ * still executes it the slow way until it comes back around to the start.<br>
+ * <br>
+ * Each fused instruction produces exactly the registers the loop would. Where that is only practical for some values,
+ * the machine checks them first and executes the loop's original first instruction instead if they are out of range.
+ */
+final class RegisterOptimizer {
+
+  private RegisterOptimizer() {}
+
+  /** Write fused instructions into the program's executable code. */
+  static void optimize(final RegisterProgram program) {
+    for (int i = 0; i < program.size; ++i) {
+      // Try longer loops first, since they contain shorter ones.
+      int op = RegisterMachine.COMPOSITE_TEST;
+      int[] operands = compositeTest(program, i);
+      if (operands == null) {
+        op = RegisterMachine.FACTOR_LOOP;
+        operands = factorLoop(program, i);
+      }
+      if (operands == null) {
+        op = RegisterMachine.DIVISOR_SUM;
+        operands = divisorSum(program, i);
+      }
+      if (operands == null) {
+        op = RegisterMachine.DIVISOR_LOOP;
+        operands = divisorLoop(program, i);
+      }
+      if (operands == null) {
+        op = RegisterMachine.DIVIDE_LOOP;
+        operands = divideLoop(program, i);
+      }
+      if (operands == null) {
+        op = RegisterMachine.MUL_LOOP;
+        operands = mulLoop(program, i);
+      }
+      if (operands == null) {
+        op = RegisterMachine.ADD_LOOP;
+        operands = addLoop(program, i);
+      }
+      if (operands != null) {
+        program.code[i] = op;
+        program.fused[i] = operands;
+      }
+    }
+  }
+
+  /**
+   * Repeated addition: one register steps by one until a counter stepping by one reaches zero, in either order.
+   *
+   * <pre>
+   * inc a
+   * dec b
+   * jnz b -2
+   * </pre>
+   *
+   * Registers wrap around, so this adds the counter's starting value to the other register whatever its sign.
+   *
+   * @return <code>a, b, sign, exit</code>, where a changes by <code>sign * b</code>.
+   */
+  private static int[] addLoop(final RegisterProgram p, final int h) {
+    if (!fits(p, h, 3) || !isJump(p, h + 2, -2)) {
+      return null;
+    }
+    final int counter = p.ys[h + 2];
+    final boolean counterFirst = (p.xs[h] == counter);
+    final int c = counterFirst ? h : h + 1;
+    final int t = counterFirst ? h + 1 : h;
+    final int target = p.xs[t];
+    final int counterStep = step(p, c, counter);
+    final int targetStep = step(p, t, target);
+    if ((counterStep == 0) || (targetStep == 0) || (target == counter)) {
+      return null;
+    }
+    // The counter reaches zero after b iterations if it counts down, or -b if it counts up.
+    return new int[] { target, counter, -targetStep * counterStep, h + 3 };
+  }
+
+  /**
+   * Multiplication: copy a value into a counter, run an addition loop with that counter, then step a second counter by
+   * one and repeat until it reaches zero.
+   *
+   * <pre>
+   * cpy b c
+   * inc a
+   * dec c
+   * jnz c -2
+   * dec d
+   * jnz d -5
+   * </pre>
+   *
+   * @return <code>a, b, c, d, sign, exit</code>, where a changes by <code>sign * b * d</code>.
+   */
+  private static int[] mulLoop(final RegisterProgram p, final int h) {
+    if (!fits(p, h, 6) || (p.ops[h] != SET) || !isJump(p, h + 5, -5)) {
+      return null;
+    }
+    final int[] add = addLoop(p, h + 1);
+    if (add == null) {
+      return null;
+    }
+    final int a = add[0];
+    final int b = p.ys[h];
+    final int c = p.xs[h];
+    final int d = p.ys[h + 5];
+    final int outerStep = step(p, h + 4, d);
+    if ((add[1] != c) || (outerStep == 0) || !distinct(p, a, c, d) || (b == a) || (b == c) || (b == d)) {
+      return null;
+    }
+    return new int[] { a, b, c, d, -add[2] * outerStep, h + 6 };
+  }
+
+  /**
+   * Elfcode divisor test: for each value of j from its current value up to n, add i to the accumulator if i times j is
+   * n. The comparisons skip instructions by adding to the instruction pointer register.
+   *
+   * <pre>
+   * mulr i j t
+   * eqrr t n t
+   * addr t ip ip
+   * addi ip 1 ip
+   * addr i acc acc
+   * addi j 1 j
+   * gtrr j n t
+   * addr ip t ip
+   * seti (start - 1) _ ip
+   * </pre>
+   *
+   * @return <code>acc, i, j, n, t, exit</code>.
+   */
+  private static int[] divisorLoop(final RegisterProgram p, final int h) {
+    final int ip = p.getIpRegister();
+    if ((ip < 0) || !fits(p, h, 9) || (p.ops[h] != MUL) || (p.ops[h + 1] != EQ)) {
+      return null;
+    }
+    final int t = p.xs[h];
+    final int j = p.xs[h + 5];
+    final int i = other(p.ys[h], p.zs[h], j);
+    final int n = other(p.ys[h + 1], p.zs[h + 1], t);
+    final int acc = p.xs[h + 4];
+    if ((i < 0) || (n < 0) || !distinct(p, ip, t, j, i, n, acc)) {
+      return null;
+    }
+    if ((p.xs[h + 1] == t) && isAdd(p, h + 2, ip, t, ip) && (step(p, h + 3, ip) == 1) && isAdd(p, h + 4, acc, i, acc)
+      && (step(p, h + 5, j) == 1) && isOp(p, h + 6, GT, t, j, n) && isAdd(p, h + 7, ip, ip, t)
+      && isSet(p, h + 8, ip, h - 1)) {
+      return new int[] { acc, i, j, n, t, h + 9 };
+    }
+    return null;
+  }
+
+  /**
+   * Elfcode divisor sum: for each value of i from its current value up to n, run the divisor test with j starting at
+   * one. This adds up all divisors of n that are at least i.
+   *
+   * <pre>
+   * seti 1 _ j
+   * (divisor test)
+   * addi i 1 i
+   * gtrr i n t
+   * addr t ip ip
+   * seti (start - 1) _ ip
+   * </pre>
+   *
+   * @return <code>acc, i, j, n, t, exit</code>.
+   */
+  private static int[] divisorSum(final RegisterProgram p, final int h) {
+    final int ip = p.getIpRegister();
+    if ((ip < 0) || !fits(p, h, 14)) {
+      return null;
+    }
+    final int[] inner = divisorLoop(p, h + 1);
+    if (inner == null) {
+      return null;
+    }
+    final int i = inner[1];
+    final int j = inner[2];
+    final int n = inner[3];
+    final int t = inner[4];
+    if ((p.ops[h] == SET) && (p.xs[h] == j) && p.isConstant(p.ys[h], 1) && (step(p, h + 10, i) == 1)
+      && isOp(p, h + 11, GT, t, i, n) && isAdd(p, h + 12, ip, t, ip) && isSet(p, h + 13, ip, h - 1)) {
+      return new int[] { inner[0], i, j, n, t, h + 14 };
+    }
+    return null;
+  }
+
+  /**
+   * Elfcode division: count q up by one until (q + 1) times the divisor exceeds the dividend.
+   *
+   * <pre>
+   * addi q 1 t
+   * muli t divisor t
+   * gtrr t v t
+   * addr t ip ip
+   * addi ip 1 ip
+   * seti (exit - 1) _ ip
+   * addi q 1 q
+   * seti (start - 1) _ ip
+   * </pre>
+   *
+   * @return <code>q, t, v, divisor, exit</code>.
+   */
+  private static int[] divideLoop(final RegisterProgram p, final int h) {
+    final int ip = p.getIpRegister();
+    if ((ip < 0) || !fits(p, h, 8) || (p.ops[h] != ADD) || (p.ops[h + 1] != MUL) || (p.ops[h + 5] != SET)) {
+      return null;
+    }
+    final int t = p.xs[h];
+    final int q = p.ys[h];
+    final int divisor = other(p.ys[h + 1], p.zs[h + 1], t);
+    final int v = p.zs[h + 2];
+    final int exit = p.ys[h + 5];
+    if ((divisor < 0) || !distinct(p, ip, t, q, v) || (divisor == t) || (divisor == q) || (divisor == ip)
+      || p.isRegister(exit)) {
+      return null;
+    }
+    if (p.isConstant(p.zs[h], 1) && (p.xs[h + 1] == t) && isOp(p, h + 2, GT, t, t, v) && isAdd(p, h + 3, ip, t, ip)
+      && (step(p, h + 4, ip) == 1) && (p.xs[h + 5] == ip) && (step(p, h + 6, q) == 1) && isSet(p, h + 7, ip, h - 1)) {
+      return new int[] { q, t, v, divisor, (int) p.constants[exit - p.getRegisterCount()] + 1 };
+    }
+    return null;
+  }
+
+  /**
+   * Factor test: for each value of e from its current value up to b - 1, clear a flag if d times e is b. The comparisons
+   * subtract into a scratch register and test it against zero.
+   *
+   * <pre>
+   * set g d
+   * mul g e
+   * sub g b
+   * jnz g 2
+   * set f 0
+   * sub e -1
+   * set g e
+   * sub g b
+   * jnz g -8
+   * </pre>
+   *
+   * @return <code>d, e, b, f, value, g, exit</code>, where the flag f is set to value.
+   */
+  private static int[] factorLoop(final RegisterProgram p, final int h) {
+    if (!fits(p, h, 9) || (p.ops[h] != SET) || (p.ops[h + 4] != SET)) {
+      return null;
+    }
+    final int g = p.xs[h];
+    final int d = p.ys[h];
+    final int e = p.xs[h + 5];
+    final int b = p.zs[h + 2];
+    final int f = p.xs[h + 4];
+    if (!distinct(p, g, d, e, b, f) || !p.isRegister(b)) {
+      return null;
+    }
+    if (isOp(p, h + 1, MUL, g, g, e) && isOp(p, h + 2, SUB, g, g, b) && isJump(p, h + 3, 2) && (p.ys[h + 3] == g)
+      && (step(p, h + 5, e) == 1) && isCopy(p, h + 6, g, e) && isOp(p, h + 7, SUB, g, g, b)
+      && isJump(p, h + 8, -8) && (p.ys[h + 8] == g)) {
+      return new int[] { d, e, b, f, p.ys[h + 4], g, h + 9 };
+    }
+    return null;
+  }
+
+  /**
+   * Composite test: for each value of d from its current value up to b - 1, run the factor test with e starting at a
+   * given value. This clears the flag if b has any pair of factors in those ranges.
+   *
+   * <pre>
+   * set e 2
+   * (factor test)
+   * sub d -1
+   * set g d
+   * sub g b
+   * jnz g -13
+   * </pre>
+   *
+   * @return <code>d, e, start, b, f, value, g, exit</code>, where e starts at the value in slot start.
+   */
+  private static int[] compositeTest(final RegisterProgram p, final int h) {
+    if (!fits(p, h, 14) || (p.ops[h] != SET)) {
+      return null;
+    }
+    final int[] inner = factorLoop(p, h + 1);
+    if (inner == null) {
+      return null;
+    }
+    final int d = inner[0];
+    final int e = inner[1];
+    final int b = inner[2];
+    final int g = inner[5];
+    final int start = p.ys[h];
+    if ((p.xs[h] == e) && (start != d) && (start != e) && (start != g) && (step(p, h + 10, d) == 1)
+      && isCopy(p, h + 11, g, d) && isOp(p, h + 12, SUB, g, g, b) && isJump(p, h + 13, -13)
+      && (p.ys[h + 13] == g)) {
+      return new int[] { d, e, start, b, inner[3], inner[4], g, h + 14 };
+    }
+    return null;
+  }
+
+  /** Get whether a loop of the given length starting at an index fits in the program. */
+  private static boolean fits(final RegisterProgram p, final int h, final int length) {
+    return h + length <= p.size;
+  }
+
+  /**
+   * Get how much an instruction changes a register, if it adds or subtracts a constant one or negative one to that
+   * register in place.
+   *
+   * @return 1 or -1, or 0 if the instruction is anything else.
+   */
+  private static int step(final RegisterProgram p, final int index, final int register) {
+    final int op = p.ops[index];
+    if (((op != ADD) && (op != SUB)) || (p.xs[index] != register) || (p.ys[index] != register)
+      || !p.isRegister(register)) {
+      return 0;
+    }
+    final int sign = (op == ADD) ? 1 : -1;
+    if (p.isConstant(p.zs[index], 1)) {
+      return sign;
+    }
+    if (p.isConstant(p.zs[index], -1)) {
+      return -sign;
+    }
+    return 0;
+  }
+
+  /** Get whether an instruction jumps by a constant offset if a register is not zero. */
+  private static boolean isJump(final RegisterProgram p, final int index, final int offset) {
+    return (p.ops[index] == JNZ) && p.isRegister(p.ys[index]) && p.isConstant(p.zs[index], offset);
+  }
+
+  /** Get whether an instruction is the given operation with the given operands. */
+  private static boolean isOp(final RegisterProgram p, final int index, final int op, final int x, final int y,
+    final int z) {
+    return (p.ops[index] == op) && (p.xs[index] == x) && (p.ys[index] == y) && (p.zs[index] == z);
+  }
+
+  /** Get whether an instruction adds two slots, in either order. */
+  private static boolean isAdd(final RegisterProgram p, final int index, final int x, final int y, final int z) {
+    return isOp(p, index, ADD, x, y, z) || isOp(p, index, ADD, x, z, y);
+  }
+
+  /** Get whether an instruction copies one slot to another. */
+  private static boolean isCopy(final RegisterProgram p, final int index, final int x, final int y) {
+    return (p.ops[index] == SET) && (p.xs[index] == x) && (p.ys[index] == y);
+  }
+
+  /** Get whether an instruction sets a register to a constant. */
+  private static boolean isSet(final RegisterProgram p, final int index, final int x, final long value) {
+    return (p.ops[index] == SET) && (p.xs[index] == x) && p.isConstant(p.ys[index], value);
+  }
+
+  /**
+   * Get the operand of a commutative operation that is not the given one.
+   *
+   * @return the other operand, or -1 if neither operand is the given one or both are.
+   */
+  private static int other(final int y, final int z, final int known) {
+    if ((y == known) == (z == known)) {
+      return -1;
+    }
+    return (y == known) ? z : y;
+  }
+
+  /** Get whether slots are all registers, and all different. */
+  private static boolean distinct(final RegisterProgram p, final int... slots) {
+    for (int i = 0; i < slots.length; ++i) {
+      if (!p.isRegister(slots[i])) {
+        return false;
+      }
+      for (int j = i + 1; j < slots.length; ++j) {
+        if (slots[i] == slots[j]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,240 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+
+/**
+ * A program for {@link RegisterMachine}, decoded ahead of time into primitive arrays. Each puzzle's instruction set
+ * translates its own instructions into the machine's operations, so all of them share one interpreter.<br>
+ * <br>
+ * Every instruction has an operation and three operands, <code>x</code>, <code>y</code>, and <code>z</code>. Operands
+ * are slots: either a register, or a constant. Constants live in slots after the registers, so the machine reads both
+ * the same way and never checks which kind of operand it has. See {@link RegisterMachine} for what each operation does
+ * with its operands. An operation only ever writes to <code>x</code>, which must be a register.<br>
+ * <br>
+ * Programs can be {@linkplain #optimize() optimized}, which replaces loops the optimizer recognizes with single
+ * instructions that compute the loop's result directly. The program keeps its original instructions: only the code the
+ * machine executes changes. Replacing an instruction in an optimized program optimizes it again, so programs that modify
+ * themselves stay correct.
+ */
+public final class RegisterProgram {
+
+  private static final int DEFAULT_LENGTH = 32;
+
+  private final int registerCount;
+
+  int[] ops = new int[DEFAULT_LENGTH];
+
+  int[] xs = new int[DEFAULT_LENGTH];
+
+  int[] ys = new int[DEFAULT_LENGTH];
+
+  int[] zs = new int[DEFAULT_LENGTH];
+
+  int size;
+
+  /** Operations the machine executes. This is the same array as {@link #ops} unless the program is optimized. */
+  int[] code = ops;
+
+  /** Operands of fused instructions, by index, or null if the program is not optimized. */
+  int[][] fused;
+
+  private boolean optimized;
+
+  long[] constants = new long[DEFAULT_LENGTH];
+
+  int constantCount;
+
+  private int ipRegister = -1;
+
+  /**
+   * Create an empty program.
+   *
+   * @param _registerCount number of registers the program uses.
+   */
+  public RegisterProgram(final int _registerCount) {
+    if (_registerCount < 1) {
+      throw new IllegalArgumentException("Register count " + _registerCount + " < 1");
+    }
+    registerCount = _registerCount;
+  }
+
+  /** Get the number of registers, not counting constants. */
+  public int getRegisterCount() {
+    return registerCount;
+  }
+
+  /** Get the number of instructions. */
+  public int size() {
+    return size;
+  }
+
+  /** Get the register bound to the instruction pointer, or -1 if there is none. */
+  public int getIpRegister() {
+    return ipRegister;
+  }
+
+  /**
+   * Bind the instruction pointer to a register. Before each instruction, the machine writes the instruction pointer to
+   * that register. After it, the machine reads the register back, adds one, and continues at that instruction. Programs
+   * jump by writing to the register. When the machine stops, the register holds the next instruction to execute.
+   */
+  public void setIpRegister(final int register) {
+    ipRegister = checkRegister(register);
+  }
+
+  /** Get the slot holding a constant, adding the constant if it is not already in the program. */
+  public int constant(final long value) {
+    for (int i = 0; i < constantCount; ++i) {
+      if (constants[i] == value) {
+        return registerCount + i;
+      }
+    }
+    if (constantCount == constants.length) {
+      constants = Arrays.copyOf(constants, constantCount << 1);
+    }
+    constants[constantCount] = value;
+    return registerCount + constantCount++;
+  }
+
+  /**
+   * Get the slot for an operand written in the usual form for these puzzles: a single letter is a register, starting
+   * with <code>a</code>, and anything else is a number.
+   */
+  public int operand(final String token) {
+    if ((token.length() == 1) && Character.isLetter(token.charAt(0))) {
+      return checkRegister(token.charAt(0) - 'a');
+    }
+    return constant(Long.parseLong(token));
+  }
+
+  /** Get whether a slot is a register, rather than a constant. */
+  public boolean isRegister(final int slot) {
+    return (0 <= slot) && (slot < registerCount);
+  }
+
+  /**
+   * Add an instruction to the end of the program.
+   *
+   * @return the index of the new instruction.
+   */
+  public int add(final int op, final int x, final int y, final int z) {
+    if (size == ops.length) {
+      final int length = size << 1;
+      ops = Arrays.copyOf(ops, length);
+      xs = Arrays.copyOf(xs, length);
+      ys = Arrays.copyOf(ys, length);
+      zs = Arrays.copyOf(zs, length);
+      code = ops;
+    }
+    set(size++, op, x, y, z);
+    return size - 1;
+  }
+
+  /** Replace an instruction. Programs that modify themselves use this to decode the new instruction. */
+  public void set(final int index, final int op, final int x, final int y, final int z) {
+    if ((index < 0) || (size <= index)) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    if ((op < RegisterMachine.NOP) || (RegisterMachine.TRAP < op)) {
+      throw new IllegalArgumentException("Unknown operation " + op);
+    }
+    if (RegisterMachine.writes(op)) {
+      checkRegister(x);
+    }
+    ops[index] = op;
+    xs[index] = x;
+    ys[index] = y;
+    zs[index] = z;
+    if (optimized) {
+      refresh();
+    }
+  }
+
+  /**
+   * Optimize this program by replacing loops with fused instructions. This only changes how fast the program runs, not
+   * what it computes, with one exception: anything that counts instructions, such as {@link RegisterMachine#run(long)},
+   * counts each fused loop as a single instruction.
+   */
+  public void optimize() {
+    optimized = true;
+    refresh();
+  }
+
+  /** Get whether the instruction at an index is the start of a fused loop. */
+  public boolean isFused(final int index) {
+    return code[index] != ops[index];
+  }
+
+  private void refresh() {
+    code = Arrays.copyOf(ops, ops.length);
+    fused = new int[ops.length][];
+    RegisterOptimizer.optimize(this);
+  }
+
+  /** Get whether a slot is a constant with the given value. */
+  boolean isConstant(final int slot, final long value) {
+    return !isRegister(slot) && (slot < registerCount + constantCount) && (constants[slot - registerCount] == value);
+  }
+
+  /** Get the operation of an instruction. */
+  public int getOp(final int index) {
+    return ops[index];
+  }
+
+  /** Get the first operand of an instruction. */
+  public int getX(final int index) {
+    return xs[index];
+  }
+
+  /** Get the second operand of an instruction. */
+  public int getY(final int index) {
+    return ys[index];
+  }
+
+  /** Get the third operand of an instruction. */
+  public int getZ(final int index) {
+    return zs[index];
+  }
+
+  private int checkRegister(final int register) {
+    if (!isRegister(register)) {
+      throw new IllegalArgumentException("Slot " + register + " is not a register");
+    }
+    return register;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder str = new StringBuilder(size << 4);
+    for (int i = 0; i < size; ++i) {
+      str.append(i)
+         .append(": ")
+         .append(ops[i])
+         .append(' ')
+         .append(xs[i])
+         .append(' ')
+         .append(ys[i])
+         .append(' ')
+         .append(zs[i])
+         .append(System.lineSeparator());
+    }
+    return str.toString();
+  }
+
+}
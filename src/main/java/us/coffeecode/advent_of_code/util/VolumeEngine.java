@@ -0,0 +1,621 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+
+/**
+ * Computes volumes of sets of boxes in any number of dimensions: how much space they cover together, how much is covered
+ * by several of them at once, or what is left turned on after boxes turn space on and off in order. Boxes come from
+ * {@link Range2D}, {@link Range3D}, and {@link Range4D}, or from arrays of bounds. Bounds are inclusive, as with
+ * {@link Range3D#sizeInclusive()}.<br>
+ * <br>
+ * Nothing here depends on how large the boxes are, only on how many there are. The space between two neighboring bounds
+ * in a dimension is a slab where the same boxes are present. The engine sorts the bounds in each dimension once, then
+ * sweeps the slabs of the first dimension, and for each one sweeps the slabs of the next dimension for the boxes present,
+ * and so on. The last dimension is a segment tree over its distinct bounds that the second to last dimension adds boxes
+ * to and removes them from as it sweeps. For counting coverage, each node tracks how much of it is covered at least once,
+ * twice, and so on up to <code>k</code> times, so for <code>n</code> boxes in <code>d</code> dimensions this takes
+ * <code>O(k n<sup>d-1</sup> log n)</code> time in two or more dimensions. For painting boxes in order, each node keeps the
+ * latest box covering it. Updating that tree usually visits <code>O(log n)</code> nodes, but can visit <code>O(n)</code>
+ * when boxes overlap in many different orders, so painting takes between
+ * <code>O(n<sup>d-1</sup> log n)</code> and <code>O(n<sup>d</sup>)</code> time. For a few hundred boxes, subtracting
+ * pairwise intersections is often faster in practice.
+ */
+public final class VolumeEngine {
+
+  private static final int DEFAULT_CAPACITY = 64;
+
+  /** Bits used for the index of a box in sort keys that combine a coordinate with an index. */
+  private static final int INDEX_BITS = 30;
+
+  private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+  /** Offset that makes every coordinate non-negative in sort keys. */
+  private static final long COORDINATE_OFFSET = 1L << 31;
+
+  private final int dimensions;
+
+  /** Lower bounds of each box, inclusive. Box <code>b</code> in dimension <code>d</code> is at b * dimensions + d. */
+  private long[] lows;
+
+  /** Upper bounds of each box, exclusive, in the same layout as the lower bounds. */
+  private long[] highs;
+
+  private boolean[] on;
+
+  private int size;
+
+  /** Create an engine for boxes with the given number of dimensions. */
+  public VolumeEngine(final int _dimensions) {
+    if (_dimensions < 1) {
+      throw new IllegalArgumentException("Invalid dimensions " + _dimensions);
+    }
+    dimensions = _dimensions;
+    lows = new long[DEFAULT_CAPACITY * dimensions];
+    highs = new long[lows.length];
+    on = new boolean[DEFAULT_CAPACITY];
+  }
+
+  /** Get the number of dimensions. */
+  public int getDimensions() {
+    return dimensions;
+  }
+
+  /** Get the number of boxes. */
+  public int size() {
+    return size;
+  }
+
+  /** Add a box that turns space on. */
+  public void add(final Range2D range) {
+    add(range, true);
+  }
+
+  /** Add a box that turns space on or off. */
+  public void add(final Range2D range, final boolean _on) {
+    add(new int[] { range.getX1(), range.getY1() }, new int[] { range.getX2(), range.getY2() }, _on);
+  }
+
+  /** Add a box that turns space on. */
+  public void add(final Range3D range) {
+    add(range, true);
+  }
+
+  /** Add a box that turns space on or off. */
+  public void add(final Range3D range, final boolean _on) {
+    add(new int[] { range.getX1(), range.getY1(), range.getZ1() }, new int[] { range.getX2(), range.getY2(),
+      range.getZ2() }, _on);
+  }
+
+  /** Add a box that turns space on. */
+  public void add(final Range4D range) {
+    add(range, true);
+  }
+
+  /** Add a box that turns space on or off. */
+  public void add(final Range4D range, final boolean _on) {
+    add(new int[] { range.getW1(), range.getX1(), range.getY1(), range.getZ1() }, new int[] { range.getW2(),
+      range.getX2(), range.getY2(), range.getZ2() }, _on);
+  }
+
+  /**
+   * Add a box.
+   *
+   * @param low lower bounds, inclusive, one per dimension.
+   * @param high upper bounds, inclusive, one per dimension.
+   * @param _on whether the box turns space on or off. This only matters for {@link #volume()}.
+   */
+  public void add(final int[] low, final int[] high, final boolean _on) {
+    if ((low.length != dimensions) || (high.length != dimensions)) {
+      throw new IllegalArgumentException("Expected " + dimensions + " dimensions");
+    }
+    if (size == INDEX_MASK) {
+      throw new IllegalStateException("Too many boxes");
+    }
+    if (size == on.length) {
+      final int capacity = size << 1;
+      lows = Arrays.copyOf(lows, capacity * dimensions);
+      highs = Arrays.copyOf(highs, capacity * dimensions);
+      on = Arrays.copyOf(on, capacity);
+    }
+    for (int d = 0; d < dimensions; ++d) {
+      if (low[d] > high[d]) {
+        throw new IllegalArgumentException("low (" + low[d] + ") > high (" + high[d] + ") in dimension " + d);
+      }
+      lows[size * dimensions + d] = low[d];
+      highs[size * dimensions + d] = high[d] + 1L;
+    }
+    on[size++] = _on;
+  }
+
+  /** Remove all boxes. */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Get the volume that is on after applying each box in the order they were added, starting with all space off. Each
+   * point is on if the last box that contains it turns space on.
+   *
+   * @throws ArithmeticException if the volume does not fit in a long.
+   */
+  public long volume() {
+    if (size == 0) {
+      return 0;
+    }
+    return new Sweep(0).volume();
+  }
+
+  /**
+   * Get the volume covered by at least one box, whether it turns space on or off.
+   *
+   * @throws ArithmeticException if the volume does not fit in a long.
+   */
+  public long unionVolume() {
+    return volumeCoveredAtLeast(1);
+  }
+
+  /**
+   * Get the volume covered by at least a number of boxes, whether they turn space on or off.
+   *
+   * @throws ArithmeticException if the volume does not fit in a long.
+   */
+  public long volumeCoveredAtLeast(final int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("Invalid count " + count);
+    }
+    if (count > size) {
+      return 0;
+    }
+    return new Sweep(count).volume();
+  }
+
+  /**
+   * Get the volume covered by every box.
+   *
+   * @throws ArithmeticException if the volume does not fit in a long.
+   */
+  public long intersectionVolume() {
+    if (size == 0) {
+      return 0;
+    }
+    long volume = 1;
+    for (int d = 0; d < dimensions; ++d) {
+      long low = Long.MIN_VALUE;
+      long high = Long.MAX_VALUE;
+      for (int b = 0; b < size; ++b) {
+        low = Math.max(low, lows[b * dimensions + d]);
+        high = Math.min(high, highs[b * dimensions + d]);
+      }
+      if (high <= low) {
+        return 0;
+      }
+      volume = Math.multiplyExact(volume, high - low);
+    }
+    return volume;
+  }
+
+  /** Get a sort key that orders by coordinate, and remembers an index. */
+  private static long key(final long coordinate, final int index) {
+    return ((coordinate + COORDINATE_OFFSET) << INDEX_BITS) | index;
+  }
+
+  private static long coordinate(final long key) {
+    return (key >>> INDEX_BITS) - COORDINATE_OFFSET;
+  }
+
+  private static int index(final long key) {
+    return (int) (key & INDEX_MASK);
+  }
+
+  private static void siftUp(final int[] heap, final int position) {
+    final int value = heap[position];
+    int i = position;
+    while (i > 0) {
+      final int parent = (i - 1) >>> 1;
+      if (heap[parent] >= value) {
+        break;
+      }
+      heap[i] = heap[parent];
+      i = parent;
+    }
+    heap[i] = value;
+  }
+
+  private static void siftDown(final int[] heap, final int heapSize) {
+    if (heapSize == 0) {
+      return;
+    }
+    final int value = heap[0];
+    int i = 0;
+    while (true) {
+      int child = (i << 1) + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if ((child + 1 < heapSize) && (heap[child + 1] > heap[child])) {
+        ++child;
+      }
+      if (heap[child] <= value) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = value;
+  }
+
+  /**
+   * One measurement of all boxes. Bounds are sorted once in each dimension but the last, and each level of the sweep walks
+   * those orders, keeping track of which boxes contain the current slab instead of filtering and sorting them again. The
+   * last dimension is a segment tree built once over its distinct bounds, which every slab reuses.
+   */
+  private final class Sweep {
+
+    /** Minimum number of boxes covering a point for it to count, or zero to paint boxes in order. */
+    private final int coverage;
+
+    /** Lower bounds in each dimension but the last, sorted, as keys that combine a coordinate with a box index. */
+    private final long[][] starts;
+
+    /** Upper bounds in the same layout as the lower bounds. */
+    private final long[][] ends;
+
+    /** For each dimension, the boxes that contain the current slab in every dimension before it. */
+    private final boolean[][] active;
+
+    private final Tree tree;
+
+    Sweep(final int _coverage) {
+      coverage = _coverage;
+      final int last = dimensions - 1;
+      starts = new long[last][size];
+      ends = new long[last][size];
+      active = new boolean[Math.max(last, 1)][size];
+      Arrays.fill(active[0], true);
+      for (int d = 0; d < last; ++d) {
+        for (int b = 0; b < size; ++b) {
+          starts[d][b] = key(lows[b * dimensions + d], b);
+          ends[d][b] = key(highs[b * dimensions + d], b);
+        }
+        Arrays.sort(starts[d]);
+        Arrays.sort(ends[d]);
+      }
+
+      // Compress the last dimension to the distinct bounds, and find the segments each box covers.
+      final long[] bounds = new long[size << 1];
+      for (int b = 0; b < size; ++b) {
+        bounds[b << 1] = lows[b * dimensions + last];
+        bounds[(b << 1) + 1] = highs[b * dimensions + last];
+      }
+      Arrays.sort(bounds);
+      int unique = 1;
+      for (int j = 1; j < bounds.length; ++j) {
+        if (bounds[j] != bounds[unique - 1]) {
+          bounds[unique++] = bounds[j];
+        }
+      }
+      final long[] coordinates = Arrays.copyOf(bounds, unique);
+      final int[] from = new int[size];
+      final int[] to = new int[size];
+      for (int b = 0; b < size; ++b) {
+        from[b] = Arrays.binarySearch(coordinates, lows[b * dimensions + last]);
+        to[b] = Arrays.binarySearch(coordinates, highs[b * dimensions + last]);
+      }
+      tree = (coverage == 0) ? new PaintTree(coordinates, from, to, on, size)
+        : new CoverageTree(coordinates, from, to, coverage);
+    }
+
+    long volume() {
+      if (dimensions == 1) {
+        for (int b = 0; b < size; ++b) {
+          tree.add(b);
+        }
+        return tree.measure();
+      }
+      return sweep(0);
+    }
+
+    /**
+     * Get the volume of the active boxes in the dimensions starting at one dimension. The second to last dimension moves
+     * boxes in and out of the tree, and every other dimension marks the boxes active for the next one.
+     */
+    private long sweep(final int dim) {
+      final boolean[] in = active[dim];
+      final boolean last = dim == dimensions - 2;
+      final boolean[] next = last ? null : active[dim + 1];
+      final long[] s = starts[dim];
+      final long[] e = ends[dim];
+      final int minimum = Math.max(coverage, 1);
+      long volume = 0;
+      long previous = 0;
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (true) {
+        while ((i < size) && !in[index(s[i])]) {
+          ++i;
+        }
+        while ((j < size) && !in[index(e[j])]) {
+          ++j;
+        }
+        if (j == size) {
+          break;
+        }
+        final long c = ((i < size) && (coordinate(s[i]) < coordinate(e[j]))) ? coordinate(s[i]) : coordinate(e[j]);
+        if (count >= minimum) {
+          volume = Math.addExact(volume, Math.multiplyExact(c - previous, last ? tree.measure() : sweep(dim + 1)));
+        }
+        for (; (i < size) && (coordinate(s[i]) == c); ++i) {
+          final int b = index(s[i]);
+          if (in[b]) {
+            ++count;
+            if (last) {
+              tree.add(b);
+            }
+            else {
+              next[b] = true;
+            }
+          }
+        }
+        for (; (j < size) && (coordinate(e[j]) == c); ++j) {
+          final int b = index(e[j]);
+          if (in[b]) {
+            --count;
+            if (last) {
+              tree.remove(b);
+            }
+            else {
+              next[b] = false;
+            }
+          }
+        }
+        previous = c;
+      }
+      return volume;
+    }
+  }
+
+  /**
+   * Segment tree over the segments between sorted coordinates in the last dimension, which measures the boxes added to it.
+   * Removing every box that was added leaves it empty again.
+   */
+  private abstract static class Tree {
+
+    final long[] coordinates;
+
+    /** Index of the first segment each box covers. */
+    private final int[] from;
+
+    /** Index one past the last segment each box covers. */
+    private final int[] to;
+
+    Tree(final long[] _coordinates, final int[] _from, final int[] _to) {
+      coordinates = _coordinates;
+      from = _from;
+      to = _to;
+    }
+
+    void add(final int box) {
+      update(1, 0, coordinates.length - 1, from[box], to[box], box, true);
+    }
+
+    void remove(final int box) {
+      update(1, 0, coordinates.length - 1, from[box], to[box], box, false);
+    }
+
+    private void update(final int node, final int nodeFrom, final int nodeTo, final int _from, final int _to,
+      final int box, final boolean add) {
+      if ((_to <= nodeFrom) || (nodeTo <= _from)) {
+        return;
+      }
+      if ((_from <= nodeFrom) && (nodeTo <= _to)) {
+        apply(node, box, add);
+      }
+      else {
+        final int mid = (nodeFrom + nodeTo) >>> 1;
+        update(node << 1, nodeFrom, mid, _from, _to, box, add);
+        update((node << 1) + 1, mid, nodeTo, _from, _to, box, add);
+      }
+      pull(node, nodeFrom, nodeTo);
+    }
+
+    /** Get the number of nodes needed for the segments between the coordinates. */
+    static int nodes(final long[] coordinates) {
+      return Math.max(4, (coordinates.length - 1) << 2);
+    }
+
+    /** Add or remove a box that covers all of a node, but not its parent. */
+    abstract void apply(final int node, final int box, final boolean add);
+
+    /** Recalculate a node after one of its boxes or children changed. */
+    abstract void pull(final int node, final int nodeFrom, final int nodeTo);
+
+    /** Get the length measured by the boxes in the tree. */
+    abstract long measure();
+  }
+
+  /**
+   * Tree where each node counts the boxes that cover all of it, but not its parent, and tracks how much of it is covered
+   * at least once, twice, and so on up to the coverage of interest.
+   */
+  private static final class CoverageTree
+  extends Tree {
+
+    private final int coverage;
+
+    /** Number of boxes covering each node, that do not cover its parent. */
+    private final int[] counts;
+
+    /** Length of each node covered at least <code>i + 1</code> times is at node * coverage + i. */
+    private final long[] covered;
+
+    CoverageTree(final long[] _coordinates, final int[] _from, final int[] _to, final int _coverage) {
+      super(_coordinates, _from, _to);
+      coverage = _coverage;
+      final int nodes = nodes(coordinates);
+      counts = new int[nodes];
+      covered = new long[nodes * coverage];
+    }
+
+    @Override
+    long measure() {
+      return covered[coverage + coverage - 1];
+    }
+
+    @Override
+    void apply(final int node, final int box, final boolean add) {
+      counts[node] += add ? 1 : -1;
+    }
+
+    @Override
+    void pull(final int node, final int nodeFrom, final int nodeTo) {
+      final long length = coordinates[nodeTo] - coordinates[nodeFrom];
+      final int count = counts[node];
+      final boolean leaf = nodeTo - nodeFrom == 1;
+      for (int i = 0; i < coverage; ++i) {
+        final int index = node * coverage + i;
+        if (count > i) {
+          covered[index] = length;
+        }
+        else if (leaf) {
+          covered[index] = 0;
+        }
+        else {
+          // Covered i + 1 times here is covered i + 1 - count times by the children.
+          final int child = i - count;
+          covered[index] = covered[(node << 1) * coverage + child] + covered[((node << 1) + 1) * coverage + child];
+        }
+      }
+    }
+  }
+
+  /**
+   * Tree where each node keeps a heap of the boxes that cover all of it, but not its parent, with the latest on top. A
+   * point belongs to the latest box on the path from the root to its leaf. Each node tracks the length that is on counting
+   * only itself and its descendants, along with the earliest and latest box any of its points belong to that way. Those
+   * bounds let the length that is on under a later box from an ancestor skip every subtree that box either fully paints
+   * over or does not change. Removed boxes stay in the heaps until they reach the top.
+   */
+  private static final class PaintTree
+  extends Tree {
+
+    private final boolean[] on;
+
+    /** Whether each box is in the tree. */
+    private final boolean[] present;
+
+    private final int[][] heaps;
+
+    private final int[] heapSizes;
+
+    /** Earliest box that any point in each node belongs to, counting only the node and its descendants, or -1. */
+    private final int[] earliest;
+
+    /** Latest box in each node or its descendants, or -1. */
+    private final int[] latest;
+
+    /** Length of each node that is on, counting only the node and its descendants. */
+    private final long[] lit;
+
+    PaintTree(final long[] _coordinates, final int[] _from, final int[] _to, final boolean[] _on, final int boxes) {
+      super(_coordinates, _from, _to);
+      on = _on;
+      present = new boolean[boxes];
+      final int nodes = nodes(coordinates);
+      heaps = new int[nodes][];
+      heapSizes = new int[nodes];
+      earliest = new int[nodes];
+      latest = new int[nodes];
+      lit = new long[nodes];
+      Arrays.fill(earliest, -1);
+      Arrays.fill(latest, -1);
+    }
+
+    @Override
+    void add(final int box) {
+      present[box] = true;
+      super.add(box);
+    }
+
+    @Override
+    void remove(final int box) {
+      present[box] = false;
+      super.remove(box);
+    }
+
+    @Override
+    long measure() {
+      return lit[1];
+    }
+
+    @Override
+    void apply(final int node, final int box, final boolean add) {
+      if (!add) {
+        return;
+      }
+      int[] heap = heaps[node];
+      if (heap == null) {
+        heap = heaps[node] = new int[4];
+      }
+      else if (heapSizes[node] == heap.length) {
+        heap = heaps[node] = Arrays.copyOf(heap, heap.length << 1);
+      }
+      heap[heapSizes[node]] = box;
+      siftUp(heap, heapSizes[node]++);
+    }
+
+    @Override
+    void pull(final int node, final int nodeFrom, final int nodeTo) {
+      final int[] heap = heaps[node];
+      int heapSize = heapSizes[node];
+      while ((heapSize > 0) && !present[heap[0]]) {
+        heap[0] = heap[--heapSize];
+        siftDown(heap, heapSize);
+      }
+      heapSizes[node] = heapSize;
+      final int top = (heapSize == 0) ? -1 : heap[0];
+      if (nodeTo - nodeFrom == 1) {
+        earliest[node] = top;
+        latest[node] = top;
+        lit[node] = ((top >= 0) && on[top]) ? coordinates[nodeTo] - coordinates[nodeFrom] : 0;
+      }
+      else {
+        final int left = node << 1;
+        final int right = left + 1;
+        final int mid = (nodeFrom + nodeTo) >>> 1;
+        earliest[node] = Math.max(top, Math.min(earliest[left], earliest[right]));
+        latest[node] = Math.max(top, Math.max(latest[left], latest[right]));
+        lit[node] = lit(left, nodeFrom, mid, top) + lit(right, mid, nodeTo, top);
+      }
+    }
+
+    /** Get the length of a node that is on, when an ancestor holds a box that is the latest above it. */
+    private long lit(final int node, final int nodeFrom, final int nodeTo, final int above) {
+      if (above <= earliest[node]) {
+        return lit[node];
+      }
+      if (above >= latest[node]) {
+        return on[above] ? coordinates[nodeTo] - coordinates[nodeFrom] : 0;
+      }
+      final int mid = (nodeFrom + nodeTo) >>> 1;
+      return lit(node << 1, nodeFrom, mid, above) + lit((node << 1) + 1, mid, nodeTo, above);
+    }
+  }
+
+}
@@ -23,6 +23,9 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.LifeGrid;
+import us.coffeecode.advent_of_code.util.LifeGrid.Boundary;
+import us.coffeecode.advent_of_code.util.LifeGrid.Rule;
 
 @AdventOfCodeSolution(year = 2015, day = 18)
 @Component
@@ -35,94 +38,34 @@ public final class Year2015Day18 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    boolean[][] grid = il.linesAs2dBooleanArray(pc, TRUTH);
-    for (int i = 0; i < pc.getInt("steps"); ++i) {
-      grid = transform(grid, false);
-    }
-    return countLightsOn(grid);
+    final LifeGrid grid = getInput(pc);
+    grid.step(pc.getInt("steps"));
+    return grid.count();
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    boolean[][] grid = il.linesAs2dBooleanArray(pc, TRUTH);
-    // Need to start with the corners alive.
-    grid[0][0] = true;
-    grid[0][grid[0].length - 1] = true;
-    grid[grid.length - 1][0] = true;
-    grid[grid.length - 1][grid[0].length - 1] = true;
+    final LifeGrid grid = getInput(pc);
+    // Need to start with the corners alive, and put them back after every step.
+    setCorners(grid);
     for (int i = 0; i < pc.getInt("steps"); ++i) {
-      grid = transform(grid, true);
+      grid.step();
+      setCorners(grid);
     }
-    return countLightsOn(grid);
+    return grid.count();
   }
 
-  /** Transform the cells into a new generation. */
-  private boolean[][] transform(final boolean[][] input, final boolean cornersAlwaysLive) {
-    final boolean[][] output = new boolean[input.length][input[0].length];
-    for (int y = 0; y < input.length; ++y) {
-      for (int x = 0; x < input[y].length; ++x) {
-        // Count neighbors.
-        final boolean hasAbove = y > 0;
-        final boolean hasBelow = y < input.length - 1;
-        final boolean hasLeft = x > 0;
-        final boolean hasRight = x < input[y].length - 1;
-        int neighbors = 0;
-        if (hasAbove) {
-          if (hasLeft && input[y - 1][x - 1]) {
-            ++neighbors;
-          }
-          if (input[y - 1][x]) {
-            ++neighbors;
-          }
-          if (hasRight && input[y - 1][x + 1]) {
-            ++neighbors;
-          }
-        }
-        if (hasLeft && input[y][x - 1]) {
-          ++neighbors;
-        }
-        if (hasRight && input[y][x + 1]) {
-          ++neighbors;
-        }
-        if (hasBelow) {
-          if (hasLeft && input[y + 1][x - 1]) {
-            ++neighbors;
-          }
-          if (input[y + 1][x]) {
-            ++neighbors;
-          }
-          if (hasRight && input[y + 1][x + 1]) {
-            ++neighbors;
-          }
-        }
-        if (input[y][x]) {
-          output[y][x] = neighbors == 2 || neighbors == 3;
-        }
-        else {
-          output[y][x] = neighbors == 3;
-        }
-      }
-    }
-    if (cornersAlwaysLive) {
-      output[0][0] = true;
-      output[0][output[0].length - 1] = true;
-      output[output.length - 1][0] = true;
-      output[output.length - 1][output[0].length - 1] = true;
-    }
-    return output;
+  private void setCorners(final LifeGrid grid) {
+    final int right = grid.getWidth() - 1;
+    final int bottom = grid.getHeight() - 1;
+    grid.set(0, 0, true);
+    grid.set(right, 0, true);
+    grid.set(0, bottom, true);
+    grid.set(right, bottom, true);
   }
 
-  /** Count the number of cells currently alive. */
-  private long countLightsOn(final boolean[][] input) {
-    long result = 0;
-    for (final boolean[] row : input) {
-      for (final boolean light : row) {
-        if (light) {
-          ++result;
-        }
-      }
-    }
-    return result;
+  private LifeGrid getInput(final PuzzleContext pc) {
+    return new LifeGrid(il.linesAs2dBooleanArray(pc, TRUTH), Rule.LIFE, Boundary.DEAD);
   }
 
 }
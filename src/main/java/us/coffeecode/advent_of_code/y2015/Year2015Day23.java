@@ -16,7 +16,6 @@
  */
 package us.coffeecode.advent_of_code.y2015;
 
-import java.util.List;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +25,8 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
 
 @AdventOfCodeSolution(year = 2015, day = 23)
 @Component
@@ -45,144 +46,38 @@ public final class Year2015Day23 {
   }
 
   private long runProgram(final PuzzleContext pc, final int initialA) {
-    final List<Instruction> instructions = il.linesAsObjects(pc, Instruction::make);
-    final MachineState state = new MachineState(initialA);
-    while ((state.i >= 0) && (state.i < instructions.size())) {
-      final Instruction instruction = instructions.get(state.i);
-      instruction.op.exec(state, instruction.reg, instruction.arg);
-    }
-    return "a".equals(pc.getString("register")) ? state.a : state.b;
-  }
-
-  /** Tracks the state of the virtual machine. */
-  private static final class MachineState {
-
-    /** Register A */
-    long a;
-
-    /** Register B */
-    long b = 0;
-
-    /** Instruction counter */
-    int i = 0;
-
-    MachineState(final int initialA) {
-      a = initialA;
-    }
-  }
-
-  private static record Instruction(Operation op, Register reg, long arg) {
-
-    private static final Pattern SPLIT = Pattern.compile(" ");
-
-    static Instruction make(final String input) {
-      final String[] tokens = SPLIT.split(input.replace(",", ""));
-      final Operation op = Operation.valueOf(tokens[0]);
-      if ("a".equals(tokens[1]) || "b".equals(tokens[1])) {
-        return new Instruction(op, Register.valueOf(tokens[1]), tokens.length == 3 ? Integer.parseInt(tokens[2]) : 0);
-      }
-      return new Instruction(op, null, Integer.parseInt(tokens[1]));
-    }
-
-  }
-
-  private static enum Register {
-    a,
-    b;
+    final RegisterMachine machine = new RegisterMachine(getInput(pc));
+    machine.setRegister(0, initialA);
+    machine.run();
+    return machine.getRegister("a".equals(pc.getString("register")) ? 0 : 1);
   }
 
-  private static enum Operation {
-
-    hlf {
+  private static final Pattern SPLIT = Pattern.compile(" ");
 
-      @Override
-      public void exec(final MachineState state, final Register reg, final long arg) {
+  /** Decode the program for the register machine, which has registers a and b. */
+  private RegisterProgram getInput(final PuzzleContext pc) {
+    final RegisterProgram program = new RegisterProgram(2);
+    final int one = program.constant(1);
+    for (final String line : il.lines(pc)) {
+      final String[] tokens = SPLIT.split(line.replace(",", ""));
+      final int arg = program.operand(tokens[1]);
+      switch (tokens[0]) {
         // Set the register to half of its current value.
-        if (reg == Register.a) {
-          state.a >>= 1;
-        }
-        else {
-          state.b >>= 1;
-        }
-        ++state.i;
-      }
-    },
-
-    tpl {
-
-      @Override
-      public void exec(final MachineState state, final Register reg, final long arg) {
+        case "hlf" -> program.add(RegisterMachine.SHR, arg, arg, one);
         // Set the register to triple its current value.
-        if (reg == Register.a) {
-          state.a *= 3;
-        }
-        else {
-          state.b *= 3;
-        }
-        ++state.i;
-      }
-    },
-
-    inc {
-
-      @Override
-      public void exec(final MachineState state, final Register reg, final long arg) {
+        case "tpl" -> program.add(RegisterMachine.MUL, arg, arg, program.constant(3));
         // Increment the register by one.
-        if (reg == Register.a) {
-          ++state.a;
-        }
-        else {
-          ++state.b;
-        }
-        ++state.i;
-      }
-    },
-
-    jmp {
-
-      @Override
-      public void exec(final MachineState state, final Register reg, final long arg) {
+        case "inc" -> program.add(RegisterMachine.ADD, arg, arg, one);
         // Jump to an instruction offset from the current one.
-        state.i += arg;
-      }
-    },
-
-    jie {
-
-      @Override
-      public void exec(final MachineState state, final Register reg, final long arg) {
+        case "jmp" -> program.add(RegisterMachine.JMP, 0, 0, arg);
         // Jump to an instruction offset from the current one if the register's value is even.
-        if ((reg == Register.a) && (state.a % 2 == 0)) {
-          state.i += arg;
-        }
-        else if ((reg == Register.b) && (state.b % 2 == 0)) {
-          state.i += arg;
-        }
-        else {
-          ++state.i;
-        }
-      }
-    },
-
-    jio {
-
-      @Override
-      public void exec(final MachineState state, final Register reg, final long arg) {
+        case "jie" -> program.add(RegisterMachine.JEVEN, 0, arg, program.operand(tokens[2]));
         // Jump to an instruction offset from the current one if the register's value is one.
-        if ((reg == Register.a) && (state.a == 1)) {
-          state.i += arg;
-        }
-        else if ((reg == Register.b) && (state.b == 1)) {
-          state.i += arg;
-        }
-        else {
-          ++state.i;
-        }
+        case "jio" -> program.add(RegisterMachine.JONE, 0, arg, program.operand(tokens[2]));
+        default -> throw new IllegalArgumentException("Unknown instruction [" + line + "]");
       }
-    };
-
-    /** Execute this instruction for the given machine state and inputs. */
-    public abstract void exec(final MachineState state, final Register reg, final long arg);
+    }
+    return program;
   }
 
 }
@@ -16,147 +16,128 @@
  */
 package us.coffeecode.advent_of_code.y2016;
 
+import java.util.function.Predicate;
+
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
+
 /**
- * Assembunny interpreter. Runs the virtual machine while its instruction pointer is valid, then halts.
+ * Assembunny interpreter. Decodes the instructions for the shared register machine, then runs it while its instruction
+ * pointer is valid and halts. The program is optimized, so the loops assembunny uses to add and multiply run as single
+ * instructions. Toggling an instruction optimizes the program again.
  */
 public class Interpreter {
 
+  /** Run a program until it halts, ignoring any output. */
   public void execute(final State state) {
-    // Execute while the instruction pointer is valid, then halt.
-    while ((0 <= state.ip) && (state.ip < state.instructions.length)) {
-      // The toggle instruction can change instructions such that the arguments don't make sense, for example, "copy 1
-      // 2" or "inc 4". This code skips those instructions with nonsense arguments.
-      if (state.instructions[state.ip].op == OpCode.cpy) {
-        final int value;
-        if (state.instructions[state.ip].args[0] instanceof Integer i) {
-          value = i.intValue();
-        }
-        else {
-          char srcReg = ((Character) state.instructions[state.ip].args[0]).charValue();
-          value = state.reg[srcReg - 'a'];
-        }
-        if (state.instructions[state.ip].args[1] instanceof Character c) {
-          char destReg = c.charValue();
-          state.reg[destReg - 'a'] = value;
-        }
-        ++state.ip;
-      }
-      else if (state.instructions[state.ip].op == OpCode.dec) {
-        if (state.instructions[state.ip].args[0] instanceof Character c) {
-          char reg = c.charValue();
-          --state.reg[reg - 'a'];
-        }
-        ++state.ip;
-      }
-      else if (state.instructions[state.ip].op == OpCode.inc) {
-        if (state.instructions[state.ip].args[0] instanceof Character c) {
-          char reg = c.charValue();
-          ++state.reg[reg - 'a'];
-        }
-        ++state.ip;
-      }
-      else if (state.instructions[state.ip].op == OpCode.jnz) {
-        final int value;
-        if (state.instructions[state.ip].args[0] instanceof Integer i) {
-          value = i.intValue();
-        }
-        else {
-          char srcReg = ((Character) state.instructions[state.ip].args[0]).charValue();
-          value = state.reg[srcReg - 'a'];
-        }
-        if (value == 0) {
-          ++state.ip;
-        }
-        else if (state.instructions[state.ip].args[1] instanceof Integer i) {
-          state.ip += i.intValue();
-        }
-        else {
-          char jmp = ((Character) state.instructions[state.ip].args[1]).charValue();
-          state.ip += state.reg[jmp - 'a'];
-        }
-      }
-      else if (state.instructions[state.ip].op == OpCode.nop) {
-        ++state.ip;
+    execute(state, machine -> true);
+  }
+
+  /**
+   * Run a program until it halts or the output listener stops it.
+   *
+   * @param output called each time the program outputs a value, which it can read from the machine. Returns whether the
+   *        program should keep running.
+   */
+  public void execute(final State state, final Predicate<RegisterMachine> output) {
+    final RegisterProgram program = new RegisterProgram(state.reg.length);
+    for (int i = 0; i < state.instructions.length; ++i) {
+      program.add(RegisterMachine.NOP, 0, 0, 0);
+      decode(program, i, state.instructions[i]);
+    }
+    program.optimize();
+    final RegisterMachine machine = new RegisterMachine(program);
+    for (int i = 0; i < state.reg.length; ++i) {
+      machine.setRegister(i, state.reg[i]);
+    }
+    machine.setIp(state.ip);
+    boolean running = true;
+    while (running) {
+      switch (machine.run()) {
+        case OUTPUT -> running = output.test(machine);
+        case TRAP -> {
+          toggle(state, program, (int) machine.getRegister(program.getY(machine.getIp())) + machine.getIp());
+          machine.resume();
+        }
+        default -> running = false;
       }
-      else if (state.instructions[state.ip].op == OpCode.mul) {
-        // Synthetic instruction not changed by toggle.
-        final int argA;
-        if (state.instructions[state.ip].args[0] instanceof Integer i) {
-          argA = i.intValue();
-        }
-        else {
-          char srcReg = ((Character) state.instructions[state.ip].args[0]).charValue();
-          argA = state.reg[srcReg - 'a'];
-        }
-        final int argB;
-        if (state.instructions[state.ip].args[1] instanceof Integer i) {
-          argB = i.intValue();
-        }
-        else {
-          char srcReg = ((Character) state.instructions[state.ip].args[1]).charValue();
-          argB = state.reg[srcReg - 'a'];
-        }
-        if (state.instructions[state.ip].args[2] instanceof Character c) {
-          char destReg = c.charValue();
-          state.reg[destReg - 'a'] = argA * argB;
+    }
+    for (int i = 0; i < state.reg.length; ++i) {
+      state.reg[i] = (int) machine.getRegister(i);
+    }
+    state.ip = machine.getIp();
+  }
+
+  /** Execute the toggle instruction, which modifies the program. */
+  private void toggle(final State state, final RegisterProgram program, final int target) {
+    // "If an attempt is made to toggle an instruction outside the program, nothing happens."
+    if ((target < 0) || (state.instructions.length <= target)) {
+      return;
+    }
+    final Instruction instruction = state.instructions[target];
+    // "For one-argument instructions, inc becomes dec, and all other one-argument instructions become inc."
+    if (instruction.op == OpCode.inc) {
+      instruction.op = OpCode.dec;
+    }
+    else if ((instruction.op == OpCode.dec) || (instruction.op == OpCode.tgl)) {
+      instruction.op = OpCode.inc;
+    }
+    // "For two-argument instructions, jnz becomes cpy, and all other two-instructions become jnz."
+    else if (instruction.op == OpCode.jnz) {
+      instruction.op = OpCode.cpy;
+    }
+    else if (instruction.op == OpCode.cpy) {
+      instruction.op = OpCode.jnz;
+    }
+    else {
+      throw new IllegalStateException("Unknown instruction [" + instruction.op + "]");
+    }
+    decode(program, target, instruction);
+  }
+
+  /**
+   * Decode one instruction into the program. The toggle instruction can change instructions such that the arguments
+   * don't make sense, for example, "copy 1 2" or "inc 4". Those decode to no-ops so the machine skips them.
+   */
+  private void decode(final RegisterProgram program, final int index, final Instruction instruction) {
+    final Object[] args = instruction.args;
+    switch (instruction.op) {
+      case cpy -> {
+        if (args[1] instanceof Character) {
+          program.set(index, RegisterMachine.SET, slot(program, args[1]), slot(program, args[0]), 0);
+          return;
         }
-        ++state.ip;
       }
-      else if (state.instructions[state.ip].op == OpCode.out) {
-        final int value;
-        if (state.instructions[state.ip].args[0] instanceof Integer i) {
-          value = i.intValue();
-        }
-        else {
-          char srcReg = ((Character) state.instructions[state.ip].args[0]).charValue();
-          value = state.reg[srcReg - 'a'];
-        }
-        state.out[state.outUsed] = value;
-        ++state.outUsed;
-        if (state.outUsed == state.out.length) {
+      case dec, inc -> {
+        if (args[0] instanceof Character) {
+          final int reg = slot(program, args[0]);
+          final int op = (instruction.op == OpCode.inc) ? RegisterMachine.ADD : RegisterMachine.SUB;
+          program.set(index, op, reg, reg, program.constant(1));
           return;
         }
-        ++state.ip;
       }
-      else if (state.instructions[state.ip].op == OpCode.tgl) {
-        final int value;
-        if (state.instructions[state.ip].args[0] instanceof Integer i) {
-          value = i.intValue();
-        }
-        else {
-          char srcReg = ((Character) state.instructions[state.ip].args[0]).charValue();
-          value = state.reg[srcReg - 'a'];
-        }
-        final int newIp = value + state.ip;
-        // "If an attempt is made to toggle an instruction outside the program, nothing happens."
-        if (0 <= newIp && newIp < state.instructions.length) {
-          // "For one-argument instructions, inc becomes dec, and all other one-argument instructions become inc."
-          if (state.instructions[newIp].op == OpCode.inc) {
-            state.instructions[newIp].op = OpCode.dec;
-          }
-          else if (state.instructions[newIp].op == OpCode.dec) {
-            state.instructions[newIp].op = OpCode.inc;
-          }
-          else if (state.instructions[newIp].op == OpCode.tgl) {
-            state.instructions[newIp].op = OpCode.inc;
-          }
-          // "For two-argument instructions, jnz becomes cpy, and all other two-instructions become jnz."
-          else if (state.instructions[newIp].op == OpCode.jnz) {
-            state.instructions[newIp].op = OpCode.cpy;
-          }
-          else if (state.instructions[newIp].op == OpCode.cpy) {
-            state.instructions[newIp].op = OpCode.jnz;
-          }
-          else {
-            throw new IllegalStateException("Unknown instruction [" + state.instructions[value].op + "]");
-          }
-        }
-        ++state.ip;
+      case jnz -> {
+        program.set(index, RegisterMachine.JNZ, 0, slot(program, args[0]), slot(program, args[1]));
+        return;
+      }
+      case out -> {
+        program.set(index, RegisterMachine.OUT, 0, slot(program, args[0]), 0);
+        return;
       }
-      else {
-        throw new IllegalStateException("Unknown instruction [" + state.instructions[state.ip].op + "]");
+      case tgl -> {
+        program.set(index, RegisterMachine.TRAP, 0, slot(program, args[0]), 0);
+        return;
       }
     }
+    program.set(index, RegisterMachine.NOP, 0, 0, 0);
+  }
+
+  /** Get the slot for an argument, which is either a register name or a number. */
+  private int slot(final RegisterProgram program, final Object arg) {
+    if (arg instanceof Character c) {
+      return c.charValue() - 'a';
+    }
+    return program.constant(((Integer) arg).intValue());
   }
 
 }
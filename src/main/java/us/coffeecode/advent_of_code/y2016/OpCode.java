@@ -24,8 +24,6 @@ public enum OpCode {
   dec,
   inc,
   jnz,
-  mul,
-  nop,
   out,
   tgl;
 }
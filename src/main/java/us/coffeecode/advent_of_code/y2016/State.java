@@ -25,8 +25,6 @@ import java.util.Objects;
  */
 public final class State {
 
-  public static final int OUPUT_BUFFER_SIZE = 10;
-
   /**
    * Load input data from a file and use it to create an initial state.
    *
@@ -45,11 +43,6 @@ public final class State {
 
   public int ip = 0;
 
-  /** Previous output for day 25. */
-  public int[] out = new int[OUPUT_BUFFER_SIZE];
-
-  public int outUsed = 0;
-
   public State(final Instruction[] _instructions) {
     instructions = _instructions;
   }
@@ -43,10 +43,6 @@ public final class Year2016Day23 {
   public long calculatePart2(final PuzzleContext pc) {
     final State state = State.load(il.lines(pc));
     state.reg[0] = 12;
-    // Patch the input program to use multiplication instead of repeated incrementing.
-    state.instructions[4] = new Instruction("mul b d a");
-    state.instructions[5] =
-      state.instructions[6] = state.instructions[7] = state.instructions[8] = state.instructions[9] = new Instruction("nop");
     new Interpreter().execute(state);
     return state.reg[0];
   }
@@ -16,8 +16,8 @@
  */
 package us.coffeecode.advent_of_code.y2016;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -26,6 +26,8 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.ExecutionMonitor;
+import us.coffeecode.advent_of_code.util.RegisterMachine;
 
 @AdventOfCodeSolution(year = 2016, day = 25)
 @Component
@@ -36,20 +38,43 @@ public final class Year2016Day25 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final int[] expected = new int[State.OUPUT_BUFFER_SIZE];
-    for (int i = 0; i < expected.length; ++i) {
-      expected[i] = i % 2;
-    }
     final List<String> input = il.lines(pc);
+    final Interpreter interpreter = new Interpreter();
     for (int i = 1; i < Integer.MAX_VALUE; ++i) {
       final State state = State.load(input);
       state.reg[0] = i;
-      new Interpreter().execute(state);
-      if (Arrays.compare(expected, state.out) == 0) {
+      final ClockSignal clock = new ClockSignal();
+      interpreter.execute(state, clock);
+      if (clock.proven) {
         return i;
       }
     }
     return 0;
   }
 
+  /**
+   * Watches a program's output for a clock signal: zero, one, zero, one, and so on forever. Any other output disproves
+   * it. Reaching the same machine state while expecting the same output proves it, because the program will output the
+   * same values from there on.
+   */
+  private static final class ClockSignal
+  implements Predicate<RegisterMachine> {
+
+    private final ExecutionMonitor monitor = new ExecutionMonitor();
+
+    private long expected = 0;
+
+    boolean proven = false;
+
+    @Override
+    public boolean test(final RegisterMachine machine) {
+      if (machine.getOutput() != expected) {
+        return false;
+      }
+      expected ^= 1;
+      proven = monitor.observe(machine, expected);
+      return !proven;
+    }
+  }
+
 }
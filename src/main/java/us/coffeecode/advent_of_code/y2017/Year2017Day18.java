@@ -16,14 +16,8 @@
  */
 package us.coffeecode.advent_of_code.y2017;
 
-import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +27,9 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterMachine.Status;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
 
 @AdventOfCodeSolution(year = 2017, day = 18)
 @Component
@@ -43,244 +40,105 @@ public final class Year2017Day18 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final State state = new State();
-    final List<Instruction> instructions = il.linesAsObjects(pc, Instruction::new);
-    while ((state.pointer >= 0) && (state.pointer < instructions.size())) {
-      final Instruction instruction = instructions.get(state.pointer);
-      if (instruction.op == OpCode.snd) {
-        state.frequency = instruction.arg1isReg ? state.registers[instruction.arg1] : instruction.arg1;
-        ++state.pointer;
-      }
-      else if (instruction.op == OpCode.rcv) {
-        if (state.registers[instruction.arg1] != 0) {
-          return state.frequency;
+    final RegisterProgram program = getInput(pc);
+    final RegisterMachine machine = new RegisterMachine(program);
+    long frequency = 0;
+    while (true) {
+      final Status status = machine.run();
+      if (status == Status.OUTPUT) {
+        frequency = machine.getOutput();
+      }
+      else if (status == Status.INPUT) {
+        // Recover the last frequency played, but only if the register is not zero. Otherwise, leave it alone.
+        final long value = machine.getRegister(program.getX(machine.getIp()));
+        if (value != 0) {
+          return frequency;
         }
-        ++state.pointer;
+        machine.input(value);
       }
       else {
-        instruction.op.apply(instruction, state);
+        return 0;
       }
     }
-    return 0;
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    final BlockingQueue<Long> q1 = new LinkedBlockingQueue<>();
-    final BlockingQueue<Long> q2 = new LinkedBlockingQueue<>();
-    final State state0 = new State(0, q1, q2);
-    final State state1 = new State(1, q2, q1);
-
-    final List<Instruction> instructions = il.linesAsObjects(pc, Instruction::new);
-    try (final ExecutorService exec = Executors.newFixedThreadPool(2)) {
-
-      final Future<?> prog0 = exec.submit(new Part2Processor(instructions, state0));
-      final Future<?> prog1 = exec.submit(new Part2Processor(instructions, state1));
-
-      while (!prog0.isDone() && !prog1.isDone()) {
-        try {
-          Thread.sleep(5);
-        }
-        catch (InterruptedException ex) {
-          break;
-        }
-      }
-
-      return state1.sendCounter;
+    final RegisterProgram program = getInput(pc);
+    final Program p0 = new Program(program, 0);
+    final Program p1 = new Program(program, 1);
+    // Run each program until it blocks, then switch to the other. Stop when neither one can make progress.
+    boolean progress = true;
+    while (progress) {
+      progress = p0.run(p1.queue) | p1.run(p0.queue);
     }
+    return p1.sendCounter;
   }
 
-  /** Implementation of a processor that maintains state and can execute instructions. */
-  private static final class Part2Processor
-  implements Callable<Void> {
+  /** One of the two programs running in part two, along with the queue of values it has yet to receive. */
+  private static final class Program {
 
-    final List<Instruction> instructions;
+    final RegisterMachine machine;
 
-    final State state;
+    final Deque<Long> queue = new ArrayDeque<>();
 
-    Part2Processor(final List<Instruction> _instructions, final State _state) {
-      instructions = _instructions;
-      state = _state;
-    }
+    int sendCounter;
 
-    @Override
-    public Void call() throws Exception {
-      while (state.pointer >= 0 && state.pointer < instructions.size()) {
-        final Instruction instruction = instructions.get(state.pointer);
-        if (instruction.op == OpCode.snd) {
-          state.output.add(Long.valueOf(instruction.arg1isReg ? state.registers[instruction.arg1] : instruction.arg1));
-          ++state.sendCounter;
-          ++state.pointer;
-        }
-        else if (instruction.op == OpCode.rcv) {
-          final Long value = state.input.poll(5, TimeUnit.MILLISECONDS);
-          if (value == null) {
-            return null;
-          }
-          state.registers[instruction.arg1] = value.longValue();
-          ++state.pointer;
-        }
-        else {
-          instruction.op.apply(instruction, state);
-        }
-      }
-      return null;
+    Program(final RegisterProgram program, final int id) {
+      machine = new RegisterMachine(program);
+      machine.setRegister('p' - 'a', id);
     }
 
-  }
-
-  /** Operation codes representing actions a processor can take. */
-  private static enum OpCode {
-
-    snd {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        // Implementation varies between parts one and two
-        throw new UnsupportedOperationException();
-      }
-    },
-    set {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        state.registers[instruction.arg1] = n2;
-        ++state.pointer;
-      }
-    },
-    add {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        state.registers[instruction.arg1] += n2;
-        ++state.pointer;
-      }
-    },
-    mul {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        state.registers[instruction.arg1] *= n2;
-        ++state.pointer;
-      }
-    },
-    mod {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        state.registers[instruction.arg1] %= n2;
-        ++state.pointer;
-      }
-    },
-    rcv {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        // Implementation varies between parts one and two
-        throw new UnsupportedOperationException();
-      }
-    },
-    jgz {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n1 = instruction.arg1isReg ? state.registers[instruction.arg1] : instruction.arg1;
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        if (n1 > 0) {
-          state.pointer += n2;
+    /**
+     * Run until the program halts or blocks on input.
+     *
+     * @param output queue of the other program, which receives this program's output.
+     * @return whether the program executed any instructions.
+     */
+    boolean run(final Deque<Long> output) {
+      boolean progress = false;
+      while (true) {
+        final int ip = machine.getIp();
+        final Status status = machine.run();
+        progress |= (ip != machine.getIp());
+        if (status == Status.OUTPUT) {
+          output.add(Long.valueOf(machine.getOutput()));
+          ++sendCounter;
+        }
+        else if ((status == Status.INPUT) && !queue.isEmpty()) {
+          machine.input(queue.remove()
+                             .longValue());
+          progress = true;
         }
         else {
-          ++state.pointer;
+          return progress;
         }
       }
-    };
-
-    public abstract void apply(final Instruction instruction, final State state);
-  }
-
-  /** Represents the current state of a single program. */
-  private static final class State {
-
-    final long[] registers = new long[26];
-
-    final BlockingQueue<Long> input;
-
-    final BlockingQueue<Long> output;
-
-    int sendCounter;
-
-    long frequency;
-
-    int pointer = 0;
-
-    State() {
-      this(0, null, null);
-    }
-
-    State(final int id, final BlockingQueue<Long> _input, final BlockingQueue<Long> _output) {
-      registers['p' - 'a'] = id;
-      input = _input;
-      output = _output;
     }
 
   }
 
-  /** Instructions are opcodes with operands/arguments. */
-  private static final class Instruction {
-
-    private static final Pattern SEPARATOR = Pattern.compile(" ");
-
-    final OpCode op;
-
-    final int arg1;
-
-    final int arg2;
-
-    final boolean arg1isReg;
-
-    final boolean arg2isReg;
-
-    Instruction(final String input) {
-      final String[] tokens = SEPARATOR.split(input);
-      op = OpCode.valueOf(tokens[0]);
-      // First argument is always a register identified by a character.
-      final int a1 = tokens[1].codePointAt(0);
-      if (Character.isDigit(a1)) {
-        arg1 = Integer.parseInt(tokens[1]);
-        arg1isReg = false;
-      }
-      else {
-        arg1 = tokens[1].codePointAt(0) - 'a';
-        arg1isReg = true;
-      }
-      // Second argument might not exist, or could be either a character or integer.
-      if (tokens.length < 3) {
-        arg2 = 0;
-        arg2isReg = false;
-      }
-      else if (tokens[2].length() == 1) {
-        // Could be a single-digit integer or a register.
-        final int ch = tokens[2].codePointAt(0);
-        if (Character.isLetter(ch)) {
-          arg2 = ch - 'a';
-          arg2isReg = true;
-        }
-        else {
-          arg2 = Integer.parseInt(tokens[2]);
-          arg2isReg = false;
-        }
-      }
-      else {
-        // Cannot possibly a register, assume integer.
-        arg2 = Integer.parseInt(tokens[2]);
-        arg2isReg = false;
+  private static final Pattern SEPARATOR = Pattern.compile(" ");
+
+  /** Decode the program for the register machine. */
+  private RegisterProgram getInput(final PuzzleContext pc) {
+    final RegisterProgram program = new RegisterProgram(26);
+    for (final String line : il.lines(pc)) {
+      final String[] tokens = SEPARATOR.split(line);
+      final int x = program.operand(tokens[1]);
+      final int y = (tokens.length < 3) ? 0 : program.operand(tokens[2]);
+      switch (tokens[0]) {
+        case "snd" -> program.add(RegisterMachine.OUT, 0, x, 0);
+        case "set" -> program.add(RegisterMachine.SET, x, y, 0);
+        case "add" -> program.add(RegisterMachine.ADD, x, x, y);
+        case "mul" -> program.add(RegisterMachine.MUL, x, x, y);
+        case "mod" -> program.add(RegisterMachine.MOD, x, x, y);
+        case "rcv" -> program.add(RegisterMachine.IN, x, 0, 0);
+        case "jgz" -> program.add(RegisterMachine.JGZ, 0, x, y);
+        default -> throw new IllegalArgumentException("Unknown instruction [" + line + "]");
       }
     }
-
+    return program;
   }
 
 }
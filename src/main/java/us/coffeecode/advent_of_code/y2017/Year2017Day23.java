@@ -16,7 +16,6 @@
  */
 package us.coffeecode.advent_of_code.y2017;
 
-import java.util.Arrays;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,159 +25,60 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
-import us.coffeecode.advent_of_code.util.PrimeProvider;
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
 
 @AdventOfCodeSolution(year = 2017, day = 23)
 @Component
 public final class Year2017Day23 {
 
-  @Autowired
-  private PrimeProvider primeProvider;
-
   @Autowired
   private InputLoader il;
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final State state = new State();
-    final Instruction[] instructions = il.linesAsObjects(pc, Instruction::new)
-                                         .toArray(Instruction[]::new);
+    final RegisterProgram program = getInput(pc);
+    // Step through the program one instruction at a time, counting multiplies before they execute.
+    final RegisterMachine machine = new RegisterMachine(program);
     long multiplies = 0;
-    while ((state.pointer >= 0) && (state.pointer < instructions.length)) {
-      if (instructions[state.pointer].op == OpCode.mul) {
+    while ((0 <= machine.getIp()) && (machine.getIp() < program.size())) {
+      if (program.getOp(machine.getIp()) == RegisterMachine.MUL) {
         ++multiplies;
       }
-      instructions[state.pointer].op.apply(instructions[state.pointer], state);
+      machine.run(1);
     }
     return multiplies;
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    final Instruction[] input = il.linesAsObjects(pc, Instruction::new)
-                                  .toArray(Instruction[]::new);
-    final int b = (input[4].arg2 * input[0].arg2) - input[5].arg2;
-    final int c = b - input[7].arg2;
-
-    long composites = 0;
-    final int[] primes = primeProvider.getPrimesUpTo(c);
-    for (int i = b; i <= c; i += 17) {
-      if (Arrays.binarySearch(primes, i) < 0) {
-        ++composites;
-      }
-    }
-
-    return composites;
+    final RegisterProgram program = getInput(pc);
+    // The optimizer replaces the nested loops that test for composite numbers, so the program runs as written.
+    program.optimize();
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.setRegister(0, 1);
+    machine.run();
+    return machine.getRegister('h' - 'a');
   }
 
-  /** Operation codes representing actions a processor can take. */
-  private static enum OpCode {
-
-    set {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        state.registers[instruction.arg1] = n2;
-        ++state.pointer;
-      }
-    },
-    sub {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        state.registers[instruction.arg1] -= n2;
-        ++state.pointer;
-      }
-    },
-    mul {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        state.registers[instruction.arg1] *= n2;
-        ++state.pointer;
-      }
-    },
-    jnz {
-
-      @Override
-      public void apply(final Instruction instruction, final State state) {
-        final long n1 = instruction.arg1isReg ? state.registers[instruction.arg1] : instruction.arg1;
-        final long n2 = instruction.arg2isReg ? state.registers[instruction.arg2] : instruction.arg2;
-        if (n1 != 0) {
-          state.pointer += n2;
-        }
-        else {
-          ++state.pointer;
-        }
-      }
-    };
-
-    public abstract void apply(final Instruction instruction, final State state);
-  }
-
-  /** Represents the current state of a single program. */
-  private static final class State {
-
-    final long[] registers = new long[8];
-
-    int pointer = 0;
-  }
-
-  /** Instructions are opcodes with operands/arguments. */
-  private static final class Instruction {
-
-    private static final Pattern SEPARATOR = Pattern.compile(" ");
-
-    final OpCode op;
-
-    final int arg1;
-
-    final int arg2;
-
-    final boolean arg1isReg;
-
-    final boolean arg2isReg;
-
-    Instruction(final String input) {
-      final String[] tokens = SEPARATOR.split(input);
-      op = OpCode.valueOf(tokens[0]);
-      // First argument is always a register identified by a character.
-      final int a1 = tokens[1].codePointAt(0);
-      if (Character.isDigit(a1)) {
-        arg1 = Integer.parseInt(tokens[1]);
-        arg1isReg = false;
-      }
-      else {
-        arg1 = tokens[1].codePointAt(0) - 'a';
-        arg1isReg = true;
-      }
-      // Second argument might not exist, or could be either a character or integer.
-      if (tokens.length < 3) {
-        arg2 = 0;
-        arg2isReg = false;
-      }
-      else if (tokens[2].length() == 1) {
-        // Could be a single-digit integer or a register.
-        final int ch = tokens[2].codePointAt(0);
-        if (Character.isLetter(ch)) {
-          arg2 = ch - 'a';
-          arg2isReg = true;
-        }
-        else {
-          arg2 = Integer.parseInt(tokens[2]);
-          arg2isReg = false;
-        }
-      }
-      else {
-        // Cannot possibly a register, assume integer.
-        arg2 = Integer.parseInt(tokens[2]);
-        arg2isReg = false;
+  /** Decode the program for the register machine. */
+  private RegisterProgram getInput(final PuzzleContext pc) {
+    final RegisterProgram program = new RegisterProgram(8);
+    for (final String line : il.lines(pc)) {
+      final String[] tokens = SEPARATOR.split(line);
+      final int x = program.operand(tokens[1]);
+      final int y = program.operand(tokens[2]);
+      switch (tokens[0]) {
+        case "set" -> program.add(RegisterMachine.SET, x, y, 0);
+        case "sub" -> program.add(RegisterMachine.SUB, x, x, y);
+        case "mul" -> program.add(RegisterMachine.MUL, x, x, y);
+        case "jnz" -> program.add(RegisterMachine.JNZ, 0, x, y);
+        default -> throw new IllegalArgumentException("Unknown instruction [" + line + "]");
       }
     }
-
+    return program;
   }
 
+  private static final Pattern SEPARATOR = Pattern.compile(" ");
+
 }
@@ -16,70 +16,66 @@
  */
 package us.coffeecode.advent_of_code.y2018;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.regex.Pattern;
 
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
+
 /**
- * Encapsulates program state for an elf assembly program.
+ * Encapsulates program state for an elf assembly program. Instructions are decoded for the shared register machine,
+ * which runs them. The program is optimized, so the loops elfcode uses to sum divisors and divide run as single
+ * instructions.
  */
 final class State {
 
   private static final Pattern SPLIT = Pattern.compile(" ");
 
-  public final int ip_reg;
+  private static final int REGISTERS = 6;
 
-  public final long[] register = new long[6];
+  public final RegisterProgram program = new RegisterProgram(REGISTERS);
 
-  public final List<Instruction> instructions;
+  public final RegisterMachine machine;
 
   public State(final List<String> lines) {
-    int _ip_reg = 0;
-    List<Instruction> _instructions = new ArrayList<>(lines.size() - 1);
     for (final String line : lines) {
       final String[] tokens = SPLIT.split(line);
       if ("#ip".equals(tokens[0])) {
-        _ip_reg = Integer.parseInt(tokens[1]);
+        program.setIpRegister(Integer.parseInt(tokens[1]));
       }
       else {
-        final OpCode opcode = OpCode.valueOf(tokens[0]);
-        _instructions.add(
-          new Instruction(opcode, Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3])));
+        decode(OpCode.valueOf(tokens[0]), Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]),
+          Integer.parseInt(tokens[3]));
       }
     }
-    ip_reg = _ip_reg;
-    instructions = Collections.unmodifiableList(_instructions);
-  }
-
-  public State(final State state) {
-    ip_reg = state.ip_reg;
-    // Registers always start with zeroes.
-    // Instructions are immutable. No need to build a new list or clone anything.
-    instructions = state.instructions;
+    program.optimize();
+    machine = new RegisterMachine(program);
   }
 
-  @Override
-  public boolean equals(final Object obj) {
-    if (this == obj) {
-      return true;
+  private void decode(final OpCode opcode, final int a, final int b, final int c) {
+    switch (opcode) {
+      case addr -> program.add(RegisterMachine.ADD, c, a, b);
+      case addi -> program.add(RegisterMachine.ADD, c, a, program.constant(b));
+      case mulr -> program.add(RegisterMachine.MUL, c, a, b);
+      case muli -> program.add(RegisterMachine.MUL, c, a, program.constant(b));
+      case banr -> program.add(RegisterMachine.AND, c, a, b);
+      case bani -> program.add(RegisterMachine.AND, c, a, program.constant(b));
+      case borr -> program.add(RegisterMachine.OR, c, a, b);
+      case bori -> program.add(RegisterMachine.OR, c, a, program.constant(b));
+      case setr -> program.add(RegisterMachine.SET, c, a, 0);
+      case seti -> program.add(RegisterMachine.SET, c, program.constant(a), 0);
+      case gtir -> program.add(RegisterMachine.GT, c, program.constant(a), b);
+      case gtri -> program.add(RegisterMachine.GT, c, a, program.constant(b));
+      case gtrr -> program.add(RegisterMachine.GT, c, a, b);
+      case eqir -> program.add(RegisterMachine.EQ, c, program.constant(a), b);
+      case eqri -> program.add(RegisterMachine.EQ, c, a, program.constant(b));
+      case eqrr -> program.add(RegisterMachine.EQ, c, a, b);
     }
-    else if (obj instanceof State o) {
-      return (ip_reg == o.ip_reg) && Arrays.equals(register, o.register) && Objects.equals(instructions, o.instructions);
-    }
-    return false;
-  }
-
-  @Override
-  public int hashCode() {
-    return Objects.hash(Integer.valueOf(ip_reg), Integer.valueOf(Arrays.hashCode(register)), instructions);
   }
 
   @Override
   public String toString() {
-    return Arrays.toString(register);
+    return machine.toString();
   }
 
 }
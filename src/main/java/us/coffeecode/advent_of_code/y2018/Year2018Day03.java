@@ -25,6 +25,8 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.Range2D;
+import us.coffeecode.advent_of_code.util.VolumeEngine;
 
 @AdventOfCodeSolution(year = 2018, day = 3)
 @Component
@@ -35,20 +37,11 @@ public final class Year2018Day03 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final int size = 1_000;
-    final int[][] fabric = new int[size][size];
-    long result = 0;
+    final VolumeEngine engine = new VolumeEngine(2);
     for (final Claim claim : il.linesAsObjects(pc, Claim::make)) {
-      for (int y = claim.y1; y < claim.y2; ++y) {
-        for (int x = claim.x1; x < claim.x2; ++x) {
-          ++fabric[y][x];
-          if (fabric[y][x] == 2) {
-            ++result;
-          }
-        }
-      }
+      engine.add(new Range2D(claim.x1, claim.y1, claim.x2 - 1, claim.y2 - 1));
     }
-    return result;
+    return engine.volumeCoveredAtLeast(2);
   }
 
   @Solver(part = 2)
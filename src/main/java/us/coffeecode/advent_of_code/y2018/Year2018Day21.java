@@ -16,9 +16,8 @@
  */
 package us.coffeecode.advent_of_code.y2018;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -27,6 +26,9 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.ExecutionMonitor;
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
 
 @AdventOfCodeSolution(year = 2018, day = 21)
 @Component
@@ -37,50 +39,54 @@ public final class Year2018Day21 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    return calculate(pc);
+    // The first value halts the program soonest.
+    return ExecutionMonitor.get(getValues(pc), 0);
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    return calculate(pc);
+    // The values eventually repeat. The last value before the first repeat makes the program run the longest.
+    final Supplier<LongSupplier> values = getValues(pc);
+    return ExecutionMonitor.get(values, ExecutionMonitor.findCycle(values)
+                                                        .last());
   }
 
-  private static final Pattern SPLIT = Pattern.compile(" ");
-
-  private long calculate(final PuzzleContext pc) {
-    final long magicNumber = Long.parseLong(SPLIT.split(il.lines(pc)
-                                                          .get(8))[1]);
-    final boolean executeFewest = pc.getBoolean("ExecuteFewest");
-    long d = 0;
-    final Set<Long> seen = new HashSet<>();
-    long previous_d = -1;
-    while (true) {
-      long c = (d | 65536);
-      d = magicNumber;
-      while (true) {
-        d += (c & 255);
-        d &= 16_777_215;
-        d *= 65_899;
-        d &= 16_777_215;
-        if (256 > c) {
-          if (executeFewest) {
-            return d;
-          }
-          else {
-            final Long value = Long.valueOf(d);
-            if (seen.contains(value)) {
-              return previous_d;
-            }
-            else {
-              seen.add(value);
-              previous_d = d;
-              break;
-            }
-          }
+  /**
+   * Get the values the program compares with register zero, in order. The program only reads register zero in one
+   * place: it halts if that register equals a value it calculates. This replaces the comparison with a trap, so the
+   * machine stops with each value. Register zero stays zero, so the program keeps going. Each value only depends on the
+   * previous one, so the sequence is deterministic.
+   */
+  private Supplier<LongSupplier> getValues(final PuzzleContext pc) {
+    final RegisterProgram program = new State(il.lines(pc)).program;
+    final int compare = findComparison(program);
+    final int result = program.getX(compare);
+    final int value = (program.getY(compare) == 0) ? program.getZ(compare) : program.getY(compare);
+    program.set(compare, RegisterMachine.TRAP, result, program.getY(compare), program.getZ(compare));
+    return () -> {
+      final RegisterMachine machine = new RegisterMachine(program);
+      return () -> {
+        if (machine.run() != RegisterMachine.Status.TRAP) {
+          throw new IllegalStateException("Program halted");
         }
-        c >>= 8;
+        final long d = machine.getRegister(value);
+        // Execute the comparison the trap replaced, then continue.
+        machine.setRegister(result, (d == machine.getRegister(0)) ? 1 : 0);
+        machine.resume();
+        return d;
+      };
+    };
+  }
+
+  /** Find the only instruction that reads register zero, which compares it for equality with another register. */
+  private int findComparison(final RegisterProgram program) {
+    for (int i = 0; i < program.size(); ++i) {
+      if ((program.getOp(i) == RegisterMachine.EQ) && ((program.getY(i) == 0) != (program.getZ(i) == 0))
+        && program.isRegister(program.getY(i)) && program.isRegister(program.getZ(i))) {
+        return i;
       }
     }
+    throw new IllegalArgumentException("No instruction compares register zero");
   }
 
 }
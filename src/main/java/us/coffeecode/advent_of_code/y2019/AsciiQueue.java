@@ -0,0 +1,237 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Queue for IntCode programs that talk in ASCII text. Values are stored as characters, so text goes in and comes out in
+ * bulk: callers add whole strings or byte arrays, and read output a line at a time through a character buffer that
+ * views the queue's own storage instead of copying it.
+ * <p>
+ * Programs sometimes write a value that is not a character, such as a large number at the end of their output. These
+ * are stored out of band, in order, with a placeholder character marking their place in the text. They come back as
+ * themselves from {@link #remove()} and {@link #removeLast()}. Text views show the placeholder and discard the value.
+ */
+final class AsciiQueue
+implements IntCodeIoQueue {
+
+  /** Placeholder for a value that is not a character. */
+  static final char OUT_OF_BAND = '\uFFFF';
+
+  private static final int DEFAULT_ARRAY_LENGTH = 0x100;
+
+  private char[] buffer = new char[DEFAULT_ARRAY_LENGTH];
+
+  /** View of the buffer that is reused for every line. */
+  private CharBuffer view = CharBuffer.wrap(buffer);
+
+  /** Values that are not characters, in order. */
+  private final LongQueue outOfBand = new LongQueue();
+
+  private int head;
+
+  private int tail;
+
+  AsciiQueue() {}
+
+  AsciiQueue(final CharSequence text) {
+    add(text);
+  }
+
+  @Override
+  public void add(final long value) {
+    ensureCapacity(1);
+    if ((0 <= value) && (value < OUT_OF_BAND)) {
+      buffer[tail++] = (char) value;
+    }
+    else {
+      buffer[tail++] = OUT_OF_BAND;
+      outOfBand.add(value);
+    }
+  }
+
+  @Override
+  public void add(final long[] values) {
+    ensureCapacity(values.length);
+    for (final long value : values) {
+      add(value);
+    }
+  }
+
+  /** Add text, which must be ASCII. */
+  void add(final CharSequence text) {
+    final int length = text.length();
+    ensureCapacity(length);
+    if (text instanceof String str) {
+      str.getChars(0, length, buffer, tail);
+    }
+    else {
+      for (int i = 0; i < length; ++i) {
+        buffer[tail + i] = text.charAt(i);
+      }
+    }
+    tail += length;
+  }
+
+  /** Add ASCII text encoded as bytes. */
+  void add(final byte[] text) {
+    ensureCapacity(text.length);
+    for (final byte b : text) {
+      buffer[tail++] = (char) (b & 0xFF);
+    }
+  }
+
+  @Override
+  public long remove() {
+    if (head == tail) {
+      throw new NoSuchElementException();
+    }
+    final char ch = buffer[head++];
+    return (ch == OUT_OF_BAND) ? outOfBand.remove() : ch;
+  }
+
+  @Override
+  public long[] remove(final int quantity) {
+    if (size() < quantity) {
+      throw new NoSuchElementException();
+    }
+    final long[] removed = new long[quantity];
+    for (int i = 0; i < quantity; ++i) {
+      removed[i] = remove();
+    }
+    return removed;
+  }
+
+  @Override
+  public long[] removeAll() {
+    return remove(size());
+  }
+
+  /**
+   * Remove the next complete line, without its line feed. The returned buffer is a view of this queue's storage, and is
+   * only valid until the queue changes. The same buffer is returned every time.
+   *
+   * @return the next line, or null if there is no line feed in the queue.
+   */
+  CharBuffer nextLine() {
+    for (int i = head; i < tail; ++i) {
+      if (buffer[i] == '\n') {
+        final CharBuffer line = take(i);
+        ++head;
+        return line;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Remove all text, split into lines. Text after the last line feed, if any, is the last line. As with
+   * {@link String#split(String)}, trailing empty lines are dropped.
+   */
+  List<String> removeLines() {
+    final List<String> lines = new ArrayList<>();
+    for (CharBuffer line = nextLine(); line != null; line = nextLine()) {
+      lines.add(line.toString());
+    }
+    if (head < tail) {
+      lines.add(take(tail).toString());
+    }
+    clear();
+    while (!lines.isEmpty() && lines.getLast()
+                                    .isEmpty()) {
+      lines.removeLast();
+    }
+    return lines;
+  }
+
+  /** Remove everything, and return the last value. Programs often end their text with a numeric answer. */
+  long removeLast() {
+    if (head == tail) {
+      throw new NoSuchElementException();
+    }
+    final char ch = buffer[tail - 1];
+    long value = ch;
+    if (ch == OUT_OF_BAND) {
+      final long[] all = outOfBand.removeAll();
+      value = all[all.length - 1];
+    }
+    clear();
+    return value;
+  }
+
+  /** Remove text up to an index, and return a view of it. */
+  private CharBuffer take(final int end) {
+    for (int i = head; i < end; ++i) {
+      if (buffer[i] == OUT_OF_BAND) {
+        outOfBand.remove();
+      }
+    }
+    view.limit(end)
+        .position(head);
+    head = end;
+    return view;
+  }
+
+  @Override
+  public void clear() {
+    head = tail = 0;
+    outOfBand.clear();
+  }
+
+  @Override
+  public int size() {
+    return tail - head;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return head == tail;
+  }
+
+  private void ensureCapacity(final int additional) {
+    if (tail + additional <= buffer.length) {
+      return;
+    }
+    final int size = size();
+    // Move the contents to the front of the buffer, and grow it if that does not make enough room.
+    if (size + additional <= buffer.length) {
+      System.arraycopy(buffer, head, buffer, 0, size);
+    }
+    else {
+      int length = buffer.length;
+      while (length < size + additional) {
+        length <<= 1;
+      }
+      final char[] newBuffer = new char[length];
+      System.arraycopy(buffer, head, newBuffer, 0, size);
+      buffer = newBuffer;
+      view = CharBuffer.wrap(buffer);
+    }
+    head = 0;
+    tail = size;
+  }
+
+  @Override
+  public String toString() {
+    return new String(buffer, head, size());
+  }
+
+}
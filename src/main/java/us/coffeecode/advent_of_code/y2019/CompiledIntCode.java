@@ -0,0 +1,57 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+/**
+ * Base class of IntCode programs translated to JVM bytecode by {@link IntCodeCompiler}. Instances are immutable and
+ * hold no machine state, so one instance is shared by every machine running the same code, including copies of a
+ * machine.
+ */
+abstract class CompiledIntCode {
+
+  /** Which addresses hold words of compiled instructions. */
+  private final boolean[] code;
+
+  CompiledIntCode(final boolean[] _code) {
+    code = _code;
+  }
+
+  /** Get whether an address holds part of a compiled instruction, so writing a different value there invalidates it. */
+  final boolean covers(final long address) {
+    return (0 <= address) && (address < code.length) && code[(int) address];
+  }
+
+  /**
+   * Run a machine from its current instruction pointer.
+   *
+   * @return the result of an instruction that blocked or halted, or null if execution reached an address that was not
+   * compiled or this code was invalidated. In that case the machine's state is up to date and the interpreter should
+   * execute the next instruction.
+   */
+  abstract ExecutionResult run(final IntCode state);
+
+  /**
+   * Execute one instruction with the interpreter. Compiled code uses this for instructions that are not worth
+   * compiling, such as input and output, so they behave exactly as they do in the interpreter.
+   */
+  static ExecutionResult interpret(final IntCode state, final long pointer, final long base) {
+    state.instructionPointer = pointer;
+    state.relativeBase = base;
+    final DecodedInstruction decoded = DecodedInstruction.decode(state.memory.get(pointer));
+    return decoded.instruction.execute(state, decoded.modes);
+  }
+}
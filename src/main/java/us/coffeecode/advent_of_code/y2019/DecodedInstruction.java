@@ -0,0 +1,82 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+/**
+ * An opcode word decoded into its instruction and the modes of its three parameters. Every valid combination of
+ * instruction and modes is decoded once when this class loads, so decoding a word while executing is a single array
+ * lookup that allocates nothing.
+ * <p>
+ * The cache is keyed by the value of the opcode word rather than by its address. Self-modifying programs therefore need
+ * no special handling: after a write over an instruction, the next fetch from that address reads the new word and gets
+ * its decoded form.
+ */
+final class DecodedInstruction {
+
+  /** One past the largest opcode word with valid modes: every mode digit is at most two. */
+  private static final int CACHE_SIZE = 22_300;
+
+  private static final DecodedInstruction[] CACHE = new DecodedInstruction[CACHE_SIZE];
+
+  static {
+    for (final Instruction instruction : Instruction.values()) {
+      for (final Mode m0 : Mode.values()) {
+        for (final Mode m1 : Mode.values()) {
+          for (final Mode m2 : Mode.values()) {
+            final int word = instruction.getCode() + 100 * m0.getId() + 1_000 * m1.getId() + 10_000 * m2.getId();
+            CACHE[word] = new DecodedInstruction(instruction, new Mode[] { m0, m1, m2 });
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Decode an opcode word. This returns null if the word does not contain a valid instruction, and throws an exception
+   * if the instruction is valid but a mode is not.
+   */
+  static DecodedInstruction decode(final long word) {
+    if ((0 <= word) && (word < CACHE_SIZE)) {
+      final DecodedInstruction decoded = CACHE[(int) word];
+      if (decoded != null) {
+        return decoded;
+      }
+    }
+    // Rare: invalid words, or digits above the three modes that are ignored. Decode the slow way.
+    final Instruction instruction = Instruction.valueOf(word);
+    if (instruction == null) {
+      return null;
+    }
+    return new DecodedInstruction(instruction, Mode.valuesOf(word));
+  }
+
+  /** The instruction this word executes. */
+  final Instruction instruction;
+
+  /** Modes of the instruction's parameters. This array is shared and must not be modified. */
+  final Mode[] modes;
+
+  private DecodedInstruction(final Instruction _instruction, final Mode[] _modes) {
+    instruction = _instruction;
+    modes = _modes;
+  }
+
+  @Override
+  public String toString() {
+    return instruction + "(" + modes[0] + "," + modes[1] + "," + modes[2] + ")";
+  }
+}
@@ -22,49 +22,121 @@ import java.util.Arrays;
  * Array of longs that dynamically resizes itself. Built for IntCode: it accepts long indices since indices come from
  * the array of longs itself. Can return values outside of the array, which will be zero. Dynamically resizes itself as
  * needed.
+ * <p>
+ * Memory is split into fixed size pages that are shared copy-on-write between an array and its copies. Copying is
+ * constant time: the copy shares the original's page table, and both sides give up ownership of every page. The first
+ * write afterwards copies the page table, and the first write to each page copies that page. This keeps searches that
+ * fork a machine for every state cheap, since each fork only pays for the pages it actually writes. Pages that were
+ * never written are null and read as zero, so sparse writes far past the program do not allocate everything in between.
  */
 final class DynamicLongArray {
 
-  private long[] array;
+  private static final int PAGE_BITS = 8;
+
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+  private static final long[][] NONE = new long[0][];
+
+  /** Page table. Pages may be shared with other arrays, and pages that were never written are null. */
+  private long[][] pages;
+
+  /**
+   * Pages this array may write in place, at the same indices as the page table: an entry is either null or the same
+   * page. This is empty when the page table itself is shared with another array.
+   */
+  private long[][] writable;
 
   public DynamicLongArray(final long[] input) {
-    array = Arrays.copyOf(input, input.length);
+    pages = new long[(input.length + PAGE_MASK) >> PAGE_BITS][];
+    for (int i = 0; i < pages.length; ++i) {
+      final int start = i << PAGE_BITS;
+      pages[i] = Arrays.copyOfRange(input, start, start + PAGE_SIZE);
+    }
+    writable = pages.clone();
   }
 
   public DynamicLongArray(final DynamicLongArray original) {
-    array = new long[original.array.length];
-    System.arraycopy(original.array, 0, array, 0, array.length);
+    reset(original);
+  }
+
+  /**
+   * Discard this array's contents and share the original's pages instead, exactly as if this were a new copy. Once the
+   * original has been copied, this does not write to it, so many threads can reset from the same original.
+   */
+  void reset(final DynamicLongArray original) {
+    if (original.writable != NONE) {
+      original.writable = NONE;
+    }
+    pages = original.pages;
+    writable = NONE;
   }
 
   public long getFirst() {
-    return (array.length == 0) ? 0 : array[0];
+    return get(0);
   }
 
   public long get(final long location) {
-    if (location >= array.length) {
-      return 0;
+    if (location < 0) {
+      throw new IllegalArgumentException("Negative address " + location);
+    }
+    // Compare before narrowing: a large address must read zero, not wrap onto a low page.
+    if ((location >>> PAGE_BITS) < pages.length) {
+      final long[] page = pages[(int) (location >>> PAGE_BITS)];
+      if (page != null) {
+        return page[(int) location & PAGE_MASK];
+      }
     }
-    return array[(int) location];
+    return 0;
   }
 
   public void set(final long location, final long value) {
-    if (location >= array.length) {
-      resize(location);
+    if ((location < 0) || (Integer.MAX_VALUE < location)) {
+      throw new IllegalArgumentException("Address " + location + " is out of range");
+    }
+    final int index = (int) (location >> PAGE_BITS);
+    final long[] page = (index < writable.length) ? writable[index] : null;
+    if (page == null) {
+      writablePage(index)[(int) location & PAGE_MASK] = value;
+    }
+    else {
+      page[(int) location & PAGE_MASK] = value;
     }
-    array[(int) location] = value;
   }
 
-  private void resize(final long minSize) {
-    final long minimum = 1 + Math.max(minSize, array.length);
-    assert minimum <= Integer.MAX_VALUE;
-    int newSize = 1 << 8;
-    while (newSize < minimum) {
-      newSize <<= 1;
+  /** Take ownership of a page so it can be written, copying the page table and the page as needed. */
+  private long[] writablePage(final int index) {
+    final int length = (index < pages.length) ? pages.length : Math.max(index + 1, pages.length << 1);
+    if (writable == NONE) {
+      pages = Arrays.copyOf(pages, length);
+      writable = new long[length][];
+    }
+    else if (length != pages.length) {
+      pages = Arrays.copyOf(pages, length);
+      writable = Arrays.copyOf(writable, length);
     }
-    assert 0 < minimum;
-    final long[] newArray = new long[newSize];
-    System.arraycopy(array, 0, newArray, 0, array.length);
-    array = newArray;
+    final long[] page = pages[index];
+    final long[] copy = (page == null) ? new long[PAGE_SIZE] : page.clone();
+    pages[index] = copy;
+    writable[index] = copy;
+    return copy;
+  }
+
+  /** Get the number of addresses backed by the page table, which is at least one past the last non-zero value. */
+  private long capacity() {
+    return (long) pages.length << PAGE_BITS;
+  }
+
+  /** Get a copy of memory up to its capacity. */
+  long[] toArray() {
+    final long[] array = new long[(int) capacity()];
+    for (int i = 0; i < pages.length; ++i) {
+      if (pages[i] != null) {
+        System.arraycopy(pages[i], 0, array, i << PAGE_BITS, PAGE_SIZE);
+      }
+    }
+    return array;
   }
 
   @Override
@@ -72,9 +144,21 @@ final class DynamicLongArray {
     if (this == obj) {
       return true;
     }
-    else if (obj instanceof DynamicLongArray) {
-      // Good enough
-      return hashCode() == obj.hashCode();
+    else if (obj instanceof DynamicLongArray o) {
+      final int length = Math.max(pages.length, o.pages.length);
+      for (int i = 0; i < length; ++i) {
+        final long[] page1 = (i < pages.length) ? pages[i] : null;
+        final long[] page2 = (i < o.pages.length) ? o.pages[i] : null;
+        if (page1 != page2) {
+          final long start = (long) i << PAGE_BITS;
+          for (long j = start; j < start + PAGE_SIZE; ++j) {
+            if (get(j) != o.get(j)) {
+              return false;
+            }
+          }
+        }
+      }
+      return true;
     }
     return false;
   }
@@ -82,20 +166,20 @@ final class DynamicLongArray {
   @Override
   public int hashCode() {
     // Only hash up to the final non-zero value, since trailing zeros do not matter.
-    int end = array.length - 1;
-    while (array[end] == 0) {
+    long end = capacity() - 1;
+    while ((end >= 0) && (get(end) == 0)) {
       --end;
     }
     int hash = 27_259;
-    for (int i = 0; i <= end; ++i) {
-      hash = 4_053_691 * hash + Long.hashCode(array[i]);
+    for (long i = 0; i <= end; ++i) {
+      hash = 4_053_691 * hash + Long.hashCode(get(i));
     }
     return hash;
   }
 
   @Override
   public String toString() {
-    return Arrays.toString(array);
+    return Arrays.toString(toArray());
   }
 
 }
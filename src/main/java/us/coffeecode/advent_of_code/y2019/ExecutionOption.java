@@ -24,5 +24,19 @@ enum ExecutionOption {
   BLOCK_AFTER_THREE_OUTPUTS,
   BLOCK_IF_EXCESSIVE_RUNTIME,
   BLOCK_UNTIL_INPUT_AVAILABLE,
-  ONE_INSTRUCTION_PER_EXEC;
+
+  /**
+   * Translate the program to JVM bytecode on first execution and run that instead of interpreting, falling back to the
+   * interpreter if the program modifies its own code. This has no effect with {@link #BLOCK_IF_EXCESSIVE_RUNTIME} or
+   * {@link #ONE_INSTRUCTION_PER_EXEC}, which count individual instructions. See {@link IntCodeCompiler}.
+   */
+  COMPILE_TO_BYTECODE,
+  ONE_INSTRUCTION_PER_EXEC,
+
+  /**
+   * Record an {@link IntCodeProfile} while executing, which the caller reads with {@link IntCode#getProfile()} or
+   * receives when the computer halts from {@link IntCodeFactory#makeProfiled}. This turns off
+   * {@link #COMPILE_TO_BYTECODE}, since compiled code does not stop to record each instruction.
+   */
+  PROFILE;
 }
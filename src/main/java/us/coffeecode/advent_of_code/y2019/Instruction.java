@@ -16,8 +16,6 @@
  */
 package us.coffeecode.advent_of_code.y2019;
 
-import java.util.Arrays;
-
 /**
  * Represents one instruction in an IntCode computer. An instruction is just the opcode, minus any modes encoded in the
  * same code.
@@ -156,18 +154,31 @@ enum Instruction {
   };
 
   public static Instruction valueOf(final long intcode) {
-    final long _code = intcode % 100;
-    return Arrays.stream(values())
-                 .filter(i -> i.code == _code)
-                 .findFirst()
-                 .orElse(null);
+    return switch ((int) (intcode % 100)) {
+      case 1 -> ADD;
+      case 2 -> MULTIPLY;
+      case 3 -> INPUT;
+      case 4 -> OUTPUT;
+      case 5 -> JUMP_IF_TRUE;
+      case 6 -> JUMP_IF_FALSE;
+      case 7 -> LESS_THAN;
+      case 8 -> EQUALS;
+      case 9 -> ADJUST_RELATIVE_BASE;
+      case 99 -> HALT;
+      default -> null;
+    };
   }
 
-  private final long code;
+  private final int code;
 
-  private Instruction(final long _code) {
+  private Instruction(final int _code) {
     code = _code % 100;
   }
 
+  /** Get the code for this instruction, which is the lowest two digits of an opcode word. */
+  public int getCode() {
+    return code;
+  }
+
   public abstract ExecutionResult execute(final IntCode state, final Mode[] modes);
 }
@@ -17,9 +17,10 @@
 package us.coffeecode.advent_of_code.y2019;
 
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import us.coffeecode.advent_of_code.component.InputLoader;
@@ -30,7 +31,7 @@ import us.coffeecode.advent_of_code.component.PuzzleContext;
  */
 final class IntCode {
 
-  private static final Pattern SPLIT = Pattern.compile(",");
+  static final Pattern SPLIT = Pattern.compile(",");
 
   /** The memory buffer, dynamically resizable, of the IntCode computer. */
   final DynamicLongArray memory;
@@ -45,19 +46,37 @@ final class IntCode {
   private IntCodeIoQueue input;
 
   /** Output of this program is stored FIFO in this queue. */
-  private final IntCodeIoQueue output = new LongQueue();
+  private IntCodeIoQueue output = new LongQueue();
 
   /** Execution options that can make modifications to how the program is executed. */
-  private final Set<ExecutionOption> options = new HashSet<>(2);
+  private final Set<ExecutionOption> options = EnumSet.noneOf(ExecutionOption.class);
+
+  /** Bytecode for this program, or null if it is interpreted. Compiled code shares this with copies of this machine. */
+  CompiledIntCode compiled;
+
+  /** Whether the program should be compiled the next time it executes. */
+  private boolean compilePending;
+
+  /** Execution profile, or null if this computer is not profiling. */
+  private final IntCodeProfile profile;
+
+  /** Receives the profile when this computer halts, or null. Copies of this computer do not inherit it. */
+  private Consumer<? super IntCodeProfile> profileSink;
 
   IntCode(final InputLoader il, final PuzzleContext pc, final ExecutionOption... _options) {
     this(il, pc, new LongQueue(), _options);
   }
 
   IntCode(final InputLoader il, final PuzzleContext pc, final IntCodeIoQueue _input, final ExecutionOption... _options) {
-    memory = new DynamicLongArray(il.fileAsLongsFromSplit(pc, SPLIT));
+    this(il.fileAsLongsFromSplit(pc, SPLIT), _input, _options);
+  }
+
+  IntCode(final long[] program, final IntCodeIoQueue _input, final ExecutionOption... _options) {
+    memory = new DynamicLongArray(program);
     options.addAll(Arrays.asList(_options));
     input = _input;
+    compilePending = canCompile();
+    profile = options.contains(ExecutionOption.PROFILE) ? new IntCodeProfile() : null;
   }
 
   IntCode(final IntCode original, final ExecutionOption... _options) {
@@ -67,6 +86,11 @@ final class IntCode {
     input = new LongQueue();
     options.addAll(original.options);
     options.addAll(Arrays.asList(_options));
+    if (canCompile()) {
+      compiled = original.compiled;
+      compilePending = original.compilePending || (compiled == null);
+    }
+    profile = options.contains(ExecutionOption.PROFILE) ? new IntCodeProfile() : null;
   }
 
   IntCode(final IntCode original, final IntCodeIoQueue _input, final ExecutionOption... _options) {
@@ -74,25 +98,87 @@ final class IntCode {
     input = _input;
   }
 
+  /**
+   * Put this machine back in the state of another machine, sharing its memory copy-on-write as the copy constructor
+   * does. Input and output are left alone.
+   */
+  void reset(final IntCode original) {
+    memory.reset(original.memory);
+    instructionPointer = original.instructionPointer;
+    relativeBase = original.relativeBase;
+    if (canCompile()) {
+      compiled = original.compiled;
+      compilePending = original.compilePending || (compiled == null);
+    }
+  }
+
   public DynamicLongArray getMemory() {
+    // Compiled code would not notice the caller writing to memory directly, so compile again on the next execution.
+    if (compiled != null) {
+      compiled = null;
+      compilePending = true;
+    }
     return memory;
   }
 
+  /**
+   * Write to memory. If this changes compiled code, drop it and go back to interpreting.
+   *
+   * @return whether this invalidated compiled code.
+   */
+  boolean write(final long address, final long value) {
+    if (profile != null) {
+      profile.recordWrite(address);
+    }
+    if ((compiled != null) && compiled.covers(address) && (memory.get(address) != value)) {
+      memory.set(address, value);
+      compiled = null;
+      return true;
+    }
+    memory.set(address, value);
+    return false;
+  }
+
+  private boolean canCompile() {
+    return options.contains(ExecutionOption.COMPILE_TO_BYTECODE)
+      && !options.contains(ExecutionOption.BLOCK_IF_EXCESSIVE_RUNTIME)
+      && !options.contains(ExecutionOption.ONE_INSTRUCTION_PER_EXEC)
+      && !options.contains(ExecutionOption.PROFILE);
+  }
+
+  /** Compile now if this machine is due to be compiled, so copies made afterwards share the result. */
+  void compileIfPending() {
+    if (compilePending) {
+      compilePending = false;
+      compiled = IntCodeCompiler.compile(memory, instructionPointer);
+    }
+  }
+
   public ExecutionResult exec() {
+    compileIfPending();
     ExecutionResult result = null;
     long instructionsSinceOutput = 0;
     while (true) {
+      if (compiled != null) {
+        result = compiled.run(this);
+        if (result != null) {
+          break;
+        }
+        // Compiled code cannot continue from here: interpret one instruction, then try again.
+        result = ExecutionResult.COMPLETE;
+      }
       validate(instructionPointer);
-      final long opcode = memory.get(instructionPointer);
-      final Instruction inst = Instruction.valueOf(opcode);
+      final DecodedInstruction decoded = DecodedInstruction.decode(memory.get(instructionPointer));
 
-      if (inst == null) {
+      if (decoded == null) {
         break;
       }
 
-      final Mode[] modes = Mode.valuesOf(opcode);
-
-      result = inst.execute(this, modes);
+      final long address = instructionPointer;
+      result = decoded.instruction.execute(this, decoded.modes);
+      if (profile != null) {
+        profile.record(address, decoded, result, instructionPointer);
+      }
       if (result.isBlock() || options.contains(ExecutionOption.ONE_INSTRUCTION_PER_EXEC)) {
         break;
       }
@@ -106,9 +192,31 @@ final class IntCode {
         }
       }
     }
+    if ((result == ExecutionResult.HALT) && (profileSink != null) && (profile != null)) {
+      final Consumer<? super IntCodeProfile> sink = profileSink;
+      profileSink = null;
+      sink.accept(profile);
+    }
     return result;
   }
 
+  /**
+   * Get the execution profile, or null if this computer is not profiling. The caller decides whether to print
+   * {@link IntCodeProfile#report(int)}, or sets a sink to receive the profile when the computer halts.
+   */
+  public IntCodeProfile getProfile() {
+    return profile;
+  }
+
+  /**
+   * Set a sink that receives the execution profile once, when this computer halts. Copies of this computer, such as the
+   * machines in an {@link IntCodeBatch} or {@link IntCodeNetwork}, do not inherit it, so a run reports once rather than
+   * once per machine. This has no effect if the computer is not profiling.
+   */
+  void setProfileSink(final Consumer<? super IntCodeProfile> sink) {
+    profileSink = sink;
+  }
+
   private void validate(final long position) {
     assert (0 <= position) && (position <= Integer.MAX_VALUE);
   }
@@ -125,6 +233,10 @@ final class IntCode {
     return output;
   }
 
+  public void setOutput(final IntCodeIoQueue _output) {
+    output = _output;
+  }
+
   public boolean hasOption(final ExecutionOption option) {
     return options.contains(option);
   }
@@ -0,0 +1,154 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs one program against many independent inputs, for puzzles that probe a program with a different input each time
+ * and read back one output. Each run starts from the same program image and produces its first output. Runs execute on
+ * the common fork-join pool, and results come back in a primitive array in the same order as the inputs. Batches of up
+ * to {@link #THRESHOLD} runs execute on a single thread; larger ones split across the pool.
+ * <p>
+ * Rather than copying the program for every run, each task takes a machine from a pool and resets it to the program
+ * image before each run. Resetting shares memory copy-on-write, so a run only copies the pages it writes, and a batch
+ * of millions of runs only creates as many machines as there are threads.
+ */
+final class IntCodeBatch {
+
+  /** Number of runs a task executes itself rather than splitting the work further. */
+  private static final int THRESHOLD = 256;
+
+  /** Program image every run starts from. Nothing writes to this after construction. */
+  private final IntCode template;
+
+  /** Machines that are not currently running. */
+  private final ConcurrentLinkedQueue<IntCode> pool = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Create a batch runner.
+   *
+   * @param original program image to start each run from. Later changes to it do not affect the batch.
+   */
+  IntCodeBatch(final IntCode original) {
+    template = new IntCode(original);
+    template.compileIfPending();
+    // Copying the template marks its memory as shared, so later copies on other threads do not need to write to it.
+    pool.add(new IntCode(template));
+  }
+
+  /**
+   * Run the program once for each group of inputs.
+   *
+   * @param inputs inputs for all runs, one after the other.
+   * @param inputsPerRun number of inputs each run reads.
+   * @return the first output of each run.
+   */
+  long[] run(final long[] inputs, final int inputsPerRun) {
+    if ((inputsPerRun < 1) || ((inputs.length % inputsPerRun) != 0)) {
+      throw new IllegalArgumentException("Cannot split " + inputs.length + " inputs into runs of " + inputsPerRun);
+    }
+    final long[] outputs = new long[inputs.length / inputsPerRun];
+    ForkJoinPool.commonPool()
+                .invoke(new Task(inputs, inputsPerRun, outputs, 0, outputs.length));
+    return outputs;
+  }
+
+  /**
+   * Run the program once on the calling thread.
+   *
+   * @param input inputs for the run.
+   * @return the first output of the run.
+   */
+  long run(final long... input) {
+    final IntCode machine = acquire();
+    try {
+      return run(machine, input, 0, input.length);
+    }
+    finally {
+      pool.add(machine);
+    }
+  }
+
+  private IntCode acquire() {
+    final IntCode machine = pool.poll();
+    return (machine == null) ? new IntCode(template) : machine;
+  }
+
+  private long run(final IntCode machine, final long[] inputs, final int offset, final int length) {
+    machine.reset(template);
+    final IntCodeIoQueue input = machine.getInput();
+    final IntCodeIoQueue output = machine.getOutput();
+    input.clear();
+    output.clear();
+    for (int i = offset; i < offset + length; ++i) {
+      input.add(inputs[i]);
+    }
+    machine.exec();
+    if (output.isEmpty()) {
+      throw new IllegalStateException("Run with inputs at " + offset + " produced no output");
+    }
+    return output.remove();
+  }
+
+  /** Executes a range of runs, splitting it in half until it is small enough. */
+  private final class Task
+  extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long[] inputs;
+
+    private final int inputsPerRun;
+
+    private final long[] outputs;
+
+    private final int from;
+
+    private final int to;
+
+    Task(final long[] _inputs, final int _inputsPerRun, final long[] _outputs, final int _from, final int _to) {
+      inputs = _inputs;
+      inputsPerRun = _inputsPerRun;
+      outputs = _outputs;
+      from = _from;
+      to = _to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= THRESHOLD) {
+        final IntCode machine = acquire();
+        try {
+          for (int i = from; i < to; ++i) {
+            outputs[i] = run(machine, inputs, i * inputsPerRun, inputsPerRun);
+          }
+        }
+        finally {
+          pool.add(machine);
+        }
+      }
+      else {
+        final int middle = (from + to) >>> 1;
+        invokeAll(new Task(inputs, inputsPerRun, outputs, from, middle), new Task(inputs, inputsPerRun, outputs, middle, to));
+      }
+    }
+  }
+
+}
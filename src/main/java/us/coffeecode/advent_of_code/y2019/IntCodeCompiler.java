@@ -0,0 +1,597 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import static java.lang.constant.ConstantDescs.CD_boolean;
+import static java.lang.constant.ConstantDescs.CD_long;
+import static java.lang.constant.ConstantDescs.CD_void;
+import static java.lang.constant.ConstantDescs.INIT_NAME;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.instruction.SwitchCase;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Translates IntCode programs to JVM bytecode, which the JIT then compiles to native code. This removes the decoding
+ * and dispatch through {@link Instruction} and {@link Mode} for every instruction, and turns parameters into constants.
+ * <p>
+ * The compiler finds instructions by following control flow from the current instruction pointer. Jumps to immediate
+ * addresses are followed, as are constants that the program stores with an add or multiply of two immediate values,
+ * because that is how IntCode programs push return addresses. Jumps to computed addresses dispatch through a switch
+ * over the compiled addresses. Each compiled instruction becomes a block of bytecode that reads and writes memory
+ * directly. Input, output, and halt are delegated to the interpreter one instruction at a time, so they honor the same
+ * {@link IntCodeIoQueue} contract and execution options as interpreted code.
+ * <p>
+ * Every write checks whether it changed a word of compiled code. If it did, the machine drops its compiled code and
+ * continues in the interpreter. Execution also returns to the interpreter for a single instruction whenever it reaches
+ * an address that was not compiled, then resumes compiled code.
+ * <p>
+ * Compiled programs are cached by the words of code they contain, so machines created from the same program share one
+ * generated class. Generated classes are hidden classes that can be unloaded once no machine uses them.
+ */
+final class IntCodeCompiler {
+
+  /** Most instructions in one generated method, to keep methods well below the size the JIT refuses to compile. */
+  private static final int CHUNK_SIZE = 80;
+
+  private static final int CACHE_SIZE = 16;
+
+  private static final ClassDesc CD_PROGRAM = ClassDesc.of(IntCodeCompiler.class.getPackageName() + ".IntCodeProgram");
+
+  private static final ClassDesc CD_COMPILED = desc(CompiledIntCode.class);
+
+  private static final ClassDesc CD_INT_CODE = desc(IntCode.class);
+
+  private static final ClassDesc CD_MEMORY = desc(DynamicLongArray.class);
+
+  private static final ClassDesc CD_RESULT = desc(ExecutionResult.class);
+
+  private static final MethodTypeDesc MTD_INIT = MethodTypeDesc.of(CD_void, CD_boolean.arrayType());
+
+  private static final MethodTypeDesc MTD_RUN = MethodTypeDesc.of(CD_RESULT, CD_INT_CODE);
+
+  private static final MethodTypeDesc MTD_GET = MethodTypeDesc.of(CD_long, CD_long);
+
+  private static final MethodTypeDesc MTD_WRITE = MethodTypeDesc.of(CD_boolean, CD_long, CD_long);
+
+  private static final MethodTypeDesc MTD_SET = MethodTypeDesc.of(CD_void, CD_long, CD_long);
+
+  private static final MethodTypeDesc MTD_INTERPRET = MethodTypeDesc.of(CD_RESULT, CD_INT_CODE, CD_long, CD_long);
+
+  private static final MethodTypeDesc MTD_IS_BLOCK = MethodTypeDesc.of(CD_boolean);
+
+  // Local variable slots in generated methods.
+
+  private static final int THIS = 0;
+
+  private static final int STATE = 1;
+
+  private static final int MEMORY = 2;
+
+  private static final int BASE = 3;
+
+  private static final int POINTER = 5;
+
+  /** Slot of the instruction pointer in the entry point, which has no other locals. */
+  private static final int ENTRY_POINTER = 2;
+
+  private static final Map<Program, CompiledIntCode> CACHE = new LinkedHashMap<>(CACHE_SIZE + 1, 1.0f, true) {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Program, CompiledIntCode> eldest) {
+      return size() > CACHE_SIZE;
+    }
+  };
+
+  /**
+   * Compile the code reachable from an entry point.
+   *
+   * @param memory memory of the machine to compile.
+   * @param entry address where execution will start.
+   * @return the compiled code, or null if there is nothing to compile.
+   */
+  static CompiledIntCode compile(final DynamicLongArray memory, final long entry) {
+    final Program program = analyze(memory.toArray(), entry);
+    if (program == null) {
+      return null;
+    }
+    synchronized (CACHE) {
+      final CompiledIntCode cached = CACHE.get(program);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final CompiledIntCode compiled = define(program);
+    synchronized (CACHE) {
+      CACHE.put(program, compiled);
+    }
+    return compiled;
+  }
+
+  /** Find the instructions reachable from the entry point, or return null if there are none. */
+  private static Program analyze(final long[] words, final long entry) {
+    final DecodedInstruction[] instructions = new DecodedInstruction[words.length];
+    final boolean[] code = new boolean[words.length];
+    final Deque<Long> work = new ArrayDeque<>();
+    work.push(Long.valueOf(entry));
+    while (!work.isEmpty()) {
+      final long address = work.pop()
+                               .longValue();
+      if ((address < 0) || (words.length <= address) || (instructions[(int) address] != null)) {
+        continue;
+      }
+      final int a = (int) address;
+      final DecodedInstruction decoded;
+      try {
+        decoded = DecodedInstruction.decode(words[a]);
+      }
+      catch (final NoSuchElementException ex) {
+        // Invalid mode: leave it to the interpreter, which reports it if the program actually executes it.
+        continue;
+      }
+      if ((decoded == null) || (words.length < a + length(decoded.instruction))) {
+        continue;
+      }
+      final int length = length(decoded.instruction);
+      instructions[a] = decoded;
+      Arrays.fill(code, a, a + length, true);
+      switch (decoded.instruction) {
+        case HALT -> {}
+        case JUMP_IF_TRUE, JUMP_IF_FALSE -> {
+          if (decoded.modes[1] == Mode.IMMEDIATE) {
+            work.push(Long.valueOf(words[a + 2]));
+          }
+          final boolean alwaysJumps = (decoded.modes[0] == Mode.IMMEDIATE)
+            && ((words[a + 1] != 0) == (decoded.instruction == Instruction.JUMP_IF_TRUE));
+          if (!alwaysJumps) {
+            work.push(Long.valueOf(a + length));
+          }
+        }
+        case ADD, MULTIPLY -> {
+          if ((decoded.modes[0] == Mode.IMMEDIATE) && (decoded.modes[1] == Mode.IMMEDIATE)) {
+            final long x = words[a + 1];
+            final long y = words[a + 2];
+            work.push(Long.valueOf(decoded.instruction == Instruction.ADD ? x + y : x * y));
+          }
+          work.push(Long.valueOf(a + length));
+        }
+        default -> work.push(Long.valueOf(a + length));
+      }
+    }
+    final BitSet starts = new BitSet(words.length);
+    final long[] codeWords = new long[words.length];
+    for (int i = 0; i < words.length; ++i) {
+      if (instructions[i] != null) {
+        starts.set(i);
+      }
+      if (code[i]) {
+        codeWords[i] = words[i];
+      }
+    }
+    return starts.isEmpty() ? null : new Program(codeWords, starts, instructions, code);
+  }
+
+  /** Get the number of words an instruction occupies, including its opcode. */
+  private static int length(final Instruction instruction) {
+    return switch (instruction) {
+      case ADD, MULTIPLY, LESS_THAN, EQUALS -> 4;
+      case JUMP_IF_TRUE, JUMP_IF_FALSE -> 3;
+      case INPUT, OUTPUT, ADJUST_RELATIVE_BASE -> 2;
+      case HALT -> 1;
+    };
+  }
+
+  /** Generate and load a class for a program, and return an instance of it. */
+  private static CompiledIntCode define(final Program program) {
+    final int[] bounds = chunks(program.starts);
+    final byte[] bytes = ClassFile.of()
+                                  .build(CD_PROGRAM, cb -> {
+                                    cb.withFlags(ClassFile.ACC_FINAL | ClassFile.ACC_SYNTHETIC)
+                                      .withSuperclass(CD_COMPILED)
+                                      .withMethodBody(INIT_NAME, MTD_INIT, 0, code -> code.aload(THIS)
+                                                                                          .aload(STATE)
+                                                                                          .invokespecial(CD_COMPILED,
+                                                                                            INIT_NAME, MTD_INIT)
+                                                                                          .return_())
+                                      .withMethodBody("run", MTD_RUN, ClassFile.ACC_FINAL,
+                                        code -> generateRun(code, bounds));
+                                    for (int i = 0; i < bounds.length - 1; ++i) {
+                                      final int start = bounds[i];
+                                      final int end = bounds[i + 1];
+                                      cb.withMethodBody("chunk" + i, MTD_RUN, ClassFile.ACC_PRIVATE | ClassFile.ACC_FINAL,
+                                        code -> new ChunkGenerator(code, program, start, end).generate());
+                                    }
+                                  });
+    try {
+      return (CompiledIntCode) MethodHandles.lookup()
+                                            .defineHiddenClass(bytes, true)
+                                            .lookupClass()
+                                            .getDeclaredConstructor(boolean[].class)
+                                            .newInstance(program.code);
+    }
+    catch (final ReflectiveOperationException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Split the instructions into chunks that each become one method. Returns the address where each chunk starts,
+   * followed by one past the last instruction.
+   */
+  private static int[] chunks(final BitSet starts) {
+    final List<Integer> bounds = new ArrayList<>();
+    int count = 0;
+    for (int i = starts.nextSetBit(0); i >= 0; i = starts.nextSetBit(i + 1)) {
+      if (count % CHUNK_SIZE == 0) {
+        bounds.add(Integer.valueOf(i));
+      }
+      ++count;
+    }
+    bounds.add(Integer.valueOf(starts.length()));
+    return bounds.stream()
+                 .mapToInt(Integer::intValue)
+                 .toArray();
+  }
+
+  /**
+   * Generate the entry point, which calls the chunk containing the instruction pointer until one of them returns
+   * something other than {@link ExecutionResult#COMPLETE}, which they use to mean that execution moved to another chunk.
+   */
+  private static void generateRun(final CodeBuilder code, final int[] bounds) {
+    final Label loop = code.newLabel();
+    final Label done = code.newLabel();
+    final Label notCompiled = code.newLabel();
+    code.labelBinding(loop)
+        .aload(STATE)
+        .getfield(CD_INT_CODE, "instructionPointer", CD_long)
+        .lstore(ENTRY_POINTER)
+        .lload(ENTRY_POINTER)
+        .loadConstant(Long.valueOf(bounds[0]))
+        .lcmp()
+        .iflt(notCompiled);
+    for (int i = 0; i < bounds.length - 1; ++i) {
+      final Label next = code.newLabel();
+      code.lload(ENTRY_POINTER)
+          .loadConstant(Long.valueOf(bounds[i + 1]))
+          .lcmp()
+          .ifge(next)
+          .aload(THIS)
+          .aload(STATE)
+          .invokevirtual(CD_PROGRAM, "chunk" + i, MTD_RUN)
+          .dup()
+          .getstatic(CD_RESULT, ExecutionResult.COMPLETE.name(), CD_RESULT)
+          .if_acmpne(done)
+          .pop()
+          .goto_(loop)
+          .labelBinding(next);
+    }
+    code.labelBinding(notCompiled)
+        .aconst_null()
+        .areturn()
+        .labelBinding(done)
+        .areturn();
+  }
+
+  private static ClassDesc desc(final Class<?> type) {
+    return ClassDesc.of(type.getName());
+  }
+
+  /** Code found by analysis, which is also the cache key: two programs with the same code compile the same way. */
+  private static final class Program {
+
+    /** Words of memory that hold code, with every other word zero. */
+    final long[] words;
+
+    /** Addresses where instructions start. */
+    final BitSet starts;
+
+    final DecodedInstruction[] instructions;
+
+    final boolean[] code;
+
+    private final int hashCode;
+
+    Program(final long[] _words, final BitSet _starts, final DecodedInstruction[] _instructions, final boolean[] _code) {
+      words = _words;
+      starts = _starts;
+      instructions = _instructions;
+      code = _code;
+      hashCode = 31 * Arrays.hashCode(words) + starts.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      else if (obj instanceof Program o) {
+        return (hashCode == o.hashCode) && Arrays.equals(words, o.words) && starts.equals(o.starts);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * Generates one method that runs the instructions starting in a range of addresses. Jumps within the range are
+   * direct. Leaving the range saves the machine state and returns {@link ExecutionResult#COMPLETE} so the entry point
+   * can call the next chunk, and reaching an address that was not compiled saves the state and returns null.
+   */
+  private static final class ChunkGenerator {
+
+    private final CodeBuilder code;
+
+    private final long[] words;
+
+    private final DecodedInstruction[] instructions;
+
+    private final BitSet starts;
+
+    private final boolean[] covered;
+
+    private final int start;
+
+    private final int end;
+
+    private final Label[] labels;
+
+    private final Label leave;
+
+    private final Label fallback;
+
+    ChunkGenerator(final CodeBuilder _code, final Program program, final int _start, final int _end) {
+      code = _code;
+      words = program.words;
+      instructions = program.instructions;
+      starts = program.starts;
+      covered = program.code;
+      start = _start;
+      end = _end;
+      labels = new Label[end - start];
+      leave = code.newLabel();
+      fallback = code.newLabel();
+    }
+
+    void generate() {
+      final List<SwitchCase> cases = new ArrayList<>();
+      int high = start;
+      for (int a = starts.nextSetBit(start); (0 <= a) && (a < end); a = starts.nextSetBit(a + 1)) {
+        labels[a - start] = code.newLabel();
+        cases.add(SwitchCase.of(a, labels[a - start]));
+        high = a;
+      }
+      code.aload(STATE)
+          .getfield(CD_INT_CODE, "memory", CD_MEMORY)
+          .astore(MEMORY)
+          .aload(STATE)
+          .getfield(CD_INT_CODE, "relativeBase", CD_long)
+          .lstore(BASE)
+          .aload(STATE)
+          .getfield(CD_INT_CODE, "instructionPointer", CD_long)
+          .lstore(POINTER)
+          .lload(POINTER)
+          .l2i()
+          .tableswitch(start, high, fallback, cases);
+      for (int a = starts.nextSetBit(start); (0 <= a) && (a < end); a = starts.nextSetBit(a + 1)) {
+        code.labelBinding(labels[a - start]);
+        generate(a, instructions[a]);
+      }
+      code.labelBinding(leave)
+          .aload(STATE)
+          .lload(POINTER)
+          .putfield(CD_INT_CODE, "instructionPointer", CD_long)
+          .aload(STATE)
+          .lload(BASE)
+          .putfield(CD_INT_CODE, "relativeBase", CD_long)
+          .getstatic(CD_RESULT, ExecutionResult.COMPLETE.name(), CD_RESULT)
+          .areturn()
+          .labelBinding(fallback)
+          .aload(STATE)
+          .lload(POINTER)
+          .putfield(CD_INT_CODE, "instructionPointer", CD_long)
+          .aload(STATE)
+          .lload(BASE)
+          .putfield(CD_INT_CODE, "relativeBase", CD_long)
+          .aconst_null()
+          .areturn();
+    }
+
+    private void generate(final int a, final DecodedInstruction decoded) {
+      switch (decoded.instruction) {
+        case ADD, MULTIPLY, LESS_THAN, EQUALS -> {
+          if (decoded.modes[2] == Mode.IMMEDIATE) {
+            // Writing in immediate mode is an error: let the interpreter report it.
+            interpret(a, 4);
+          }
+          else {
+            arithmetic(a, decoded);
+          }
+        }
+        case JUMP_IF_TRUE, JUMP_IF_FALSE -> jump(a, decoded);
+        case ADJUST_RELATIVE_BASE -> {
+          code.lload(BASE);
+          read(a, decoded, 0);
+          code.ladd()
+              .lstore(BASE);
+          jumpTo(a + 2);
+        }
+        case INPUT -> interpret(a, 2);
+        case OUTPUT -> interpret(a, 2);
+        case HALT -> interpret(a, 1);
+      }
+    }
+
+    /**
+     * Compute a value, write it to memory, and leave compiled code if that overwrote an instruction. Writes to a constant
+     * address outside the compiled code cannot invalidate it, so they skip the check.
+     */
+    private void arithmetic(final int a, final DecodedInstruction decoded) {
+      final long target = words[a + 3];
+      final boolean checked = (decoded.modes[2] == Mode.RELATIVE)
+        || ((0 <= target) && (target < covered.length) && covered[(int) target]);
+      code.aload(checked ? STATE : MEMORY);
+      address(a, decoded, 2);
+      read(a, decoded, 0);
+      read(a, decoded, 1);
+      switch (decoded.instruction) {
+        case ADD -> code.ladd();
+        case MULTIPLY -> code.lmul();
+        default -> {
+          final Label yes = code.newLabel();
+          final Label written = code.newLabel();
+          code.lcmp();
+          if (decoded.instruction == Instruction.LESS_THAN) {
+            code.iflt(yes);
+          }
+          else {
+            code.ifeq(yes);
+          }
+          code.lconst_0()
+              .goto_(written)
+              .labelBinding(yes)
+              .lconst_1()
+              .labelBinding(written);
+        }
+      }
+      if (checked) {
+        final Label invalidated = code.newLabel();
+        code.invokevirtual(CD_INT_CODE, "write", MTD_WRITE)
+            .ifne(invalidated);
+        jumpTo(a + 4);
+        code.labelBinding(invalidated);
+        exitTo(a + 4, fallback);
+      }
+      else {
+        code.invokevirtual(CD_MEMORY, "set", MTD_SET);
+        jumpTo(a + 4);
+      }
+    }
+
+    private void jump(final int a, final DecodedInstruction decoded) {
+      final Label notTaken = code.newLabel();
+      read(a, decoded, 0);
+      code.lconst_0()
+          .lcmp();
+      if (decoded.instruction == Instruction.JUMP_IF_TRUE) {
+        code.ifeq(notTaken);
+      }
+      else {
+        code.ifne(notTaken);
+      }
+      if (decoded.modes[1] == Mode.IMMEDIATE) {
+        jumpTo(words[a + 2]);
+      }
+      else {
+        read(a, decoded, 1);
+        code.lstore(POINTER)
+            .goto_(leave);
+      }
+      code.labelBinding(notTaken);
+      jumpTo(a + 3);
+    }
+
+    /**
+     * Execute one instruction in the interpreter. Return its result if it blocked or halted, and leave compiled code if
+     * it invalidated this code.
+     */
+    private void interpret(final int a, final int length) {
+      final Label running = code.newLabel();
+      final Label invalidated = code.newLabel();
+      code.aload(STATE)
+          .loadConstant(Long.valueOf(a))
+          .lload(BASE)
+          .invokestatic(CD_COMPILED, "interpret", MTD_INTERPRET)
+          .dup()
+          .invokevirtual(CD_RESULT, "isBlock", MTD_IS_BLOCK)
+          .ifeq(running)
+          .areturn()
+          .labelBinding(running)
+          .pop()
+          .aload(STATE)
+          .getfield(CD_INT_CODE, "compiled", CD_COMPILED)
+          .aload(THIS)
+          .if_acmpne(invalidated);
+      jumpTo(a + length);
+      code.labelBinding(invalidated);
+      exitTo(a + length, fallback);
+    }
+
+    /** Continue at a constant address: directly if it is compiled in this chunk, otherwise through the entry point. */
+    private void jumpTo(final long target) {
+      if ((start <= target) && (target < end) && (labels[(int) target - start] != null)) {
+        code.goto_(labels[(int) target - start]);
+      }
+      else {
+        exitTo(target, leave);
+      }
+    }
+
+    private void exitTo(final long target, final Label exit) {
+      code.loadConstant(Long.valueOf(target))
+          .lstore(POINTER)
+          .goto_(exit);
+    }
+
+    /** Push the value of a parameter. */
+    private void read(final int a, final DecodedInstruction decoded, final int parameter) {
+      final Long word = Long.valueOf(words[a + 1 + parameter]);
+      switch (decoded.modes[parameter]) {
+        case POSITION -> code.aload(MEMORY)
+                             .loadConstant(word)
+                             .invokevirtual(CD_MEMORY, "get", MTD_GET);
+        case IMMEDIATE -> code.loadConstant(word);
+        case RELATIVE -> code.aload(MEMORY)
+                             .lload(BASE)
+                             .loadConstant(word)
+                             .ladd()
+                             .invokevirtual(CD_MEMORY, "get", MTD_GET);
+      }
+    }
+
+    /** Push the address a parameter writes to. */
+    private void address(final int a, final DecodedInstruction decoded, final int parameter) {
+      final Long word = Long.valueOf(words[a + 1 + parameter]);
+      if (decoded.modes[parameter] == Mode.RELATIVE) {
+        code.lload(BASE)
+            .loadConstant(word)
+            .ladd();
+      }
+      else {
+        code.loadConstant(word);
+      }
+    }
+  }
+}
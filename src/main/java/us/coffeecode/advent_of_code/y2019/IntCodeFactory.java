@@ -16,7 +16,11 @@
  */
 package us.coffeecode.advent_of_code.y2019;
 
+import java.util.Arrays;
+import java.util.function.Consumer;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import us.coffeecode.advent_of_code.component.InputLoader;
@@ -24,6 +28,10 @@ import us.coffeecode.advent_of_code.component.PuzzleContext;
 
 /**
  * Creates IntCode instances. Indirection through a factory class makes it Springy.
+ * <p>
+ * Setting the <code>intCodeProfile</code> property to a positive number profiles every computer loaded from a puzzle's
+ * input, and prints a report listing that many hot loops and addresses when each one halts. Copies made from another
+ * computer are profiled too, but do not print, so a batch or network of copies reports once.
  */
 @Component
 public class IntCodeFactory {
@@ -31,14 +39,35 @@ public class IntCodeFactory {
   @Autowired
   private InputLoader il;
 
+  /** Number of hot loops and addresses to print when a computer halts, or zero to not profile. */
+  @Value("${intCodeProfile:0}")
+  private int profileLimit;
+
   public IntCode make(final PuzzleContext pc, final ExecutionOption... options) {
-    return new IntCode(il, pc, new LongQueue(), options);
+    return make(pc, new LongQueue(), options);
   }
 
   public IntCode make(final PuzzleContext pc, final IntCodeIoQueue input, final ExecutionOption... options) {
+    if (profileLimit > 0) {
+      return makeProfiled(pc, input, p -> System.out.print(p.report(profileLimit)), options);
+    }
     return new IntCode(il, pc, input, options);
   }
 
+  /**
+   * Make a computer that records an {@link IntCodeProfile} and passes it to a sink once, when it halts.
+   *
+   * @param sink receives the profile, such as to print {@link IntCodeProfile#report(int)}.
+   */
+  public IntCode makeProfiled(final PuzzleContext pc, final IntCodeIoQueue input,
+    final Consumer<? super IntCodeProfile> sink, final ExecutionOption... options) {
+    final ExecutionOption[] profiled = Arrays.copyOf(options, options.length + 1);
+    profiled[options.length] = ExecutionOption.PROFILE;
+    final IntCode state = new IntCode(il, pc, input, profiled);
+    state.setProfileSink(sink);
+    return state;
+  }
+
   public IntCode make(final IntCode original, final ExecutionOption... options) {
     return new IntCode(original, options);
   }
@@ -47,4 +76,19 @@ public class IntCodeFactory {
     return new IntCode(original, input, options);
   }
 
+  /** Make a computer that reads and writes text, with an {@link AsciiQueue} for both input and output. */
+  public IntCode makeAscii(final PuzzleContext pc, final ExecutionOption... options) {
+    return ascii(make(pc, new AsciiQueue(), options));
+  }
+
+  /** Copy a computer, giving the copy an empty {@link AsciiQueue} for both input and output. */
+  public IntCode makeAscii(final IntCode original, final ExecutionOption... options) {
+    return ascii(new IntCode(original, new AsciiQueue(), options));
+  }
+
+  private static IntCode ascii(final IntCode state) {
+    state.setOutput(new AsciiQueue());
+    return state;
+  }
+
 }
@@ -0,0 +1,121 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs IntCode machines concurrently, each on its own virtual thread. Machines talk to each other through I/O queues
+ * that block instead of returning early, such as {@link LongChannel} or the queues of a {@link PacketSwitch}, so each
+ * machine simply executes until it halts. Virtual threads make a blocked machine cost nothing but its memory, so a
+ * network can have thousands of machines.
+ * <p>
+ * Machines must not use execution options that return control to the caller before halting, because there is no
+ * caller to resume them. Closing the network interrupts any machines that are still running and waits for them to
+ * stop. If a machine throws an exception, it is reported to the failure handler and rethrown by {@link #join()}.
+ */
+final class IntCodeNetwork
+implements AutoCloseable {
+
+  private final List<Thread> threads = new ArrayList<>();
+
+  private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+  private final Consumer<RuntimeException> onFailure;
+
+  IntCodeNetwork() {
+    this(ex -> {});
+  }
+
+  /**
+   * Create a network that notifies a handler when a machine fails, so something waiting on the network's output can
+   * stop waiting.
+   */
+  IntCodeNetwork(final Consumer<RuntimeException> _onFailure) {
+    onFailure = _onFailure;
+  }
+
+  /** Start running a machine. */
+  void start(final IntCode machine) {
+    if (machine.hasOption(ExecutionOption.BLOCK_AFTER_THREE_OUTPUTS)
+      || machine.hasOption(ExecutionOption.BLOCK_IF_EXCESSIVE_RUNTIME)
+      || machine.hasOption(ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE)
+      || machine.hasOption(ExecutionOption.ONE_INSTRUCTION_PER_EXEC)) {
+      throw new IllegalArgumentException("Networked machines must run until they halt");
+    }
+    threads.add(Thread.ofVirtual()
+                      .name("intcode-" + threads.size())
+                      .start(() -> run(machine)));
+  }
+
+  private void run(final IntCode machine) {
+    try {
+      machine.exec();
+    }
+    catch (final CancellationException ex) {
+      // The network was closed while this machine was waiting.
+    }
+    catch (final RuntimeException ex) {
+      failure.compareAndSet(null, ex);
+      onFailure.accept(ex);
+    }
+  }
+
+  /** Wait for every machine to halt. */
+  void join() {
+    for (final Thread thread : threads) {
+      try {
+        thread.join();
+      }
+      catch (final InterruptedException ex) {
+        Thread.currentThread()
+              .interrupt();
+        throw new RuntimeException(ex);
+      }
+    }
+    final RuntimeException ex = failure.get();
+    if (ex != null) {
+      throw ex;
+    }
+  }
+
+  /** Get the exception thrown by the first machine that failed, or null if none have. */
+  RuntimeException getFailure() {
+    return failure.get();
+  }
+
+  @Override
+  public void close() {
+    for (final Thread thread : threads) {
+      thread.interrupt();
+    }
+    for (final Thread thread : threads) {
+      try {
+        thread.join();
+      }
+      catch (final InterruptedException ex) {
+        Thread.currentThread()
+              .interrupt();
+        throw new RuntimeException(ex);
+      }
+    }
+  }
+}
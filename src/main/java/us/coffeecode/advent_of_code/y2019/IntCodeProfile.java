@@ -0,0 +1,211 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Execution profile of one IntCode computer, recorded when it runs with {@link ExecutionOption#PROFILE}. This counts how
+ * many times each address executed, the mix of instructions, how often input or output made the computer block, and the
+ * highest address the program wrote to. It also counts backward jumps by the address of the jump, which finds loops:
+ * these are the code worth compiling or replacing with a faster equivalent.
+ * <p>
+ * Everything is stored in primitive arrays indexed by address or by instruction, so recording is a few array
+ * increments. Computers that do not profile have no profile at all, so they pay for a single null check per
+ * instruction. A computer made with {@link IntCodeFactory#makeProfiled} passes its profile to a sink once, when it halts.
+ */
+public final class IntCodeProfile {
+
+  /** Initial number of addresses to track, which grows as the program executes further out. */
+  private static final int INITIAL_LENGTH = 1 << 10;
+
+  /** Number of times each address executed. */
+  private long[] counts;
+
+  /** Decoded form of the instruction that last executed at each address. */
+  private DecodedInstruction[] decoded;
+
+  /** Number of backward jumps taken from each address. */
+  private long[] backwardJumps;
+
+  /** Target of the backward jump that was last taken from each address. */
+  private long[] jumpTargets;
+
+  /** Number of times each instruction executed, indexed by ordinal. */
+  private final long[] mix = new long[Instruction.values().length];
+
+  private long instructions;
+
+  private long inputWaits;
+
+  private long outputBlocks;
+
+  private long highWaterMark = -1;
+
+  IntCodeProfile() {
+    counts = new long[INITIAL_LENGTH];
+    decoded = new DecodedInstruction[INITIAL_LENGTH];
+    backwardJumps = new long[INITIAL_LENGTH];
+    jumpTargets = new long[INITIAL_LENGTH];
+  }
+
+  /**
+   * Record one executed instruction.
+   *
+   * @param address address of the instruction.
+   * @param instruction decoded instruction.
+   * @param result result of executing it.
+   * @param next address of the next instruction to execute.
+   */
+  void record(final long address, final DecodedInstruction instruction, final ExecutionResult result, final long next) {
+    if (result.isBlock() && (instruction.instruction == Instruction.INPUT)) {
+      // The instruction did not execute: it will execute again once there is input.
+      ++inputWaits;
+      return;
+    }
+    if (result.isBlock() && (instruction.instruction == Instruction.OUTPUT)) {
+      ++outputBlocks;
+    }
+    final int i = (int) address;
+    if (i >= counts.length) {
+      grow(i);
+    }
+    ++counts[i];
+    decoded[i] = instruction;
+    ++mix[instruction.instruction.ordinal()];
+    ++instructions;
+    if (next < address) {
+      ++backwardJumps[i];
+      jumpTargets[i] = next;
+    }
+  }
+
+  /** Record a write to memory. */
+  void recordWrite(final long address) {
+    if (address > highWaterMark) {
+      highWaterMark = address;
+    }
+  }
+
+  private void grow(final int index) {
+    final int length = Math.max(index + 1, counts.length << 1);
+    counts = Arrays.copyOf(counts, length);
+    decoded = Arrays.copyOf(decoded, length);
+    backwardJumps = Arrays.copyOf(backwardJumps, length);
+    jumpTargets = Arrays.copyOf(jumpTargets, length);
+  }
+
+  /** Get the total number of instructions executed. */
+  public long getInstructions() {
+    return instructions;
+  }
+
+  /** Get the number of times the instruction at an address executed. */
+  public long getCount(final long address) {
+    return (address < counts.length) ? counts[(int) address] : 0;
+  }
+
+  /** Get the number of times an instruction executed anywhere in the program. */
+  long getCount(final Instruction instruction) {
+    return mix[instruction.ordinal()];
+  }
+
+  /** Get the number of times the computer blocked because it had no input. */
+  public long getInputWaits() {
+    return inputWaits;
+  }
+
+  /** Get the number of times the computer blocked after writing output. */
+  public long getOutputBlocks() {
+    return outputBlocks;
+  }
+
+  /** Get the highest address the program wrote to, or -1 if it never wrote to memory. */
+  public long getHighWaterMark() {
+    return highWaterMark;
+  }
+
+  /** Get the addresses that executed most often, most frequent first. */
+  public int[] getHotSpots(final int limit) {
+    return sortedByCount(counts, limit);
+  }
+
+  /** Get the addresses of the backward jumps taken most often, most frequent first. */
+  public int[] getHotLoops(final int limit) {
+    return sortedByCount(backwardJumps, limit);
+  }
+
+  private static int[] sortedByCount(final long[] array, final int limit) {
+    return IntStream.range(0, array.length)
+                    .filter(i -> array[i] > 0)
+                    .boxed()
+                    .sorted((a, b) -> Long.compare(array[b.intValue()], array[a.intValue()]))
+                    .limit(limit)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+  }
+
+  /**
+   * Write a report of the hottest loops and addresses, and the totals.
+   *
+   * @param limit maximum number of loops and addresses to list.
+   */
+  public String report(final int limit) {
+    final StringBuilder str = new StringBuilder(1 << 10);
+    str.append("IntCode profile: ")
+       .append(instructions)
+       .append(" instructions, ")
+       .append(inputWaits)
+       .append(" input waits, ")
+       .append(outputBlocks)
+       .append(" output blocks, memory high-water mark ")
+       .append(highWaterMark)
+       .append(System.lineSeparator());
+    str.append("Instruction mix:")
+       .append(System.lineSeparator());
+    for (final Instruction instruction : Instruction.values()) {
+      final long count = mix[instruction.ordinal()];
+      if (count > 0) {
+        str.append(String.format("  %-20s %14d %6.2f%%%n", instruction, Long.valueOf(count), percent(count)));
+      }
+    }
+    str.append("Hot loops, by backward jumps taken:")
+       .append(System.lineSeparator());
+    for (final int address : getHotLoops(limit)) {
+      str.append(String.format("  %6d..%-6d %14d%n", Long.valueOf(jumpTargets[address]), Integer.valueOf(address),
+        Long.valueOf(backwardJumps[address])));
+    }
+    str.append("Hot spots:")
+       .append(System.lineSeparator());
+    for (final int address : getHotSpots(limit)) {
+      str.append(String.format("  %6d %14d %6.2f%%  %s%n", Integer.valueOf(address), Long.valueOf(counts[address]),
+        percent(counts[address]), decoded[address]));
+    }
+    return str.toString();
+  }
+
+  private Double percent(final long count) {
+    return Double.valueOf(instructions == 0 ? 0 : 100.0 * count / instructions);
+  }
+
+  @Override
+  public String toString() {
+    return report(10);
+  }
+
+}
@@ -0,0 +1,158 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded, lock-free channel of longs between exactly one producer thread and one consumer thread, for connecting
+ * machines running in an {@link IntCodeNetwork}. Removing from an empty channel blocks until a value arrives, and
+ * adding to a full channel blocks until there is room, so a machine reading its input simply waits for the machine
+ * feeding it. Blocked threads park rather than spin, which lets virtual threads give up their carrier.
+ * <p>
+ * Interrupting a blocked thread makes it throw {@link CancellationException}, which is how a network stops its
+ * machines.
+ */
+final class LongChannel
+implements IntCodeIoQueue {
+
+  /** Number of times to check for a value before parking. Values often arrive very quickly. */
+  private static final int SPINS = 64;
+
+  private final long[] buffer;
+
+  private final int mask;
+
+  /** Count of values ever removed. Only the consumer writes this. */
+  private volatile long head;
+
+  /** Count of values ever added. Only the producer writes this. */
+  private volatile long tail;
+
+  /** Consumer waiting for a value, if any. */
+  private volatile Thread consumer;
+
+  /** Producer waiting for room, if any. */
+  private volatile Thread producer;
+
+  LongChannel(final int capacity) {
+    int length = 1;
+    while (length < capacity) {
+      length <<= 1;
+    }
+    buffer = new long[length];
+    mask = length - 1;
+  }
+
+  @Override
+  public void add(final long value) {
+    final long t = tail;
+    for (int spins = 0; t - head >= buffer.length; ++spins) {
+      if (spins < SPINS) {
+        Thread.onSpinWait();
+      }
+      else {
+        producer = Thread.currentThread();
+        if (t - head >= buffer.length) {
+          park();
+        }
+        producer = null;
+      }
+    }
+    buffer[(int) t & mask] = value;
+    tail = t + 1;
+    final Thread waiting = consumer;
+    if (waiting != null) {
+      LockSupport.unpark(waiting);
+    }
+  }
+
+  @Override
+  public void add(final long[] values) {
+    for (final long value : values) {
+      add(value);
+    }
+  }
+
+  @Override
+  public long remove() {
+    final long h = head;
+    for (int spins = 0; h >= tail; ++spins) {
+      if (spins < SPINS) {
+        Thread.onSpinWait();
+      }
+      else {
+        consumer = Thread.currentThread();
+        if (h >= tail) {
+          park();
+        }
+        consumer = null;
+      }
+    }
+    final long value = buffer[(int) h & mask];
+    head = h + 1;
+    final Thread waiting = producer;
+    if (waiting != null) {
+      LockSupport.unpark(waiting);
+    }
+    return value;
+  }
+
+  @Override
+  public long[] remove(final int quantity) {
+    final long[] values = new long[quantity];
+    for (int i = 0; i < quantity; ++i) {
+      values[i] = remove();
+    }
+    return values;
+  }
+
+  @Override
+  public long[] removeAll() {
+    return remove(size());
+  }
+
+  @Override
+  public void clear() {
+    head = tail;
+  }
+
+  @Override
+  public int size() {
+    return (int) (tail - head);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return head == tail;
+  }
+
+  private void park() {
+    LockSupport.park(this);
+    if (Thread.currentThread()
+              .isInterrupted()) {
+      throw new CancellationException();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "LongChannel[size=" + size() + "]";
+  }
+
+}
@@ -16,7 +16,6 @@
  */
 package us.coffeecode.advent_of_code.y2019;
 
-import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 import org.springframework.stereotype.Component;
@@ -70,8 +69,11 @@ implements IntCodeIoQueue {
   @Override
   public void add(final long[] values) {
     ensureCapacity(size + values.length);
-    Arrays.stream(values)
-          .forEach(l -> add(l));
+    final int tail = (head + size) % array.length;
+    final int length1 = Math.min(array.length - tail, values.length);
+    System.arraycopy(values, 0, array, tail, length1);
+    System.arraycopy(values, length1, array, 0, values.length - length1);
+    size += values.length;
   }
 
   @Override
@@ -91,10 +93,10 @@ implements IntCodeIoQueue {
       throw new NoSuchElementException();
     }
     final long[] removed = new long[quantity];
-    final int length1 = Math.min(array.length - head, size);
+    final int length1 = Math.min(array.length - head, quantity);
     System.arraycopy(array, head, removed, 0, length1);
-    if (length1 < size) {
-      System.arraycopy(array, 0, removed, length1, size - length1);
+    if (length1 < quantity) {
+      System.arraycopy(array, 0, removed, length1, quantity - length1);
     }
     size -= quantity;
     head = (head + quantity) % array.length;
@@ -16,7 +16,7 @@
  */
 package us.coffeecode.advent_of_code.y2019;
 
-import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 /**
  * Represents the address modes of an IntCode computer.
@@ -32,7 +32,7 @@ enum Mode {
 
     @Override
     public void setValue(final IntCode state, final long position, final long value) {
-      state.memory.set(state.memory.get(position), value);
+      state.write(state.memory.get(position), value);
     }
   },
 
@@ -58,15 +58,21 @@ enum Mode {
 
     @Override
     public void setValue(final IntCode state, final long position, final long value) {
-      state.memory.set(state.relativeBase + state.memory.get(position), value);
+      state.write(state.relativeBase + state.memory.get(position), value);
     }
   };
 
   public static final Mode valueOf(final long _id) {
-    return Arrays.stream(values())
-                 .filter(m -> m.id == _id)
-                 .findFirst()
-                 .get();
+    if (_id == 0) {
+      return POSITION;
+    }
+    else if (_id == 1) {
+      return IMMEDIATE;
+    }
+    else if (_id == 2) {
+      return RELATIVE;
+    }
+    throw new NoSuchElementException("No mode " + _id);
   }
 
   public static final Mode[] valuesOf(final long intcode) {
@@ -86,6 +92,11 @@ enum Mode {
     id = _id;
   }
 
+  /** Get the digit that selects this mode in an opcode word. */
+  public int getId() {
+    return id;
+  }
+
   /** Get a value from memory using this mode's technique to resolve the target's address. */
   public abstract long getValue(final IntCode state, final long position);
 
@@ -0,0 +1,387 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Network of IntCode machines that exchange packets, each running on its own virtual thread in an
+ * {@link IntCodeNetwork}. Each machine first reads its own address. After that, it reads packets of two values, or -1
+ * if none are waiting, and sends packets by writing three values: the destination address and the two values of the
+ * packet. Packets sent to address 255 go to a NAT that the caller controls through this class.
+ * <p>
+ * Each machine's inbox is a lock-free queue that any machine can send to. When a machine reads -1 from an empty inbox it
+ * is idle: it parks until a packet arrives instead of spinning. A machine only becomes idle when it has no partial
+ * packet waiting to be sent, and a sender takes the destination out of the idle count before waking it. The network is
+ * idle when every machine is idle, every inbox is empty, and no packet was sent while checking, so there is no need to
+ * guess from how long the network has been quiet.
+ */
+final class PacketSwitch
+implements AutoCloseable {
+
+  /** Address of the NAT. */
+  static final int NAT = 255;
+
+  private final IntCodeNetwork network;
+
+  private final Nic[] nics;
+
+  /** Number of machines that are idle. When this equals the number of machines, the network is idle. */
+  private final AtomicInteger idle = new AtomicInteger();
+
+  /** Number of packets ever sent to machines, which detects traffic while checking whether the network is idle. */
+  private final AtomicLong sends = new AtomicLong();
+
+  /** Protects the NAT's state, which changes rarely compared to traffic between machines. */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition changed = lock.newCondition();
+
+  /** First packet the NAT ever received. */
+  private long[] firstNatPacket;
+
+  /** Most recent packet the NAT received that it has not yet handed to the caller. */
+  private long[] natPacket;
+
+  /**
+   * Start a network of copies of a machine.
+   *
+   * @param original machine to copy. Its input and output are replaced.
+   * @param size number of machines, which get addresses from zero.
+   */
+  PacketSwitch(final IntCode original, final int size) {
+    network = new IntCodeNetwork(ex -> signal());
+    nics = new Nic[size];
+    for (int i = 0; i < size; ++i) {
+      nics[i] = new Nic(i);
+    }
+    for (final Nic nic : nics) {
+      final IntCode machine = new IntCode(original, nic.input);
+      machine.setOutput(nic.output);
+      network.start(machine);
+    }
+  }
+
+  /** Wait for the first packet sent to the NAT, and return its values. */
+  long[] awaitNatPacket() {
+    lock.lock();
+    try {
+      while (firstNatPacket == null) {
+        await();
+      }
+      return firstNatPacket;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Wait until the network is idle, then return the most recent packet sent to the NAT since the last call. The
+   * network stays idle until the caller sends a packet.
+   *
+   * @throws IllegalStateException if the network is idle and the NAT has nothing to send, which means it is stuck.
+   */
+  long[] awaitIdle() {
+    lock.lock();
+    try {
+      while (!isIdle()) {
+        await();
+      }
+      if (natPacket == null) {
+        throw new IllegalStateException("Network is idle and the NAT has no packet");
+      }
+      final long[] packet = natPacket;
+      natPacket = null;
+      return packet;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Check whether the network is idle. A machine that just found its inbox empty can count itself as idle a moment
+   * before it notices a packet that arrived in the meantime, so also check the inboxes, and make sure no packet was sent
+   * while doing so.
+   */
+  private boolean isIdle() {
+    final long before = sends.get();
+    if (idle.get() < nics.length) {
+      return false;
+    }
+    for (final Nic nic : nics) {
+      if (!nic.inbox.isEmpty()) {
+        return false;
+      }
+    }
+    return (idle.get() == nics.length) && (sends.get() == before);
+  }
+
+  /** Send a packet to a machine. */
+  void send(final int address, final long[] packet) {
+    nics[address].receive(packet);
+  }
+
+  /** Wait for the NAT's state to change. Call while holding the lock. */
+  private void await() {
+    final RuntimeException failure = network.getFailure();
+    if (failure != null) {
+      throw failure;
+    }
+    try {
+      changed.await(1, TimeUnit.SECONDS);
+    }
+    catch (final InterruptedException ex) {
+      Thread.currentThread()
+            .interrupt();
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private void signal() {
+    lock.lock();
+    try {
+      changed.signalAll();
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  private void route(final int address, final long[] packet) {
+    if (address == NAT) {
+      lock.lock();
+      try {
+        if (firstNatPacket == null) {
+          firstNatPacket = packet;
+        }
+        natPacket = packet;
+        changed.signalAll();
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+    else {
+      send(address, packet);
+    }
+  }
+
+  @Override
+  public void close() {
+    network.close();
+  }
+
+  /** One machine's connection to the network. */
+  private final class Nic {
+
+    private final ConcurrentLinkedQueue<long[]> inbox = new ConcurrentLinkedQueue<>();
+
+    /** Whether the machine is counted as idle. Whoever clears this takes it out of the count. */
+    private final AtomicBoolean idleFlag = new AtomicBoolean();
+
+    /** Thread running the machine, once it has tried to read. */
+    private volatile Thread thread;
+
+    final IntCodeIoQueue input = new Input();
+
+    final IntCodeIoQueue output = new Output();
+
+    /** Only the machine's thread touches the packet being read or written. */
+    private long[] reading;
+
+    private int readIndex;
+
+    private final long[] writing = new long[3];
+
+    private int writeIndex;
+
+    Nic(final int address) {
+      inbox.add(new long[] { address });
+    }
+
+    /** Queue a packet for the machine, and wake it if it is idle. */
+    void receive(final long[] packet) {
+      sends.incrementAndGet();
+      inbox.add(packet);
+      wake();
+    }
+
+    private void wake() {
+      if (idleFlag.compareAndSet(true, false)) {
+        idle.decrementAndGet();
+      }
+      final Thread waiting = thread;
+      if (waiting != null) {
+        LockSupport.unpark(waiting);
+      }
+    }
+
+    long read() {
+      if (reading == null) {
+        reading = inbox.poll();
+        readIndex = 0;
+        if (reading == null) {
+          waitForPacket();
+          return -1;
+        }
+      }
+      final long value = reading[readIndex++];
+      if (readIndex == reading.length) {
+        reading = null;
+      }
+      return value;
+    }
+
+    /** Become idle and park until a packet arrives. */
+    private void waitForPacket() {
+      thread = Thread.currentThread();
+      if (writeIndex > 0) {
+        // Still in the middle of sending a packet: the network is not idle.
+        Thread.yield();
+        return;
+      }
+      idleFlag.set(true);
+      if (idle.incrementAndGet() == nics.length) {
+        signal();
+      }
+      // A packet may have arrived before the flag was set, in which case the sender did not take this out of the count.
+      if (!inbox.isEmpty() && idleFlag.compareAndSet(true, false)) {
+        idle.decrementAndGet();
+      }
+      while (idleFlag.get()) {
+        LockSupport.park(this);
+        if (Thread.currentThread()
+                  .isInterrupted()) {
+          throw new CancellationException();
+        }
+      }
+    }
+
+    void write(final long value) {
+      writing[writeIndex++] = value;
+      if (writeIndex == writing.length) {
+        writeIndex = 0;
+        route((int) writing[0], new long[] { writing[1], writing[2] });
+      }
+    }
+
+    private final class Input
+    implements IntCodeIoQueue {
+
+      @Override
+      public void add(final long value) {
+        receive(new long[] { value });
+      }
+
+      @Override
+      public void add(final long[] values) {
+        receive(values.clone());
+      }
+
+      @Override
+      public long remove() {
+        return read();
+      }
+
+      @Override
+      public long[] remove(final int quantity) {
+        final long[] values = new long[quantity];
+        for (int i = 0; i < quantity; ++i) {
+          values[i] = read();
+        }
+        return values;
+      }
+
+      @Override
+      public long[] removeAll() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void clear() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public int size() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean isEmpty() {
+        // A machine can always read: it gets -1 if nothing is waiting.
+        return false;
+      }
+    }
+
+    private final class Output
+    implements IntCodeIoQueue {
+
+      @Override
+      public void add(final long value) {
+        write(value);
+      }
+
+      @Override
+      public void add(final long[] values) {
+        for (final long value : values) {
+          write(value);
+        }
+      }
+
+      @Override
+      public long remove() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public long[] remove(final int quantity) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public long[] removeAll() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void clear() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public int size() {
+        return writeIndex;
+      }
+
+      @Override
+      public boolean isEmpty() {
+        return writeIndex == 0;
+      }
+    }
+  }
+}
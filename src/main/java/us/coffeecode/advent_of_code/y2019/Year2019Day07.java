@@ -16,10 +16,10 @@
  */
 package us.coffeecode.advent_of_code.y2019;
 
-import static us.coffeecode.advent_of_code.y2019.ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE;
-
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -27,7 +27,6 @@ import org.springframework.stereotype.Component;
 import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
-import us.coffeecode.advent_of_code.util.ArrayInfinitelyIterable;
 import us.coffeecode.advent_of_code.util.MyCollections;
 
 @AdventOfCodeSolution(year = 2019, day = 7)
@@ -39,121 +38,61 @@ public final class Year2019Day07 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final IntCode original = icf.make(pc, BLOCK_UNTIL_INPUT_AVAILABLE);
-    long answer = 0;
-    for (final List<Integer> phaseSettings : MyCollections.permutations(IntStream.range(0, 5)
-                                                                                 .mapToObj(Integer::valueOf)
-                                                                                 .toList())) {
-      long signal = 0;
-      for (Integer phaseSetting : phaseSettings) {
-        final IntCode state = icf.make(original);
-        state.getInput()
-             .add(new long[] { phaseSetting.longValue(), signal });
-        state.exec();
-        signal = state.getOutput()
-                      .remove();
+    final IntCodeBatch batch = new IntCodeBatch(icf.make(pc));
+    final List<List<Integer>> permutations = new ArrayList<>(MyCollections.permutations(IntStream.range(0, 5)
+                                                                                                 .mapToObj(Integer::valueOf)
+                                                                                                 .toList()));
+    // Run every permutation through one amp at a time, so each amp is a batch of independent runs.
+    long[] signals = new long[permutations.size()];
+    for (int amp = 0; amp < 5; ++amp) {
+      final long[] inputs = new long[signals.length << 1];
+      for (int i = 0; i < signals.length; ++i) {
+        inputs[i << 1] = permutations.get(i)
+                                     .get(amp)
+                                     .longValue();
+        inputs[(i << 1) + 1] = signals[i];
       }
-      answer = Math.max(signal, answer);
+      signals = batch.run(inputs, 2);
     }
-    return answer;
+    return LongStream.of(signals)
+                     .max()
+                     .getAsLong();
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    final IntCode original = icf.make(pc, BLOCK_UNTIL_INPUT_AVAILABLE);
+    final IntCode original = icf.make(pc);
     long answer = 0;
     for (final List<Integer> phaseSettings : MyCollections.permutations(IntStream.range(5, 10)
                                                                                  .mapToObj(Integer::valueOf)
                                                                                  .toList())) {
-
-      // Create distinct amps and wire them together.
-      // Output feeds into the next amp's output. We need to see amp 5's output though.
-      // Input is the phase setting, then the previous amp's output. First time, amp 1 needs 0.
-      final IntCode[] amps = new IntCode[5];
-      amps[0] = icf.make(original);
-      amps[1] = icf.make(original, new Pipe(amps[0], phaseSettings.get(1)
-                                                                  .longValue()));
-      amps[2] = icf.make(original, new Pipe(amps[1], phaseSettings.get(2)
-                                                                  .longValue()));
-      amps[3] = icf.make(original, new Pipe(amps[2], phaseSettings.get(3)
-                                                                  .longValue()));
-      amps[4] = icf.make(original, new Pipe(amps[3], phaseSettings.get(4)
-                                                                  .longValue()));
-      amps[0].setInput(new Pipe(amps[4], phaseSettings.getFirst()
-                                                      .longValue(),
-        0));
-
-      // Loop over and over until there is a halt, as opposed to a pause.
-      for (final IntCode amp : new ArrayInfinitelyIterable<>(amps)) {
-        final ExecutionResult exec = amp.exec();
-        if ((amp == amps[4]) && exec.isHalt()) {
-          answer = Math.max(answer, amp.getOutput()
-                                       .remove());
-          break;
-        }
-      }
+      answer = Math.max(answer, runFeedbackLoop(original, phaseSettings));
     }
     return answer;
   }
 
-  /** Connects the output of one amplifier to the input of another. */
-  private static final class Pipe
-  implements IntCodeIoQueue {
-
-    private final IntCodeIoQueue previous;
-
-    private final long[] initial;
-
-    private int i = 0;
-
-    Pipe(final IntCode _previous, final long... _initial) {
-      previous = _previous.getOutput();
-      initial = _initial;
-    }
-
-    @Override
-    public void add(final long value) {
-      throw new UnsupportedOperationException();
+  /**
+   * Wire five amps into a loop where each amp's output feeds the next amp's input, and run them concurrently until they
+   * all halt. Each amp's input starts with its phase setting, and the first amp also gets the initial signal of zero.
+   * The last signal the final amp sends back to the first amp is the result.
+   */
+  private long runFeedbackLoop(final IntCode original, final List<Integer> phaseSettings) {
+    final LongChannel[] channels = new LongChannel[phaseSettings.size()];
+    for (int i = 0; i < channels.length; ++i) {
+      channels[i] = new LongChannel(16);
+      channels[i].add(phaseSettings.get(i)
+                                   .longValue());
     }
-
-    @Override
-    public void add(final long[] values) {
-      throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public long remove() {
-      if (i < initial.length) {
-        return initial[i++];
+    channels[0].add(0);
+    try (IntCodeNetwork network = new IntCodeNetwork()) {
+      for (int i = 0; i < channels.length; ++i) {
+        final IntCode amp = icf.make(original, channels[i]);
+        amp.setOutput(channels[(i + 1) % channels.length]);
+        network.start(amp);
       }
-      return previous.remove();
-    }
-
-    @Override
-    public long[] remove(final int quantity) {
-      throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public long[] removeAll() {
-      throw new UnsupportedOperationException();
+      network.join();
     }
-
-    @Override
-    public void clear() {
-      throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public int size() {
-      return initial.length - i + previous.size();
-    }
-
-    @Override
-    public boolean isEmpty() {
-      return (i == initial.length) && previous.isEmpty();
-    }
-
+    return channels[0].remove();
   }
 
 }
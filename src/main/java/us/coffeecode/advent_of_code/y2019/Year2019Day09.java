@@ -32,7 +32,7 @@ public final class Year2019Day09 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final IntCode state = icf.make(pc);
+    final IntCode state = icf.make(pc, ExecutionOption.COMPILE_TO_BYTECODE);
     state.getInput()
          .add(1);
     state.exec();
@@ -42,7 +42,7 @@ public final class Year2019Day09 {
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    final IntCode state = icf.make(pc);
+    final IntCode state = icf.make(pc, ExecutionOption.COMPILE_TO_BYTECODE);
     state.getInput()
          .add(2);
     state.exec();
@@ -70,33 +70,14 @@ public final class Year2019Day17 {
       return 0;
     }
 
-    final IntCode state = icf.make(pc);
-    final IntCodeIoQueue input = state.getInput();
-
-    // Give the main movement routine.
-    input.add(solution[0].codePoints()
-                         .mapToLong(ch -> ch)
-                         .toArray());
-    input.add('\n');
-
-    // Give the three functions in order
-    for (int i = 1; i < solution.length; ++i) {
-      input.add(solution[i].codePoints()
-                           .mapToLong(ch -> ch)
-                           .toArray());
-      input.add('\n');
-    }
-
-    // Answer about having a live update.
-    input.add('n');
-    input.add('\n');
-
+    // Give the main movement routine, then the three functions in order, then answer about having a live update.
+    final IntCode state = icf.make(pc, new AsciiQueue(String.join("\n", solution) + "\nn\n"));
+    final AsciiQueue output = new AsciiQueue();
+    state.setOutput(output);
     state.getMemory()
          .set(0, 2);
     state.exec();
-    final long[] output = state.getOutput()
-                               .removeAll();
-    return output[output.length - 1];
+    return output.removeLast();
   }
 
   private String getSteps(final Scaffold scaffold) {
@@ -242,19 +223,13 @@ public final class Year2019Day17 {
   private Scaffold getScaffold(final PuzzleContext pc) {
     // Convert the raw output into a list of strings represents lines of text.
     final IntCode state = icf.make(pc);
+    final AsciiQueue output = new AsciiQueue();
+    state.setOutput(output);
     state.exec();
-    final List<String> lines = new ArrayList<>(45);
-    StringBuilder str = new StringBuilder(29);
-    for (final long value : state.getOutput()
-                                 .removeAll()) {
-      if ('\n' == value && !str.isEmpty()) {
-        lines.add(str.toString());
-        str = new StringBuilder(29);
-      }
-      else {
-        str.appendCodePoint((int) value);
-      }
-    }
+    final List<String> lines = output.removeLines()
+                                     .stream()
+                                     .filter(line -> !line.isEmpty())
+                                     .toList();
 
     // Convert the list of strings into a 2D boolean array where true represents a scaffold. Also track the starting
     // location and direction the robot faces.
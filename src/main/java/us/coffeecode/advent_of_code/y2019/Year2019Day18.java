@@ -25,6 +25,9 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.Coordinates;
+import us.coffeecode.advent_of_code.util.LongHashSet;
+import us.coffeecode.advent_of_code.util.LongObjectHashMap;
 import us.coffeecode.advent_of_code.util.Point2D;
 
 @AdventOfCodeSolution(year = 2019, day = 18)
@@ -156,18 +159,18 @@ public final class Year2019Day18 {
   private Collection<RouteSegment> getRouteSegments(final int[][] map, final Point2D start) {
     final Collection<RouteSegment> routes = new ArrayList<>(52);
     // Maze has no loops so we never need to consider previous locations for any purpose.
-    final Set<Point2D> visited = new HashSet<>(map.length * map.length);
-    visited.add(start);
-    Map<Point2D, RouteSegment> visiting = new HashMap<>();
+    final LongHashSet visited = new LongHashSet(map.length * map.length);
+    visited.add(Coordinates.pack(start));
+    LongObjectHashMap<RouteSegment> visiting = new LongObjectHashMap<>();
     final int startSymbol = start.get(map);
-    visiting.put(start, new RouteSegment(startSymbol));
+    visiting.put(Coordinates.pack(start), new RouteSegment(startSymbol));
+    final long[] neighbors = new long[4];
     while (!visiting.isEmpty()) {
-      final Map<Point2D, RouteSegment> nextVisiting = new HashMap<>();
-      for (final var entry : visiting.entrySet()) {
-        final Point2D here = entry.getKey();
-        final RouteSegment soFar = entry.getValue();
-        for (final Point2D neighbor : here.getCardinalNeighbors()) {
-          final int ch = neighbor.get(map);
+      final LongObjectHashMap<RouteSegment> nextVisiting = new LongObjectHashMap<>();
+      visiting.forEach((here, soFar) -> {
+        Coordinates.getCardinalNeighbors(here, neighbors);
+        for (final long neighbor : neighbors) {
+          final int ch = map[Coordinates.getY(neighbor)][Coordinates.getX(neighbor)];
           if ((ch == WALL) || visited.contains(neighbor)) {
             continue;
           }
@@ -179,7 +182,7 @@ public final class Year2019Day18 {
           nextVisiting.put(neighbor, new RouteSegment(soFar, doorMask));
           visited.add(neighbor);
         }
-      }
+      });
       visiting = nextVisiting;
     }
     return routes;
@@ -32,17 +32,20 @@ public final class Year2019Day19 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final long SIZE = 50;
-    final IntCode state = icf.make(pc);
-    long count = 0;
+    final int SIZE = 50;
+    final IntCodeBatch batch = new IntCodeBatch(icf.make(pc));
     // Check every pixel in a 50x50 square.
-    for (int y = 0; y < SIZE; ++y) {
+    final long[] inputs = new long[SIZE * SIZE * 2];
+    for (int y = 0, i = 0; y < SIZE; ++y) {
       for (int x = 0; x < SIZE; ++x) {
-        if (check(state, x, y)) {
-          ++count;
-        }
+        inputs[i++] = x;
+        inputs[i++] = y;
       }
     }
+    long count = 0;
+    for (final long output : batch.run(inputs, 2)) {
+      count += output;
+    }
     return count;
   }
 
@@ -50,34 +53,28 @@ public final class Year2019Day19 {
   public long calculatePart2(final PuzzleContext pc) {
     // Off by one because the bounds are closed, not open.
     final long SIZE = 99;
-    final IntCode state = icf.make(pc);
+    final IntCodeBatch batch = new IntCodeBatch(icf.make(pc));
     // Give a head start. The cone is narrow, and the first few rows might not even have any pixels in the cone.
     long x = SIZE << 2;
     long y = SIZE << 3;
     // Find the left+bottom edge to start.
-    while (!check(state, x, y)) {
+    while (!check(batch, x, y)) {
       ++x;
     }
     // While either the lower-left or the top-right corner is out of the cone...
-    while (!check(state, x, y) || !check(state, x + SIZE, y - SIZE)) {
+    while (!check(batch, x, y) || !check(batch, x + SIZE, y - SIZE)) {
       // Move down one row, then right one column if needed to move along the left+bottom edge of the cone.
       ++y;
-      if (!check(state, x, y)) {
+      if (!check(batch, x, y)) {
         ++x;
       }
     }
     return (10_000 * x) + (y - SIZE);
   }
 
-  private boolean check(final IntCode state, final long x, final long y) {
-    // This program provides a single output, then it no longer works. Make a fresh copy each time.
-    final IntCode copy = icf.make(state);
-    copy.getInput()
-        .add(new long[] { x, y });
-    copy.exec();
-    final long answer = copy.getOutput()
-                            .remove();
-    return answer == 1;
+  private boolean check(final IntCodeBatch batch, final long x, final long y) {
+    // This program provides a single output, then it no longer works. The batch resets a machine for each run.
+    return batch.run(x, y) == 1;
   }
 
 }
@@ -54,15 +54,11 @@ public final class Year2019Day21 {
   }
 
   private long calculate(final PuzzleContext pc, final String program) {
-    final IntCode state = icf.make(pc);
-    final IntCodeIoQueue input = state.getInput();
-    program.codePoints()
-           .forEach(input::add);
-
+    final IntCode state = icf.make(pc, new AsciiQueue(program));
+    final AsciiQueue output = new AsciiQueue();
+    state.setOutput(output);
     state.exec();
-    final long[] output = state.getOutput()
-                               .removeAll();
-    return output[output.length - 1];
+    return output.removeLast();
   }
 
 }
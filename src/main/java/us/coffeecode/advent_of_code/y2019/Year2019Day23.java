@@ -42,122 +42,21 @@ public final class Year2019Day23 {
 
   private long calculate(final PuzzleContext pc) {
     final boolean returnFirstYValue = pc.getBoolean("ReturnFirstYValue");
-    final IntCode original = icf.make(pc, ExecutionOption.ONE_INSTRUCTION_PER_EXEC);
-    final IntCode[] computers = new IntCode[50];
-    for (int i = 0; i < computers.length; ++i) {
-      computers[i] = icf.make(original, new Day23InputQueue());
-      computers[i].getInput()
-                  .add(i);
-    }
-
-    long previousY = Long.MIN_VALUE;
-    long natPacket[] = null;
-
-    // Don't let this run forever.
-    int idleTicks = 0;
-    for (int iterations = 0; iterations < (1 << 20); ++iterations) {
-      boolean idle = true;
-      for (int i = 0; i < computers.length; ++i) {
-        if (!computers[i].getInput()
-                         .isEmpty()) {
-          idle = false;
-        }
-        computers[i].exec();
-        if (!computers[i].getOutput()
-                         .isEmpty()) {
-          idle = false;
-        }
-        if (computers[i].getOutput()
-                        .size() >= 3) {
-          final long[] output = computers[i].getOutput()
-                                            .remove(3);
-          final long[] packet = new long[] { output[1], output[2] };
-          if (output[0] == 255) {
-            if (returnFirstYValue) {
-              return output[2];
-            }
-            natPacket = packet;
-          }
-          else {
-            computers[(int) output[0]].getInput()
-                                      .add(packet);
-          }
-        }
-      }
-      if (idle) {
-        ++idleTicks;
-      }
-      else {
-        idleTicks = 0;
+    final IntCode original = icf.make(pc);
+    try (PacketSwitch network = new PacketSwitch(original, 50)) {
+      if (returnFirstYValue) {
+        return network.awaitNatPacket()[1];
       }
-      if ((idleTicks > 650) && (natPacket != null)) {
+      long previousY = Long.MIN_VALUE;
+      while (true) {
+        final long[] natPacket = network.awaitIdle();
         if (natPacket[1] == previousY) {
           return previousY;
         }
         previousY = natPacket[1];
-        computers[0].getInput()
-                    .add(natPacket);
-        natPacket = null;
-      }
-    }
-    return 0;
-  }
-
-  /**
-   * I/O queue implementation that delegates to another queue, except that it will produce a default -1 value if the
-   * other queue is empty. It always reports its size using the delegate even though it can still produce values.
-   */
-  private static final class Day23InputQueue
-  implements IntCodeIoQueue {
-
-    final IntCodeIoQueue delegate = new LongQueue();
-
-    @Override
-    public void add(final long value) {
-      delegate.add(value);
-    }
-
-    @Override
-    public void add(final long[] values) {
-      delegate.add(values);
-    }
-
-    @Override
-    public long remove() {
-      return delegate.isEmpty() ? -1 : delegate.remove();
-    }
-
-    @Override
-    public long[] remove(final int quantity) {
-      if (delegate.isEmpty() && (quantity == 1)) {
-        return new long[] { -1 };
-      }
-      return delegate.remove(quantity);
-    }
-
-    @Override
-    public long[] removeAll() {
-      if (delegate.isEmpty()) {
-        return new long[] { -1 };
+        network.send(0, natPacket);
       }
-      return delegate.removeAll();
     }
-
-    @Override
-    public void clear() {
-      delegate.clear();
-    }
-
-    @Override
-    public int size() {
-      return delegate.size();
-    }
-
-    @Override
-    public boolean isEmpty() {
-      return delegate.isEmpty();
-    }
-
   }
 
 }
@@ -17,9 +17,7 @@
 package us.coffeecode.advent_of_code.y2019;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -28,6 +26,11 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.LifeGrid;
+import us.coffeecode.advent_of_code.util.LifeGrid.Boundary;
+import us.coffeecode.advent_of_code.util.LifeGrid.Neighborhood;
+import us.coffeecode.advent_of_code.util.LifeGrid.Rule;
+import us.coffeecode.advent_of_code.util.LongHashSet;
 
 @AdventOfCodeSolution(year = 2019, day = 24)
 @Component
@@ -38,15 +41,14 @@ public final class Year2019Day24 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    boolean[][] grid = il.linesAs2dBooleanArray(pc, '#');
-    final Set<Long> cache = new HashSet<>();
+    final LifeGrid grid = new LifeGrid(il.linesAs2dBooleanArray(pc, '#'), RULE, Boundary.DEAD);
+    final LongHashSet cache = new LongHashSet();
     for (int i = 0; i < 1 << 10; ++i) {
-      final Long score = biodiversityRating(grid);
-      if (cache.contains(score)) {
-        return score.longValue();
+      final long score = biodiversityRating(grid);
+      if (!cache.add(score)) {
+        return score;
       }
-      cache.add(score);
-      grid = generation(grid);
+      grid.step();
     }
     return 0;
   }
@@ -62,17 +64,17 @@ public final class Year2019Day24 {
     return countBugs(grids);
   }
 
-  private Long biodiversityRating(final boolean[][] grid) {
+  private long biodiversityRating(final LifeGrid grid) {
     long score = 0;
     for (int y = SIZE - 1; y >= 0; --y) {
       for (int x = SIZE - 1; x >= 0; --x) {
         score <<= 1;
-        if (grid[y][x]) {
+        if (grid.get(x, y)) {
           ++score;
         }
       }
     }
-    return Long.valueOf(score);
+    return score;
   }
 
   private long countBugs(final Map<Integer, boolean[][]> grids) {
@@ -89,38 +91,6 @@ public final class Year2019Day24 {
     return count;
   }
 
-  /** Calculate a new generation for a single, non-nested grid (part one). */
-  private boolean[][] generation(final boolean[][] grid) {
-    final boolean[][] newGrid = new boolean[SIZE][SIZE];
-    for (int y = 0; y < SIZE; ++y) {
-      for (int x = 0; x < SIZE; ++x) {
-        int neighbors = 0;
-        if ((y > 0) && grid[y - 1][x]) {
-          ++neighbors;
-        }
-        if ((y < SIZE - 1) && grid[y + 1][x]) {
-          ++neighbors;
-        }
-        if ((x > 0) && grid[y][x - 1]) {
-          ++neighbors;
-        }
-        if ((x < SIZE - 1) && grid[y][x + 1]) {
-          ++neighbors;
-        }
-        if (grid[y][x] && (neighbors != 1)) {
-          newGrid[y][x] = false;
-        }
-        else if (!grid[y][x] && ((neighbors == 1) || (neighbors == 2))) {
-          newGrid[y][x] = true;
-        }
-        else {
-          newGrid[y][x] = grid[y][x];
-        }
-      }
-    }
-    return newGrid;
-  }
-
   /** Calculate a new generation for all grid levels, including new one that need to be added. */
   private Map<Integer, boolean[][]> generation(final Map<Integer, boolean[][]> grids, final int time) {
     final Map<Integer, boolean[][]> newGrids = new HashMap<>();
@@ -302,4 +272,7 @@ public final class Year2019Day24 {
   private static final int LEFT = 2;
 
   private static final int RIGHT = 3;
+
+  /** A bug survives with exactly one adjacent bug, and infests an empty space with one or two. */
+  private static final Rule RULE = Rule.of("B12/S1", Neighborhood.VON_NEUMANN);
 }
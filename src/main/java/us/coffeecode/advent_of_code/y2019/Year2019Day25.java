@@ -37,14 +37,14 @@ public final class Year2019Day25 {
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
     final IntCode original =
-      icf.make(pc, ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE, ExecutionOption.BLOCK_IF_EXCESSIVE_RUNTIME);
+      icf.makeAscii(pc, ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE, ExecutionOption.BLOCK_IF_EXCESSIVE_RUNTIME);
 
     // Create a map.
-    final ShipMap map = getMap(icf.make(original));
+    final ShipMap map = getMap(icf.makeAscii(original));
 
     // Find all the lethal items.
     for (final String item : map.items.keySet()) {
-      testItem(item, map, icf.make(original));
+      testItem(item, map, icf.makeAscii(original));
     }
 
     return solve(map, original);
@@ -66,7 +66,7 @@ public final class Year2019Day25 {
         if (overweight) {
           continue;
         }
-        final IntCode ic = icf.make(original);
+        final IntCode ic = icf.makeAscii(original);
         fetchItemsAndGoToCheckpoint(map, ic, combination);
         final long weight = checkWeight(map, ic);
 
@@ -119,11 +119,8 @@ public final class Year2019Day25 {
                                                .findFirst()
                                                .get()
                                                .getKey();
-    ic.getInput()
-      .add(dir.getCommand());
-    ic.exec();
-    final List<String> lines = toStrings(ic.getOutput()
-                                           .removeAll());
+    send(ic, dir.getCommand());
+    final List<String> lines = receive(ic);
     for (final String line : lines) {
       if (line.contains("robotic voice")) {
         if (line.contains("heavier")) {
@@ -150,9 +147,7 @@ public final class Year2019Day25 {
       Room next = map.rooms.get(map.items.get(item));
       navigate(map, ic, current, next);
       // Take the item.
-      ic.getInput()
-        .add(toInput(TAKE + item + SEPARATOR));
-      ic.exec();
+      send(ic, TAKE + item + SEPARATOR);
       ic.getOutput()
         .clear();
       current = next;
@@ -164,9 +159,7 @@ public final class Year2019Day25 {
   /** Navigate from one room to another, ignoring all program output. */
   private void navigate(final ShipMap map, final IntCode ic, final Room current, final Room target) {
     for (final Direction d : current.navigation.get(target.name)) {
-      ic.getInput()
-        .add(d.getCommand());
-      ic.exec();
+      send(ic, d.getCommand());
       ic.getOutput()
         .clear();
     }
@@ -179,27 +172,21 @@ public final class Year2019Day25 {
 
     {
       state.exec();
-      Room currentRoom = map.update(toStrings(state.getOutput()
-                                                   .removeAll()),
-        null, null);
+      Room currentRoom = map.update(receive(state), null, null);
       for (final Direction d : currentRoom.directions.keySet()) {
-        queue.add(new QueueEntry(currentRoom, icf.make(state), d));
+        queue.add(new QueueEntry(currentRoom, icf.makeAscii(state), d));
       }
     }
 
     while (!queue.isEmpty()) {
       final QueueEntry processing = queue.remove();
       final IntCode ic = processing.state;
-      ic.getInput()
-        .add(processing.dir.getCommand());
-      ic.exec();
-      Room nextRoom = map.update(toStrings(ic.getOutput()
-                                             .removeAll()),
-        processing.room, processing.dir);
+      send(ic, processing.dir.getCommand());
+      Room nextRoom = map.update(receive(ic), processing.room, processing.dir);
       if (nextRoom != null) {
         for (final var entry : nextRoom.directions.entrySet()) {
           if (entry.getValue() == null) {
-            queue.add(new QueueEntry(nextRoom, icf.make(ic), entry.getKey()));
+            queue.add(new QueueEntry(nextRoom, icf.makeAscii(ic), entry.getKey()));
           }
         }
       }
@@ -218,17 +205,12 @@ public final class Year2019Day25 {
     final Room start = map.rooms.get(map.startRoom);
     state.exec();
     for (final Direction d : start.navigation.get(targetRoomName)) {
-      state.getInput()
-           .add(d.getCommand());
-      state.exec();
+      send(state, d.getCommand());
       state.getOutput()
            .clear();
     }
-    state.getInput()
-         .add(toInput(TAKE + item + SEPARATOR));
-    state.exec();
-    final List<String> output = toStrings(state.getOutput()
-                                               .removeAll());
+    send(state, TAKE + item + SEPARATOR);
+    final List<String> output = receive(state);
 
     // Definitely lethal.
     if (!PROMPT.equals(output.getLast())) {
@@ -240,11 +222,8 @@ public final class Year2019Day25 {
     final Direction any = map.rooms.get(targetRoomName).directions.keySet()
                                                                   .iterator()
                                                                   .next();
-    state.getInput()
-         .add(any.getCommand());
-    state.exec();
-    final List<String> output2 = toStrings(state.getOutput()
-                                                .removeAll());
+    send(state, any.getCommand());
+    final List<String> output2 = receive(state);
     if ((output2.size() > 1) && output2.get(1)
                                        .contains(item)) {
       map.lethalItems.add(item);
@@ -254,21 +233,15 @@ public final class Year2019Day25 {
     map.nonlethalItems.add(item);
   }
 
-  /** Convert a string to a format IntCode accepts as input. */
-  private static long[] toInput(final String str) {
-    return str.codePoints()
-              .mapToLong(i -> i)
-              .toArray();
+  /** Send a command to the program and run it until it wants more input. */
+  private static void send(final IntCode state, final String command) {
+    ((AsciiQueue) state.getInput()).add(command);
+    state.exec();
   }
 
-  /** Given raw output from the program, convert it to a string array for easier parsing. */
-  private List<String> toStrings(final long[] array) {
-    final String str = Arrays.stream(array)
-                             .mapToInt(l -> (int) l)
-                             .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
-                             .toString();
-    return Arrays.stream(LINE_SPLIT.split(str))
-                 .toList();
+  /** Get the program's output as lines of text for easier parsing. */
+  private static List<String> receive(final IntCode state) {
+    return ((AsciiQueue) state.getOutput()).removeLines();
   }
 
   private static final String TAKE = "take ";
@@ -281,8 +254,6 @@ public final class Year2019Day25 {
 
   private static final String SCALE = "Pressure-Sensitive Floor";
 
-  private static final Pattern LINE_SPLIT = Pattern.compile(SEPARATOR);
-
   private static final Pattern DIGITS = Pattern.compile("\\d+");
 
   /** Represents a map of the ship. */
@@ -405,7 +376,7 @@ public final class Year2019Day25 {
     EAST("east" + SEPARATOR, "- east"),
     WEST("west" + SEPARATOR, "- west");
 
-    final long[] command;
+    final String command;
 
     final String match;
 
@@ -419,11 +390,11 @@ public final class Year2019Day25 {
     private static final Map<Direction, Direction> OPPOSITES = Map.of(NORTH, SOUTH, SOUTH, NORTH, EAST, WEST, WEST, EAST);
 
     Direction(final String c, final String m) {
-      command = toInput(c);
+      command = c;
       match = m;
     }
 
-    long[] getCommand() {
+    String getCommand() {
       return command;
     }
 
@@ -30,6 +30,8 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
 
 @AdventOfCodeSolution(year = 2020, day = 8)
 @Component
@@ -41,26 +43,14 @@ public final class Year2020Day08 {
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
     final Map<Integer, Instruction> instructions = getInput(pc);
-    final Set<Integer> seen = new HashSet<>();
-    long accumulator = 0;
-    int location = 0;
-    Integer key = Integer.valueOf(location);
-    while (!seen.contains(key)) {
-      seen.add(key);
-      final Instruction next = instructions.get(key);
-      if (next.op == Operation.acc) {
-        ++location;
-        accumulator += next.arg;
-      }
-      else if (next.op == Operation.jmp) {
-        location += next.arg;
-      }
-      else if (next.op == Operation.nop) {
-        ++location;
-      }
-      key = Integer.valueOf(location);
+    final RegisterMachine machine = new RegisterMachine(decode(instructions));
+    // Step one instruction at a time, and stop before any instruction executes a second time.
+    final boolean[] seen = new boolean[instructions.size() + 1];
+    while (!seen[machine.getIp()]) {
+      seen[machine.getIp()] = true;
+      machine.run(1);
     }
-    return accumulator;
+    return machine.getRegister(ACCUMULATOR);
   }
 
   @Solver(part = 2)
@@ -68,41 +58,53 @@ public final class Year2020Day08 {
     final Map<Integer, Instruction> instructions = getInput(pc);
     final Set<Integer> terminals =
       getTerminalInstructions(Integer.valueOf(instructions.size()), instructions, getInstructionMapping(instructions));
-    long accumulator = 0;
-    int location = 0;
-    boolean alreadyUncorrupted = false;
-    while (true) {
-      // Halt condition.
-      if (location == instructions.size()) {
-        break;
-      }
+    final RegisterProgram program = decode(instructions);
+    final RegisterMachine machine = new RegisterMachine(program);
+    while (machine.getIp() < instructions.size()) {
+      final int location = machine.getIp();
       final Instruction next = instructions.get(Integer.valueOf(location));
-      Operation op = next.op;
       // See if uncorrupting the current instruction will result in the next operation being guaranteed to halt. If so,
-      // uncorrupt it and mark a flag so we do not uncorrupt more than one instruction.
-      if (!alreadyUncorrupted) {
-        if (op == Operation.jmp && terminals.contains(Integer.valueOf(location + 1))) {
-          op = Operation.nop;
-          alreadyUncorrupted = true;
-        }
-        else if (op == Operation.nop && terminals.contains(Integer.valueOf(location + next.arg))) {
-          op = Operation.jmp;
-          alreadyUncorrupted = true;
-        }
+      // execute it uncorrupted once, then run the rest of the original program, which is now guaranteed to halt.
+      Operation uncorrupted = null;
+      if (next.op == Operation.jmp && terminals.contains(Integer.valueOf(location + 1))) {
+        uncorrupted = Operation.nop;
       }
-      // Execute the current operation.
-      if (op == Operation.acc) {
-        ++location;
-        accumulator += next.arg;
+      else if (next.op == Operation.nop && terminals.contains(Integer.valueOf(location + next.arg))) {
+        uncorrupted = Operation.jmp;
       }
-      else if (op == Operation.jmp) {
-        location += next.arg;
+      if (uncorrupted == null) {
+        machine.run(1);
       }
-      else if (op == Operation.nop) {
-        ++location;
+      else {
+        set(program, location, uncorrupted, next.arg);
+        machine.run(1);
+        set(program, location, next.op, next.arg);
+        machine.run();
       }
     }
-    return accumulator;
+    return machine.getRegister(ACCUMULATOR);
+  }
+
+  private static final int ACCUMULATOR = 0;
+
+  /** Decode the program for the register machine, which only has the accumulator register. */
+  private RegisterProgram decode(final Map<Integer, Instruction> instructions) {
+    final RegisterProgram program = new RegisterProgram(1);
+    for (int i = 0; i < instructions.size(); ++i) {
+      final Instruction instruction = instructions.get(Integer.valueOf(i));
+      program.add(RegisterMachine.NOP, 0, 0, 0);
+      set(program, i, instruction.op, instruction.arg);
+    }
+    return program;
+  }
+
+  /** Decode one instruction into the program. */
+  private void set(final RegisterProgram program, final int index, final Operation op, final int arg) {
+    switch (op) {
+      case acc -> program.set(index, RegisterMachine.ADD, ACCUMULATOR, ACCUMULATOR, program.constant(arg));
+      case jmp -> program.set(index, RegisterMachine.JMP, 0, 0, program.constant(arg));
+      case nop -> program.set(index, RegisterMachine.NOP, 0, 0, 0);
+    }
   }
 
   /**
@@ -25,6 +25,9 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.LifeGrid;
+import us.coffeecode.advent_of_code.util.LifeGrid.Boundary;
+import us.coffeecode.advent_of_code.util.LifeGrid.Rule;
 
 @AdventOfCodeSolution(year = 2020, day = 11)
 @Component
@@ -35,66 +38,23 @@ public final class Year2020Day11 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    Status[][] newGrid = getInput(pc);
-    Status[][] oldGrid = new Status[newGrid.length][newGrid[0].length];
-    while (!Arrays.deepEquals(oldGrid, newGrid)) {
-      final Status[][] temp = newGrid;
-      newGrid = oldGrid;
-      oldGrid = temp;
-      for (int i = 0; i < oldGrid.length; ++i) {
-        final boolean rowAbove = i > 0;
-        final boolean rowBelow = i < oldGrid.length - 1;
-        for (int j = 0; j < oldGrid[i].length; ++j) {
-          newGrid[i][j] = oldGrid[i][j];
-          // Skip locations that cannot possibly be updated.
-          if (oldGrid[i][j] == Status.NO_SEAT) {
-            continue;
-          }
-          final boolean colLeft = j > 0;
-          final boolean colRight = j < oldGrid[i].length - 1;
-          int neighbors = 0;
-          // Above
-          if (rowAbove && colLeft && (oldGrid[i - 1][j - 1] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-          if (rowAbove && (oldGrid[i - 1][j] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-          if (rowAbove && colRight && (oldGrid[i - 1][j + 1] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-
-          // Even
-          if (colLeft && (oldGrid[i][j - 1] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-          if (colRight && (oldGrid[i][j + 1] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-
-          // Below
-          if (rowBelow && colLeft && (oldGrid[i + 1][j - 1] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-          if (rowBelow && (oldGrid[i + 1][j] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-          if (rowBelow && colRight && (oldGrid[i + 1][j + 1] == Status.OCCUPIED)) {
-            ++neighbors;
-          }
-
-          // Empty and no occupied neighbors -> occupied
-          if ((oldGrid[i][j] == Status.EMPTY) && (neighbors == 0)) {
-            newGrid[i][j] = Status.OCCUPIED;
-          }
-          // Occupied and 4+ occupied neighbors -> empty
-          else if ((oldGrid[i][j] == Status.OCCUPIED) && (neighbors > 3)) {
-            newGrid[i][j] = Status.EMPTY;
-          }
-        }
+    // Seats are cells that are alive while occupied. An empty seat fills up when no neighbor is occupied, and an occupied
+    // seat empties when four or more are. Floor is masked out so it never holds anyone.
+    final Status[][] input = getInput(pc);
+    final boolean[][] seats = new boolean[input.length][input[0].length];
+    final LifeGrid grid = new LifeGrid(input[0].length, input.length, Rule.of("B0/S0123"), Boundary.DEAD);
+    for (int y = 0; y < input.length; ++y) {
+      for (int x = 0; x < input[y].length; ++x) {
+        seats[y][x] = input[y][x] != Status.NO_SEAT;
+        grid.set(x, y, input[y][x] == Status.OCCUPIED);
       }
     }
-    return count(newGrid, Status.OCCUPIED);
+    grid.setMask(seats);
+    boolean changed = true;
+    while (changed) {
+      changed = grid.step();
+    }
+    return grid.count();
   }
 
   @Solver(part = 2)
@@ -17,9 +17,7 @@
 package us.coffeecode.advent_of_code.y2021;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -28,7 +26,7 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
-import us.coffeecode.advent_of_code.util.Point2D;
+import us.coffeecode.advent_of_code.util.IntGrid;
 
 @AdventOfCodeSolution(year = 2021, day = 9)
 @Component
@@ -39,18 +37,18 @@ public final class Year2021Day09 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    final int[][] map = il.linesAs2dIntArrayFromDigits(pc);
+    final IntGrid map = getInput(pc);
+    final int[] neighbors = map.getCardinalOffsets();
     long answer = 0;
-    for (int y = 0; y < map.length; ++y) {
-      x: for (int x = 0; x < map[y].length; ++x) {
-        // Skip this location unless all adjacent locations are greater than it.
-        final Point2D here = new Point2D(x, y);
-        for (final Point2D neighbor : here.getCardinalNeighbors()) {
-          if (neighbor.isIn(map) && (neighbor.get(map) <= here.get(map))) {
+    for (int y = 0; y < map.getHeight(); ++y) {
+      x: for (int i = map.index(0, y), end = i + map.getWidth(); i < end; ++i) {
+        // Skip this location unless all adjacent locations are greater than it. The border is never lower.
+        for (final int offset : neighbors) {
+          if (map.get(i + offset) <= map.get(i)) {
             continue x;
           }
         }
-        answer += here.get(map) + 1;
+        answer += map.get(i) + 1;
       }
     }
     return answer;
@@ -58,15 +56,16 @@ public final class Year2021Day09 {
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    final int[][] map = il.linesAs2dIntArrayFromDigits(pc);
+    final IntGrid map = getInput(pc);
+    final int[] stack = new int[map.getWidth() * map.getHeight()];
     final List<Integer> sizes = new ArrayList<>(230);
 
     // Iterate in reading order and find the next cell that is not a border. Then process the basin which fills it in,
     // guaranteeing that this code does not double-count it.
-    for (int y = 0; y < map.length; ++y) {
-      for (int x = 0; x < map[y].length; ++x) {
-        if (map[y][x] != 9) {
-          sizes.add(processBasinAt(map, new Point2D(x, y)));
+    for (int y = 0; y < map.getHeight(); ++y) {
+      for (int i = map.index(0, y), end = i + map.getWidth(); i < end; ++i) {
+        if (map.get(i) != 9) {
+          sizes.add(processBasinAt(map, i, stack));
         }
       }
     }
@@ -79,28 +78,31 @@ public final class Year2021Day09 {
                 .reduce(1, (a, b) -> (a * b));
   }
 
-  private Integer processBasinAt(final int[][] map, final Point2D point) {
+  private Integer processBasinAt(final IntGrid map, final int index, final int[] stack) {
+    final int[] neighbors = map.getCardinalOffsets();
     int size = 0;
-    final Set<Point2D> processed = new HashSet<>(256);
-    final Set<Point2D> processing = new HashSet<>(32);
-    processing.add(point);
-    while (!processing.isEmpty()) {
-      final Point2D next = processing.iterator()
-                                     .next();
-      processed.add(next);
-      processing.remove(next);
-      if (next.get(map) != 9) {
-        next.set(map, 9);
-        ++size;
-        for (final Point2D neighbor : next.getCardinalNeighbors()) {
-          int value = neighbor.isIn(map) ? neighbor.get(map) : 9;
-          if (!processed.contains(neighbor) && value != 9) {
-            processing.add(neighbor);
-          }
+    int stackSize = 0;
+    // Fill each cell as it goes on the stack, so no cell is pushed twice.
+    map.set(index, 9);
+    stack[stackSize++] = index;
+    while (stackSize > 0) {
+      final int next = stack[--stackSize];
+      ++size;
+      for (final int offset : neighbors) {
+        if (map.get(next + offset) != 9) {
+          map.set(next + offset, 9);
+          stack[stackSize++] = next + offset;
         }
       }
     }
     return Integer.valueOf(size);
   }
 
+  /** Get the height map, with a border of nines so basins stop at the edges. */
+  private IntGrid getInput(final PuzzleContext pc) {
+    final IntGrid map = il.linesAsIntGridFromDigits(pc);
+    map.fillBorder(9);
+    return map;
+  }
+
 }
@@ -16,11 +16,6 @@
  */
 package us.coffeecode.advent_of_code.y2021;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -28,7 +23,7 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
-import us.coffeecode.advent_of_code.util.Point2D;
+import us.coffeecode.advent_of_code.util.IntGrid;
 
 @AdventOfCodeSolution(year = 2021, day = 11)
 @Component
@@ -40,7 +35,7 @@ public final class Year2021Day11 {
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
     long flashes = 0;
-    final int[][] board = il.linesAs2dIntArrayFromDigits(pc);
+    final IntGrid board = getInput(pc);
     for (int i = 0; i < 100; ++i) {
       flashes += iteration(board);
     }
@@ -49,8 +44,8 @@ public final class Year2021Day11 {
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    final int[][] board = il.linesAs2dIntArrayFromDigits(pc);
-    final long boardSize = board.length * board[0].length;
+    final IntGrid board = getInput(pc);
+    final long boardSize = board.getWidth() * board.getHeight();
     for (int i = 1; i < Integer.MAX_VALUE; ++i) {
       final long flashes = iteration(board);
       if (flashes == boardSize) {
@@ -60,45 +55,45 @@ public final class Year2021Day11 {
     return 0;
   }
 
-  private long iteration(final int[][] board) {
-    // Start by incrementing each position by one.
-    for (int y = 0; y < board.length; ++y) {
-      for (int x = 0; x < board[y].length; ++x) {
-        ++board[y][x];
+  private long iteration(final IntGrid board) {
+    final int[] neighbors = board.getAllOffsets();
+    final int[] stack = new int[board.getWidth() * board.getHeight()];
+    int size = 0;
+    // Start by incrementing each position by one. Each octopus that reaches ten flashes, exactly once.
+    for (int y = 0; y < board.getHeight(); ++y) {
+      for (int i = board.index(0, y), end = i + board.getWidth(); i < end; ++i) {
+        if (board.add(i, 1) == 10) {
+          stack[size++] = i;
+        }
       }
     }
-    // Now look for flashes and process each one. An octopus can flash only once per iteration, so track which ones
-    // flashed already so we do not process them again.
-    boolean flashed = true;
-    final Set<Point2D> flashes = new HashSet<>(128);
-    while (flashed) {
-      flashed = false;
-      for (int y = 0; y < board.length; ++y) {
-        for (int x = 0; x < board[y].length; ++x) {
-          // This position flashes: mark it as flashed, reset its energy, then update its neighbors.
-          if (board[y][x] > 9) {
-            final Point2D point = new Point2D(x, y);
-            flashes.add(point);
-            flashed = true;
-            board[y][x] = 0;
-            for (final Delta delta : DELTAS) {
-              final int x1 = x + delta.dx;
-              final int y1 = y + delta.dy;
-              final Point2D neighbor = new Point2D(x1, y1);
-              // Neighbor has not flashed yet, so it is safe to update it. If it already flashed then leave it alone.
-              if (neighbor.isIn(board) && !flashes.contains(neighbor)) {
-                ++board[y1][x1];
-              }
-            }
-          }
+    // Each flash energizes its neighbors, which may flash in turn. Octopuses that already flashed keep counting up past
+    // ten, so they never flash again. The border is so negative that it never reaches ten.
+    int flashes = 0;
+    while (size > 0) {
+      final int flash = stack[--size];
+      ++flashes;
+      for (final int offset : neighbors) {
+        if (board.add(flash + offset, 1) == 10) {
+          stack[size++] = flash + offset;
         }
       }
     }
-    return flashes.size();
+    // Octopuses that flashed reset to zero.
+    for (int y = 0; y < board.getHeight(); ++y) {
+      for (int i = board.index(0, y), end = i + board.getWidth(); i < end; ++i) {
+        if (board.get(i) > 9) {
+          board.set(i, 0);
+        }
+      }
+    }
+    return flashes;
   }
 
-  private record Delta(int dx, int dy) {}
+  private IntGrid getInput(final PuzzleContext pc) {
+    final IntGrid board = il.linesAsIntGridFromDigits(pc);
+    board.fillBorder(Integer.MIN_VALUE);
+    return board;
+  }
 
-  private static final Collection<Delta> DELTAS = List.of(new Delta(-1, -1), new Delta(0, -1), new Delta(1, -1), new Delta(-1, 0),
-    new Delta(1, 0), new Delta(-1, 1), new Delta(0, 1), new Delta(1, 1));
 }
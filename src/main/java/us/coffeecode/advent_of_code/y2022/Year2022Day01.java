@@ -17,6 +17,8 @@
 package us.coffeecode.advent_of_code.y2022;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -45,11 +47,15 @@ public class Year2022Day01 {
     return c[c.length - 1] + c[c.length - 2] + c[c.length - 3];
   }
 
-  /** Get the sum of the calories each elf carries. */
+  /** Get the sum of the calories each elf carries. Streams the input so memory does not grow with the input size. */
   private long[] getCaloriesPerElf(final PuzzleContext pc) {
-    final long[] elves = il.groupsAsLongs(pc, l -> l.stream()
-                                                    .mapToLong(Long::parseLong)
-                                                    .sum());
+    final long[] elves;
+    try (final Stream<List<String>> groups = il.streamGroups(pc)) {
+      elves = groups.mapToLong(l -> l.stream()
+                                     .mapToLong(Long::parseLong)
+                                     .sum())
+                    .toArray();
+    }
     Arrays.sort(elves);
     return elves;
   }
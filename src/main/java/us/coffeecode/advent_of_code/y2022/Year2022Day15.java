@@ -21,7 +21,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -30,17 +29,13 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.IntervalSet;
 import us.coffeecode.advent_of_code.util.Point2D;
-import us.coffeecode.advent_of_code.util.Range;
 
 @AdventOfCodeSolution(year = 2022, day = 15)
 @Component
 public class Year2022Day15 {
 
-  /*
-   * Note: part 1 appears to have an off-by-one error but only with the example input.
-   */
-
   @Autowired
   private InputLoader il;
 
@@ -48,33 +43,21 @@ public class Year2022Day15 {
   public long calculatePart1(final PuzzleContext pc) {
     final int y = pc.getInt("y");
     final List<Input> inputs = il.linesAsObjects(pc, Input::make);
-    final Set<Integer> beacons = inputs.stream()
-                                       .filter(p -> y == p.beacon.getY())
-                                       .mapToInt(p -> p.beacon.getX())
-                                       .boxed()
-                                       .collect(Collectors.toSet());
-    final List<Range> ranges = new ArrayList<>();
+    final IntervalSet covered = new IntervalSet();
     for (final Input input : inputs) {
       final int rowDiff = Math.abs(input.sensor.getY() - y);
       if (rowDiff <= input.range) {
         final int dx = input.range - rowDiff;
-        int x1 = input.sensor.getX() - dx;
-        if (beacons.contains(Integer.valueOf(x1))) {
-          ++x1;
-        }
-        int x2 = input.sensor.getX() + dx;
-        if (beacons.contains(Integer.valueOf(x2))) {
-          --x2;
-        }
-        if (x1 <= x2) {
-          ranges.add(new Range(x1, x2));
-        }
+        covered.add(input.sensor.getX() - dx, input.sensor.getX() + dx);
+      }
+    }
+    // A beacon is where a beacon can be, no matter how many sensors cover it.
+    for (final Input input : inputs) {
+      if (input.beacon.getY() == y) {
+        covered.remove(input.beacon.getX());
       }
     }
-    return Range.merge(ranges)
-                .stream()
-                .mapToLong(Range::sizeInclusive)
-                .sum();
+    return covered.count();
   }
 
   @Solver(part = 2)
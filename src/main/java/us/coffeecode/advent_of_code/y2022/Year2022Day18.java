@@ -17,10 +17,6 @@
 package us.coffeecode.advent_of_code.y2022;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -29,6 +25,8 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.Coordinates;
+import us.coffeecode.advent_of_code.util.LongHashSet;
 import us.coffeecode.advent_of_code.util.Point3D;
 
 @AdventOfCodeSolution(year = 2022, day = 18)
@@ -40,23 +38,24 @@ public class Year2022Day18 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    return calculateSurfaceArea(il.linesAsObjects(pc, Point3D::valueOf));
+    return calculateSurfaceArea(getInput(pc));
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
     final Collection<Point3D> points = il.linesAsObjects(pc, Point3D::valueOf);
+    final LongHashSet cubes = getInput(points);
 
     // Flood-fill the outside.
     final Boundaries b = getBoundaries(points);
-    final Collection<Point3D> filled = floodFill(b, points);
+    final LongHashSet filled = floodFill(b, cubes);
 
     // Invert the filled volume to get the interior points.
-    final Set<Point3D> interior = new HashSet<>();
+    final LongHashSet interior = new LongHashSet();
     for (int x = b.minX; x < b.maxX; ++x) {
       for (int y = b.minY; y < b.maxY; ++y) {
         for (int z = b.minZ; z < b.maxZ; ++z) {
-          final Point3D p = new Point3D(x, y, z);
+          final long p = Coordinates.pack(x, y, z);
           if (!filled.contains(p)) {
             interior.add(p);
           }
@@ -65,13 +64,15 @@ public class Year2022Day18 {
     }
 
     // Answer is the difference between the total surface area and the interior surface area.
-    return calculateSurfaceArea(points) - calculateSurfaceArea(interior);
+    return calculateSurfaceArea(cubes) - calculateSurfaceArea(interior);
   }
 
-  private long calculateSurfaceArea(final Collection<Point3D> points) {
+  private long calculateSurfaceArea(final LongHashSet points) {
+    final long[] neighbors = new long[6];
     long answer = 0;
-    for (final Point3D point : points) {
-      for (final Point3D neighbor : point.getNeighbors()) {
+    for (final long point : points.toArray()) {
+      Coordinates.getNeighbors3D(point, neighbors);
+      for (final long neighbor : neighbors) {
         if (!points.contains(neighbor)) {
           ++answer;
         }
@@ -80,26 +81,43 @@ public class Year2022Day18 {
     return answer;
   }
 
-  private Set<Point3D> floodFill(final Boundaries b, final Collection<Point3D> points) {
-    final Set<Point3D> filled = new HashSet<>(points);
-    final Queue<Point3D> queue = new LinkedList<>();
-    queue.add(new Point3D(b.minX, b.minY, b.minZ));
-    while (!queue.isEmpty()) {
-      final Point3D p = queue.remove();
-      if (!filled.contains(p)) {
-        filled.add(p);
-        for (final Point3D neighbor : p.getNeighbors()) {
-          if (!filled.contains(neighbor) && (b.minX <= neighbor.getX()) && (neighbor.getX() <= b.maxX)
-            && (b.minY <= neighbor.getY()) && (neighbor.getY() <= b.maxY) && (b.minZ <= neighbor.getZ())
-            && (neighbor.getZ() <= b.maxZ)) {
-            queue.add(neighbor);
-          }
+  private LongHashSet floodFill(final Boundaries b, final LongHashSet points) {
+    final LongHashSet filled = new LongHashSet(points);
+    // Each point is queued at most once, so the queue never needs more room than the bounding box.
+    final long[] queue = new long[(b.maxX - b.minX + 1) * (b.maxY - b.minY + 1) * (b.maxZ - b.minZ + 1)];
+    int head = 0;
+    int tail = 0;
+    final long[] neighbors = new long[6];
+    final long start = Coordinates.pack(b.minX, b.minY, b.minZ);
+    filled.add(start);
+    queue[tail++] = start;
+    while (head < tail) {
+      Coordinates.getNeighbors3D(queue[head++], neighbors);
+      for (final long neighbor : neighbors) {
+        final int x = Coordinates.getX3D(neighbor);
+        final int y = Coordinates.getY3D(neighbor);
+        final int z = Coordinates.getZ3D(neighbor);
+        if ((b.minX <= x) && (x <= b.maxX) && (b.minY <= y) && (y <= b.maxY) && (b.minZ <= z) && (z <= b.maxZ)
+          && filled.add(neighbor)) {
+          queue[tail++] = neighbor;
         }
       }
     }
     return filled;
   }
 
+  private LongHashSet getInput(final PuzzleContext pc) {
+    return getInput(il.linesAsObjects(pc, Point3D::valueOf));
+  }
+
+  private LongHashSet getInput(final Collection<Point3D> points) {
+    final LongHashSet cubes = new LongHashSet(points.size());
+    for (final Point3D point : points) {
+      cubes.add(Coordinates.pack(point));
+    }
+    return cubes;
+  }
+
   private Boundaries getBoundaries(final Collection<Point3D> points) {
     int minX = Integer.MAX_VALUE;
     int maxX = Integer.MIN_VALUE;
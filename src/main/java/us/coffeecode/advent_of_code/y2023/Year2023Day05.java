@@ -18,10 +18,10 @@ package us.coffeecode.advent_of_code.y2023;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.SequencedCollection;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -30,6 +30,7 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.LongIntervalSet;
 import us.coffeecode.advent_of_code.util.LongRange;
 
 @AdventOfCodeSolution(year = 2023, day = 5)
@@ -56,63 +57,36 @@ public class Year2023Day05 {
     return calculate(getInput(pc));
   }
 
-  /** Calculate the answer for the given input data. This operates on the entirety of the input data. */
-  private long calculate(final Input in) {
-    long answer = Long.MAX_VALUE;
-    for (final LongRange seeds : in.seeds) {
-      answer = Math.min(answer, calculate(seeds, in.mappings));
-    }
-    return answer;
-  }
-
   /**
-   * Calculate the answer for the given seed range and mappings. This operates on one input range and pushes it through
-   * each of the mappings to get the answer for that specific input range.
+   * Calculate the answer for the given input data. All seed ranges go through the mappings together as one set of values,
+   * and the answer is the smallest value that comes out the other end.
    */
-  private long calculate(final LongRange seeds, final Iterable<? extends Iterable<RangeMapping>> mappings) {
-    SequencedCollection<LongRange> inputs = List.of(seeds);
-    for (final Iterable<RangeMapping> mappingGroup : mappings) {
-      inputs = process(inputs, mappingGroup);
+  private long calculate(final Input in) {
+    LongIntervalSet values = LongIntervalSet.of(in.seeds);
+    for (final Iterable<RangeMapping> mappingGroup : in.mappings) {
+      values = process(values, mappingGroup);
     }
-    return inputs.getFirst()
-                 .getX1();
+    return values.getMin();
   }
 
   /**
-   * Given ranges of inputs, process them through the mapping group and return the unique ranges to which they map. This
-   * is one round of taking an input range or ranges, and pushing it through all of the range mappings for that specific
-   * round.
+   * Given the input values, process them through the mapping group and return the values to which they map. This is one
+   * round of taking the input values and pushing them through all of the range mappings for that specific round.
    */
-  private SequencedCollection<LongRange> process(final SequencedCollection<LongRange> inputs, final Iterable<RangeMapping> mappingGroup) {
-    final Collection<LongRange> result = new ArrayList<>(Math.max(inputs.size(), 32));
-    Collection<LongRange> unmapped = new ArrayList<>(inputs);
+  private LongIntervalSet process(final LongIntervalSet inputs, final Iterable<RangeMapping> mappingGroup) {
+    final LongIntervalSet result = new LongIntervalSet();
+    final LongIntervalSet unmapped = new LongIntervalSet(inputs);
     for (final RangeMapping mapping : mappingGroup) {
-      final Collection<LongRange> nextUnmapped = new ArrayList<>(unmapped.size());
-      for (final LongRange input : unmapped) {
-        // Ranges here are closed intervals.
-        if (input.overlaps(mapping.src)) {
-          // Map the part that overlaps.
-          result.add(input.intersection(mapping.src)
-                          .shift(mapping.shift));
-          // Copy the part below the range, if anything.
-          if (input.getX1() < mapping.src.getX1()) {
-            nextUnmapped.add(new LongRange(input.getX1(), mapping.src.getX1() - 1));
-          }
-          // Copy the part above the range, if anything.
-          if (input.getX2() > mapping.src.getX2()) {
-            nextUnmapped.add(new LongRange(mapping.src.getX2() + 1, input.getX2()));
-          }
-        }
-        // No overlap: don't map anything.
-        else {
-          nextUnmapped.add(input);
-        }
-      }
-      unmapped = nextUnmapped;
+      // Ranges here are closed intervals. Map the part that overlaps, and leave the rest for the next mapping.
+      final long low = mapping.src.getX1();
+      final long high = mapping.src.getX2();
+      unmapped.intersection(low, high)
+              .forEach((x1, x2) -> result.add(x1 + mapping.shift, x2 + mapping.shift));
+      unmapped.remove(low, high);
     }
     // Anything not mapped follows through with its current value.
     result.addAll(unmapped);
-    return LongRange.merge(result);
+    return result;
   }
 
   /** Splits an input line that contains space-separated numbers. */
@@ -121,14 +95,19 @@ public class Year2023Day05 {
   /** Used to strip the prefix from the seeds line, leaving only the numeric data and separators. */
   private static final String SEEDS = "seeds: ";
 
-  /** Parse the entire input, represented as groups of lines. */
+  /** Parse the entire input, represented as groups of lines. The groups are streamed rather than all read up front. */
   private Input getInput(final PuzzleContext pc) {
-    final List<List<String>> groups = il.groups(pc);
+    try (final Stream<List<String>> groups = il.streamGroups(pc)) {
+      return getInput(pc, groups.iterator());
+    }
+  }
 
+  /** Parse the input from an iterator over its groups of lines. */
+  private Input getInput(final PuzzleContext pc, final Iterator<List<String>> groups) {
     // Convert the initial seeds into ranges.
     final List<LongRange> seedRanges;
     {
-      final long[] seedInputs = Arrays.stream(SPLIT.split(groups.getFirst()
+      final long[] seedInputs = Arrays.stream(SPLIT.split(groups.next()
                                                                 .getFirst()
                                                                 .substring(SEEDS.length())))
                                       .mapToLong(Long::parseLong)
@@ -149,9 +128,9 @@ public class Year2023Day05 {
     }
 
     // Convert each block of mappings to objects.
-    final List<List<RangeMapping>> rangeMaps = new ArrayList<>(groups.size() - 1);
-    for (int i = 1; i < groups.size(); ++i) {
-      final List<String> group = groups.get(i);
+    final List<List<RangeMapping>> rangeMaps = new ArrayList<>();
+    while (groups.hasNext()) {
+      final List<String> group = groups.next();
       final List<RangeMapping> rangeMap = new ArrayList<>(group.size() - 1);
       for (int j = 1; j < group.size(); ++j) {
         final long[] values = Arrays.stream(SPLIT.split(group.get(j)))
@@ -16,9 +16,6 @@
  */
 package us.coffeecode.advent_of_code.y2024;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -26,7 +23,8 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
-import us.coffeecode.advent_of_code.util.Point2D;
+import us.coffeecode.advent_of_code.util.IntGrid;
+import us.coffeecode.advent_of_code.util.LongHashSet;
 
 @AdventOfCodeSolution(year = 2024, day = 10)
 @Component
@@ -37,57 +35,64 @@ public class Year2024Day10 {
 
   @Solver(part = 1)
   public long calculatePart1(final PuzzleContext pc) {
-    return calculate(pc, (a, b, c) -> getMaxHeightReachable(a, b, c).size());
+    return calculate(pc, (grid, offsets, trailhead) -> {
+      final LongHashSet reachable = new LongHashSet();
+      addMaxHeightReachable(grid, offsets, trailhead, 0, reachable);
+      return reachable.size();
+    });
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
-    return calculate(pc, (a, b, c) -> countUniqueTrails(a, b, c));
+    return calculate(pc, (grid, offsets, trailhead) -> countUniqueTrails(grid, offsets, trailhead, 0));
   }
 
   /** Calculate the answer using the provided scoring function for each trailhead. */
   public long calculate(final PuzzleContext pc, final Score f) {
-    final int[][] grid = il.linesAs2dIntArrayFromDigits(pc);
+    final IntGrid grid = il.linesAsIntGridFromDigits(pc);
+    // No step leads onto the border.
+    grid.fillBorder(-1);
+    final int[] offsets = grid.getCardinalOffsets();
     long score = 0;
-    for (int y = 0; y < grid.length; ++y) {
-      for (int x = 0; x < grid[y].length; ++x) {
-        final Point2D location = new Point2D(x, y);
-        if (location.get(grid) == 0) {
-          score += f.apply(grid, location, 0);
+    for (int y = 0; y < grid.getHeight(); ++y) {
+      for (int i = grid.index(0, y), end = i + grid.getWidth(); i < end; ++i) {
+        if (grid.get(i) == 0) {
+          score += f.apply(grid, offsets, i);
         }
       }
     }
     return score;
   }
 
-  /** Get the set of unique high points reachable from the given location. */
-  private Set<Point2D> getMaxHeightReachable(final int[][] grid, final Point2D location, final int level) {
-    final Set<Point2D> reachable = new HashSet<>();
+  /** Add the unique high points reachable from the given location to a set of cell indices. */
+  private void addMaxHeightReachable(final IntGrid grid, final int[] offsets, final int location, final int level,
+    final LongHashSet reachable) {
     final int nextLevel = level + 1;
-    for (final Point2D nextLocation : location.getCardinalNeighbors()) {
-      if (nextLocation.isIn(grid) && (nextLocation.get(grid) == nextLevel)) {
+    for (final int offset : offsets) {
+      final int nextLocation = location + offset;
+      if (grid.get(nextLocation) == nextLevel) {
         if (nextLevel == 9) {
           reachable.add(nextLocation);
         }
         else {
-          reachable.addAll(getMaxHeightReachable(grid, nextLocation, nextLevel));
+          addMaxHeightReachable(grid, offsets, nextLocation, nextLevel, reachable);
         }
       }
     }
-    return reachable;
   }
 
   /** Count the number of unique trails from the given location to the highest points. */
-  private long countUniqueTrails(final int[][] grid, final Point2D location, final int level) {
+  private long countUniqueTrails(final IntGrid grid, final int[] offsets, final int location, final int level) {
     long trails = 0;
     final int nextLevel = level + 1;
-    for (final Point2D nextLocation : location.getCardinalNeighbors()) {
-      if (nextLocation.isIn(grid) && (nextLocation.get(grid) == nextLevel)) {
+    for (final int offset : offsets) {
+      final int nextLocation = location + offset;
+      if (grid.get(nextLocation) == nextLevel) {
         if (nextLevel == 9) {
           ++trails;
         }
         else {
-          trails += countUniqueTrails(grid, nextLocation, nextLevel);
+          trails += countUniqueTrails(grid, offsets, nextLocation, nextLevel);
         }
       }
     }
@@ -97,6 +102,6 @@ public class Year2024Day10 {
   @FunctionalInterface
   private static interface Score {
 
-    long apply(final int[][] grid, final Point2D location, final int level);
+    long apply(final IntGrid grid, final int[] offsets, final int trailhead);
   }
 }
@@ -25,7 +25,9 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
-import us.coffeecode.advent_of_code.util.Point2D;
+import us.coffeecode.advent_of_code.util.Coordinates;
+import us.coffeecode.advent_of_code.util.LongHashSet;
+import us.coffeecode.advent_of_code.util.LongLongHashMap;
 
 @AdventOfCodeSolution(year = 2024, day = 16)
 @Component
@@ -38,11 +40,11 @@ public class Year2024Day16 {
   public long calculatePart1(final PuzzleContext pc) {
     final Maze maze = getInput(pc);
     final Queue<State> queue = new PriorityQueue<>();
-    queue.add(new State(Set.of(maze.start), maze.start, Facing.EAST, 0));
-    final Map<CacheKey, Long> bestScores = new HashMap<>();
+    queue.add(new State(visited(maze.start), maze.start, Facing.EAST, 0));
+    final LongLongHashMap bestScores = new LongLongHashMap();
     while (!queue.isEmpty()) {
       final State state = queue.poll();
-      if (state.location.equals(maze.end)) {
+      if (state.location == maze.end) {
         // Queue is sorted: this has to be the best answer.
         return state.score;
       }
@@ -57,17 +59,17 @@ public class Year2024Day16 {
   public long calculatePart2(final PuzzleContext pc) {
     final Maze maze = getInput(pc);
     final Queue<State> queue = new PriorityQueue<>();
-    queue.add(new State(Set.of(maze.start), maze.start, Facing.EAST, 0));
-    final Map<CacheKey, Long> bestScores = new HashMap<>();
+    queue.add(new State(visited(maze.start), maze.start, Facing.EAST, 0));
+    final LongLongHashMap bestScores = new LongLongHashMap();
     OptionalLong lowestScore = OptionalLong.empty();
-    final Set<Point2D> bestPaths = new HashSet<>();
+    final LongHashSet bestPaths = new LongHashSet();
     while (!queue.isEmpty()) {
       final State state = queue.poll();
       // Current best state cannot at least match the best end-state score: quit.
       if (lowestScore.isPresent() && (lowestScore.getAsLong() < state.score)) {
         break;
       }
-      if (state.location.equals(maze.end)) {
+      if (state.location == maze.end) {
         // First time finding the end: this is the best score.
         if (lowestScore.isEmpty()) {
           lowestScore = OptionalLong.of(state.score);
@@ -84,15 +86,21 @@ public class Year2024Day16 {
     return bestPaths.size();
   }
 
-  private Collection<State> getNextStates(final State state, final Maze maze, final Map<CacheKey, Long> bestScores) {
+  private LongHashSet visited(final long location) {
+    final LongHashSet visited = new LongHashSet();
+    visited.add(location);
+    return visited;
+  }
+
+  private Collection<State> getNextStates(final State state, final Maze maze, final LongLongHashMap bestScores) {
     final Collection<State> nextStates = new ArrayList<>(3);
     for (final Facing nextFacing : Facing.values()) {
-      final Point2D nextLocation = nextFacing.apply(state.location);
+      final long nextLocation = nextFacing.apply(state.location);
       // Candidate location must exist in the maze and not already be visited.
       if (maze.locations.contains(nextLocation) && !state.visited.contains(nextLocation)) {
         // Keep moving in the same direction.
         if (nextFacing == state.facing) {
-          final Set<Point2D> nextVisited = new HashSet<>(state.visited);
+          final LongHashSet nextVisited = new LongHashSet(state.visited);
           nextVisited.add(nextLocation);
           nextStates.add(new State(nextVisited, nextLocation, nextFacing, state.score + 1));
         }
@@ -105,13 +113,12 @@ public class Year2024Day16 {
     // Remove any of these next states that can never match the lowest score.
     for (var iter = nextStates.iterator(); iter.hasNext();) {
       final State nextState = iter.next();
-      final CacheKey key = nextState.getCacheKey();
-      if (bestScores.containsKey(key) && bestScores.get(key)
-                                                   .longValue() < nextState.score) {
+      final long key = nextState.getCacheKey();
+      if (bestScores.getOrDefault(key, Long.MAX_VALUE) < nextState.score) {
         iter.remove();
       }
       else {
-        bestScores.put(key, Long.valueOf(nextState.score));
+        bestScores.put(key, nextState.score);
       }
     }
     return nextStates;
@@ -120,21 +127,21 @@ public class Year2024Day16 {
   /** Get the program input, including any optimizations for pruning dead space. */
   private Maze getInput(final PuzzleContext pc) {
     final List<String> lines = il.lines(pc);
-    Point2D start = null;
-    Point2D end = null;
-    final Set<Point2D> points = new HashSet<>(1_024);
+    long start = 0;
+    long end = 0;
+    final LongHashSet points = new LongHashSet(1_024);
     for (int y = 0; y < lines.size(); ++y) {
       final String line = lines.get(y);
       for (int x = 0; x < line.length(); ++x) {
         final int ch = line.codePointAt(x);
         if (ch != '#') {
-          points.add(new Point2D(x, y));
+          points.add(Coordinates.pack(x, y));
         }
         if (ch == 'S') {
-          start = new Point2D(x, y);
+          start = Coordinates.pack(x, y);
         }
         else if (ch == 'E') {
-          end = new Point2D(x, y);
+          end = Coordinates.pack(x, y);
         }
       }
     }
@@ -142,10 +149,10 @@ public class Year2024Day16 {
     boolean updated = true;
     while (updated) {
       updated = false;
-      final Set<Point2D> remove = new HashSet<>();
-      for (final Point2D point : points) {
+      final LongHashSet remove = new LongHashSet();
+      for (final long point : points.toArray()) {
         // Never process the start and end points.
-        if (!point.equals(start) && !point.equals(end)) {
+        if ((point != start) && (point != end)) {
           // If this location has less than two open neighbors, mark it for removal since it is impossible to travel
           // through it.
           int neighbors = 0;
@@ -159,10 +166,9 @@ public class Year2024Day16 {
           }
         }
       }
-      // Remove all locations marked for removal. This cannot be done inside the above loop because it would throw a
-      // ConcurrentModificationException.
+      // Remove all locations marked for removal after the scan, so every location in a pass sees the same maze.
       if (!remove.isEmpty()) {
-        points.removeAll(remove);
+        remove.forEach(points::remove);
         updated = true;
       }
     }
@@ -172,31 +178,32 @@ public class Year2024Day16 {
   /** Represents one direction an actor can face while traversing the maze. */
   private enum Facing {
 
-    NORTH(new Point2D(0, -1)),
-    SOUTH(new Point2D(0, 1)),
-    EAST(new Point2D(1, 0)),
-    WEST(new Point2D(-1, 0));
+    NORTH(0, -1),
+    SOUTH(0, 1),
+    EAST(1, 0),
+    WEST(-1, 0);
 
-    final Point2D delta;
+    final int dx;
 
-    private Facing(final Point2D _delta) {
-      delta = _delta;
+    final int dy;
+
+    private Facing(final int _dx, final int _dy) {
+      dx = _dx;
+      dy = _dy;
     }
 
-    public Point2D apply(final Point2D p) {
-      return p.add(delta);
+    public long apply(final long p) {
+      return Coordinates.pack(Coordinates.getX(p) + dx, Coordinates.getY(p) + dy);
     }
   }
 
-  /** Compound key used in a map that tracks best scores at each location in the maze. */
-  private record CacheKey(Point2D location, Facing facing) {}
-
-  /** Represents one state of maze traversal. */
-  private record State(Set<Point2D> visited, Point2D location, Facing facing, long score)
+  /** Represents one state of maze traversal. Locations are packed coordinates. */
+  private record State(LongHashSet visited, long location, Facing facing, long score)
   implements Comparable<State> {
 
-    public CacheKey getCacheKey() {
-      return new CacheKey(location, facing);
+    /** Get the key used in a map that tracks best scores at each location and facing in the maze. */
+    public long getCacheKey() {
+      return Coordinates.pack(Coordinates.getX(location), Coordinates.getY(location), facing.ordinal());
     }
 
     @Override
@@ -207,5 +214,5 @@ public class Year2024Day16 {
   }
 
   /** Program input containing the traversable locations in the maze and the start and end locations. */
-  private record Maze(Set<Point2D> locations, Point2D start, Point2D end) {}
+  private record Maze(LongHashSet locations, long start, long end) {}
 }
@@ -21,7 +21,6 @@ import java.util.List;
 import java.util.OptionalLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +30,8 @@ import us.coffeecode.advent_of_code.annotation.AdventOfCodeSolution;
 import us.coffeecode.advent_of_code.annotation.Solver;
 import us.coffeecode.advent_of_code.component.InputLoader;
 import us.coffeecode.advent_of_code.component.PuzzleContext;
+import us.coffeecode.advent_of_code.util.RegisterMachine;
+import us.coffeecode.advent_of_code.util.RegisterProgram;
 
 @AdventOfCodeSolution(year = 2024, day = 17)
 @Component
@@ -42,24 +43,24 @@ public class Year2024Day17 {
   @Solver(part = 1)
   public String calculatePart1(final PuzzleContext pc) {
     final State state = getInput(pc);
-    return exec(state.instructions, state.registers);
+    return exec(new RegisterMachine(decode(state.instructions)), state.registers);
   }
 
   @Solver(part = 2)
   public long calculatePart2(final PuzzleContext pc) {
     final State state = getInput(pc);
-    final long[] solutions = solvePart2(state.instructions, state.program);
+    final long[] solutions = solvePart2(new RegisterMachine(decode(state.instructions)), state.program);
     final OptionalLong solution = Arrays.stream(solutions)
                                         .min();
     return solution.isPresent() ? solution.getAsLong() : Long.MIN_VALUE;
   }
 
-  private long[] solvePart2(final int[] instructions, final String needle) {
+  private long[] solvePart2(final RegisterMachine machine, final String needle) {
     final LongStream.Builder a_values = LongStream.builder();
     // Initial case: get all solutions for the final digit
     if (needle.length() == 1) {
       for (long a = 0; a < 8; ++a) {
-        if (needle.equals(exec(instructions, new long[] { a, 0, 0 }))) {
+        if (needle.equals(exec(machine, new long[] { a, 0, 0 }))) {
           a_values.accept(a);
         }
       }
@@ -67,14 +68,14 @@ public class Year2024Day17 {
     // Recursive case: get candidate values recursively, then see what values work for each one.
     else {
       // Get all values that solve the next smaller step.
-      final long[] a_candidates = solvePart2(instructions, needle.substring(2));
+      final long[] a_candidates = solvePart2(machine, needle.substring(2));
       // See what values solve the current step
       for (final long a_candidate : a_candidates) {
         final long a_shifted = (a_candidate << 3);
         for (long i = 0; i < 8; ++i) {
           // Add the bit triplet "i" to the right of "a"
           final long a = (a_shifted | i);
-          if (needle.equals(exec(instructions, new long[] { a, 0, 0 }))) {
+          if (needle.equals(exec(machine, new long[] { a, 0, 0 }))) {
             a_values.accept(a);
           }
         }
@@ -85,62 +86,74 @@ public class Year2024Day17 {
                    .toArray();
   }
 
-  /** Execute the program instructions using the initial register values, returning whatever the program outputs. */
-  private String exec(final int[] ins, final long[] reg) {
-    int ip = 0;
-    final LongStream.Builder builder = LongStream.builder();
-    while (ip < ins.length) {
-      // ADV: A = A / 2^combo
-      if (ins[ip] == 0) {
-        reg[0] = (reg[0] >> combo(ins[ip + 1], reg));
-        ip += 2;
-      }
-      // BXL: B ^= operand
-      else if (ins[ip] == 1) {
-        reg[1] ^= ins[ip + 1];
-        ip += 2;
-      }
-      // BST: B = combo(operand) % 8
-      else if (ins[ip] == 2) {
-        reg[1] = combo(ins[ip + 1], reg) & 7;
-        ip += 2;
-      }
-      // JNZ: if A != 0, set IP to operand
-      else if (ins[ip] == 3) {
-        ip = ((reg[0] == 0) ? (ip + 2) : ins[ip + 1]);
-      }
-      // BXC: B ^= C
-      else if (ins[ip] == 4) {
-        reg[1] ^= reg[2];
-        ip += 2;
+  /** Execute the program using the initial register values, returning whatever the program outputs. */
+  private String exec(final RegisterMachine machine, final long[] reg) {
+    machine.reset();
+    for (int i = 0; i < reg.length; ++i) {
+      machine.setRegister(i, reg[i]);
+    }
+    final StringBuilder str = new StringBuilder(32);
+    while (machine.run() == RegisterMachine.Status.OUTPUT) {
+      if (!str.isEmpty()) {
+        str.append(',');
       }
       // OUT: add (combo % 8) to output
-      else if (ins[ip] == 5) {
-        builder.accept(combo(ins[ip + 1], reg) & 7);
-        ip += 2;
-      }
-      // BDV: B = A / 2^combo
-      else if (ins[ip] == 6) {
-        reg[1] = (reg[0] >> combo(ins[ip + 1], reg));
-        ip += 2;
-      }
-      // CDV: C = A / 2^combo
-      else if (ins[ip] == 7) {
-        reg[2] = (reg[0] >> combo(ins[ip + 1], reg));
-        ip += 2;
+      str.append(machine.getOutput() & 7);
+    }
+    return str.toString();
+  }
+
+  /**
+   * Decode the program for the register machine. Instructions are pairs of numbers, so each pair becomes one instruction
+   * and jump targets are divided by two.
+   */
+  private RegisterProgram decode(final int[] ins) {
+    final RegisterProgram program = new RegisterProgram(3);
+    for (int ip = 0; ip < ins.length; ip += 2) {
+      final int operand = ins[ip + 1];
+      switch (ins[ip]) {
+        // ADV: A = A / 2^combo
+        case 0 -> program.add(RegisterMachine.SHR, A, A, combo(program, operand));
+        // BXL: B ^= operand
+        case 1 -> program.add(RegisterMachine.XOR, B, B, program.constant(operand));
+        // BST: B = combo(operand) % 8
+        case 2 -> program.add(RegisterMachine.AND, B, combo(program, operand), program.constant(7));
+        // JNZ: if A != 0, set IP to operand
+        case 3 -> {
+          if ((operand & 1) != 0) {
+            throw new IllegalArgumentException("Jump to odd address " + operand);
+          }
+          program.add(RegisterMachine.JNZ, 0, A, program.constant((operand - ip) >> 1));
+        }
+        // BXC: B ^= C
+        case 4 -> program.add(RegisterMachine.XOR, B, B, C);
+        // OUT: output combo, which the caller reduces modulo 8
+        case 5 -> program.add(RegisterMachine.OUT, 0, combo(program, operand), 0);
+        // BDV: B = A / 2^combo
+        case 6 -> program.add(RegisterMachine.SHR, B, A, combo(program, operand));
+        // CDV: C = A / 2^combo
+        case 7 -> program.add(RegisterMachine.SHR, C, A, combo(program, operand));
+        default -> throw new IllegalArgumentException("Unknown instruction " + ins[ip]);
       }
     }
-    return builder.build()
-                  .mapToObj(Long::toString)
-                  .collect(Collectors.joining(","));
+    return program;
   }
 
+  private static final int A = 0;
+
+  private static final int B = 1;
+
+  private static final int C = 2;
+
   /**
    * Perform the combo transformation that gets either the input itself or the value of a register depending on the
    * input's value.
    */
-  private long combo(final int input, final long[] registers) {
-    return (input < 4) ? input : registers[input - 4];
+  private int combo(final RegisterProgram program, final int input) {
+    if (input == 7) {
+      throw new IllegalArgumentException("Reserved combo operand 7");
+    }
+    return (input < 4) ? program.constant(input) : input - 4;
   }
 
   private State getInput(final PuzzleContext pc) {
@@ -0,0 +1,278 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+/**
+ * Checks that parsing from mapped bytes behaves exactly like the string-based parsing it replaces: lines like
+ * {@link Files#readAllLines(Path)}, numbers like {@link Long#parseLong(String)}, and digit groups like
+ * {@link InputLoader#DIGITS}.
+ */
+public class TestMappedInput
+extends AbstractTests {
+
+  @TempDir
+  Path directory;
+
+  private Path write(final String content) throws IOException {
+    return Files.write(Files.createTempFile(directory, "input", ".txt"), content.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /** Assert the mapped lines are the same as reading all lines of the file. */
+  private void assertSameLines(final String content) throws IOException {
+    final Path path = write(content);
+    final List<String> expected = Files.readAllLines(path);
+    try (MappedInput input = MappedInput.open(path)) {
+      final List<String> actual = new ArrayList<>();
+      Assertions.assertEquals(expected.size(), input.forEachLine((start, end) -> actual.add(input.toString(start, end))));
+      Assertions.assertEquals(expected, actual);
+      Assertions.assertEquals(expected.size(), input.countLines());
+    }
+  }
+
+  /** Assert the mapped file parses to the same long as the string, or both throw. */
+  private void assertSameLong(final String str) throws IOException {
+    try (MappedInput input = MappedInput.open(write(str))) {
+      long expected = 0;
+      try {
+        expected = Long.parseLong(str);
+      }
+      catch (final NumberFormatException ex) {
+        final NumberFormatException actual =
+          Assertions.assertThrows(NumberFormatException.class, () -> input.parseLong(0, input.size()));
+        Assertions.assertEquals(ex.getMessage(), actual.getMessage());
+        return;
+      }
+      Assertions.assertEquals(expected, input.parseLong(0, input.size()));
+    }
+  }
+
+  /** Assert the mapped file parses to the same int as the string, or both throw. */
+  private void assertSameInt(final String str) throws IOException {
+    try (MappedInput input = MappedInput.open(write(str))) {
+      int expected = 0;
+      try {
+        expected = Integer.parseInt(str);
+      }
+      catch (final NumberFormatException ex) {
+        Assertions.assertThrows(NumberFormatException.class, () -> input.parseInt(0, input.size()));
+        return;
+      }
+      Assertions.assertEquals(expected, input.parseInt(0, input.size()));
+    }
+  }
+
+  /** Assert the mapped digit groups are the same as matching {@link InputLoader#DIGITS}. */
+  private void assertSameDigitGroups(final String content) throws IOException {
+    final int[] expected = InputLoader.DIGITS.matcher(content)
+                                             .results()
+                                             .mapToInt(r -> Integer.parseInt(r.group()))
+                                             .toArray();
+    try (MappedInput input = MappedInput.open(write(content))) {
+      Assertions.assertArrayEquals(expected, input.intsFromDigitGroups());
+    }
+  }
+
+  //
+  // forEachLine
+  //
+
+  @Test
+  public void testLines_lineFeed() throws IOException {
+    assertSameLines("a\nbc\nd");
+  }
+
+  @Test
+  public void testLines_crlf() throws IOException {
+    assertSameLines("a\r\nbc\r\nd\r\n");
+  }
+
+  @Test
+  public void testLines_loneCarriageReturn() throws IOException {
+    assertSameLines("a\rbc\r\rd");
+  }
+
+  @Test
+  public void testLines_crThenCrlf() throws IOException {
+    assertSameLines("a\r\r\nb");
+  }
+
+  @Test
+  public void testLines_trailingNewline() throws IOException {
+    assertSameLines("a\nb\n");
+  }
+
+  @Test
+  public void testLines_trailingBlankLine() throws IOException {
+    assertSameLines("a\nb\n\n");
+  }
+
+  @Test
+  public void testLines_blankLine() throws IOException {
+    assertSameLines("a\n\nb");
+  }
+
+  @Test
+  public void testLines_onlyNewline() throws IOException {
+    assertSameLines("\n");
+  }
+
+  @Test
+  public void testLines_empty() throws IOException {
+    assertSameLines("");
+  }
+
+  //
+  // parseLong
+  //
+
+  @Test
+  public void testParseLong_simple() throws IOException {
+    assertSameLong("12345");
+    assertSameLong("-12345");
+    assertSameLong("0");
+    assertSameLong("-0");
+    assertSameLong("007");
+  }
+
+  @Test
+  public void testParseLong_plus() throws IOException {
+    assertSameLong("+5");
+    assertSameLong("+");
+  }
+
+  @Test
+  public void testParseLong_minus() throws IOException {
+    assertSameLong("-");
+    assertSameLong("--5");
+    assertSameLong("5-");
+  }
+
+  @Test
+  public void testParseLong_empty() throws IOException {
+    assertSameLong("");
+  }
+
+  @Test
+  public void testParseLong_invalid() throws IOException {
+    assertSameLong("1-2");
+    assertSameLong("1 2");
+    assertSameLong(" 12");
+    assertSameLong("12a");
+  }
+
+  @Test
+  public void testParseLong_bounds() throws IOException {
+    assertSameLong(Long.toString(Long.MAX_VALUE));
+    assertSameLong(Long.toString(Long.MIN_VALUE));
+    assertSameLong("+" + Long.MAX_VALUE);
+  }
+
+  @Test
+  public void testParseLong_overflow() throws IOException {
+    assertSameLong("9223372036854775808");
+    assertSameLong("-9223372036854775809");
+    assertSameLong("99999999999999999999");
+    assertSameLong("-99999999999999999999");
+  }
+
+  @Test
+  public void testParseInt_bounds() throws IOException {
+    assertSameInt(Integer.toString(Integer.MAX_VALUE));
+    assertSameInt(Integer.toString(Integer.MIN_VALUE));
+    assertSameInt("2147483648");
+    assertSameInt("-2147483649");
+  }
+
+  @Test
+  public void testLinesAsLongs() throws IOException {
+    final Path path = write("1\r\n-2\r\n" + Long.MIN_VALUE + "\r\n+4\r\n");
+    final long[] expected = Files.readAllLines(path)
+                                 .stream()
+                                 .mapToLong(Long::parseLong)
+                                 .toArray();
+    try (MappedInput input = MappedInput.open(path)) {
+      Assertions.assertArrayEquals(expected, input.linesAsLongs());
+    }
+  }
+
+  @Test
+  public void testLinesAsLongs_blankLine() throws IOException {
+    try (MappedInput input = MappedInput.open(write("1\n\n2\n"))) {
+      Assertions.assertThrows(NumberFormatException.class, () -> input.linesAsLongs());
+    }
+  }
+
+  //
+  // intsFromDigitGroups
+  //
+
+  @Test
+  public void testDigitGroups_separators() throws IOException {
+    assertSameDigitGroups("x=1, y=-2..30\r\nz=+4");
+  }
+
+  @Test
+  public void testDigitGroups_minusBetweenDigits() throws IOException {
+    assertSameDigitGroups("1-2");
+  }
+
+  @Test
+  public void testDigitGroups_trailingMinus() throws IOException {
+    assertSameDigitGroups("5 -");
+    assertSameDigitGroups("5-");
+  }
+
+  @Test
+  public void testDigitGroups_doubleMinus() throws IOException {
+    assertSameDigitGroups("--3 - 4");
+  }
+
+  @Test
+  public void testDigitGroups_none() throws IOException {
+    assertSameDigitGroups("");
+    assertSameDigitGroups("abc\n");
+  }
+
+  @Test
+  public void testDigitGroups_bounds() throws IOException {
+    assertSameDigitGroups(Integer.MIN_VALUE + "," + Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void testIsAscii() throws IOException {
+    try (MappedInput input = MappedInput.open(write("abc\n"))) {
+      Assertions.assertTrue(input.isAscii());
+    }
+    try (MappedInput input = MappedInput.open(Files.write(directory.resolve("utf8.txt"), "é".getBytes(
+      StandardCharsets.UTF_8)))) {
+      Assertions.assertFalse(input.isAscii());
+    }
+  }
+}
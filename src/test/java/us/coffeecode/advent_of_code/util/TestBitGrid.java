@@ -0,0 +1,115 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestBitGrid
+extends AbstractTests {
+
+  private static final boolean[][] ROWS = { { true, false, true }, { false, true, false } };
+
+  @Test
+  public void testFromArray() {
+    final BitGrid grid = new BitGrid(ROWS);
+    Assertions.assertEquals(3, grid.getWidth());
+    Assertions.assertEquals(2, grid.getHeight());
+    Assertions.assertTrue(grid.get(0, 0));
+    Assertions.assertFalse(grid.get(1, 0));
+    Assertions.assertTrue(grid.get(1, 1));
+    Assertions.assertFalse(grid.get(-1, 0));
+    Assertions.assertEquals(3, grid.count());
+    Assertions.assertArrayEquals(ROWS, grid.toArray());
+  }
+
+  @Test
+  public void testSetAndClear() {
+    final BitGrid grid = new BitGrid(3, 2);
+    final int index = grid.index(2, 1);
+    grid.set(index);
+    Assertions.assertTrue(grid.get(2, 1));
+    grid.clear(index);
+    Assertions.assertFalse(grid.get(2, 1));
+    grid.set(2, 1, true);
+    Assertions.assertTrue(grid.get(index));
+    grid.set(index, false);
+    Assertions.assertFalse(grid.get(index));
+  }
+
+  @Test
+  public void testAcrossWords() {
+    // Rows are 102 bits apart, so the grid spans many words and cells straddle word boundaries.
+    final BitGrid grid = new BitGrid(100, 100);
+    for (int y = 0; y < 100; ++y) {
+      grid.set(y, y, true);
+      grid.set(99 - y, y, true);
+    }
+    Assertions.assertEquals(200, grid.count());
+    for (int y = 0; y < 100; ++y) {
+      for (int x = 0; x < 100; ++x) {
+        Assertions.assertEquals((x == y) || (x == 99 - y), grid.get(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testFill() {
+    final BitGrid grid = new BitGrid(3, 2);
+    grid.fillBorder(true);
+    for (int i = 0; i < grid.length(); ++i) {
+      Assertions.assertEquals(grid.isBorder(i), grid.get(i));
+    }
+    Assertions.assertEquals(0, grid.count());
+    grid.fill(true);
+    Assertions.assertEquals(6, grid.count());
+    grid.fillBorder(false);
+    Assertions.assertEquals(6, grid.count());
+    grid.fill(false);
+    Assertions.assertEquals(0, grid.count());
+  }
+
+  @Test
+  public void testCopy() {
+    final BitGrid grid = new BitGrid(ROWS);
+    final BitGrid copy = grid.copy();
+    Assertions.assertEquals(grid, copy);
+    copy.set(1, 0, true);
+    Assertions.assertFalse(grid.get(1, 0));
+    Assertions.assertNotEquals(grid, copy);
+    copy.copyFrom(grid);
+    Assertions.assertEquals(grid, copy);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> copy.copyFrom(new BitGrid(2, 3)));
+  }
+
+  @Test
+  public void testEqualsIgnoresBorder() {
+    final BitGrid a = new BitGrid(ROWS);
+    final BitGrid b = new BitGrid(ROWS);
+    b.fillBorder(true);
+    Assertions.assertEquals(a, b);
+    Assertions.assertEquals(a.hashCode(), b.hashCode());
+  }
+
+  @Test
+  public void testToString() {
+    Assertions.assertEquals("#.#" + System.lineSeparator() + ".#." + System.lineSeparator(), new BitGrid(ROWS).toString());
+  }
+
+}
@@ -0,0 +1,109 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestCoordinates
+extends AbstractTests {
+
+  private static final int[] VALUES = { 0, 1, -1, 7, -7, 1_000, -1_000, Integer.MAX_VALUE, Integer.MIN_VALUE };
+
+  private static final int[] VALUES_3D = { 0, 1, -1, 7, -7, 1_000, -1_000, Coordinates.MAX_3D, Coordinates.MIN_3D };
+
+  @Test
+  public void testPack2D() {
+    for (final int x : VALUES) {
+      for (final int y : VALUES) {
+        final long packed = Coordinates.pack(x, y);
+        Assertions.assertEquals(x, Coordinates.getX(packed));
+        Assertions.assertEquals(y, Coordinates.getY(packed));
+        Assertions.assertEquals(new Point2D(x, y), Coordinates.toPoint2D(packed));
+        Assertions.assertEquals(packed, Coordinates.pack(new Point2D(x, y)));
+      }
+    }
+  }
+
+  @Test
+  public void testPack2DUnique() {
+    final LongHashSet packed = new LongHashSet();
+    for (final int x : VALUES) {
+      for (final int y : VALUES) {
+        Assertions.assertTrue(packed.add(Coordinates.pack(x, y)));
+      }
+    }
+  }
+
+  @Test
+  public void testPack3D() {
+    final LongHashSet unique = new LongHashSet();
+    for (final int x : VALUES_3D) {
+      for (final int y : VALUES_3D) {
+        for (final int z : VALUES_3D) {
+          final long packed = Coordinates.pack(x, y, z);
+          Assertions.assertEquals(x, Coordinates.getX3D(packed));
+          Assertions.assertEquals(y, Coordinates.getY3D(packed));
+          Assertions.assertEquals(z, Coordinates.getZ3D(packed));
+          Assertions.assertEquals(new Point3D(x, y, z), Coordinates.toPoint3D(packed));
+          Assertions.assertEquals(packed, Coordinates.pack(new Point3D(x, y, z)));
+          Assertions.assertTrue(unique.add(packed));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCardinalNeighbors() {
+    final Point2D p = new Point2D(3, -5);
+    final long[] neighbors = new long[4];
+    Assertions.assertEquals(4, Coordinates.getCardinalNeighbors(Coordinates.pack(p), neighbors));
+    Assertions.assertEquals(p.getCardinalNeighbors(), Arrays.stream(neighbors)
+                                                            .mapToObj(Coordinates::toPoint2D)
+                                                            .toList());
+  }
+
+  @Test
+  public void testAllNeighbors() {
+    final Point2D p = new Point2D(-1, 0);
+    final long[] neighbors = new long[8];
+    Assertions.assertEquals(8, Coordinates.getAllNeighbors(Coordinates.pack(p), neighbors));
+    Assertions.assertEquals(p.getAllNeighbors(), Arrays.stream(neighbors)
+                                                       .mapToObj(Coordinates::toPoint2D)
+                                                       .toList());
+  }
+
+  @Test
+  public void testNeighbors3D() {
+    final Point3D p = new Point3D(0, -1, 2);
+    final long[] neighbors = new long[6];
+    Assertions.assertEquals(6, Coordinates.getNeighbors3D(Coordinates.pack(p), neighbors));
+    Assertions.assertEquals(p.getNeighbors(), Arrays.stream(neighbors)
+                                                    .mapToObj(Coordinates::toPoint3D)
+                                                    .toList());
+  }
+
+  @Test
+  public void testToString() {
+    Assertions.assertEquals(new Point2D(4, -2).toString(), Coordinates.toString(Coordinates.pack(4, -2)));
+  }
+
+}
@@ -0,0 +1,148 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+import us.coffeecode.advent_of_code.util.ExecutionMonitor.Cycle;
+import us.coffeecode.advent_of_code.util.RegisterMachine.Status;
+
+public class TestExecutionMonitor
+extends AbstractTests {
+
+  /** Get a sequence that starts at a value and applies a function to get each next value. */
+  private static Supplier<LongSupplier> iterate(final long start, final LongUnaryOperator f) {
+    return () -> {
+      final long[] next = { start };
+      return () -> {
+        final long value = next[0];
+        next[0] = f.applyAsLong(value);
+        return value;
+      };
+    };
+  }
+
+  /** Program that counts a from zero up to three and back down, outputting each value, forever. */
+  private static RegisterProgram bounce() {
+    final RegisterProgram program = new RegisterProgram(3);
+    final int a = 0;
+    final int step = 1;
+    final int t = 2;
+    program.add(RegisterMachine.SET, step, program.constant(1), 0);
+    program.add(RegisterMachine.SET, t, program.constant(0), 0);
+    program.add(RegisterMachine.OUT, 0, a, 0);
+    program.add(RegisterMachine.ADD, a, a, step);
+    program.add(RegisterMachine.EQ, t, a, program.constant(3));
+    program.add(RegisterMachine.JNZ, 0, t, program.constant(2));
+    program.add(RegisterMachine.JMP, 0, 0, program.constant(2));
+    program.add(RegisterMachine.SET, step, program.constant(-1), 0);
+    program.add(RegisterMachine.EQ, t, a, program.constant(0));
+    program.add(RegisterMachine.JNZ, 0, t, program.constant(-9));
+    program.add(RegisterMachine.JMP, 0, 0, program.constant(-8));
+    return program;
+  }
+
+  @Test
+  public void testFindCycleImmediate() {
+    Assertions.assertEquals(new Cycle(0, 1), ExecutionMonitor.findCycle(iterate(5, x -> x)));
+    Assertions.assertEquals(new Cycle(0, 7), ExecutionMonitor.findCycle(iterate(0, x -> (x + 1) % 7)));
+  }
+
+  @Test
+  public void testFindCycleWithTail() {
+    // 0, 1, ... 9, then 10 to 19 repeating.
+    final Cycle cycle = ExecutionMonitor.findCycle(iterate(0, x -> (x < 19) ? x + 1 : 10));
+    Assertions.assertEquals(new Cycle(10, 10), cycle);
+    Assertions.assertEquals(19, cycle.last());
+  }
+
+  @Test
+  public void testFindCycleMatchesBruteForce() {
+    // Pollard's rho sequence, which has a tail before its cycle.
+    for (final long modulus : new long[] { 101, 1_009, 65_537, 1_000_003 }) {
+      final Supplier<LongSupplier> sequences = iterate(3, x -> (x * x + 1) % modulus);
+      final LongSupplier sequence = sequences.get();
+      final Map<Long, Long> indices = new HashMap<>();
+      long index = 0;
+      long value = sequence.getAsLong();
+      while (!indices.containsKey(Long.valueOf(value))) {
+        indices.put(Long.valueOf(value), Long.valueOf(index++));
+        value = sequence.getAsLong();
+      }
+      final long start = indices.get(Long.valueOf(value))
+                                .longValue();
+      Assertions.assertEquals(new Cycle(start, index - start), ExecutionMonitor.findCycle(sequences));
+    }
+  }
+
+  @Test
+  public void testGet() {
+    final Supplier<LongSupplier> sequences = iterate(1, x -> x * 2);
+    Assertions.assertEquals(1, ExecutionMonitor.get(sequences, 0));
+    Assertions.assertEquals(1024, ExecutionMonitor.get(sequences, 10));
+  }
+
+  @Test
+  public void testObserve() {
+    final RegisterMachine machine = new RegisterMachine(bounce());
+    final ExecutionMonitor monitor = new ExecutionMonitor();
+    final long[] expected = { 0, 1, 2, 3, 2, 1 };
+    for (int i = 0; i < expected.length; ++i) {
+      Assertions.assertEquals(Status.OUTPUT, machine.run());
+      Assertions.assertEquals(expected[i], machine.getOutput());
+      Assertions.assertFalse(monitor.observe(machine, 0), "Output " + i);
+    }
+    Assertions.assertEquals(Status.OUTPUT, machine.run());
+    Assertions.assertEquals(0, machine.getOutput());
+    Assertions.assertTrue(monitor.observe(machine, 0));
+    Assertions.assertEquals(6, monitor.getObservations());
+  }
+
+  @Test
+  public void testObserveTag() {
+    final RegisterMachine machine = new RegisterMachine(bounce());
+    final ExecutionMonitor monitor = new ExecutionMonitor();
+    machine.run();
+    Assertions.assertFalse(monitor.observe(machine, 0));
+    Assertions.assertFalse(monitor.observe(machine, 1));
+    Assertions.assertTrue(monitor.observe(machine, 1));
+    monitor.clear();
+    Assertions.assertFalse(monitor.observe(machine, 1));
+  }
+
+  @Test
+  public void testFingerprint() {
+    final RegisterMachine a = new RegisterMachine(bounce());
+    final RegisterMachine b = new RegisterMachine(bounce());
+    Assertions.assertEquals(ExecutionMonitor.fingerprint(a, 0), ExecutionMonitor.fingerprint(b, 0));
+    Assertions.assertNotEquals(ExecutionMonitor.fingerprint(a, 0), ExecutionMonitor.fingerprint(a, 1));
+    b.setRegister(1, 1);
+    Assertions.assertNotEquals(ExecutionMonitor.fingerprint(a, 0), ExecutionMonitor.fingerprint(b, 0));
+    b.setRegister(1, 0);
+    b.setIp(1);
+    Assertions.assertNotEquals(ExecutionMonitor.fingerprint(a, 0), ExecutionMonitor.fingerprint(b, 0));
+  }
+
+}
@@ -0,0 +1,173 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestIntGrid
+extends AbstractTests {
+
+  private static final int[][] ROWS = { { 1, 2, 3 }, { 4, 5, 6 } };
+
+  @Test
+  public void testGeometry() {
+    final IntGrid grid = new IntGrid(3, 2);
+    Assertions.assertEquals(3, grid.getWidth());
+    Assertions.assertEquals(2, grid.getHeight());
+    Assertions.assertEquals(5, grid.getStride());
+    Assertions.assertEquals(20, grid.length());
+    Assertions.assertEquals(6, grid.index(0, 0));
+    Assertions.assertEquals(0, grid.index(-1, -1));
+    Assertions.assertEquals(19, grid.index(3, 2));
+    final int index = grid.index(2, 1);
+    Assertions.assertEquals(2, grid.getX(index));
+    Assertions.assertEquals(1, grid.getY(index));
+    Assertions.assertTrue(grid.isIn(2, 1));
+    Assertions.assertFalse(grid.isIn(3, 1));
+    Assertions.assertFalse(grid.isIn(0, -1));
+    Assertions.assertTrue(grid.isIn(new Point2D(0, 0)));
+  }
+
+  @Test
+  public void testBorder() {
+    final IntGrid grid = new IntGrid(3, 2);
+    int border = 0;
+    for (int i = 0; i < grid.length(); ++i) {
+      if (grid.isBorder(i)) {
+        ++border;
+        Assertions.assertFalse(grid.isIn(grid.getX(i), grid.getY(i)));
+      }
+      else {
+        Assertions.assertTrue(grid.isIn(grid.getX(i), grid.getY(i)));
+      }
+    }
+    Assertions.assertEquals(14, border);
+  }
+
+  @Test
+  public void testCardinalOffsets() {
+    final IntGrid grid = new IntGrid(ROWS);
+    final int center = grid.index(1, 0);
+    final Point2D point = new Point2D(1, 0);
+    final int[] offsets = grid.getCardinalOffsets();
+    int i = 0;
+    for (final Point2D neighbor : point.getCardinalNeighbors()) {
+      Assertions.assertEquals(grid.index(neighbor.getX(), neighbor.getY()), center + offsets[i++]);
+    }
+    Assertions.assertEquals(4, i);
+  }
+
+  @Test
+  public void testAllOffsets() {
+    final IntGrid grid = new IntGrid(ROWS);
+    final int center = grid.index(1, 1);
+    final Point2D point = new Point2D(1, 1);
+    final int[] offsets = grid.getAllOffsets();
+    int i = 0;
+    for (final Point2D neighbor : point.getAllNeighbors()) {
+      Assertions.assertEquals(grid.index(neighbor.getX(), neighbor.getY()), center + offsets[i++]);
+    }
+    Assertions.assertEquals(8, i);
+  }
+
+  @Test
+  public void testFromArray() {
+    final IntGrid grid = new IntGrid(ROWS);
+    Assertions.assertEquals(3, grid.getWidth());
+    Assertions.assertEquals(2, grid.getHeight());
+    Assertions.assertEquals(1, grid.get(0, 0));
+    Assertions.assertEquals(6, grid.get(2, 1));
+    Assertions.assertEquals(0, grid.get(-1, 0));
+    Assertions.assertEquals(0, grid.get(3, 1));
+    Assertions.assertArrayEquals(ROWS, grid.toArray());
+  }
+
+  @Test
+  public void testEmptyArray() {
+    final IntGrid grid = new IntGrid(new int[0][]);
+    Assertions.assertEquals(0, grid.getWidth());
+    Assertions.assertEquals(0, grid.getHeight());
+    Assertions.assertEquals(0, grid.toArray().length);
+  }
+
+  @Test
+  public void testInvalidSize() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new IntGrid(-1, 2));
+  }
+
+  @Test
+  public void testSetAndAdd() {
+    final IntGrid grid = new IntGrid(3, 2);
+    grid.set(1, 1, 7);
+    Assertions.assertEquals(7, grid.get(grid.index(1, 1)));
+    grid.set(grid.index(0, 0), 3);
+    Assertions.assertEquals(3, grid.get(0, 0));
+    Assertions.assertEquals(10, grid.add(grid.index(1, 1), 3));
+    Assertions.assertEquals(10, grid.get(1, 1));
+  }
+
+  @Test
+  public void testFill() {
+    final IntGrid grid = new IntGrid(3, 2);
+    grid.fill(5);
+    grid.fillBorder(-1);
+    for (int i = 0; i < grid.length(); ++i) {
+      Assertions.assertEquals(grid.isBorder(i) ? -1 : 5, grid.get(i));
+    }
+    Assertions.assertEquals(6, grid.count(5));
+    Assertions.assertEquals(0, grid.count(-1));
+  }
+
+  @Test
+  public void testCopy() {
+    final IntGrid grid = new IntGrid(ROWS);
+    grid.fillBorder(9);
+    final IntGrid copy = grid.copy();
+    Assertions.assertEquals(grid, copy);
+    Assertions.assertEquals(9, copy.get(-1, -1));
+    copy.set(0, 0, 100);
+    Assertions.assertEquals(1, grid.get(0, 0));
+    Assertions.assertNotEquals(grid, copy);
+    copy.copyFrom(grid);
+    Assertions.assertEquals(grid, copy);
+  }
+
+  @Test
+  public void testCopyFromDifferentSize() {
+    final IntGrid grid = new IntGrid(3, 2);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> grid.copyFrom(new IntGrid(2, 3)));
+  }
+
+  @Test
+  public void testEqualsIgnoresBorder() {
+    final IntGrid a = new IntGrid(ROWS);
+    final IntGrid b = new IntGrid(ROWS);
+    b.fillBorder(-1);
+    Assertions.assertEquals(a, b);
+    Assertions.assertEquals(a.hashCode(), b.hashCode());
+    Assertions.assertNotEquals(a, new IntGrid(2, 3));
+  }
+
+  @Test
+  public void testToString() {
+    Assertions.assertEquals("1 2 3" + System.lineSeparator() + "4 5 6" + System.lineSeparator(), new IntGrid(ROWS).toString());
+  }
+
+}
@@ -0,0 +1,134 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestIntervalSet
+extends AbstractTests {
+
+  @Test
+  public void testAddAndRemove() {
+    final IntervalSet set = new IntervalSet();
+    set.add(10, 20);
+    set.add(21, 30);
+    set.add(40);
+    Assertions.assertEquals("[10..30, 40..40]", set.toString());
+    set.remove(15, 16);
+    Assertions.assertEquals("[10..14, 17..30, 40..40]", set.toString());
+    Assertions.assertEquals(20, set.count());
+  }
+
+  @Test
+  public void testCountDoesNotOverflow() {
+    final IntervalSet set = new IntervalSet();
+    set.add(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    Assertions.assertEquals(1L << 32, set.count());
+    Assertions.assertEquals("[]", set.complement(0, 10)
+                                     .toString());
+  }
+
+  @Test
+  public void testSetOperations() {
+    final IntervalSet a = IntervalSet.of(List.of(new Range(0, 10), new Range(20, 30)));
+    final IntervalSet b = IntervalSet.of(List.of(new Range(5, 25)));
+    Assertions.assertEquals("[5..10, 20..25]", a.intersection(b)
+                                                .toString());
+    Assertions.assertEquals("[11..19]", a.complement(0, 30)
+                                         .toString());
+    a.addAll(b);
+    Assertions.assertEquals(List.of(new Range(0, 30)), a.toRanges());
+    Assertions.assertEquals(31, a.nextAbsent(3));
+  }
+
+  @Test
+  public void testIntBounds() {
+    final IntervalSet set = new IntervalSet();
+    set.add(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    set.add(Integer.MIN_VALUE);
+    Assertions.assertEquals(Integer.MIN_VALUE, set.getMin());
+    Assertions.assertEquals(Integer.MAX_VALUE, set.getMax());
+    Assertions.assertEquals(Integer.MAX_VALUE, set.getHigh(1));
+    Assertions.assertEquals(Integer.MIN_VALUE + 1, set.nextAbsent(Integer.MIN_VALUE));
+    Assertions.assertThrows(NoSuchElementException.class, () -> set.nextAbsent(Integer.MAX_VALUE - 1));
+    Assertions.assertEquals(List.of(new Range(Integer.MIN_VALUE, Integer.MIN_VALUE),
+      new Range(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)), set.toRanges());
+  }
+
+  @Test
+  public void testForEachGap() {
+    final IntervalSet set = IntervalSet.of(List.of(new Range(Integer.MIN_VALUE, -5), new Range(5, 10)));
+    final List<Range> gaps = new ArrayList<>();
+    set.forEachGap(Integer.MIN_VALUE, Integer.MAX_VALUE, (low, high) -> gaps.add(new Range(low, high)));
+    Assertions.assertEquals(List.of(new Range(-4, 4), new Range(11, Integer.MAX_VALUE)), gaps);
+  }
+
+  @Test
+  public void testOfUnsorted() {
+    final IntervalSet set = IntervalSet.of(Arrays.asList(new Range(20, 30), null, new Range(0, 10), new Range(5, 19)));
+    Assertions.assertEquals(List.of(new Range(0, 30)), set.toRanges());
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    final IntervalSet a = IntervalSet.of(List.of(new Range(0, 10)));
+    final IntervalSet b = new IntervalSet(a);
+    b.remove(5);
+    Assertions.assertEquals(11, a.count());
+    Assertions.assertEquals(10, b.count());
+    Assertions.assertNotEquals(a, b);
+    b.add(5);
+    Assertions.assertEquals(a, b);
+    Assertions.assertEquals(a.hashCode(), b.hashCode());
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    final Random random = new Random(2);
+    final int bound = 200;
+    final IntervalSet set = new IntervalSet();
+    final boolean[] expected = new boolean[bound];
+    for (int i = 0; i < 2_000; ++i) {
+      final int low = random.nextInt(bound);
+      final int high = Math.min(bound - 1, low + random.nextInt(15));
+      final boolean add = random.nextBoolean();
+      if (add) {
+        set.add(low, high);
+      }
+      else {
+        set.remove(low, high);
+      }
+      Arrays.fill(expected, low, high + 1, add);
+    }
+    for (int i = 0; i < bound; ++i) {
+      Assertions.assertEquals(expected[i], set.contains(i));
+    }
+    for (int i = 1; i < set.size(); ++i) {
+      Assertions.assertTrue(set.getHigh(i - 1) + 1 < set.getLow(i));
+    }
+  }
+
+}
@@ -0,0 +1,307 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+import us.coffeecode.advent_of_code.util.LifeGrid.Boundary;
+import us.coffeecode.advent_of_code.util.LifeGrid.Neighborhood;
+import us.coffeecode.advent_of_code.util.LifeGrid.Rule;
+
+public class TestLifeGrid
+extends AbstractTests {
+
+  @Test
+  public void testRuleParse() {
+    final Rule rule = Rule.of("B36/S23");
+    Assertions.assertEquals((1 << 3) | (1 << 6), rule.birth());
+    Assertions.assertEquals((1 << 2) | (1 << 3), rule.survival());
+    Assertions.assertEquals(Neighborhood.MOORE, rule.neighborhood());
+    Assertions.assertEquals("B36/S23", rule.toString());
+    Assertions.assertEquals("B/S", Rule.of("B/S").toString());
+  }
+
+  @Test
+  public void testRuleInvalid() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> Rule.of("23/3"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new Rule(1 << 9, 0, Neighborhood.MOORE));
+  }
+
+  @Test
+  public void testBlinker() {
+    final LifeGrid grid = new LifeGrid(5, 5, Rule.LIFE, Boundary.DEAD);
+    grid.set(1, 2, true);
+    grid.set(2, 2, true);
+    grid.set(3, 2, true);
+    Assertions.assertTrue(grid.step());
+    Assertions.assertEquals(3, grid.count());
+    Assertions.assertTrue(grid.get(2, 1));
+    Assertions.assertTrue(grid.get(2, 2));
+    Assertions.assertTrue(grid.get(2, 3));
+    Assertions.assertFalse(grid.get(1, 2));
+    grid.step();
+    Assertions.assertTrue(grid.get(1, 2));
+    Assertions.assertTrue(grid.get(3, 2));
+  }
+
+  @Test
+  public void testStillLife() {
+    final LifeGrid grid = new LifeGrid(4, 4, Rule.LIFE, Boundary.DEAD);
+    grid.set(1, 1, true);
+    grid.set(1, 2, true);
+    grid.set(2, 1, true);
+    grid.set(2, 2, true);
+    Assertions.assertFalse(grid.step());
+    Assertions.assertEquals(4, grid.count());
+  }
+
+  @Test
+  public void testDeadEdge() {
+    // A blinker on the edge of a bounded grid loses the cell that would be outside it.
+    final LifeGrid grid = new LifeGrid(3, 3, Rule.LIFE, Boundary.DEAD);
+    grid.set(0, 0, true);
+    grid.set(1, 0, true);
+    grid.set(2, 0, true);
+    grid.step();
+    Assertions.assertEquals(2, grid.count());
+    Assertions.assertTrue(grid.get(1, 0));
+    Assertions.assertTrue(grid.get(1, 1));
+  }
+
+  @Test
+  public void testOutOfBounds() {
+    final LifeGrid grid = new LifeGrid(3, 3, Rule.LIFE, Boundary.DEAD);
+    Assertions.assertFalse(grid.get(-1, 5));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> grid.set(3, 0, true));
+  }
+
+  @Test
+  public void testToroidalGlider() {
+    // A glider moves one cell diagonally every four generations, so it returns home after four times the grid size.
+    for (final int size : new int[] { 8, 64, 70 }) {
+      final LifeGrid grid = new LifeGrid(size, size, Rule.LIFE, Boundary.TOROIDAL);
+      setGlider(grid, 0, 0);
+      final boolean[][] start = grid.toArray();
+      grid.step(2);
+      Assertions.assertEquals(5, grid.count());
+      grid.step(4 * size - 2);
+      Assertions.assertArrayEquals(start, grid.toArray());
+    }
+  }
+
+  @Test
+  public void testInfiniteGlider() {
+    final LifeGrid grid = new LifeGrid(3, 3, Rule.LIFE, Boundary.INFINITE);
+    setGlider(grid, 0, 0);
+    grid.step(400);
+    Assertions.assertEquals(5, grid.count());
+    // After 400 generations, the glider moved 100 cells down and to the right.
+    Assertions.assertTrue(grid.get(101, 100));
+    Assertions.assertTrue(grid.get(102, 101));
+    Assertions.assertTrue(grid.get(100, 102));
+    Assertions.assertTrue(grid.get(101, 102));
+    Assertions.assertTrue(grid.get(102, 102));
+  }
+
+  @Test
+  public void testInfiniteNegative() {
+    final LifeGrid grid = new LifeGrid(1, 1, Rule.LIFE, Boundary.INFINITE);
+    grid.set(-10, -20, true);
+    grid.set(-9, -20, true);
+    grid.set(-8, -20, true);
+    Assertions.assertTrue(grid.getMinX() < -10);
+    Assertions.assertTrue(grid.getMinY() < -20);
+    grid.step();
+    Assertions.assertTrue(grid.get(-9, -21));
+    Assertions.assertTrue(grid.get(-9, -19));
+    Assertions.assertEquals(3, grid.count());
+  }
+
+  @Test
+  public void testMask() {
+    // B0 would fill the grid, but the mask allows only a checkerboard.
+    final boolean[][] mask = new boolean[4][4];
+    for (int y = 0; y < 4; ++y) {
+      for (int x = 0; x < 4; ++x) {
+        mask[y][x] = ((x + y) & 1) == 0;
+      }
+    }
+    final LifeGrid grid = new LifeGrid(4, 4, Rule.of("B0/S012345678"), Boundary.DEAD);
+    grid.set(1, 0, true);
+    grid.setMask(mask);
+    Assertions.assertEquals(0, grid.count());
+    grid.step();
+    Assertions.assertArrayEquals(mask, grid.toArray());
+    grid.set(1, 0, true);
+    Assertions.assertFalse(grid.get(1, 0));
+  }
+
+  @Test
+  public void testMaskInfinite() {
+    final LifeGrid grid = new LifeGrid(2, 2, Rule.LIFE, Boundary.INFINITE);
+    Assertions.assertThrows(IllegalStateException.class, () -> grid.setMask(new boolean[2][2]));
+  }
+
+  @Test
+  public void testInfiniteGrowsOnlyWhereNeeded() {
+    final LifeGrid grid = new LifeGrid(1, 1, Rule.LIFE, Boundary.INFINITE);
+    grid.set(10_000, 0, true);
+    Assertions.assertTrue(grid.get(10_000, 0));
+    Assertions.assertTrue(grid.getMinX() + grid.getWidth() > 10_001);
+    Assertions.assertEquals(0, grid.getMinX());
+    Assertions.assertTrue(grid.getHeight() <= 2 * 64 + 1);
+    grid.set(0, -10_000, true);
+    Assertions.assertTrue(grid.getMinY() < -10_000);
+    Assertions.assertTrue(grid.getWidth() <= 10_001 + 2 * 64);
+    Assertions.assertEquals(2, grid.count());
+  }
+
+  @Test
+  public void testInfiniteGrowsUpAndLeft() {
+    final LifeGrid grid = new LifeGrid(3, 3, Rule.LIFE, Boundary.INFINITE);
+    // Glider heading up and to the left.
+    grid.set(1, 2, true);
+    grid.set(0, 1, true);
+    grid.set(2, 0, true);
+    grid.set(1, 0, true);
+    grid.set(0, 0, true);
+    grid.step(400);
+    Assertions.assertEquals(5, grid.count());
+    Assertions.assertTrue(grid.get(-99, -98));
+    Assertions.assertTrue(grid.get(-100, -99));
+    Assertions.assertTrue(grid.get(-98, -100));
+    Assertions.assertTrue(grid.get(-99, -100));
+    Assertions.assertTrue(grid.get(-100, -100));
+  }
+
+  @Test
+  public void testMatchesReference() {
+    final Random random = new Random(1);
+    final Rule[] rules = { Rule.LIFE, Rule.of("B36/S23"), Rule.of("B0123/S45678"), Rule.of("B12/S1", Neighborhood.VON_NEUMANN),
+      Rule.of("B024/S13", Neighborhood.VON_NEUMANN) };
+    for (final Rule rule : rules) {
+      for (final Boundary boundary : new Boundary[] { Boundary.DEAD, Boundary.TOROIDAL }) {
+        for (final int width : new int[] { 1, 5, 63, 64, 65, 130 }) {
+          final boolean[][] cells = new boolean[7][width];
+          for (final boolean[] row : cells) {
+            for (int x = 0; x < width; ++x) {
+              row[x] = random.nextBoolean();
+            }
+          }
+          final LifeGrid grid = new LifeGrid(cells, rule, boundary);
+          boolean[][] expected = cells;
+          for (int i = 0; i < 5; ++i) {
+            expected = reference(expected, rule, boundary);
+            grid.step();
+            Assertions.assertArrayEquals(expected, grid.toArray(), rule + " " + boundary + " " + width);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testMaskMatchesReference() {
+    final Random random = new Random(2);
+    final Rule rule = Rule.of("B0/S0123");
+    final boolean[][] mask = new boolean[9][70];
+    final boolean[][] cells = new boolean[9][70];
+    for (int y = 0; y < 9; ++y) {
+      for (int x = 0; x < 70; ++x) {
+        mask[y][x] = random.nextInt(8) > 0;
+        cells[y][x] = mask[y][x] && random.nextBoolean();
+      }
+    }
+    final LifeGrid grid = new LifeGrid(cells, rule, Boundary.DEAD);
+    grid.setMask(mask);
+    boolean[][] expected = cells;
+    for (int i = 0; i < 10; ++i) {
+      expected = reference(expected, rule, Boundary.DEAD);
+      for (int y = 0; y < 9; ++y) {
+        for (int x = 0; x < 70; ++x) {
+          expected[y][x] &= mask[y][x];
+        }
+      }
+      grid.step();
+      Assertions.assertArrayEquals(expected, grid.toArray());
+    }
+  }
+
+  @Test
+  public void testEquals() {
+    final LifeGrid a = new LifeGrid(5, 5, Rule.LIFE, Boundary.DEAD);
+    final LifeGrid b = new LifeGrid(5, 5, Rule.LIFE, Boundary.DEAD);
+    a.set(1, 1, true);
+    Assertions.assertNotEquals(a, b);
+    b.set(1, 1, true);
+    Assertions.assertEquals(a, b);
+    Assertions.assertEquals(a.hashCode(), b.hashCode());
+  }
+
+  @Test
+  public void testToString() {
+    final LifeGrid grid = new LifeGrid(new boolean[][] { { true, false }, { false, true } }, Rule.LIFE, Boundary.DEAD);
+    Assertions.assertEquals("#." + System.lineSeparator() + ".#" + System.lineSeparator(), grid.toString());
+  }
+
+  private static void setGlider(final LifeGrid grid, final int x, final int y) {
+    grid.set(x + 1, y, true);
+    grid.set(x + 2, y + 1, true);
+    grid.set(x, y + 2, true);
+    grid.set(x + 1, y + 2, true);
+    grid.set(x + 2, y + 2, true);
+  }
+
+  /** Compute a generation one cell at a time. */
+  private static boolean[][] reference(final boolean[][] cells, final Rule rule, final Boundary boundary) {
+    final int height = cells.length;
+    final int width = cells[0].length;
+    final boolean[][] result = new boolean[height][width];
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        int count = 0;
+        for (int dy = -1; dy <= 1; ++dy) {
+          for (int dx = -1; dx <= 1; ++dx) {
+            if (((dx == 0) && (dy == 0)) || ((rule.neighborhood() == Neighborhood.VON_NEUMANN) && (dx != 0) && (dy != 0))) {
+              continue;
+            }
+            int nx = x + dx;
+            int ny = y + dy;
+            if (boundary == Boundary.TOROIDAL) {
+              nx = Math.floorMod(nx, width);
+              ny = Math.floorMod(ny, height);
+            }
+            else if ((nx < 0) || (nx >= width) || (ny < 0) || (ny >= height)) {
+              continue;
+            }
+            if (cells[ny][nx]) {
+              ++count;
+            }
+          }
+        }
+        final int mask = cells[y][x] ? rule.survival() : rule.birth();
+        result[y][x] = (mask & (1 << count)) != 0;
+      }
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,192 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestLongHashSet
+extends AbstractTests {
+
+  @Test
+  public void testEmpty() {
+    final LongHashSet set = new LongHashSet();
+    Assertions.assertTrue(set.isEmpty());
+    Assertions.assertEquals(0, set.size());
+    Assertions.assertFalse(set.contains(0));
+    Assertions.assertFalse(set.contains(1));
+    Assertions.assertArrayEquals(new long[0], set.toArray());
+  }
+
+  @Test
+  public void testAdd() {
+    final LongHashSet set = new LongHashSet();
+    Assertions.assertTrue(set.add(42));
+    Assertions.assertFalse(set.add(42));
+    Assertions.assertTrue(set.contains(42));
+    Assertions.assertFalse(set.contains(43));
+    Assertions.assertEquals(1, set.size());
+    Assertions.assertFalse(set.isEmpty());
+  }
+
+  @Test
+  public void testZero() {
+    final LongHashSet set = new LongHashSet();
+    Assertions.assertTrue(set.add(0));
+    Assertions.assertFalse(set.add(0));
+    Assertions.assertTrue(set.contains(0));
+    Assertions.assertEquals(1, set.size());
+    Assertions.assertArrayEquals(new long[] { 0 }, set.toArray());
+  }
+
+  @Test
+  public void testExtremes() {
+    final LongHashSet set = new LongHashSet();
+    set.add(Long.MIN_VALUE);
+    set.add(Long.MAX_VALUE);
+    set.add(-1);
+    Assertions.assertTrue(set.contains(Long.MIN_VALUE));
+    Assertions.assertTrue(set.contains(Long.MAX_VALUE));
+    Assertions.assertTrue(set.contains(-1));
+    Assertions.assertEquals("[-9223372036854775808, -1, 9223372036854775807]", set.toString());
+  }
+
+  @Test
+  public void testGrow() {
+    final LongHashSet set = new LongHashSet(1);
+    for (long i = 0; i < 100_000; ++i) {
+      Assertions.assertTrue(set.add(i << 32));
+    }
+    Assertions.assertEquals(100_000, set.size());
+    for (long i = 0; i < 100_000; ++i) {
+      Assertions.assertTrue(set.contains(i << 32));
+      Assertions.assertFalse(set.contains((i << 32) + 1));
+    }
+  }
+
+  @Test
+  public void testMatchesHashSet() {
+    final Random random = new Random(2016);
+    final LongHashSet set = new LongHashSet();
+    final Set<Long> expected = new HashSet<>();
+    for (int i = 0; i < 10_000; ++i) {
+      final long value = random.nextInt(5_000) - 2_500;
+      Assertions.assertEquals(expected.add(Long.valueOf(value)), set.add(value));
+    }
+    Assertions.assertEquals(expected.size(), set.size());
+    for (final long value : set.toArray()) {
+      Assertions.assertTrue(expected.contains(Long.valueOf(value)));
+    }
+  }
+
+  @Test
+  public void testRemove() {
+    final LongHashSet set = new LongHashSet();
+    set.add(0);
+    set.add(5);
+    Assertions.assertTrue(set.remove(0));
+    Assertions.assertFalse(set.remove(0));
+    Assertions.assertTrue(set.remove(5));
+    Assertions.assertFalse(set.remove(5));
+    Assertions.assertTrue(set.isEmpty());
+  }
+
+  @Test
+  public void testRemoveMatchesHashSet() {
+    // Values that collide in a small table exercise moving later values back into the gap a removal leaves.
+    final Random random = new Random(2022);
+    final LongHashSet set = new LongHashSet();
+    final Set<Long> expected = new HashSet<>();
+    for (int i = 0; i < 50_000; ++i) {
+      final long value = random.nextInt(200) - 100;
+      if (random.nextBoolean()) {
+        Assertions.assertEquals(expected.add(Long.valueOf(value)), set.add(value));
+      }
+      else {
+        Assertions.assertEquals(expected.remove(Long.valueOf(value)), set.remove(value));
+      }
+    }
+    Assertions.assertEquals(expected.size(), set.size());
+    for (long value = -100; value < 100; ++value) {
+      Assertions.assertEquals(expected.contains(Long.valueOf(value)), set.contains(value));
+    }
+  }
+
+  @Test
+  public void testCopy() {
+    final LongHashSet set = new LongHashSet();
+    set.add(0);
+    set.add(1);
+    final LongHashSet copy = new LongHashSet(set);
+    copy.add(2);
+    set.remove(1);
+    Assertions.assertEquals("[0, 1, 2]", copy.toString());
+    Assertions.assertEquals("[0]", set.toString());
+  }
+
+  @Test
+  public void testAddAll() {
+    final LongHashSet a = new LongHashSet();
+    a.add(1);
+    a.add(2);
+    final LongHashSet b = new LongHashSet();
+    b.add(0);
+    b.add(2);
+    b.add(3);
+    a.addAll(b);
+    Assertions.assertEquals("[0, 1, 2, 3]", a.toString());
+  }
+
+  @Test
+  public void testForEach() {
+    final LongHashSet set = new LongHashSet();
+    set.add(0);
+    set.add(-4);
+    set.add(4);
+    final long[] sum = { 0, 0 };
+    set.forEach(value -> {
+      sum[0] += value * value;
+      ++sum[1];
+    });
+    Assertions.assertEquals(32, sum[0]);
+    Assertions.assertEquals(3, sum[1]);
+  }
+
+  @Test
+  public void testClear() {
+    final LongHashSet set = new LongHashSet();
+    set.add(0);
+    set.add(7);
+    set.clear();
+    Assertions.assertTrue(set.isEmpty());
+    Assertions.assertFalse(set.contains(0));
+    Assertions.assertFalse(set.contains(7));
+    Assertions.assertTrue(set.add(7));
+  }
+
+  @Test
+  public void testNegativeSize() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1));
+  }
+
+}
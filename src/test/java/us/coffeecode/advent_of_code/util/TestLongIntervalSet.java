@@ -0,0 +1,258 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestLongIntervalSet
+extends AbstractTests {
+
+  @Test
+  public void testEmpty() {
+    final LongIntervalSet set = new LongIntervalSet();
+    Assertions.assertTrue(set.isEmpty());
+    Assertions.assertEquals(0, set.size());
+    Assertions.assertEquals(0, set.count());
+    Assertions.assertFalse(set.contains(0));
+    Assertions.assertEquals(5, set.nextAbsent(5));
+    Assertions.assertThrows(NoSuchElementException.class, set::getMin);
+    Assertions.assertEquals("[]", set.toString());
+  }
+
+  @Test
+  public void testAddMergesOverlapping() {
+    final LongIntervalSet set = new LongIntervalSet();
+    Assertions.assertTrue(set.add(10, 20));
+    Assertions.assertTrue(set.add(15, 25));
+    Assertions.assertEquals("[10..25]", set.toString());
+    Assertions.assertFalse(set.add(12, 18));
+    Assertions.assertEquals(1, set.size());
+    Assertions.assertEquals(16, set.count());
+  }
+
+  @Test
+  public void testAddMergesAdjacent() {
+    final LongIntervalSet set = new LongIntervalSet();
+    set.add(1, 3);
+    set.add(7, 9);
+    Assertions.assertEquals(2, set.size());
+    set.add(4, 6);
+    Assertions.assertEquals("[1..9]", set.toString());
+  }
+
+  @Test
+  public void testAddSpansMany() {
+    final LongIntervalSet set = new LongIntervalSet();
+    for (int i = 0; i < 100; i += 4) {
+      set.add(i, i + 1);
+    }
+    Assertions.assertEquals(25, set.size());
+    set.add(10, 50);
+    Assertions.assertEquals("[0..1, 4..5, 8..50, 52..53, 56..57]", set.intersection(0, 57)
+                                                                      .toString());
+  }
+
+  @Test
+  public void testRemoveSplits() {
+    final LongIntervalSet set = new LongIntervalSet();
+    set.add(0, 100);
+    Assertions.assertTrue(set.remove(40, 60));
+    Assertions.assertEquals("[0..39, 61..100]", set.toString());
+    Assertions.assertFalse(set.remove(45));
+    Assertions.assertTrue(set.remove(30, 70));
+    Assertions.assertEquals("[0..29, 71..100]", set.toString());
+    Assertions.assertTrue(set.remove(-5, 29));
+    Assertions.assertEquals("[71..100]", set.toString());
+  }
+
+  @Test
+  public void testContains() {
+    final LongIntervalSet set = new LongIntervalSet();
+    set.add(10, 20);
+    set.add(30, 40);
+    Assertions.assertTrue(set.contains(10));
+    Assertions.assertTrue(set.contains(20));
+    Assertions.assertFalse(set.contains(21));
+    Assertions.assertTrue(set.containsAll(31, 39));
+    Assertions.assertFalse(set.containsAll(15, 35));
+    Assertions.assertTrue(set.containsAny(15, 35));
+    Assertions.assertFalse(set.containsAny(21, 29));
+  }
+
+  @Test
+  public void testNextAbsent() {
+    final LongIntervalSet set = new LongIntervalSet();
+    set.add(0, 5);
+    set.add(7, 9);
+    Assertions.assertEquals(6, set.nextAbsent(0));
+    Assertions.assertEquals(6, set.nextAbsent(6));
+    Assertions.assertEquals(10, set.nextAbsent(7));
+    set.add(20, Long.MAX_VALUE);
+    Assertions.assertThrows(NoSuchElementException.class, () -> set.nextAbsent(30));
+  }
+
+  @Test
+  public void testExtremes() {
+    final LongIntervalSet set = new LongIntervalSet();
+    set.add(Long.MIN_VALUE, -1);
+    set.add(0, Long.MAX_VALUE);
+    Assertions.assertEquals(1, set.size());
+    Assertions.assertThrows(ArithmeticException.class, set::count);
+    set.remove(Long.MIN_VALUE);
+    set.remove(Long.MAX_VALUE);
+    Assertions.assertEquals(Long.MIN_VALUE + 1, set.getMin());
+    Assertions.assertEquals(Long.MAX_VALUE - 1, set.getMax());
+    Assertions.assertEquals("[]", set.complement(Long.MIN_VALUE + 1, Long.MAX_VALUE - 1)
+                                     .toString());
+  }
+
+  @Test
+  public void testComplement() {
+    final LongIntervalSet set = new LongIntervalSet();
+    set.add(5, 10);
+    set.add(20, 30);
+    Assertions.assertEquals("[0..4, 11..19, 31..40]", set.complement(0, 40)
+                                                         .toString());
+    Assertions.assertEquals("[11..19]", set.complement(7, 25)
+                                           .toString());
+    Assertions.assertEquals("[50..60]", set.complement(50, 60)
+                                           .toString());
+  }
+
+  @Test
+  public void testForEachGap() {
+    final LongIntervalSet set = new LongIntervalSet();
+    set.add(5, 10);
+    set.add(12, 12);
+    final List<String> gaps = new ArrayList<>();
+    set.forEachGap(0, 20, (low, high) -> gaps.add(low + "-" + high));
+    Assertions.assertEquals(List.of("0-4", "11-11", "13-20"), gaps);
+  }
+
+  @Test
+  public void testIntersection() {
+    final LongIntervalSet a = new LongIntervalSet();
+    a.add(0, 10);
+    a.add(20, 30);
+    final LongIntervalSet b = new LongIntervalSet();
+    b.add(5, 25);
+    b.add(28, 40);
+    Assertions.assertEquals("[5..10, 20..25, 28..30]", a.intersection(b)
+                                                        .toString());
+    Assertions.assertEquals(a.intersection(b), b.intersection(a));
+  }
+
+  @Test
+  public void testAddAllAndRemoveAll() {
+    final LongIntervalSet a = new LongIntervalSet();
+    a.add(0, 10);
+    a.add(20, 30);
+    final LongIntervalSet b = new LongIntervalSet();
+    b.add(11, 15);
+    b.add(40, 50);
+    final LongIntervalSet c = new LongIntervalSet(a);
+    c.addAll(b);
+    Assertions.assertEquals("[0..15, 20..30, 40..50]", c.toString());
+    c.addAll(c);
+    Assertions.assertEquals(3, c.size());
+    c.removeAll(b);
+    Assertions.assertEquals(a, c);
+    c.removeAll(c);
+    Assertions.assertTrue(c.isEmpty());
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    final LongIntervalSet a = new LongIntervalSet();
+    a.add(0, 10);
+    final LongIntervalSet b = new LongIntervalSet(a);
+    b.add(11, 12);
+    Assertions.assertEquals("[0..10]", a.toString());
+    Assertions.assertNotEquals(a, b);
+  }
+
+  @Test
+  public void testOf() {
+    final LongIntervalSet set = LongIntervalSet.of(Arrays.asList(new LongRange(10, 20), null, new LongRange(0, 5),
+      new LongRange(6, 8), new LongRange(15, 30)));
+    Assertions.assertEquals("[0..8, 10..30]", set.toString());
+    Assertions.assertEquals(List.of(new LongRange(0, 8), new LongRange(10, 30)), set.toRanges());
+    Assertions.assertEquals(0, set.getLow(0));
+    Assertions.assertEquals(30, set.getHigh(1));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> set.getLow(2));
+  }
+
+  @Test
+  public void testInvalid() {
+    final LongIntervalSet set = new LongIntervalSet();
+    Assertions.assertThrows(IllegalArgumentException.class, () -> set.add(5, 4));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> set.remove(5, 4));
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    final Random random = new Random(1);
+    final int bound = 300;
+    final LongIntervalSet set = new LongIntervalSet();
+    final boolean[] expected = new boolean[bound];
+    for (int i = 0; i < 5_000; ++i) {
+      final int low = random.nextInt(bound);
+      final int high = Math.min(bound - 1, low + random.nextInt(20));
+      final boolean add = random.nextInt(3) > 0;
+      if (add) {
+        set.add(low, high);
+      }
+      else {
+        set.remove(low, high);
+      }
+      Arrays.fill(expected, low, high + 1, add);
+      if ((i & 63) == 0) {
+        check(expected, set);
+      }
+    }
+    check(expected, set);
+  }
+
+  private static void check(final boolean[] expected, final LongIntervalSet set) {
+    long count = 0;
+    for (int i = 0; i < expected.length; ++i) {
+      Assertions.assertEquals(expected[i], set.contains(i));
+      if (expected[i]) {
+        ++count;
+      }
+    }
+    Assertions.assertEquals(count, set.count());
+    // Intervals are sorted and never touch.
+    for (int i = 1; i < set.size(); ++i) {
+      Assertions.assertTrue(set.getHigh(i - 1) + 1 < set.getLow(i));
+    }
+    final LongIntervalSet complement = set.complement(0, expected.length - 1);
+    for (int i = 0; i < expected.length; ++i) {
+      Assertions.assertEquals(!expected[i], complement.contains(i));
+    }
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestLongLongHashMap
+extends AbstractTests {
+
+  @Test
+  public void testEmpty() {
+    final LongLongHashMap map = new LongLongHashMap();
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertEquals(0, map.size());
+    Assertions.assertFalse(map.containsKey(0));
+    Assertions.assertEquals(-1, map.getOrDefault(0, -1));
+    Assertions.assertEquals(-1, map.getOrDefault(5, -1));
+    Assertions.assertEquals("{}", map.toString());
+  }
+
+  @Test
+  public void testPut() {
+    final LongLongHashMap map = new LongLongHashMap();
+    Assertions.assertTrue(map.put(5, 10));
+    Assertions.assertFalse(map.put(5, 20));
+    Assertions.assertEquals(20, map.getOrDefault(5, -1));
+    Assertions.assertTrue(map.containsKey(5));
+    Assertions.assertFalse(map.containsKey(6));
+    Assertions.assertEquals(1, map.size());
+  }
+
+  @Test
+  public void testZeroKey() {
+    final LongLongHashMap map = new LongLongHashMap();
+    Assertions.assertTrue(map.put(0, 3));
+    Assertions.assertFalse(map.put(0, 4));
+    Assertions.assertEquals(4, map.getOrDefault(0, -1));
+    Assertions.assertEquals(1, map.size());
+    Assertions.assertArrayEquals(new long[] { 0 }, map.keys());
+    Assertions.assertTrue(map.remove(0));
+    Assertions.assertFalse(map.remove(0));
+    Assertions.assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testAddTo() {
+    final LongLongHashMap map = new LongLongHashMap();
+    Assertions.assertEquals(2, map.addTo(Coordinates.pack(1, 1), 2));
+    Assertions.assertEquals(5, map.addTo(Coordinates.pack(1, 1), 3));
+    Assertions.assertEquals(-1, map.addTo(0, -1));
+    Assertions.assertEquals(2, map.size());
+  }
+
+  @Test
+  public void testValuesFollowKeys() {
+    // Probing, removal, and growth are covered by TestLongHashSet. This checks that values move along with their keys.
+    final LongLongHashMap map = new LongLongHashMap(1);
+    for (long key = -500; key < 500; ++key) {
+      map.put(key, key * 3);
+    }
+    for (long key = -500; key < 500; key += 3) {
+      Assertions.assertTrue(map.remove(key));
+    }
+    for (long key = -500; key < 500; ++key) {
+      Assertions.assertEquals(((key + 500) % 3 == 0) ? -1 : key * 3, map.getOrDefault(key, -1));
+    }
+    final long[] count = { 0 };
+    map.forEach((key, value) -> {
+      Assertions.assertEquals(key * 3, value);
+      ++count[0];
+    });
+    Assertions.assertEquals(map.size(), count[0]);
+  }
+
+  @Test
+  public void testClear() {
+    final LongLongHashMap map = new LongLongHashMap();
+    map.put(0, 1);
+    map.put(9, 2);
+    map.clear();
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertFalse(map.containsKey(0));
+    Assertions.assertFalse(map.containsKey(9));
+  }
+
+  @Test
+  public void testToString() {
+    final LongLongHashMap map = new LongLongHashMap();
+    map.put(3, 30);
+    map.put(-2, 20);
+    Assertions.assertEquals("{-2=20, 3=30}", map.toString());
+  }
+
+}
@@ -0,0 +1,105 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestLongObjectHashMap
+extends AbstractTests {
+
+  @Test
+  public void testEmpty() {
+    final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertNull(map.get(0));
+    Assertions.assertNull(map.get(1));
+    Assertions.assertEquals("x", map.getOrDefault(1, "x"));
+    Assertions.assertEquals("{}", map.toString());
+  }
+
+  @Test
+  public void testPut() {
+    final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    Assertions.assertTrue(map.put(Coordinates.pack(2, 3), "a"));
+    Assertions.assertFalse(map.put(Coordinates.pack(2, 3), "b"));
+    Assertions.assertTrue(map.put(0, "origin"));
+    Assertions.assertEquals("b", map.get(Coordinates.pack(2, 3)));
+    Assertions.assertEquals("origin", map.get(0));
+    Assertions.assertEquals(2, map.size());
+  }
+
+  @Test
+  public void testNullValue() {
+    final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(7, null);
+    Assertions.assertTrue(map.containsKey(7));
+    Assertions.assertNull(map.get(7));
+    Assertions.assertNull(map.getOrDefault(7, "x"));
+  }
+
+  @Test
+  public void testMatchesHashMap() {
+    final Random random = new Random(2024);
+    final LongObjectHashMap<String> map = new LongObjectHashMap<>(1);
+    final Map<Long, String> expected = new HashMap<>();
+    for (int i = 0; i < 20_000; ++i) {
+      final long key = Coordinates.pack(random.nextInt(30), random.nextInt(30), random.nextInt(30) - 15);
+      if (random.nextInt(3) == 0) {
+        Assertions.assertEquals(expected.remove(Long.valueOf(key)) != null, map.remove(key));
+      }
+      else {
+        final String value = Integer.toString(i);
+        Assertions.assertEquals(expected.put(Long.valueOf(key), value) == null, map.put(key, value));
+      }
+    }
+    Assertions.assertEquals(expected.size(), map.size());
+    for (final var entry : expected.entrySet()) {
+      Assertions.assertEquals(entry.getValue(), map.get(entry.getKey()
+                                                             .longValue()));
+    }
+    final Map<Long, String> visited = new HashMap<>();
+    map.forEach((key, value) -> visited.put(Long.valueOf(key), value));
+    Assertions.assertEquals(expected, visited);
+  }
+
+  @Test
+  public void testClear() {
+    final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(0, "a");
+    map.put(1, "b");
+    map.clear();
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertNull(map.get(0));
+    Assertions.assertNull(map.get(1));
+  }
+
+  @Test
+  public void testToString() {
+    final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(2, "two");
+    map.put(1, "one");
+    Assertions.assertEquals("{1=one, 2=two}", map.toString());
+  }
+
+}
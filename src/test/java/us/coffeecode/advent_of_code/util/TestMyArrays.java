@@ -278,6 +278,45 @@ extends AbstractTests {
     Assertions.assertTrue(Arrays.deepEquals(expected, actual));
   }
 
+  //
+  // deepCopyOf(boolean[][])
+  //
+
+  @Test
+  public void test_deepCopyOf_boolean2d_null_1() {
+    Assertions.assertThrows(NullPointerException.class, () -> MyArrays.deepCopyOf((boolean[][]) null));
+  }
+
+  @Test
+  public void test_deepCopyOf_boolean2d_null_2() {
+    Assertions.assertThrows(NullPointerException.class, () -> MyArrays.deepCopyOf(new boolean[][] { null }));
+  }
+
+  @Test
+  public void test_deepCopyOf_boolean2d_empty() {
+    final boolean[][] expected = new boolean[][] {};
+    final boolean[][] actual = MyArrays.deepCopyOf(expected);
+    Assertions.assertTrue(expected != actual);
+    Assertions.assertTrue(Arrays.deepEquals(expected, actual));
+  }
+
+  @Test
+  public void test_deepCopyOf_boolean2d_1() {
+    final boolean[][] expected = new boolean[][] { { true, false }, { false, true } };
+    final boolean[][] actual = MyArrays.deepCopyOf(expected);
+    Assertions.assertTrue(expected != actual);
+    Assertions.assertTrue(expected[0] != actual[0]);
+    Assertions.assertTrue(Arrays.deepEquals(expected, actual));
+  }
+
+  @Test
+  public void test_deepCopyOf_boolean2d_2() {
+    final boolean[][] expected = new boolean[][] { { true, true, true }, {} };
+    final boolean[][] actual = MyArrays.deepCopyOf(expected);
+    Assertions.assertTrue(expected != actual);
+    Assertions.assertTrue(Arrays.deepEquals(expected, actual));
+  }
+
   //
   // copyOmitting(int[])
   //
@@ -0,0 +1,239 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestNumberTokenizer
+extends AbstractTests {
+
+  /** Assert the tokenizer produces the same result as splitting with the regular expression. */
+  private static void assertSameAsRegex(final Pattern split, final String str) {
+    final NumberTokenizer tokenizer = NumberTokenizer.of(split);
+    int[] expected = null;
+    try {
+      expected = Arrays.stream(split.split(str.trim()))
+                       .mapToInt(Integer::parseInt)
+                       .toArray();
+    }
+    catch (final NumberFormatException ex) {
+      Assertions.assertThrows(NumberFormatException.class, () -> tokenizer.ints(str));
+      Assertions.assertThrows(NumberFormatException.class, () -> tokenizer.longs(str));
+      return;
+    }
+    Assertions.assertArrayEquals(expected, tokenizer.ints(str));
+    Assertions.assertArrayEquals(Arrays.stream(expected)
+                                       .asLongStream()
+                                       .toArray(),
+      tokenizer.longs(str));
+  }
+
+  //
+  // of(Pattern)
+  //
+
+  @Test
+  public void testOf_comma() {
+    Assertions.assertFalse(NumberTokenizer.of(Pattern.compile(","))
+                                          .isRegex());
+  }
+
+  @Test
+  public void testOf_multiCharacter() {
+    Assertions.assertFalse(NumberTokenizer.of(Pattern.compile(" -> "))
+                                          .isRegex());
+  }
+
+  @Test
+  public void testOf_escaped() {
+    Assertions.assertFalse(NumberTokenizer.of(Pattern.compile("\\-"))
+                                          .isRegex());
+  }
+
+  @Test
+  public void testOf_whitespace() {
+    Assertions.assertFalse(NumberTokenizer.of(Pattern.compile("\\s+"))
+                                          .isRegex());
+  }
+
+  @Test
+  public void testOf_nonDigit() {
+    Assertions.assertFalse(NumberTokenizer.of(Pattern.compile("\\D+"))
+                                          .isRegex());
+  }
+
+  @Test
+  public void testOf_literalFlag() {
+    Assertions.assertFalse(NumberTokenizer.of(Pattern.compile("a|b", Pattern.LITERAL))
+                                          .isRegex());
+  }
+
+  @Test
+  public void testOf_alternation() {
+    Assertions.assertTrue(NumberTokenizer.of(Pattern.compile(",|=>"))
+                                         .isRegex());
+  }
+
+  @Test
+  public void testOf_class() {
+    Assertions.assertTrue(NumberTokenizer.of(Pattern.compile("[:|]"))
+                                         .isRegex());
+  }
+
+  @Test
+  public void testOf_escapedLetter() {
+    Assertions.assertTrue(NumberTokenizer.of(Pattern.compile("\\d"))
+                                         .isRegex());
+  }
+
+  @Test
+  public void testOf_flags() {
+    Assertions.assertTrue(NumberTokenizer.of(Pattern.compile("x", Pattern.CASE_INSENSITIVE))
+                                         .isRegex());
+  }
+
+  //
+  // ints(String) and longs(String)
+  //
+
+  @Test
+  public void testInts_comma() {
+    Assertions.assertArrayEquals(new int[] { 1, -2, 3 }, NumberTokenizer.of(Pattern.compile(","))
+                                                                        .ints("1,-2,3"));
+  }
+
+  @Test
+  public void testInts_single() {
+    Assertions.assertArrayEquals(new int[] { 42 }, NumberTokenizer.of(Pattern.compile(","))
+                                                                  .ints("42"));
+  }
+
+  @Test
+  public void testInts_trimmed() {
+    Assertions.assertArrayEquals(new int[] { 1, 2 }, NumberTokenizer.of(Pattern.compile(","))
+                                                                    .ints("  1,2\n"));
+  }
+
+  @Test
+  public void testInts_whitespaceRun() {
+    Assertions.assertArrayEquals(new int[] { 1, 2, 3 }, NumberTokenizer.of(Pattern.compile("\\s+"))
+                                                                       .ints(" 1 \t 2\n3 "));
+  }
+
+  @Test
+  public void testInts_multiCharacter() {
+    Assertions.assertArrayEquals(new int[] { 0, 9, 5, 9 }, NumberTokenizer.of(Pattern.compile(" -> "))
+                                                                          .ints("0 -> 9 -> 5 -> 9"));
+  }
+
+  @Test
+  public void testInts_nonDigit() {
+    Assertions.assertArrayEquals(new int[] { 1, 2, 3 }, NumberTokenizer.of(Pattern.compile("\\D+"))
+                                                                       .ints("1x2 y 3"));
+  }
+
+  @Test
+  public void testInts_regex() {
+    Assertions.assertArrayEquals(new int[] { 1, 2, 3 }, NumberTokenizer.of(Pattern.compile(",|=>"))
+                                                                       .ints("1,2=>3"));
+  }
+
+  @Test
+  public void testInts_invalid() {
+    Assertions.assertThrows(NumberFormatException.class, () -> NumberTokenizer.of(Pattern.compile(","))
+                                                                              .ints("1,a"));
+  }
+
+  @Test
+  public void testInts_overflow() {
+    Assertions.assertThrows(NumberFormatException.class, () -> NumberTokenizer.of(Pattern.compile(","))
+                                                                              .ints("1,2147483648"));
+  }
+
+  @Test
+  public void testLongs_large() {
+    Assertions.assertArrayEquals(new long[] { 2147483648L, Long.MIN_VALUE }, NumberTokenizer.of(Pattern.compile(","))
+                                                                                            .longs("2147483648,-9223372036854775808"));
+  }
+
+  @Test
+  public void testSameAsRegex_literal() {
+    final Pattern split = Pattern.compile(",");
+    for (final String str : new String[] { "", ",", ",,", "1,", "1,,", ",1", "1,,2", "+1,2", "1,2,,,", " , 1", "1 ,2" }) {
+      assertSameAsRegex(split, str);
+    }
+  }
+
+  @Test
+  public void testSameAsRegex_literalNearEnd() {
+    final Pattern split = Pattern.compile(", ");
+    for (final String str : new String[] { "1, 2, ", "1, 2,", "1,2", ", 1", "1, , 2" }) {
+      assertSameAsRegex(split, str);
+    }
+  }
+
+  @Test
+  public void testSameAsRegex_whitespace() {
+    for (final Pattern split : new Pattern[] { Pattern.compile("\\s"), Pattern.compile("\\s+") }) {
+      for (final String str : new String[] { "", " ", "1", "1 2", "1  2", "1\t\n2\u000B3\f4\r5", "1 2" }) {
+        assertSameAsRegex(split, str);
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsRegex_nonDigit() {
+    for (final Pattern split : new Pattern[] { Pattern.compile("\\D"), Pattern.compile("\\D+") }) {
+      for (final String str : new String[] { "x", "1x", "x1", "1xx2", "1x2y", "-1x2", "1é2" }) {
+        assertSameAsRegex(split, str);
+      }
+    }
+  }
+
+  //
+  // digitGroups(String)
+  //
+
+  @Test
+  public void testDigitGroups() {
+    Assertions.assertArrayEquals(new int[] { 1, -23, 4, -5, 6 },
+      NumberTokenizer.digitGroups("x=1, y=-23..4--5 - 6-"));
+  }
+
+  @Test
+  public void testDigitGroups_none() {
+    Assertions.assertArrayEquals(new int[0], NumberTokenizer.digitGroups("no numbers - here"));
+  }
+
+  @Test
+  public void testDigitGroups_sameAsRegex() {
+    final Pattern digits = Pattern.compile("\\-?\\d+");
+    final String str = "Sensor at x=-2, y=15: closest beacon is at x=é-3, y=10\n-\n7-8";
+    Assertions.assertArrayEquals(digits.matcher(str)
+                                       .results()
+                                       .mapToInt(r -> Integer.parseInt(r.group()))
+                                       .toArray(),
+      NumberTokenizer.digitGroups(str));
+  }
+
+}
@@ -0,0 +1,200 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+import us.coffeecode.advent_of_code.util.RegisterMachine.Status;
+
+public class TestRegisterMachine
+extends AbstractTests {
+
+  /** Program that multiplies a by b into c using repeated addition. */
+  private static RegisterProgram multiply() {
+    final RegisterProgram program = new RegisterProgram(3);
+    program.add(RegisterMachine.JNZ, 0, 1, program.constant(2));
+    program.add(RegisterMachine.JMP, 0, 0, program.constant(4));
+    program.add(RegisterMachine.ADD, 2, 2, 0);
+    program.add(RegisterMachine.SUB, 1, 1, program.constant(1));
+    program.add(RegisterMachine.JMP, 0, 0, program.constant(-4));
+    return program;
+  }
+
+  @Test
+  public void testArithmetic() {
+    final RegisterProgram program = new RegisterProgram(2);
+    final int a = 0;
+    final int b = 1;
+    program.add(RegisterMachine.SET, a, program.constant(100), 0);
+    program.add(RegisterMachine.ADD, a, a, program.constant(5));
+    program.add(RegisterMachine.SUB, a, a, program.constant(3));
+    program.add(RegisterMachine.MUL, a, a, program.constant(3));
+    program.add(RegisterMachine.MOD, b, a, program.constant(100));
+    program.add(RegisterMachine.SHR, a, a, program.constant(2));
+    program.add(RegisterMachine.XOR, b, b, program.constant(0xFF));
+    program.add(RegisterMachine.AND, b, b, program.constant(0xF0));
+    program.add(RegisterMachine.OR, b, b, program.constant(1));
+    final RegisterMachine machine = new RegisterMachine(program);
+    Assertions.assertEquals(Status.HALTED, machine.run());
+    Assertions.assertEquals(76, machine.getRegister(a));
+    Assertions.assertEquals(((6 ^ 0xFF) & 0xF0) | 1, machine.getRegister(b));
+    Assertions.assertEquals(program.size(), machine.getIp());
+  }
+
+  @Test
+  public void testComparisons() {
+    final RegisterProgram program = new RegisterProgram(4);
+    program.add(RegisterMachine.GT, 0, program.constant(3), program.constant(2));
+    program.add(RegisterMachine.GT, 1, program.constant(2), program.constant(3));
+    program.add(RegisterMachine.EQ, 2, program.constant(3), program.constant(3));
+    program.add(RegisterMachine.EQ, 3, program.constant(3), program.constant(2));
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.run();
+    Assertions.assertEquals(1, machine.getRegister(0));
+    Assertions.assertEquals(0, machine.getRegister(1));
+    Assertions.assertEquals(1, machine.getRegister(2));
+    Assertions.assertEquals(0, machine.getRegister(3));
+  }
+
+  @Test
+  public void testLoop() {
+    final RegisterMachine machine = new RegisterMachine(multiply());
+    machine.setRegister(0, 1234);
+    machine.setRegister(1, 5678);
+    Assertions.assertEquals(Status.HALTED, machine.run());
+    Assertions.assertEquals(1234 * 5678, machine.getRegister(2));
+  }
+
+  @Test
+  public void testConditionalJumps() {
+    final RegisterProgram program = new RegisterProgram(2);
+    final int skip = program.constant(2);
+    // Each jump that is taken skips the increment after it.
+    program.add(RegisterMachine.JGZ, 0, program.constant(-1), skip);
+    program.add(RegisterMachine.ADD, 1, 1, program.constant(1));
+    program.add(RegisterMachine.JEVEN, 0, program.constant(-4), skip);
+    program.add(RegisterMachine.ADD, 1, 1, program.constant(10));
+    program.add(RegisterMachine.JONE, 0, program.constant(1), skip);
+    program.add(RegisterMachine.ADD, 1, 1, program.constant(100));
+    program.add(RegisterMachine.JNZ, 0, program.constant(0), skip);
+    program.add(RegisterMachine.ADD, 1, 1, program.constant(1000));
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.run();
+    Assertions.assertEquals(1001, machine.getRegister(1));
+  }
+
+  @Test
+  public void testLimit() {
+    final RegisterMachine machine = new RegisterMachine(multiply());
+    machine.setRegister(0, 2);
+    machine.setRegister(1, 3);
+    Assertions.assertEquals(Status.LIMIT, machine.run(3));
+    Assertions.assertEquals(4, machine.getIp());
+    Assertions.assertEquals(2, machine.getRegister(2));
+    Assertions.assertEquals(Status.HALTED, machine.run());
+    Assertions.assertEquals(6, machine.getRegister(2));
+  }
+
+  @Test
+  public void testInputOutput() {
+    final RegisterProgram program = new RegisterProgram(1);
+    program.add(RegisterMachine.IN, 0, 0, 0);
+    program.add(RegisterMachine.MUL, 0, 0, program.constant(2));
+    program.add(RegisterMachine.OUT, 0, 0, 0);
+    program.add(RegisterMachine.JMP, 0, 0, program.constant(-3));
+    final RegisterMachine machine = new RegisterMachine(program);
+    for (int i = 1; i < 5; ++i) {
+      Assertions.assertEquals(Status.INPUT, machine.run());
+      Assertions.assertEquals(0, machine.getIp());
+      machine.input(i);
+      Assertions.assertEquals(Status.OUTPUT, machine.run());
+      Assertions.assertEquals(i << 1, machine.getOutput());
+    }
+  }
+
+  @Test
+  public void testInputWrongInstruction() {
+    final RegisterProgram program = new RegisterProgram(1);
+    program.add(RegisterMachine.NOP, 0, 0, 0);
+    final RegisterMachine machine = new RegisterMachine(program);
+    Assertions.assertThrows(IllegalStateException.class, () -> machine.input(1));
+  }
+
+  @Test
+  public void testTrapModifiesProgram() {
+    final RegisterProgram program = new RegisterProgram(1);
+    program.add(RegisterMachine.TRAP, 0, 0, 0);
+    program.add(RegisterMachine.ADD, 0, 0, program.constant(1));
+    final RegisterMachine machine = new RegisterMachine(program);
+    Assertions.assertEquals(Status.TRAP, machine.run());
+    Assertions.assertEquals(0, machine.getIp());
+    // The new constant is not loaded yet: the machine picks it up on the next run.
+    program.set(1, RegisterMachine.ADD, 0, 0, program.constant(42));
+    machine.resume();
+    Assertions.assertEquals(Status.HALTED, machine.run());
+    Assertions.assertEquals(42, machine.getRegister(0));
+  }
+
+  @Test
+  public void testIpRegister() {
+    // Example from 2018 day 19.
+    final RegisterProgram program = new RegisterProgram(6);
+    program.setIpRegister(0);
+    program.add(RegisterMachine.SET, 1, program.constant(5), 0);
+    program.add(RegisterMachine.SET, 2, program.constant(6), 0);
+    program.add(RegisterMachine.ADD, 0, 0, program.constant(1));
+    program.add(RegisterMachine.ADD, 3, 1, 2);
+    program.add(RegisterMachine.SET, 0, 1, 0);
+    program.add(RegisterMachine.SET, 4, program.constant(8), 0);
+    program.add(RegisterMachine.SET, 5, program.constant(9), 0);
+    final RegisterMachine machine = new RegisterMachine(program);
+    Assertions.assertEquals(Status.HALTED, machine.run());
+    Assertions.assertEquals(7, machine.getRegister(0));
+    Assertions.assertEquals(5, machine.getRegister(1));
+    Assertions.assertEquals(6, machine.getRegister(2));
+    Assertions.assertEquals(0, machine.getRegister(3));
+    Assertions.assertEquals(0, machine.getRegister(4));
+    Assertions.assertEquals(9, machine.getRegister(5));
+  }
+
+  @Test
+  public void testReset() {
+    final RegisterMachine machine = new RegisterMachine(multiply());
+    machine.setRegister(0, 3);
+    machine.setRegister(1, 3);
+    machine.run();
+    machine.reset();
+    Assertions.assertEquals(0, machine.getIp());
+    Assertions.assertEquals(0, machine.getRegister(2));
+    machine.setRegister(0, 4);
+    machine.setRegister(1, 5);
+    machine.run();
+    Assertions.assertEquals(20, machine.getRegister(2));
+  }
+
+  @Test
+  public void testSetConstant() {
+    final RegisterProgram program = new RegisterProgram(1);
+    final int constant = program.constant(1);
+    final RegisterMachine machine = new RegisterMachine(program);
+    Assertions.assertEquals(1, machine.getRegister(constant));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> machine.setRegister(constant, 2));
+  }
+
+}
@@ -0,0 +1,306 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+import us.coffeecode.advent_of_code.util.RegisterMachine.Status;
+
+public class TestRegisterOptimizer
+extends AbstractTests {
+
+  private static final Pattern SEPARATOR = Pattern.compile(" ");
+
+  /** Decode a program written with letter registers, in either assembunny or the 2017 coprocessor's instructions. */
+  private static RegisterProgram letters(final String... lines) {
+    final RegisterProgram program = new RegisterProgram(8);
+    for (final String line : lines) {
+      final String[] tokens = SEPARATOR.split(line);
+      final int x = program.operand(tokens[1]);
+      final int y = (tokens.length > 2) ? program.operand(tokens[2]) : 0;
+      switch (tokens[0]) {
+        case "cpy" -> program.add(RegisterMachine.SET, y, x, 0);
+        case "inc" -> program.add(RegisterMachine.ADD, x, x, program.constant(1));
+        case "dec" -> program.add(RegisterMachine.SUB, x, x, program.constant(1));
+        case "set" -> program.add(RegisterMachine.SET, x, y, 0);
+        case "sub" -> program.add(RegisterMachine.SUB, x, x, y);
+        case "mul" -> program.add(RegisterMachine.MUL, x, x, y);
+        case "jnz" -> program.add(RegisterMachine.JNZ, 0, x, y);
+        default -> throw new IllegalArgumentException(line);
+      }
+    }
+    return program;
+  }
+
+  /** Decode an elfcode program, with the instruction pointer bound to a register. */
+  private static RegisterProgram elfcode(final int ipRegister, final String... lines) {
+    final RegisterProgram program = new RegisterProgram(6);
+    program.setIpRegister(ipRegister);
+    for (final String line : lines) {
+      final String[] tokens = SEPARATOR.split(line);
+      final int a = Integer.parseInt(tokens[1]);
+      final int b = Integer.parseInt(tokens[2]);
+      final int c = Integer.parseInt(tokens[3]);
+      switch (tokens[0]) {
+        case "addr" -> program.add(RegisterMachine.ADD, c, a, b);
+        case "addi" -> program.add(RegisterMachine.ADD, c, a, program.constant(b));
+        case "mulr" -> program.add(RegisterMachine.MUL, c, a, b);
+        case "muli" -> program.add(RegisterMachine.MUL, c, a, program.constant(b));
+        case "setr" -> program.add(RegisterMachine.SET, c, a, 0);
+        case "seti" -> program.add(RegisterMachine.SET, c, program.constant(a), 0);
+        case "gtrr" -> program.add(RegisterMachine.GT, c, a, b);
+        case "eqrr" -> program.add(RegisterMachine.EQ, c, a, b);
+        default -> throw new IllegalArgumentException(line);
+      }
+    }
+    return program;
+  }
+
+  /** Assembunny multiplication from 2016 day 23: a += b * d. */
+  private static RegisterProgram multiply() {
+    return letters("cpy b c", "inc a", "dec c", "jnz c -2", "dec d", "jnz d -5");
+  }
+
+  /**
+   * Elfcode divisor sum from 2018 day 19, with registers acc=0, i=1, j=2, n=3, ip=4, and t=5. This adds all divisors of
+   * n to acc.
+   */
+  private static RegisterProgram divisorSum() {
+    return elfcode(4, "seti 1 0 1", "seti 1 0 2", "mulr 1 2 5", "eqrr 5 3 5", "addr 5 4 4", "addi 4 1 4", "addr 1 0 0",
+      "addi 2 1 2", "gtrr 2 3 5", "addr 4 5 4", "seti 1 0 4", "addi 1 1 1", "gtrr 1 3 5", "addr 5 4 4", "seti 0 0 4");
+  }
+
+  /**
+   * Composite test from 2017 day 23, which clears f if b is composite. The program sets d itself, and e starts at two
+   * for each value of d.
+   */
+  private static RegisterProgram compositeTest() {
+    return letters("set f 1", "set d 2", "set e 2", "set g d", "mul g e", "sub g b", "jnz g 2", "set f 0", "sub e -1",
+      "set g e", "sub g b", "jnz g -8", "sub d -1", "set g d", "sub g b", "jnz g -13");
+  }
+
+  /**
+   * Run a program both as written and optimized, starting with the given registers, and assert that both end with the
+   * same registers and instruction pointer.
+   *
+   * @return the machine that ran the optimized program.
+   */
+  private static RegisterMachine assertSameResult(final Supplier<RegisterProgram> source, final long... registers) {
+    final RegisterProgram optimized = source.get();
+    optimized.optimize();
+    final RegisterMachine expected = new RegisterMachine(source.get());
+    final RegisterMachine actual = new RegisterMachine(optimized);
+    for (int i = 0; i < registers.length; ++i) {
+      expected.setRegister(i, registers[i]);
+      actual.setRegister(i, registers[i]);
+    }
+    Assertions.assertEquals(Status.HALTED, expected.run());
+    Assertions.assertEquals(Status.HALTED, actual.run());
+    Assertions.assertEquals(expected.toString(), actual.toString());
+    return actual;
+  }
+
+  @Test
+  public void testAddLoop() {
+    final RegisterProgram program = letters("inc a", "dec b", "jnz b -2");
+    program.optimize();
+    Assertions.assertTrue(program.isFused(0));
+    Assertions.assertFalse(program.isFused(1));
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.setRegister(0, 5);
+    machine.setRegister(1, 7);
+    Assertions.assertEquals(Status.HALTED, machine.run());
+    Assertions.assertEquals(12, machine.getRegister(0));
+    Assertions.assertEquals(0, machine.getRegister(1));
+  }
+
+  @Test
+  public void testAddLoopCountsUp() {
+    // The counter comes first and counts up from a negative number, and the target counts down.
+    final RegisterMachine machine = assertSameResult(() -> letters("inc b", "dec a", "jnz b -2"), 10, -4);
+    Assertions.assertEquals(6, machine.getRegister(0));
+  }
+
+  @Test
+  public void testAddLoopSameRegister() {
+    final RegisterProgram program = letters("inc a", "dec a", "jnz a -2");
+    program.optimize();
+    Assertions.assertFalse(program.isFused(0));
+  }
+
+  @Test
+  public void testAddLoopCountsAsOneStep() {
+    final RegisterProgram program = letters("inc a", "dec b", "jnz b -2", "inc c");
+    program.optimize();
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.setRegister(1, 1000);
+    Assertions.assertEquals(Status.LIMIT, machine.run(1));
+    Assertions.assertEquals(3, machine.getIp());
+    Assertions.assertEquals(1000, machine.getRegister(0));
+  }
+
+  @Test
+  public void testMulLoop() {
+    final RegisterMachine machine = assertSameResult(TestRegisterOptimizer::multiply, 3, 97, 0, 89);
+    Assertions.assertEquals(3 + 97 * 89, machine.getRegister(0));
+  }
+
+  @Test
+  public void testMulLoopNegative() {
+    // The inner counter counts up from a negative number.
+    final RegisterMachine machine =
+      assertSameResult(() -> letters("cpy b c", "inc a", "inc c", "jnz c -2", "dec d", "jnz d -5"), 0, -41, 0, 13);
+    Assertions.assertEquals(41 * 13, machine.getRegister(0));
+  }
+
+  @Test
+  public void testMulLoopFused() {
+    final RegisterProgram program = multiply();
+    program.optimize();
+    Assertions.assertTrue(program.isFused(0));
+    // The inner loop is fused too, for programs that jump into it.
+    Assertions.assertTrue(program.isFused(1));
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.setRegister(1, 123_456);
+    machine.setRegister(3, 654_321);
+    machine.run();
+    Assertions.assertEquals(123_456L * 654_321, machine.getRegister(0));
+    Assertions.assertEquals(0, machine.getRegister(2));
+    Assertions.assertEquals(0, machine.getRegister(3));
+  }
+
+  @Test
+  public void testSetOptimizesAgain() {
+    // Toggling the jump the way assembunny's tgl does breaks the loop, and toggling it back restores it.
+    final RegisterProgram program = multiply();
+    program.optimize();
+    program.set(5, RegisterMachine.SET, 3, program.constant(-5), 0);
+    Assertions.assertFalse(program.isFused(0));
+    Assertions.assertTrue(program.isFused(1));
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.setRegister(1, 6);
+    machine.setRegister(3, 7);
+    machine.run();
+    Assertions.assertEquals(6, machine.getRegister(0));
+    Assertions.assertEquals(-5, machine.getRegister(3));
+    program.set(5, RegisterMachine.JNZ, 0, 3, program.constant(-5));
+    Assertions.assertTrue(program.isFused(0));
+  }
+
+  @Test
+  public void testDivisorSum() {
+    final RegisterMachine machine = assertSameResult(TestRegisterOptimizer::divisorSum, 0, 0, 0, 60);
+    Assertions.assertEquals(168, machine.getRegister(0));
+  }
+
+  @Test
+  public void testDivisorSumPrime() {
+    final RegisterMachine machine = assertSameResult(TestRegisterOptimizer::divisorSum, 0, 0, 0, 97);
+    Assertions.assertEquals(98, machine.getRegister(0));
+  }
+
+  @Test
+  public void testDivisorSumLarge() {
+    final RegisterProgram program = divisorSum();
+    program.optimize();
+    Assertions.assertTrue(program.isFused(1));
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.setRegister(3, 10_551_377);
+    Assertions.assertEquals(Status.HALTED, machine.run());
+    Assertions.assertEquals(10_996_992, machine.getRegister(0));
+  }
+
+  @Test
+  public void testDivisorSumOutOfRange() {
+    // The fused instruction does not handle a negative number, so the loop runs as written.
+    final RegisterMachine machine = assertSameResult(TestRegisterOptimizer::divisorSum, 0, 0, 0, -60);
+    Assertions.assertEquals(0, machine.getRegister(0));
+  }
+
+  @Test
+  public void testDivisorLoop() {
+    // Step i by two, which breaks the outer loop but leaves the divisor test. This sums the odd divisors.
+    final Supplier<RegisterProgram> source = () -> {
+      final RegisterProgram program = divisorSum();
+      program.set(11, RegisterMachine.ADD, 1, 1, program.constant(2));
+      return program;
+    };
+    final RegisterProgram program = source.get();
+    program.optimize();
+    Assertions.assertFalse(program.isFused(1));
+    Assertions.assertTrue(program.isFused(2));
+    final RegisterMachine machine = assertSameResult(source, 0, 0, 0, 60);
+    Assertions.assertEquals(1 + 3 + 5 + 15, machine.getRegister(0));
+  }
+
+  @Test
+  public void testDivideLoop() {
+    // Division by 256 from 2018 day 21, with registers q=0, t=1, v=2, and ip=3.
+    final Supplier<RegisterProgram> source = () -> elfcode(3, "seti 0 0 0", "addi 0 1 1", "muli 1 256 1", "gtrr 1 2 1",
+      "addr 1 3 3", "addi 3 1 3", "seti 8 0 3", "addi 0 1 0", "seti 0 0 3", "setr 0 0 2");
+    final RegisterProgram program = source.get();
+    program.optimize();
+    Assertions.assertTrue(program.isFused(1));
+    for (final long v : new long[] { 0, 255, 256, 123_456, 16_777_215 }) {
+      final RegisterMachine machine = assertSameResult(source, 0, 0, v);
+      Assertions.assertEquals(v / 256, machine.getRegister(2));
+    }
+  }
+
+  @Test
+  public void testCompositeTest() {
+    for (final long b : new long[] { 91, 97, 121, 127, 128 }) {
+      assertSameResult(TestRegisterOptimizer::compositeTest, 0, b);
+    }
+  }
+
+  @Test
+  public void testFactorLoopUnitDivisor() {
+    // The inner loop of the composite test alone. With d = 1, the factor is b itself, which e never reaches.
+    final Supplier<RegisterProgram> source = () -> letters("set g d", "mul g e", "sub g b", "jnz g 2", "set f 0",
+      "sub e -1", "set g e", "sub g b", "jnz g -8");
+    final RegisterProgram program = source.get();
+    program.optimize();
+    Assertions.assertTrue(program.isFused(0));
+    final RegisterMachine machine = assertSameResult(source, 0, 7, 0, 1, 2, 1);
+    Assertions.assertEquals(1, machine.getRegister(5));
+    Assertions.assertEquals(0, assertSameResult(source, 0, 8, 0, 2, 2, 1).getRegister(5));
+  }
+
+  @Test
+  public void testCompositeTestFused() {
+    final RegisterProgram program = compositeTest();
+    program.optimize();
+    Assertions.assertTrue(program.isFused(2));
+    // The inner loop is fused too, for programs that jump into it.
+    Assertions.assertTrue(program.isFused(3));
+    final RegisterMachine machine = new RegisterMachine(program);
+    machine.setRegister(1, 1_000_003);
+    machine.run();
+    Assertions.assertEquals(1, machine.getRegister(5));
+    machine.reset();
+    machine.setRegister(1, 1_000_001);
+    machine.run();
+    Assertions.assertEquals(0, machine.getRegister(5));
+  }
+
+}
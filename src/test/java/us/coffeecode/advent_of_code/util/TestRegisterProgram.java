@@ -0,0 +1,116 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestRegisterProgram
+extends AbstractTests {
+
+  @Test
+  public void testConstructorNoRegisters() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new RegisterProgram(0));
+  }
+
+  @Test
+  public void testConstantSlots() {
+    final RegisterProgram program = new RegisterProgram(4);
+    Assertions.assertEquals(4, program.constant(7));
+    Assertions.assertEquals(5, program.constant(-7));
+    Assertions.assertEquals(4, program.constant(7));
+    Assertions.assertFalse(program.isRegister(4));
+    Assertions.assertTrue(program.isRegister(3));
+  }
+
+  @Test
+  public void testManyConstants() {
+    final RegisterProgram program = new RegisterProgram(1);
+    for (int i = 0; i < 100; ++i) {
+      Assertions.assertEquals(i + 1, program.constant(i * 10));
+    }
+  }
+
+  @Test
+  public void testOperand() {
+    final RegisterProgram program = new RegisterProgram(4);
+    Assertions.assertEquals(0, program.operand("a"));
+    Assertions.assertEquals(3, program.operand("d"));
+    Assertions.assertEquals(4, program.operand("-16"));
+    Assertions.assertEquals(5, program.operand("+2"));
+    Assertions.assertEquals(6, program.operand("5"));
+  }
+
+  @Test
+  public void testOperandUnknownRegister() {
+    final RegisterProgram program = new RegisterProgram(4);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> program.operand("e"));
+  }
+
+  @Test
+  public void testAddGrows() {
+    final RegisterProgram program = new RegisterProgram(1);
+    for (int i = 0; i < 100; ++i) {
+      Assertions.assertEquals(i, program.add(RegisterMachine.ADD, 0, 0, program.constant(i)));
+    }
+    Assertions.assertEquals(100, program.size());
+    Assertions.assertEquals(RegisterMachine.ADD, program.getOp(99));
+    Assertions.assertEquals(program.constant(99), program.getZ(99));
+  }
+
+  @Test
+  public void testSet() {
+    final RegisterProgram program = new RegisterProgram(2);
+    program.add(RegisterMachine.NOP, 0, 0, 0);
+    program.set(0, RegisterMachine.SUB, 1, 0, 1);
+    Assertions.assertEquals(RegisterMachine.SUB, program.getOp(0));
+    Assertions.assertEquals(1, program.getX(0));
+    Assertions.assertEquals(0, program.getY(0));
+    Assertions.assertEquals(1, program.getZ(0));
+  }
+
+  @Test
+  public void testSetOutOfBounds() {
+    final RegisterProgram program = new RegisterProgram(2);
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> program.set(0, RegisterMachine.NOP, 0, 0, 0));
+  }
+
+  @Test
+  public void testWriteToConstant() {
+    final RegisterProgram program = new RegisterProgram(2);
+    final int constant = program.constant(1);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> program.add(RegisterMachine.SET, constant, 0, 0));
+  }
+
+  @Test
+  public void testUnknownOperation() {
+    final RegisterProgram program = new RegisterProgram(2);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> program.add(-1, 0, 0, 0));
+  }
+
+  @Test
+  public void testIpRegister() {
+    final RegisterProgram program = new RegisterProgram(6);
+    Assertions.assertEquals(-1, program.getIpRegister());
+    program.setIpRegister(3);
+    Assertions.assertEquals(3, program.getIpRegister());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> program.setIpRegister(6));
+  }
+
+}
@@ -0,0 +1,241 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestVolumeEngine
+extends AbstractTests {
+
+  @Test
+  public void testEmpty() {
+    final VolumeEngine engine = new VolumeEngine(3);
+    Assertions.assertEquals(0, engine.size());
+    Assertions.assertEquals(0, engine.volume());
+    Assertions.assertEquals(0, engine.unionVolume());
+    Assertions.assertEquals(0, engine.volumeCoveredAtLeast(2));
+    Assertions.assertEquals(0, engine.intersectionVolume());
+  }
+
+  @Test
+  public void testInvalid() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new VolumeEngine(0));
+    final VolumeEngine engine = new VolumeEngine(2);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> engine.add(new Range3D(0, 0, 0, 1, 1, 1)));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> engine.add(new int[] { 1, 0 }, new int[] { 0, 0 },
+      true));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> engine.volumeCoveredAtLeast(0));
+  }
+
+  @Test
+  public void testSingleBox() {
+    final VolumeEngine engine = new VolumeEngine(3);
+    engine.add(new Range3D(-1, -2, -3, 1, 2, 3));
+    Assertions.assertEquals(105, engine.volume());
+    Assertions.assertEquals(105, engine.unionVolume());
+    Assertions.assertEquals(105, engine.intersectionVolume());
+    Assertions.assertEquals(0, engine.volumeCoveredAtLeast(2));
+  }
+
+  @Test
+  public void testOverlapping2D() {
+    final VolumeEngine engine = new VolumeEngine(2);
+    engine.add(new Range2D(1, 3, 4, 6));
+    engine.add(new Range2D(3, 1, 6, 4));
+    engine.add(new Range2D(5, 5, 6, 6));
+    Assertions.assertEquals(32, engine.unionVolume());
+    Assertions.assertEquals(4, engine.volumeCoveredAtLeast(2));
+    Assertions.assertEquals(0, engine.volumeCoveredAtLeast(3));
+    Assertions.assertEquals(0, engine.intersectionVolume());
+  }
+
+  @Test
+  public void testOnOff3D() {
+    final VolumeEngine engine = new VolumeEngine(3);
+    engine.add(new Range3D(10, 10, 10, 12, 12, 12), true);
+    engine.add(new Range3D(11, 11, 11, 13, 13, 13), true);
+    engine.add(new Range3D(9, 9, 9, 11, 11, 11), false);
+    engine.add(new Range3D(10, 10, 10, 10, 10, 10), true);
+    Assertions.assertEquals(39, engine.volume());
+    Assertions.assertEquals(0, engine.intersectionVolume());
+  }
+
+  @Test
+  public void testLaterBoxWins() {
+    final VolumeEngine engine = new VolumeEngine(1);
+    engine.add(new int[] { 0 }, new int[] { 9 }, false);
+    engine.add(new int[] { 2 }, new int[] { 7 }, true);
+    engine.add(new int[] { 4 }, new int[] { 4 }, false);
+    Assertions.assertEquals(5, engine.volume());
+    Assertions.assertEquals(10, engine.unionVolume());
+    Assertions.assertEquals(6, engine.volumeCoveredAtLeast(2));
+    Assertions.assertEquals(1, engine.volumeCoveredAtLeast(3));
+  }
+
+  @Test
+  public void testClear() {
+    final VolumeEngine engine = new VolumeEngine(2);
+    engine.add(new Range2D(0, 0, 9, 9));
+    engine.clear();
+    Assertions.assertEquals(0, engine.size());
+    Assertions.assertEquals(0, engine.unionVolume());
+  }
+
+  @Test
+  public void testExtremeCoordinates() {
+    final VolumeEngine engine = new VolumeEngine(1);
+    engine.add(new int[] { Integer.MIN_VALUE }, new int[] { Integer.MAX_VALUE }, true);
+    engine.add(new int[] { Integer.MAX_VALUE }, new int[] { Integer.MAX_VALUE }, false);
+    Assertions.assertEquals(1L << 32, engine.unionVolume());
+    Assertions.assertEquals((1L << 32) - 1, engine.volume());
+  }
+
+  @Test
+  public void testOverflow() {
+    final VolumeEngine engine = new VolumeEngine(3);
+    engine.add(new Range3D(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE,
+      Integer.MAX_VALUE, Integer.MAX_VALUE));
+    Assertions.assertThrows(ArithmeticException.class, () -> engine.volume());
+    Assertions.assertThrows(ArithmeticException.class, () -> engine.unionVolume());
+    Assertions.assertThrows(ArithmeticException.class, () -> engine.volumeCoveredAtLeast(1));
+    Assertions.assertThrows(ArithmeticException.class, () -> engine.intersectionVolume());
+  }
+
+  @Test
+  public void testOverflowAcrossSlabs() {
+    // Each box is 2^62, so each slab fits, but together they are 2^63.
+    final VolumeEngine engine = new VolumeEngine(2);
+    engine.add(new int[] { Integer.MIN_VALUE, 0 }, new int[] { -1, Integer.MAX_VALUE }, true);
+    engine.add(new int[] { 0, 0 }, new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE }, true);
+    Assertions.assertThrows(ArithmeticException.class, () -> engine.volume());
+    Assertions.assertThrows(ArithmeticException.class, () -> engine.unionVolume());
+    engine.clear();
+    engine.add(new int[] { Integer.MIN_VALUE, 0 }, new int[] { -1, Integer.MAX_VALUE }, true);
+    Assertions.assertEquals(1L << 62, engine.unionVolume());
+  }
+
+  @Test
+  public void testLarge() {
+    final VolumeEngine engine = new VolumeEngine(3);
+    engine.add(new Range3D(-100_000, -100_000, -100_000, 99_999, 99_999, 99_999));
+    engine.add(new Range3D(0, 0, 0, 199_999, 199_999, 199_999));
+    Assertions.assertEquals(15_000_000_000_000_000L, engine.unionVolume());
+    Assertions.assertEquals(1_000_000_000_000_000L, engine.intersectionVolume());
+  }
+
+  @Test
+  public void testRandom1D() {
+    final Random random = new Random(4);
+    for (int i = 0; i < 50; ++i) {
+      compareToGrid(random, 1, 30, 40);
+    }
+  }
+
+  @Test
+  public void testRandom2D() {
+    final Random random = new Random(1);
+    for (int i = 0; i < 50; ++i) {
+      compareToGrid(random, 2, 20, 12);
+    }
+  }
+
+  @Test
+  public void testManyOverlapping2D() {
+    final Random random = new Random(5);
+    for (int i = 0; i < 10; ++i) {
+      compareToGrid(random, 2, 300, 50);
+    }
+  }
+
+  @Test
+  public void testRandom3D() {
+    final Random random = new Random(2);
+    for (int i = 0; i < 50; ++i) {
+      compareToGrid(random, 3, 15, 8);
+    }
+  }
+
+  @Test
+  public void testRandom4D() {
+    final Random random = new Random(3);
+    for (int i = 0; i < 30; ++i) {
+      compareToGrid(random, 4, 10, 6);
+    }
+  }
+
+  /** Add random boxes in a small space, and compare the engine to counting each cell. */
+  private void compareToGrid(final Random random, final int dimensions, final int boxes, final int side) {
+    final VolumeEngine engine = new VolumeEngine(dimensions);
+    final int cells = (int) Math.pow(side, dimensions);
+    final int[] counts = new int[cells];
+    final boolean[] on = new boolean[cells];
+    final boolean[] all = new boolean[cells];
+    Arrays.fill(all, true);
+    for (int b = 0; b < boxes; ++b) {
+      final int[] low = new int[dimensions];
+      final int[] high = new int[dimensions];
+      for (int d = 0; d < dimensions; ++d) {
+        low[d] = random.nextInt(side);
+        high[d] = low[d] + random.nextInt(side - low[d]);
+      }
+      final boolean boxOn = random.nextInt(3) > 0;
+      engine.add(low, high, boxOn);
+      for (int cell = 0; cell < cells; ++cell) {
+        boolean inside = true;
+        for (int d = 0, c = cell; d < dimensions; ++d, c /= side) {
+          inside &= (low[d] <= c % side) && (c % side <= high[d]);
+        }
+        if (inside) {
+          ++counts[cell];
+          on[cell] = boxOn;
+        }
+        else {
+          all[cell] = false;
+        }
+      }
+    }
+    long expectedOn = 0;
+    long expectedAll = 0;
+    final long[] expectedCovered = new long[4];
+    for (int cell = 0; cell < cells; ++cell) {
+      if (on[cell]) {
+        ++expectedOn;
+      }
+      if (all[cell]) {
+        ++expectedAll;
+      }
+      for (int k = 1; k < expectedCovered.length; ++k) {
+        if (counts[cell] >= k) {
+          ++expectedCovered[k];
+        }
+      }
+    }
+    Assertions.assertEquals(expectedOn, engine.volume());
+    Assertions.assertEquals(expectedAll, engine.intersectionVolume());
+    Assertions.assertEquals(expectedCovered[1], engine.unionVolume());
+    for (int k = 2; k < expectedCovered.length; ++k) {
+      Assertions.assertEquals(expectedCovered[k], engine.volumeCoveredAtLeast(k));
+    }
+  }
+
+}
@@ -0,0 +1,114 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+public class TestAsciiQueue
+extends AbstractTests {
+
+  @Test
+  public void testTextIn() {
+    final AsciiQueue q = new AsciiQueue("NOT A J\n");
+    q.add(new StringBuilder("WALK\n"));
+    q.add("!".getBytes(StandardCharsets.US_ASCII));
+    final StringBuilder str = new StringBuilder();
+    while (!q.isEmpty()) {
+      str.append((char) q.remove());
+    }
+    Assertions.assertEquals("NOT A J\nWALK\n!", str.toString());
+  }
+
+  @Test
+  public void testLines() {
+    final AsciiQueue q = new AsciiQueue();
+    for (final char ch : "one\n\nthree\npartial".toCharArray()) {
+      q.add(ch);
+    }
+    Assertions.assertEquals("one", q.nextLine()
+                                    .toString());
+    Assertions.assertEquals("", q.nextLine()
+                                 .toString());
+    Assertions.assertEquals("three", q.nextLine()
+                                      .toString());
+    Assertions.assertNull(q.nextLine());
+    Assertions.assertEquals(List.of("partial"), q.removeLines());
+    Assertions.assertTrue(q.isEmpty());
+  }
+
+  @Test
+  public void testRemoveLinesDropsTrailingEmptyLines() {
+    final AsciiQueue q = new AsciiQueue("a\n\nb\n\n\n");
+    Assertions.assertEquals(List.of("a", "", "b"), q.removeLines());
+  }
+
+  @Test
+  public void testOutOfBand() {
+    final AsciiQueue q = new AsciiQueue("x\n");
+    q.add(19_355_391L);
+    q.add(-1);
+    q.add('y');
+    Assertions.assertEquals('x', q.remove());
+    Assertions.assertEquals('\n', q.remove());
+    Assertions.assertEquals(19_355_391L, q.remove());
+    Assertions.assertEquals(-1, q.remove());
+    Assertions.assertEquals('y', q.remove());
+  }
+
+  @Test
+  public void testRemoveLast() {
+    final AsciiQueue q = new AsciiQueue("Walking...\n\n");
+    q.add(1_141_869_516L);
+    Assertions.assertEquals(1_141_869_516L, q.removeLast());
+    Assertions.assertTrue(q.isEmpty());
+  }
+
+  @Test
+  public void testGrow() {
+    final AsciiQueue q = new AsciiQueue();
+    final String line = "0123456789".repeat(100);
+    for (int i = 0; i < 10; ++i) {
+      q.add(line + "\n");
+      Assertions.assertEquals(line, q.nextLine()
+                                     .toString());
+    }
+    for (int i = 0; i < 10; ++i) {
+      q.add(line + "\n");
+    }
+    Assertions.assertEquals(10, q.removeLines()
+                                 .size());
+  }
+
+  @Test
+  public void testIntCode() {
+    // Echo one line of input, then halt.
+    final long[] echo = new long[] { 3, 100, 4, 100, 1008, 100, 10, 101, 1006, 101, 0, 99 };
+    final AsciiQueue output = new AsciiQueue();
+    final IntCode state = new IntCode(echo, new AsciiQueue("hello\n"));
+    state.setOutput(output);
+    state.exec();
+    Assertions.assertEquals("hello", output.nextLine()
+                                           .toString());
+  }
+
+}
@@ -73,6 +73,22 @@ extends AbstractTests {
     Assertions.assertEquals(0, dla.get(1_000_000));
   }
 
+  @Test
+  public void testGetFarOutsideBoundsIsZero() {
+    final DynamicLongArray dla = new DynamicLongArray(new long[] { 1, 1, 1 });
+    // The page index of this address truncates to zero as an int.
+    Assertions.assertEquals(0, dla.get(1L << 40));
+    Assertions.assertEquals(0, dla.get(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testNegativeAddress() {
+    final DynamicLongArray dla = new DynamicLongArray(new long[] { 1, 1, 1 });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> dla.get(-1));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> dla.set(-1, 5));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> dla.set(1L << 40, 5));
+  }
+
   @Test
   public void testEquals() {
     final DynamicLongArray dla1 = new DynamicLongArray(new long[] { 1, 1, 1 });
@@ -103,4 +119,69 @@ extends AbstractTests {
     Assertions.assertFalse(dla2.equals(dla1));
   }
 
+  @Test
+  public void testCopyConstructorOriginalWrite() {
+    final DynamicLongArray dla1 = new DynamicLongArray(new long[] { 1, 1, 1 });
+    final DynamicLongArray dla2 = new DynamicLongArray(dla1);
+    dla1.set(0, -999);
+    Assertions.assertEquals(1, dla2.get(0));
+    Assertions.assertEquals(-999, dla1.get(0));
+  }
+
+  @Test
+  public void testCopyOfCopy() {
+    final DynamicLongArray dla1 = new DynamicLongArray(new long[] { 1, 2, 3 });
+    final DynamicLongArray dla2 = new DynamicLongArray(dla1);
+    dla2.set(1, 20);
+    final DynamicLongArray dla3 = new DynamicLongArray(dla2);
+    dla3.set(2, 30);
+    dla2.set(0, 10);
+    Assertions.assertArrayEquals(new long[] { 1, 2, 3 }, new long[] { dla1.get(0), dla1.get(1), dla1.get(2) });
+    Assertions.assertArrayEquals(new long[] { 10, 20, 3 }, new long[] { dla2.get(0), dla2.get(1), dla2.get(2) });
+    Assertions.assertArrayEquals(new long[] { 1, 20, 30 }, new long[] { dla3.get(0), dla3.get(1), dla3.get(2) });
+  }
+
+  @Test
+  public void testCopyWriteOutsideBounds() {
+    final DynamicLongArray dla1 = new DynamicLongArray(new long[] { 1, 1, 1 });
+    final DynamicLongArray dla2 = new DynamicLongArray(dla1);
+    dla2.set(100_000, 5);
+    Assertions.assertEquals(5, dla2.get(100_000));
+    Assertions.assertEquals(0, dla1.get(100_000));
+    Assertions.assertEquals(1, dla2.get(2));
+  }
+
+  @Test
+  public void testSetAcrossPages() {
+    final long[] array = new long[1_000];
+    for (int i = 0; i < array.length; ++i) {
+      array[i] = i;
+    }
+    final DynamicLongArray dla = new DynamicLongArray(array);
+    dla.set(5_000, -1);
+    for (int i = 0; i < array.length; ++i) {
+      Assertions.assertEquals(i, dla.get(i));
+    }
+    Assertions.assertEquals(0, dla.get(4_999));
+    Assertions.assertEquals(-1, dla.get(5_000));
+  }
+
+  @Test
+  public void testEqualsCopy() {
+    final DynamicLongArray dla1 = new DynamicLongArray(new long[] { 1, 1, 1 });
+    final DynamicLongArray dla2 = new DynamicLongArray(dla1);
+    Assertions.assertTrue(dla1.equals(dla2));
+    dla2.set(1_000, 1);
+    Assertions.assertFalse(dla1.equals(dla2));
+    dla2.set(1_000, 0);
+    Assertions.assertTrue(dla1.equals(dla2));
+    Assertions.assertEquals(dla1.hashCode(), dla2.hashCode());
+  }
+
+  @Test
+  public void testHashCodeAllZeros() {
+    Assertions.assertEquals(new DynamicLongArray(new long[] {}).hashCode(),
+      new DynamicLongArray(new long[] { 0, 0 }).hashCode());
+  }
+
 }
@@ -0,0 +1,290 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+/**
+ * Runs the example programs from the 2019 puzzle descriptions, which exercise every instruction and mode.
+ */
+public class TestIntCode
+extends AbstractTests {
+
+  private static final long[] QUINE =
+    new long[] { 109, 1, 204, -1, 1001, 100, 1, 100, 1008, 100, 16, 101, 1006, 101, 0, 99 };
+
+  private static final long[] COMPARE_TO_EIGHT = new long[] { 3, 21, 1008, 21, 8, 20, 1005, 20, 22, 107, 8, 21, 20, 1006,
+    20, 31, 1106, 0, 36, 98, 0, 0, 1002, 21, 125, 20, 4, 20, 1105, 1, 46, 104, 999, 1105, 1, 46, 1101, 1000, 1, 20, 4, 20,
+    1105, 1, 46, 98, 99 };
+
+  /** Count from one to a million, squaring the counter each time, then output the last square. */
+  private static final long[] LOOP = new long[] { 109, 1_000, 21_101, 0, 0, 0, 21_201, 0, 1, 0, 22_202, 0, 0, 1, 21_207, 0,
+    1_000_000, 2, 1_205, 2, 6, 204, 1, 99 };
+
+  /** Call a function that stores 42, using a return address on the stack, then output it. */
+  private static final long[] CALL =
+    new long[] { 109, 100, 21_101, 9, 0, 0, 1_105, 1, 12, 204, 1, 99, 21_101, 42, 0, 1, 2_106, 0, 0 };
+
+  private static long[] run(final long[] program, final long... input) {
+    return run(program, new ExecutionOption[0], input);
+  }
+
+  private static long[] compile(final long[] program, final long... input) {
+    return run(program, new ExecutionOption[] { ExecutionOption.COMPILE_TO_BYTECODE }, input);
+  }
+
+  private static long[] run(final long[] program, final ExecutionOption[] options, final long... input) {
+    final IntCode state = new IntCode(program, new LongQueue(), options);
+    state.getInput()
+         .add(input);
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    return state.getOutput()
+                .isEmpty() ? new long[0]
+                           : state.getOutput()
+                                  .removeAll();
+  }
+
+  @Test
+  public void testAddMultiply() {
+    final IntCode state = new IntCode(new long[] { 1, 9, 10, 3, 2, 3, 11, 0, 99, 30, 40, 50 }, new LongQueue());
+    state.exec();
+    Assertions.assertEquals(3_500, state.getMemory()
+                                        .get(0));
+  }
+
+  @Test
+  public void testQuine() {
+    Assertions.assertArrayEquals(QUINE, run(QUINE));
+  }
+
+  @Test
+  public void testLargeMultiply() {
+    Assertions.assertArrayEquals(new long[] { 1_219_070_632_396_864L },
+      run(new long[] { 1102, 34_915_192, 34_915_192, 7, 4, 7, 99, 0 }));
+  }
+
+  @Test
+  public void testLargeImmediate() {
+    Assertions.assertArrayEquals(new long[] { 1_125_899_906_842_624L }, run(new long[] { 104, 1_125_899_906_842_624L, 99 }));
+  }
+
+  @Test
+  public void testCompareLess() {
+    Assertions.assertArrayEquals(new long[] { 999 }, run(COMPARE_TO_EIGHT, 7));
+  }
+
+  @Test
+  public void testCompareEqual() {
+    Assertions.assertArrayEquals(new long[] { 1_000 }, run(COMPARE_TO_EIGHT, 8));
+  }
+
+  @Test
+  public void testCompareGreater() {
+    Assertions.assertArrayEquals(new long[] { 1_001 }, run(COMPARE_TO_EIGHT, 9));
+  }
+
+  @Test
+  public void testSelfModifying() {
+    // The first instruction turns the output at address 4 from immediate mode (104) into position mode (4).
+    Assertions.assertArrayEquals(new long[] { 0 }, run(new long[] { 1101, 3, 1, 4, 104, 7, 99 }));
+  }
+
+  @Test
+  public void testBlockUntilInputAvailable() {
+    final IntCode state = new IntCode(new long[] { 3, 0, 4, 0, 99 }, new LongQueue(), ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE);
+    Assertions.assertEquals(ExecutionResult.BLOCK, state.exec());
+    state.getInput()
+         .add(42);
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    Assertions.assertEquals(42, state.getOutput()
+                                     .remove());
+  }
+
+  @Test
+  public void testInvalidMode() {
+    Assertions.assertThrows(RuntimeException.class, () -> run(new long[] { 301, 0, 0, 0, 99 }));
+  }
+
+  @Test
+  public void testCall() {
+    Assertions.assertArrayEquals(new long[] { 42 }, run(CALL));
+  }
+
+  @Test
+  public void testCompiledQuine() {
+    Assertions.assertArrayEquals(QUINE, compile(QUINE));
+  }
+
+  @Test
+  public void testCompiledLargeMultiply() {
+    Assertions.assertArrayEquals(new long[] { 1_219_070_632_396_864L },
+      compile(new long[] { 1102, 34_915_192, 34_915_192, 7, 4, 7, 99, 0 }));
+  }
+
+  @Test
+  public void testCompiledCompare() {
+    for (long i = 6; i <= 10; ++i) {
+      Assertions.assertArrayEquals(run(COMPARE_TO_EIGHT, i), compile(COMPARE_TO_EIGHT, i));
+    }
+  }
+
+  @Test
+  public void testCompiledCall() {
+    Assertions.assertArrayEquals(new long[] { 42 }, compile(CALL));
+  }
+
+  @Test
+  public void testCompiledLoop() {
+    Assertions.assertArrayEquals(new long[] { 1_000_000_000_000L }, compile(LOOP));
+  }
+
+  @Test
+  public void testCompiledSelfModifying() {
+    Assertions.assertArrayEquals(new long[] { 0 }, compile(new long[] { 1101, 3, 1, 4, 104, 7, 99 }));
+  }
+
+  @Test
+  public void testCompiledIsUsed() {
+    final IntCode state = new IntCode(LOOP, new LongQueue(), ExecutionOption.COMPILE_TO_BYTECODE);
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    Assertions.assertNotNull(state.compiled);
+  }
+
+  @Test
+  public void testCompiledInvalidatedBySelfModifying() {
+    final IntCode state =
+      new IntCode(new long[] { 1101, 3, 1, 4, 104, 7, 99 }, new LongQueue(), ExecutionOption.COMPILE_TO_BYTECODE);
+    state.exec();
+    Assertions.assertNull(state.compiled);
+  }
+
+  @Test
+  public void testCompiledBlockUntilInputAvailable() {
+    final IntCode state = new IntCode(COMPARE_TO_EIGHT, new LongQueue(), ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE,
+      ExecutionOption.COMPILE_TO_BYTECODE);
+    Assertions.assertEquals(ExecutionResult.BLOCK, state.exec());
+    final IntCode copy = new IntCode(state, new LongQueue());
+    state.getInput()
+         .add(8);
+    copy.getInput()
+        .add(9);
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    Assertions.assertEquals(ExecutionResult.HALT, copy.exec());
+    Assertions.assertEquals(1_000, state.getOutput()
+                                        .remove());
+    Assertions.assertEquals(1_001, copy.getOutput()
+                                       .remove());
+  }
+
+  @Test
+  public void testCompiledBlockAfterThreeOutputs() {
+    final IntCode state = new IntCode(QUINE, new LongQueue(), ExecutionOption.BLOCK_AFTER_THREE_OUTPUTS,
+      ExecutionOption.COMPILE_TO_BYTECODE);
+    Assertions.assertEquals(ExecutionResult.BLOCK, state.exec());
+    Assertions.assertArrayEquals(new long[] { 109, 1, 204 }, state.getOutput()
+                                                                  .removeAll());
+  }
+
+  @Test
+  public void testDecodeCached() {
+    Assertions.assertSame(DecodedInstruction.decode(1_002), DecodedInstruction.decode(1_002));
+  }
+
+  @Test
+  public void testDecodeInvalid() {
+    Assertions.assertNull(DecodedInstruction.decode(50));
+  }
+
+  @Test
+  public void testDecodeModes() {
+    final DecodedInstruction decoded = DecodedInstruction.decode(21_107);
+    Assertions.assertEquals(Instruction.LESS_THAN, decoded.instruction);
+    Assertions.assertArrayEquals(new Mode[] { Mode.IMMEDIATE, Mode.IMMEDIATE, Mode.RELATIVE }, decoded.modes);
+  }
+
+  @Test
+  public void testProfile() {
+    final IntCode state = new IntCode(LOOP, new LongQueue(), ExecutionOption.PROFILE);
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    final IntCodeProfile profile = state.getProfile();
+    Assertions.assertEquals(4_000_004, profile.getInstructions());
+    Assertions.assertEquals(1_000_001, profile.getCount(Instruction.ADD));
+    Assertions.assertEquals(1_000_000, profile.getCount(Instruction.JUMP_IF_TRUE));
+    Assertions.assertEquals(1_000_000, profile.getCount(18));
+    Assertions.assertEquals(1, profile.getCount(2));
+    Assertions.assertArrayEquals(new int[] { 18 }, profile.getHotLoops(10));
+    Assertions.assertEquals(8, profile.getHotSpots(10).length);
+    Assertions.assertEquals(1_002, profile.getHighWaterMark());
+  }
+
+  @Test
+  public void testProfileInputWaits() {
+    final IntCode state = new IntCode(COMPARE_TO_EIGHT, new LongQueue(), ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE,
+      ExecutionOption.PROFILE);
+    Assertions.assertEquals(ExecutionResult.BLOCK, state.exec());
+    state.getInput()
+         .add(8);
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    Assertions.assertEquals(1, state.getProfile()
+                                    .getInputWaits());
+    Assertions.assertEquals(1, state.getProfile()
+                                    .getCount(Instruction.INPUT));
+  }
+
+  @Test
+  public void testProfileDisablesCompiler() {
+    final IntCode state = new IntCode(LOOP, new LongQueue(), ExecutionOption.PROFILE, ExecutionOption.COMPILE_TO_BYTECODE);
+    state.exec();
+    Assertions.assertNull(state.compiled);
+    Assertions.assertEquals(4_000_004, state.getProfile()
+                                            .getInstructions());
+  }
+
+  @Test
+  public void testProfileSink() {
+    final List<IntCodeProfile> reports = new ArrayList<>();
+    final IntCode state = new IntCode(COMPARE_TO_EIGHT, new LongQueue(), ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE,
+      ExecutionOption.PROFILE);
+    state.setProfileSink(reports::add);
+    final IntCode copy = new IntCode(state);
+    Assertions.assertEquals(ExecutionResult.BLOCK, state.exec());
+    Assertions.assertTrue(reports.isEmpty());
+    state.getInput()
+         .add(8);
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    Assertions.assertEquals(List.of(state.getProfile()), reports);
+    Assertions.assertTrue(reports.get(0)
+                                 .report(5)
+                                 .startsWith("IntCode profile: "));
+    Assertions.assertEquals(ExecutionResult.HALT, state.exec());
+    copy.getInput()
+        .add(8);
+    Assertions.assertEquals(ExecutionResult.HALT, copy.exec());
+    Assertions.assertEquals(1, reports.size());
+  }
+
+  @Test
+  public void testNoProfile() {
+    Assertions.assertNull(new IntCode(LOOP, new LongQueue()).getProfile());
+  }
+}
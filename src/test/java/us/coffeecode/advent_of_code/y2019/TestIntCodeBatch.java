@@ -0,0 +1,93 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+/**
+ * Runs example programs from the 2019 puzzle descriptions against many inputs at once.
+ */
+public class TestIntCodeBatch
+extends AbstractTests {
+
+  /** Outputs 999 if the input is below eight, 1000 if it equals eight, or 1001 if it is greater than eight. */
+  private static final long[] COMPARE_TO_EIGHT = new long[] { 3, 21, 1008, 21, 8, 20, 1005, 20, 22, 107, 8, 21, 20, 1006,
+    20, 31, 1106, 0, 36, 98, 0, 0, 1002, 21, 125, 20, 4, 20, 1105, 1, 46, 104, 999, 1105, 1, 46, 1101, 1000, 1, 20, 4, 20,
+    1105, 1, 46, 98, 99 };
+
+  /** Amplifier from the day 7 puzzle description: outputs ten times the signal plus the phase. */
+  private static final long[] AMPLIFIER = new long[] { 3, 15, 3, 16, 1002, 16, 10, 16, 1, 16, 15, 15, 4, 15, 99, 0, 0 };
+
+  private static long compareToEight(final long input) {
+    return (input < 8) ? 999 : (input == 8) ? 1000 : 1001;
+  }
+
+  @Test
+  public void testBulk() {
+    final IntCodeBatch batch = new IntCodeBatch(new IntCode(COMPARE_TO_EIGHT, new LongQueue()));
+    final long[] inputs = new long[100_000];
+    for (int i = 0; i < inputs.length; ++i) {
+      inputs[i] = (i % 17) - 4;
+    }
+    final long[] outputs = batch.run(inputs, 1);
+    Assertions.assertEquals(inputs.length, outputs.length);
+    for (int i = 0; i < inputs.length; ++i) {
+      Assertions.assertEquals(compareToEight(inputs[i]), outputs[i]);
+    }
+  }
+
+  @Test
+  public void testBulkCompiled() {
+    final IntCodeBatch batch =
+      new IntCodeBatch(new IntCode(COMPARE_TO_EIGHT, new LongQueue(), ExecutionOption.COMPILE_TO_BYTECODE));
+    final long[] outputs = batch.run(new long[] { 7, 8, 9 }, 1);
+    Assertions.assertArrayEquals(new long[] { 999, 1000, 1001 }, outputs);
+  }
+
+  @Test
+  public void testSingle() {
+    final IntCodeBatch batch = new IntCodeBatch(new IntCode(COMPARE_TO_EIGHT, new LongQueue()));
+    Assertions.assertEquals(1000, batch.run(8));
+    Assertions.assertEquals(999, batch.run(-8));
+  }
+
+  @Test
+  public void testMultipleInputs() {
+    final IntCodeBatch batch = new IntCodeBatch(new IntCode(AMPLIFIER, new LongQueue()));
+    long signal = 0;
+    for (final long phase : new long[] { 4, 3, 2, 1, 0 }) {
+      signal = batch.run(new long[] { phase, signal, 0, signal }, 2)[0];
+    }
+    Assertions.assertEquals(43_210, signal);
+  }
+
+  @Test
+  public void testUnevenInputs() {
+    final IntCodeBatch batch = new IntCodeBatch(new IntCode(AMPLIFIER, new LongQueue()));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> batch.run(new long[] { 1, 2, 3 }, 2));
+  }
+
+  @Test
+  public void testNoOutput() {
+    final IntCodeBatch batch = new IntCodeBatch(new IntCode(new long[] { 3, 0, 99 }, new LongQueue()));
+    Assertions.assertThrows(IllegalStateException.class, () -> batch.run(1));
+  }
+
+}
@@ -0,0 +1,131 @@
+/* Advent of Code answers written by John Gaughan
+ * Copyright (C) 2025  John Gaughan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package us.coffeecode.advent_of_code.y2019;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import us.coffeecode.advent_of_code.AbstractTests;
+
+/**
+ * Runs IntCode machines concurrently, connected by channels and by a packet switch.
+ */
+public class TestIntCodeNetwork
+extends AbstractTests {
+
+  /** Feedback loop example from the day 7 puzzle description. */
+  private static final long[] FEEDBACK = new long[] { 3, 26, 1001, 26, -4, 26, 3, 27, 1002, 27, 2, 27, 1, 27, 26, 27, 4,
+    27, 1001, 28, -1, 28, 1005, 28, 6, 99, 0, 0, 5 };
+
+  /**
+   * Network program where machine 0 sends a packet with Y = 7 to machine 1, and every machine forwards each packet it
+   * receives to the next address. The last machine forwards to the NAT.
+   */
+  private static long[] forwardingChain(final int size) {
+    return new long[] { 3, 100, // read own address
+      1001, 100, 1, 101, // next = address + 1
+      1008, 101, size, 102, // last = next == size
+      1006, 102, 17, //
+      1101, 255, 0, 101, // if last, next = NAT
+      1008, 100, 0, 102, // 17: first = address == 0
+      1006, 102, 30, //
+      4, 101, 104, 0, 104, 7, // if first, send (0, 7) to next
+      3, 103, // 30: read X
+      1008, 103, -1, 102, //
+      1005, 102, 30, // loop while nothing arrived
+      3, 104, // read Y
+      4, 101, 4, 103, 4, 104, // forward the packet to next
+      1105, 1, 30, //
+      99 };
+  }
+
+  @Test
+  public void testChannelOrder() throws InterruptedException {
+    final LongChannel channel = new LongChannel(4);
+    final Thread producer = Thread.ofPlatform()
+                                  .start(() -> {
+                                    for (int i = 0; i < 100_000; ++i) {
+                                      channel.add(i);
+                                    }
+                                  });
+    for (int i = 0; i < 100_000; ++i) {
+      Assertions.assertEquals(i, channel.remove());
+    }
+    producer.join();
+    Assertions.assertTrue(channel.isEmpty());
+  }
+
+  @Test
+  public void testFeedbackLoop() {
+    final long[] phases = new long[] { 9, 8, 7, 6, 5 };
+    final LongChannel[] channels = new LongChannel[phases.length];
+    for (int i = 0; i < channels.length; ++i) {
+      channels[i] = new LongChannel(16);
+      channels[i].add(phases[i]);
+    }
+    channels[0].add(0);
+    try (IntCodeNetwork network = new IntCodeNetwork()) {
+      for (int i = 0; i < channels.length; ++i) {
+        final IntCode amp = new IntCode(FEEDBACK, channels[i]);
+        amp.setOutput(channels[(i + 1) % channels.length]);
+        network.start(amp);
+      }
+      network.join();
+    }
+    Assertions.assertEquals(139_629_729, channels[0].remove());
+  }
+
+  @Test
+  public void testFailure() {
+    try (IntCodeNetwork network = new IntCodeNetwork()) {
+      network.start(new IntCode(new long[] { 3, 0, 99 }, new LongQueue()));
+      Assertions.assertThrows(NoSuchElementException.class, network::join);
+    }
+  }
+
+  @Test
+  public void testRejectsBlockingOption() {
+    try (IntCodeNetwork network = new IntCodeNetwork()) {
+      final IntCode machine = new IntCode(FEEDBACK, new LongQueue(), ExecutionOption.BLOCK_UNTIL_INPUT_AVAILABLE);
+      Assertions.assertThrows(IllegalArgumentException.class, () -> network.start(machine));
+    }
+  }
+
+  @Test
+  public void testPacketSwitch() {
+    testPacketSwitch(50);
+  }
+
+  @Test
+  public void testLargePacketSwitch() {
+    testPacketSwitch(1_000);
+  }
+
+  private static void testPacketSwitch(final int size) {
+    final IntCode original = new IntCode(forwardingChain(size), new LongQueue());
+    try (PacketSwitch network = new PacketSwitch(original, size)) {
+      Assertions.assertArrayEquals(new long[] { 0, 7 }, network.awaitNatPacket());
+      final long[] packet = network.awaitIdle();
+      Assertions.assertArrayEquals(new long[] { 0, 7 }, packet);
+      network.send(0, packet);
+      Assertions.assertArrayEquals(new long[] { 0, 7 }, network.awaitIdle());
+    }
+  }
+
+}
@@ -64,4 +64,26 @@ extends AbstractTests {
     Assertions.assertArrayEquals(added, removed);
   }
 
+  @Test
+  public void testLongQueue_bulkAddWraps() {
+    final LongQueue q = new LongQueue();
+    for (int i = 0; i < 10; ++i) {
+      q.add(i);
+    }
+    q.remove(10);
+    // Sixteen slots, starting at index 10, so this wraps around the end of the array.
+    final long[] array = LongStream.range(0, 12)
+                                   .toArray();
+    q.add(array);
+    Assertions.assertArrayEquals(array, q.removeAll());
+  }
+
+  @Test
+  public void testLongQueue_removeSome() {
+    final LongQueue q = new LongQueue(LongStream.range(0, 5)
+                                                .toArray());
+    Assertions.assertArrayEquals(new long[] { 0, 1, 2 }, q.remove(3));
+    Assertions.assertArrayEquals(new long[] { 3, 4 }, q.removeAll());
+  }
+
 }